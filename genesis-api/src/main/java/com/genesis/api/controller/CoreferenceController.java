@@ -4,9 +4,12 @@ import com.genesis.api.security.AuthenticatedUserResolver;
 import com.genesis.common.response.ApiResponse;
 import com.genesis.common.response.CursorPage;
 import com.genesis.coref.dto.ClusterDto;
+import com.genesis.coref.dto.ClusterRestructureRequest;
 import com.genesis.coref.dto.CreateClusterRequest;
 import com.genesis.coref.dto.CreateMentionRequest;
+import com.genesis.coref.dto.MentionBatchRequest;
 import com.genesis.coref.dto.MentionDto;
+import com.genesis.coref.dto.MentionTokenSpan;
 import com.genesis.coref.dto.MergeClustersRequest;
 import com.genesis.coref.service.ClusterService;
 import com.genesis.coref.service.CoreferenceService;
@@ -63,6 +66,18 @@ public class CoreferenceController {
         return ResponseEntity.ok(ApiResponse.success(mention));
     }
 
+    /**
+     * Apply a batch of mention operations in one transaction. The response lists
+     * one mention per operation, in request order ({@code null} for deletes).
+     */
+    @PostMapping("/workspaces/{workspaceId}/mentions/batch")
+    public ResponseEntity<ApiResponse<List<MentionDto>>> applyMentionBatch(
+            @PathVariable UUID workspaceId,
+            @RequestBody MentionBatchRequest request) {
+        List<MentionDto> mentions = mentionService.applyBatch(workspaceId, request, currentUserId());
+        return ResponseEntity.ok(ApiResponse.success(mentions));
+    }
+
     /**
      * Get a cursor page of mentions for a workspace. Omit {@code cursor} for the
      * first page; pass the previous response's {@code nextCursor} for subsequent
@@ -92,6 +107,21 @@ public class CoreferenceController {
         return ResponseEntity.ok(ApiResponse.success(mentions));
     }
 
+    /**
+     * Get the spans of a document's mentions that contain a token, for the
+     * editor's mention overlay. Answered from the in-memory span index.
+     */
+    @GetMapping("/documents/{documentId}/mentions/at")
+    public ResponseEntity<ApiResponse<List<MentionTokenSpan>>> getMentionSpansAt(
+            @PathVariable UUID documentId,
+            @RequestParam int sentenceIndex,
+            @RequestParam int tokenIndex) {
+        UUID workspaceId = documentService.getByIdInternal(documentId).getWorkspaceId();
+        List<MentionTokenSpan> spans = mentionService.getMentionSpansAt(
+                workspaceId, documentId, sentenceIndex, tokenIndex, currentUserId());
+        return ResponseEntity.ok(ApiResponse.success(spans));
+    }
+
     /**
      * Get unassigned mentions for a workspace.
      */
@@ -214,8 +244,8 @@ public class CoreferenceController {
 
     /**
      * Merge one or more source clusters into a target cluster. The source
-     * clusters' mentions are reassigned to the target, the source clusters are
-     * deleted, and the remaining workspace clusters are renumbered contiguously.
+     * clusters' mentions are reassigned to the target and the source clusters
+     * are deleted; the remaining clusters keep their numbers.
      */
     @PostMapping("/workspaces/{workspaceId}/clusters/merge")
     public ResponseEntity<ApiResponse<ClusterDto>> mergeClusters(
@@ -229,6 +259,19 @@ public class CoreferenceController {
         return ResponseEntity.ok(ApiResponse.success(cluster));
     }
 
+    /**
+     * Apply a batch of cluster merge and split directives in one transaction.
+     * The response lists the surviving clusters the directives touched, then
+     * the clusters created by splits.
+     */
+    @PostMapping("/workspaces/{workspaceId}/clusters/restructure")
+    public ResponseEntity<ApiResponse<List<ClusterDto>>> restructureClusters(
+            @PathVariable UUID workspaceId,
+            @RequestBody ClusterRestructureRequest request) {
+        List<ClusterDto> clusters = clusterService.restructureClusters(workspaceId, request, currentUserId());
+        return ResponseEntity.ok(ApiResponse.success(clusters));
+    }
+
     // ==================== Statistics Endpoints ====================
 
     /**
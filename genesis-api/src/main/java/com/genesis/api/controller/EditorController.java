@@ -1,6 +1,7 @@
 package com.genesis.api.controller;
 
 import com.genesis.api.security.AuthenticatedUserResolver;
+import com.genesis.common.exception.ValidationException;
 import com.genesis.common.response.ApiResponse;
 import com.genesis.editor.dto.DocumentContentResponse;
 import com.genesis.editor.dto.EditorDocumentInfo;
@@ -8,10 +9,17 @@ import com.genesis.editor.dto.EditorSessionResponse;
 import com.genesis.editor.dto.SaveSessionRequest;
 import com.genesis.editor.dto.WorkspaceEditorResponse;
 import com.genesis.editor.service.EditorService;
+import com.genesis.importexport.service.DocumentRetokenizationService;
 import com.genesis.importexport.service.ImportService;
 import com.genesis.infra.storage.FileStorageService;
 import com.genesis.workspace.service.DocumentService;
 import jakarta.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +31,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * REST controller for editor operations.
@@ -33,18 +42,18 @@ import org.springframework.web.bind.annotation.RestController;
 public class EditorController {
 
     private final EditorService editorService;
-    private final ImportService importService;
+    private final DocumentRetokenizationService retokenizationService;
     private final DocumentService documentService;
     private final FileStorageService fileStorageService;
     private final AuthenticatedUserResolver userResolver;
 
     public EditorController(EditorService editorService,
-            ImportService importService,
+            DocumentRetokenizationService retokenizationService,
             DocumentService documentService,
             FileStorageService fileStorageService,
             AuthenticatedUserResolver userResolver) {
         this.editorService = editorService;
-        this.importService = importService;
+        this.retokenizationService = retokenizationService;
         this.documentService = documentService;
         this.fileStorageService = fileStorageService;
         this.userResolver = userResolver;
@@ -98,18 +107,43 @@ public class EditorController {
     }
 
     /**
-     * Tokenize a document (import plain text).
+     * Tokenize a document (import plain text). With {@code incremental=true} an
+     * already tokenized document only has its changed sentences rewritten, so
+     * annotations on unchanged tokens survive.
+     *
+     * <p>
+     * An optional multipart {@code file} (e.g. the text with a one-line fix) is
+     * tokenized instead of the previous upload and becomes the document's stored
+     * source; see {@link DocumentRetokenizationService#retokenize}. It is
+     * required once the source has been reclaimed.
      */
     @PostMapping("/documents/{documentId}/tokenize")
     public ResponseEntity<ApiResponse<TokenizationResult>> tokenizeDocument(
-            @PathVariable UUID documentId) throws Exception {
-        // Get document content from storage
-        // Server-internal — auth on this endpoint will be added in MEDIUM-4 (P1).
-        var docInfo = documentService.getByIdInternal(documentId);
-        String content = fileStorageService.downloadAsString(docInfo.getStoredFileUrl());
-
-        // Tokenize
-        ImportService.ImportResult result = importService.importPlainText(documentId, content);
+            @PathVariable UUID documentId,
+            @RequestParam(defaultValue = "false") boolean incremental,
+            @RequestParam(value = "file", required = false) MultipartFile file) throws IOException {
+        InputStream source;
+        UUID userId = null;
+        if (file != null) {
+            // Membership is checked up front; the source is swapped after the import
+            userId = userResolver.currentUserId();
+            documentService.getById(documentId, userId);
+            source = file.getInputStream();
+        } else {
+            // Server-internal — auth on this endpoint will be added in MEDIUM-4 (P1).
+            var docInfo = documentService.getByIdInternal(documentId);
+            if (docInfo.getStoredFileUrl() == null) {
+                throw new ValidationException("file",
+                        "The document's source is no longer stored; upload the text to tokenize as 'file'");
+            }
+            source = fileStorageService.openStream(docInfo.getStoredFileUrl());
+        }
+
+        // Tokenize straight from the stream; the import flushes in chunks
+        ImportService.ImportResult result;
+        try (Reader content = new BufferedReader(new InputStreamReader(source, StandardCharsets.UTF_8))) {
+            result = retokenizationService.retokenize(documentId, content, file, incremental, userId);
+        }
 
         TokenizationResult response = new TokenizationResult();
         response.setDocumentId(documentId);
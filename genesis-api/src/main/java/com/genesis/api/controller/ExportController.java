@@ -1,30 +1,34 @@
 package com.genesis.api.controller;
 
 import com.genesis.api.security.AuthenticatedUserResolver;
+import com.genesis.common.response.ApiResponse;
 import com.genesis.coref.service.CoreferenceService;
+import com.genesis.importexport.dto.ExportJobDto;
 import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.format.CorefAnnotations;
+import com.genesis.importexport.service.ExportArtifactCache;
+import com.genesis.importexport.service.ExportJobService;
 import com.genesis.importexport.service.ExportService;
-import com.genesis.importexport.service.ExportService.DocumentInfo;
 import com.genesis.importexport.service.ExportService.ExportResult;
+import com.genesis.importexport.service.ExportService.StreamingExport;
 import com.genesis.pos.service.PosTaggingService;
 import com.genesis.workspace.dto.DocumentResponse;
 import com.genesis.workspace.service.DocumentService;
 import com.genesis.workspace.service.WorkspaceService;
 import jakarta.validation.Valid;
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controller for export operations.
@@ -34,6 +38,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class ExportController {
 
     private final ExportService exportService;
+    private final ExportJobService exportJobService;
+    private final ExportArtifactCache exportArtifactCache;
     private final WorkspaceService workspaceService;
     private final DocumentService documentService;
     private final CoreferenceService coreferenceService;
@@ -41,12 +47,16 @@ public class ExportController {
     private final AuthenticatedUserResolver userResolver;
 
     public ExportController(ExportService exportService,
+            ExportJobService exportJobService,
+            ExportArtifactCache exportArtifactCache,
             WorkspaceService workspaceService,
             DocumentService documentService,
             CoreferenceService coreferenceService,
             PosTaggingService posTaggingService,
             AuthenticatedUserResolver userResolver) {
         this.exportService = exportService;
+        this.exportJobService = exportJobService;
+        this.exportArtifactCache = exportArtifactCache;
         this.workspaceService = workspaceService;
         this.documentService = documentService;
         this.coreferenceService = coreferenceService;
@@ -72,7 +82,7 @@ public class ExportController {
 
         // Fetch coreference annotations
         @SuppressWarnings("null")
-        Map<String, String> corefAnnotations = coreferenceService.generateCorefAnnotations(documentId);
+        CorefAnnotations corefAnnotations = coreferenceService.generateCorefAnnotations(documentId);
 
         // Fetch majority-vote POS overrides for this document
         Map<UUID, String> posOverrides = posTaggingService.getMajorityPosByDocument(documentId, callerId);
@@ -92,54 +102,84 @@ public class ExportController {
     }
 
     /**
-     * Export an entire workspace.
+     * Export an entire workspace. The body is streamed to the client as it is
+     * rendered rather than buffered in memory, and served from the
+     * {@link ExportArtifactCache} while the workspace is unchanged.
      */
     @PostMapping("/workspaces/{workspaceId}")
-    public ResponseEntity<byte[]> exportWorkspace(
+    public ResponseEntity<StreamingResponseBody> exportWorkspace(
             @PathVariable UUID workspaceId,
-            @Valid @RequestBody(required = false) ExportOptions options) throws IOException {
+            @Valid @RequestBody(required = false) ExportOptions options) {
         if (options == null) {
             options = new ExportOptions();
         }
 
         UUID callerId = userResolver.currentUserId();
 
-        @SuppressWarnings("null")
-        var workspace = workspaceService.getById(workspaceId, callerId);
-        // Workspace membership already verified above; use the internal doc
-        // listing to avoid a second redundant member check.
-        @SuppressWarnings("null")
-        List<DocumentResponse> documents = documentService.getByWorkspaceIdInternal(workspaceId);
+        // Verifies workspace membership
+        workspaceService.getById(workspaceId, callerId);
 
-        @SuppressWarnings("null")
-        List<DocumentInfo> docInfos = documents.stream()
-                .map(d -> new DocumentInfo(d.getId(), d.getName()))
-                .collect(Collectors.toList());
+        StreamingExport result = exportArtifactCache.export(exportArtifactCache.snapshot(workspaceId, options));
 
-        @SuppressWarnings("null")
-        Map<UUID, Map<String, String>> corefAnnotationsPerDoc = coreferenceService
-                .generateWorkspaceCorefAnnotations(workspaceId);
-
-        // Fetch majority-vote POS overrides + annotator counts per document
-        Map<UUID, Map<UUID, String>> posOverridesPerDoc = new HashMap<>();
-        Map<UUID, Map<UUID, Long>> annotatorCountsPerDoc = new HashMap<>();
-        for (DocumentResponse d : documents) {
-            posOverridesPerDoc.put(d.getId(), posTaggingService.getMajorityPosByDocument(d.getId(), callerId));
-            annotatorCountsPerDoc.put(d.getId(), posTaggingService.getAnnotatorCountsByDocument(d.getId(), callerId));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + result.getFilename() + "\"")
+                .contentType(MediaType.parseMediaType(result.getContentType()))
+                .body(result::writeTo);
+    }
+
+    /**
+     * Submit a background export of an entire workspace. Returns the job at
+     * once; an identical request made while the workspace is unchanged gets
+     * the existing job back. The requester is notified when it completes.
+     */
+    @PostMapping("/workspaces/{workspaceId}/jobs")
+    public ResponseEntity<ApiResponse<ExportJobDto>> submitWorkspaceExport(
+            @PathVariable UUID workspaceId,
+            @Valid @RequestBody(required = false) ExportOptions options) {
+        if (options == null) {
+            options = new ExportOptions();
         }
 
-        @SuppressWarnings("null")
-        ExportResult result = exportService.exportWorkspace(
-                docInfos,
-                corefAnnotationsPerDoc,
-                posOverridesPerDoc,
-                annotatorCountsPerDoc,
-                options,
-                workspace.getName());
+        UUID callerId = userResolver.currentUserId();
+
+        // Verifies workspace membership
+        workspaceService.getById(workspaceId, callerId);
+
+        ExportJobDto job = exportJobService.submit(workspaceId, callerId, options);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(job));
+    }
+
+    /**
+     * Get the status of an export job.
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ExportJobDto>> getExportJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(ApiResponse.success(getAccessibleJob(jobId)));
+    }
+
+    /**
+     * Download the archive of a completed export job, streamed from file
+     * storage.
+     */
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<StreamingResponseBody> downloadExportJob(@PathVariable UUID jobId) {
+        getAccessibleJob(jobId);
+
+        StreamingExport result = exportJobService.download(jobId);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + result.getFilename() + "\"")
                 .contentType(MediaType.parseMediaType(result.getContentType()))
-                .body(result.getContent());
+                .body(result::writeTo);
+    }
+
+    /**
+     * Load a job after checking the caller is a member of its workspace.
+     */
+    @SuppressWarnings("null")
+    private ExportJobDto getAccessibleJob(UUID jobId) {
+        ExportJobDto job = exportJobService.getJob(jobId);
+        workspaceService.getById(job.getWorkspaceId(), userResolver.currentUserId());
+        return job;
     }
 }
@@ -2,25 +2,18 @@ package com.genesis.api.controller;
 
 import com.genesis.common.exception.UnauthorizedException;
 import com.genesis.common.response.ApiResponse;
-import com.genesis.coref.service.CoreferenceService;
 import com.genesis.importexport.dto.ExportOptions;
-import com.genesis.importexport.service.ExportService;
-import com.genesis.importexport.service.ExportService.DocumentInfo;
-import com.genesis.importexport.service.ExportService.ExportResult;
+import com.genesis.importexport.service.ExportArtifactCache;
+import com.genesis.importexport.service.ExportArtifactCache.Snapshot;
+import com.genesis.importexport.service.ExportService.StreamingExport;
 import com.genesis.infra.security.JwtTokenProvider;
-import com.genesis.pos.service.PosTaggingService;
-import com.genesis.workspace.dto.DocumentResponse;
-import com.genesis.workspace.service.DocumentService;
-import com.genesis.workspace.service.WorkspaceService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
-import java.io.IOException;
 import java.time.Duration;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +22,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Share-link export.
@@ -40,6 +35,10 @@ import org.springframework.web.bind.annotation.RestController;
  * the controller cross-checks the path workspaceId against the claim
  * so a token can't be used to download a different workspace.
  *
+ * <p>Downloads are served from {@link ExportArtifactCache} with the cache
+ * key as {@code ETag}; a client sending it back in {@code If-None-Match}
+ * gets {@code 304 Not Modified} while the workspace is unchanged.
+ *
  * <p>The {@code token} query param is redacted by
  * {@code RequestLoggingInterceptor} so share links don't leak into
  * access logs (eng-review D8).
@@ -53,24 +52,12 @@ public class ShareExportController {
     private static final String CLAIM_WORKSPACE_ID = "workspace_id";
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final ExportService exportService;
-    private final WorkspaceService workspaceService;
-    private final DocumentService documentService;
-    private final CoreferenceService coreferenceService;
-    private final PosTaggingService posTaggingService;
+    private final ExportArtifactCache exportArtifactCache;
 
     public ShareExportController(JwtTokenProvider jwtTokenProvider,
-            ExportService exportService,
-            WorkspaceService workspaceService,
-            DocumentService documentService,
-            CoreferenceService coreferenceService,
-            PosTaggingService posTaggingService) {
+            ExportArtifactCache exportArtifactCache) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.exportService = exportService;
-        this.workspaceService = workspaceService;
-        this.documentService = documentService;
-        this.coreferenceService = coreferenceService;
-        this.posTaggingService = posTaggingService;
+        this.exportArtifactCache = exportArtifactCache;
     }
 
     /**
@@ -92,9 +79,10 @@ public class ShareExportController {
      * {@code SecurityConfig} — auth is solely via the JWT in the query.
      */
     @GetMapping("/api/public/export/conll/{workspaceId}")
-    public ResponseEntity<byte[]> downloadWithShareToken(
+    public ResponseEntity<StreamingResponseBody> downloadWithShareToken(
             @PathVariable UUID workspaceId,
-            @RequestParam("token") String token) throws IOException {
+            @RequestParam("token") String token,
+            WebRequest webRequest) {
         Claims claims;
         try {
             claims = jwtTokenProvider.getClaims(token);
@@ -107,37 +95,22 @@ public class ShareExportController {
             throw new UnauthorizedException("Token does not grant access to this workspace");
         }
 
-        ExportOptions options = new ExportOptions();
-        // Access already verified via the signed share token above.
-        var workspace = workspaceService.getByIdInternal(workspaceId);
-        // Access already verified via the signed share token above.
-        List<DocumentResponse> documents = documentService.getByWorkspaceIdInternal(workspaceId);
-
-        List<DocumentInfo> docInfos = documents.stream()
-                .map(d -> new DocumentInfo(d.getId(), d.getName()))
-                .collect(Collectors.toList());
-
-        Map<UUID, Map<String, String>> corefAnnotationsPerDoc = coreferenceService
-                .generateWorkspaceCorefAnnotations(workspaceId);
-        Map<UUID, Map<UUID, String>> posOverridesPerDoc = new HashMap<>();
-        Map<UUID, Map<UUID, Long>> annotatorCountsPerDoc = new HashMap<>();
-        for (DocumentResponse d : documents) {
-            posOverridesPerDoc.put(d.getId(), posTaggingService.getMajorityPosByDocumentInternal(d.getId()));
-            annotatorCountsPerDoc.put(d.getId(), posTaggingService.getAnnotatorCountsByDocumentInternal(d.getId()));
+        // Access already verified via the signed share token above. The
+        // snapshot reads the database only when the workspace's data version
+        // is not already known.
+        Snapshot snapshot = exportArtifactCache.snapshot(workspaceId, new ExportOptions());
+        if (webRequest.checkNotModified(snapshot.etag())) {
+            return null;
         }
 
-        ExportResult result = exportService.exportWorkspace(
-                docInfos,
-                corefAnnotationsPerDoc,
-                posOverridesPerDoc,
-                annotatorCountsPerDoc,
-                options,
-                workspace.getName());
+        StreamingExport result = exportArtifactCache.export(snapshot);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + result.getFilename() + "\"")
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
                 .contentType(MediaType.parseMediaType(result.getContentType()))
-                .body(result.getContent());
+                .body(result::writeTo);
     }
 
     /** Response envelope for the share-token endpoint. */
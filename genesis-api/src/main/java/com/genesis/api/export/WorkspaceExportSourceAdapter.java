@@ -0,0 +1,98 @@
+package com.genesis.api.export;
+
+import com.genesis.common.exception.ResourceNotFoundException;
+import com.genesis.coref.service.CoreferenceService;
+import com.genesis.importexport.port.WorkspaceExportSource;
+import com.genesis.importexport.service.ExportService.DocumentInfo;
+import com.genesis.pos.service.PosTaggingService;
+import com.genesis.workspace.dto.DocumentResponse;
+import com.genesis.workspace.entity.Document;
+import com.genesis.workspace.entity.Workspace;
+import com.genesis.workspace.repository.DocumentRepository;
+import com.genesis.workspace.repository.WorkspaceRepository;
+import com.genesis.workspace.service.DocumentService;
+import com.genesis.workspace.service.WorkspaceService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Composition-root adapter for {@link WorkspaceExportSource}. Gathers a
+ * background export's inputs from the workspace, coref and pos modules the way
+ * {@code ExportController} does for a synchronous export, mirroring
+ * {@code DocumentQueryAdapter}.
+ *
+ * <p>The data version is a SHA-256 over the workspace's last-modified time and
+ * each document's id, name and last-modified time. Mention, cluster and POS
+ * edits record workspace activity, and document edits bump the document.
+ */
+@Component
+public class WorkspaceExportSourceAdapter implements WorkspaceExportSource {
+
+    private final WorkspaceRepository workspaceRepository;
+    private final DocumentRepository documentRepository;
+    private final WorkspaceService workspaceService;
+    private final DocumentService documentService;
+    private final CoreferenceService coreferenceService;
+    private final PosTaggingService posTaggingService;
+
+    public WorkspaceExportSourceAdapter(WorkspaceRepository workspaceRepository,
+            DocumentRepository documentRepository,
+            WorkspaceService workspaceService,
+            DocumentService documentService,
+            CoreferenceService coreferenceService,
+            PosTaggingService posTaggingService) {
+        this.workspaceRepository = workspaceRepository;
+        this.documentRepository = documentRepository;
+        this.workspaceService = workspaceService;
+        this.documentService = documentService;
+        this.coreferenceService = coreferenceService;
+        this.posTaggingService = posTaggingService;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String dataVersion(UUID workspaceId) {
+        Workspace workspace = workspaceRepository.findById(workspaceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Workspace", workspaceId));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, workspace.getUpdatedAt());
+            for (Document document : documentRepository.findByWorkspaceIdOrderByOrderIndexAsc(workspaceId)) {
+                update(digest, document.getId());
+                update(digest, document.getName());
+                update(digest, document.getUpdatedAt());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExportInput load(UUID workspaceId) {
+        String workspaceName = workspaceService.getByIdInternal(workspaceId).getName();
+        List<DocumentResponse> documents = documentService.getByWorkspaceIdInternal(workspaceId);
+
+        List<DocumentInfo> docInfos = documents.stream()
+                .map(d -> new DocumentInfo(d.getId(), d.getName()))
+                .toList();
+        List<UUID> documentIds = documents.stream().map(DocumentResponse::getId).toList();
+        return new ExportInput(workspaceName, docInfos,
+                coreferenceService.generateWorkspaceCorefAnnotations(workspaceId),
+                posTaggingService.getMajorityPosByDocumentsInternal(documentIds),
+                posTaggingService.getAnnotatorCountsByDocumentsInternal(documentIds));
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+}
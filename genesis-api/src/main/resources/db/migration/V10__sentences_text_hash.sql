@@ -0,0 +1,11 @@
+-- Content hash on sentences for incremental re-import.
+--
+-- ImportService#reimportPlainText lines the freshly segmented text up against
+-- the stored sentences by (text_hash, length) and only rewrites the ones that
+-- changed, so token rows -- and the POS/WSD annotations keyed on their ids --
+-- survive an edit elsewhere in the document.
+--
+-- Nullable: rows written before this migration (and CoNLL-imported sentences)
+-- carry no hash; the re-import compares their text directly.
+
+ALTER TABLE sentences ADD COLUMN text_hash bigint;
@@ -0,0 +1,39 @@
+-- Per-workspace token offsets.
+--
+-- One row per workspace holds the documents in order with their token counts
+-- (TokenOffsetIndex.encode(): a 4-byte entry count followed by a 16-byte
+-- document id and a 4-byte token count per document, big-endian). The
+-- application keeps a Fenwick tree over it, so a document's global token
+-- offset no longer requires token_start_index/token_end_index to be rewritten
+-- on every following document.
+
+CREATE TABLE workspace_token_offsets (
+    id uuid NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    created_by character varying(255) NOT NULL,
+    updated_at timestamp(6) with time zone NOT NULL,
+    updated_by character varying(255) NOT NULL,
+    version bigint,
+    workspace_id uuid NOT NULL,
+    payload bytea NOT NULL,
+    CONSTRAINT workspace_token_offsets_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_workspace_token_offsets_workspace UNIQUE (workspace_id),
+    CONSTRAINT fk_workspace_token_offsets_workspace FOREIGN KEY (workspace_id)
+        REFERENCES workspaces(id) ON DELETE CASCADE
+);
+
+-- Backfill from the per-document indices written so far; untokenized
+-- documents start with a count of 0.
+INSERT INTO workspace_token_offsets
+    (id, created_at, created_by, updated_at, updated_by, version, workspace_id, payload)
+SELECT gen_random_uuid(), now(), 'system', now(), 'system', 0, w.id,
+       int4send(count(d.id)::integer)
+           || coalesce(string_agg(
+                  uuid_send(d.id) || int4send(
+                      CASE WHEN d.token_start_index IS NOT NULL AND d.token_end_index IS NOT NULL
+                           THEN greatest(d.token_end_index - d.token_start_index + 1, 0)
+                           ELSE 0 END),
+                  ''::bytea ORDER BY d.order_index, d.created_at), ''::bytea)
+FROM workspaces w
+LEFT JOIN documents d ON d.workspace_id = w.id
+GROUP BY w.id;
@@ -0,0 +1,29 @@
+-- Content-addressed tokenization reuse.
+--
+-- documents.content_hash is the hex SHA-256 of the uploaded bytes, recorded at
+-- upload. tokenization_cache maps that hash, combined with the tokenizer and
+-- segmenter versions, to a document whose sentence/token rows are a finished
+-- plain-text tokenization of exactly those bytes. A later upload with the same
+-- key copies those rows with INSERT ... SELECT instead of downloading and
+-- tokenizing the file again. Deleting the source document drops its entries.
+
+ALTER TABLE documents ADD COLUMN content_hash character varying(64);
+
+CREATE TABLE tokenization_cache (
+    id uuid NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    created_by character varying(255) NOT NULL,
+    updated_at timestamp(6) with time zone NOT NULL,
+    updated_by character varying(255) NOT NULL,
+    version bigint,
+    cache_key character varying(64) NOT NULL,
+    source_document_id uuid NOT NULL,
+    sentence_count integer NOT NULL,
+    token_count integer NOT NULL,
+    CONSTRAINT tokenization_cache_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_tokenization_cache_key UNIQUE (cache_key),
+    CONSTRAINT fk_tokenization_cache_source FOREIGN KEY (source_document_id)
+        REFERENCES documents(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_tokenization_cache_source ON tokenization_cache (source_document_id);
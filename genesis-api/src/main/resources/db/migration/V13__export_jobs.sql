@@ -0,0 +1,40 @@
+-- Asynchronous workspace exports.
+--
+-- One row per submitted export job. The archive is rendered on a background
+-- pool, stored through FileStorageService (stored_file_id) and announced with
+-- an ExportGeneratedEvent. A submission with the same workspace, the same
+-- export options and the same data_version (a fingerprint of the workspace
+-- and document timestamps taken at submission) gets the queued, running or
+-- completed job back instead of rendering again. A completed job is EXPIRED,
+-- and its archive deleted, once an export of newer data with the same options
+-- completes, so each workspace keeps few live jobs per option set.
+
+CREATE TABLE export_jobs (
+    id uuid NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    created_by character varying(255) NOT NULL,
+    updated_at timestamp(6) with time zone NOT NULL,
+    updated_by character varying(255) NOT NULL,
+    version bigint,
+    workspace_id uuid NOT NULL,
+    requested_by uuid NOT NULL,
+    status character varying(20) NOT NULL,
+    column2_mode character varying(20) NOT NULL,
+    export_format character varying(40) NOT NULL,
+    continue_sentence_numbers boolean NOT NULL,
+    default_part_number integer NOT NULL,
+    data_version character varying(64) NOT NULL,
+    file_name character varying(255),
+    content_type character varying(100),
+    stored_file_id uuid,
+    file_size bigint,
+    error_message character varying(1000),
+    completed_at timestamp(6) with time zone,
+    CONSTRAINT export_jobs_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_export_jobs_workspace FOREIGN KEY (workspace_id)
+        REFERENCES workspaces(id) ON DELETE CASCADE,
+    CONSTRAINT fk_export_jobs_stored_file FOREIGN KEY (stored_file_id)
+        REFERENCES stored_files(id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_export_jobs_workspace ON export_jobs (workspace_id);
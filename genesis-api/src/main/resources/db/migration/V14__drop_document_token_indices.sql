@@ -0,0 +1,8 @@
+-- Drop the per-document token indices.
+--
+-- Global token offsets come from workspace_token_offsets (V11), which was
+-- backfilled from these columns. Nothing has written them since, so they only
+-- held stale values.
+
+ALTER TABLE documents DROP COLUMN token_start_index;
+ALTER TABLE documents DROP COLUMN token_end_index;
@@ -0,0 +1,30 @@
+-- Checkpointed plain-text imports.
+--
+-- One row per document records how much of the source has been committed to
+-- sentences/tokens. ImportService updates it in the same transaction as each
+-- chunk of rows, so after a JVM restart the import skips byte_offset bytes of
+-- the stored source and carries on numbering from sentences_committed /
+-- tokens_committed rather than starting over.
+--
+-- byte_offset is -1 when the position cannot be derived from the decoded text
+-- (malformed UTF-8); such jobs restart from the beginning.
+
+CREATE TABLE import_jobs (
+    id uuid NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    created_by character varying(255) NOT NULL,
+    updated_at timestamp(6) with time zone NOT NULL,
+    updated_by character varying(255) NOT NULL,
+    version bigint,
+    document_id uuid NOT NULL,
+    status character varying(20) NOT NULL,
+    sentences_committed integer NOT NULL,
+    tokens_committed integer NOT NULL,
+    char_offset bigint NOT NULL,
+    byte_offset bigint NOT NULL,
+    attempts integer NOT NULL,
+    CONSTRAINT import_jobs_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_import_jobs_document UNIQUE (document_id),
+    CONSTRAINT fk_import_jobs_document FOREIGN KEY (document_id)
+        REFERENCES documents(id) ON DELETE CASCADE
+);
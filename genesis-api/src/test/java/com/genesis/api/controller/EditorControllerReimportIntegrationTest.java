@@ -0,0 +1,160 @@
+package com.genesis.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.genesis.api.security.AuthenticatedUserResolver;
+import com.genesis.editor.service.EditorService;
+import com.genesis.importexport.entity.TokenEntity;
+import com.genesis.importexport.repository.TokenRepository;
+import com.genesis.importexport.service.DocumentRetokenizationService;
+import com.genesis.importexport.service.ImportService;
+import com.genesis.infra.storage.FileStorageService;
+import com.genesis.workspace.service.DocumentService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Integration test for incremental re-import through
+ * {@link EditorController#tokenizeDocument}: the edited text arrives as a
+ * multipart upload and runs through the real {@link ImportService} inside the
+ * transaction of {@link DocumentRetokenizationService}, against the in-memory
+ * database. Document bookkeeping and storage are mocked.
+ */
+@SpringBootTest
+class EditorControllerReimportIntegrationTest {
+
+    @Autowired
+    private DocumentRetokenizationService retokenizationService;
+
+    @Autowired
+    private TokenRepository tokenRepository;
+
+    @MockBean
+    private DocumentService documentService;
+
+    private FileStorageService fileStorageService;
+    private MockMvc mockMvc;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = mock(FileStorageService.class);
+        AuthenticatedUserResolver userResolver = mock(AuthenticatedUserResolver.class);
+        userId = UUID.randomUUID();
+        when(userResolver.currentUserId()).thenReturn(userId);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EditorController(mock(EditorService.class), retokenizationService,
+                documentService, fileStorageService, userResolver)).build();
+    }
+
+    @Test
+    @DisplayName("Re-importing edited text keeps the token ids of unchanged sentences")
+    void reimportKeepsUnchangedTokenIds() throws Exception {
+        UUID documentId = UUID.randomUUID();
+        mockMvc.perform(multipart("/api/editor/documents/{documentId}/tokenize", documentId)
+                        .file(text("Alpha beta. Gamma delta.\nEpsilon zeta.\n")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.tokenCount").value(9));
+        List<TokenEntity> before = tokenRepository.findByDocumentIdOrderByGlobalIndexAsc(documentId);
+
+        mockMvc.perform(multipart("/api/editor/documents/{documentId}/tokenize", documentId)
+                        .file(text("Alpha beta. Gamma big delta.\nEpsilon zeta.\n"))
+                        .param("incremental", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.sentenceCount").value(3))
+                .andExpect(jsonPath("$.data.tokenCount").value(10));
+        List<TokenEntity> after = tokenRepository.findByDocumentIdOrderByGlobalIndexAsc(documentId);
+
+        assertThat(after).extracting(TokenEntity::getForm)
+                .containsExactly("Alpha", "beta", ".", "Gamma", "big", "delta", ".", "Epsilon", "zeta", ".");
+        // Unchanged sentences keep their rows; the trailing one moves up a token.
+        assertThat(ids(after.subList(0, 3))).isEqualTo(ids(before.subList(0, 3)));
+        assertThat(ids(after.subList(7, 10))).isEqualTo(ids(before.subList(6, 9)));
+        assertThat(after.get(7).getGlobalIndex()).isEqualTo(7);
+        assertThat(ids(before)).doesNotContain(after.get(4).getId());
+        verify(documentService, times(2)).replaceSource(eq(documentId), any(), eq(userId));
+        verify(fileStorageService, never()).openStream(any());
+    }
+
+    @Test
+    @DisplayName("A failed import leaves the stored source and the tokens alone")
+    void failedImportKeepsSource() {
+        UUID documentId = UUID.randomUUID();
+        MockMultipartFile broken = new MockMultipartFile("file", "doc.txt", "text/plain", new byte[0]) {
+            @Override
+            public InputStream getInputStream() {
+                return new SequenceInputStream(
+                        new ByteArrayInputStream("Alpha beta.\n".getBytes(StandardCharsets.UTF_8)),
+                        new InputStream() {
+                            @Override
+                            public int read() throws IOException {
+                                throw new IOException("upload cut off");
+                            }
+                        });
+            }
+        };
+
+        assertThatThrownBy(() -> mockMvc.perform(multipart("/api/editor/documents/{documentId}/tokenize", documentId)
+                        .file(broken)))
+                .isInstanceOf(IOException.class);
+
+        verify(documentService).getById(documentId, userId);
+        verify(documentService, never()).replaceSource(any(), any(), any());
+        verify(documentService, never()).updateTokenCount(any(), anyInt());
+        assertThat(tokenRepository.findByDocumentIdOrderByGlobalIndexAsc(documentId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A failed source swap rolls the re-import back")
+    void failedSourceSwapKeepsTokens() throws Exception {
+        UUID documentId = UUID.randomUUID();
+        mockMvc.perform(multipart("/api/editor/documents/{documentId}/tokenize", documentId)
+                        .file(text("Alpha beta.\n")))
+                .andExpect(status().isOk());
+        List<TokenEntity> before = tokenRepository.findByDocumentIdOrderByGlobalIndexAsc(documentId);
+        doThrow(new IllegalStateException("storage unavailable"))
+                .when(documentService).replaceSource(eq(documentId), any(), eq(userId));
+
+        assertThatThrownBy(() -> mockMvc.perform(multipart("/api/editor/documents/{documentId}/tokenize", documentId)
+                        .file(text("Alpha gamma beta.\n"))
+                        .param("incremental", "true")))
+                .hasRootCauseMessage("storage unavailable");
+
+        assertThat(ids(tokenRepository.findByDocumentIdOrderByGlobalIndexAsc(documentId))).isEqualTo(ids(before));
+        verify(documentService, times(1)).updateTokenCount(any(), anyInt());
+    }
+
+    private static MockMultipartFile text(String content) {
+        return new MockMultipartFile("file", "doc.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<UUID> ids(List<TokenEntity> tokens) {
+        return tokens.stream().map(TokenEntity::getId).toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.genesis.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.genesis.importexport.port.WorkspaceExportSource;
+import com.genesis.importexport.port.WorkspaceExportSource.ExportInput;
+import com.genesis.importexport.repository.SentenceRepository;
+import com.genesis.importexport.repository.TokenRepository;
+import com.genesis.importexport.service.ExportArtifactCache;
+import com.genesis.importexport.service.ExportProperties;
+import com.genesis.importexport.service.ExportService;
+import com.genesis.infra.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import jakarta.persistence.EntityManager;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Conditional share-link downloads through {@link ShareExportController} and
+ * a real {@link ExportArtifactCache}: only the workspace data source is mocked.
+ */
+@ExtendWith(MockitoExtension.class)
+class ShareExportControllerTest {
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private Claims claims;
+
+    @Mock
+    private WorkspaceExportSource exportSource;
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @Mock
+    private SentenceRepository sentenceRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @TempDir
+    private Path cacheDirectory;
+
+    private final ExecutorService renderExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private MockMvc mockMvc;
+    private UUID workspaceId;
+
+    @BeforeEach
+    void setUp() {
+        workspaceId = UUID.randomUUID();
+        ExportProperties properties = new ExportProperties();
+        properties.getCache().setDirectory(cacheDirectory.toString());
+        ExportService exportService = new ExportService(tokenRepository, sentenceRepository, entityManager,
+                renderExecutor, properties);
+        ExportArtifactCache cache = new ExportArtifactCache(exportSource, exportService, properties);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ShareExportController(jwtTokenProvider, cache)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        renderExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("A repeat download sending the ETag back gets 304 without reading the workspace again")
+    void repeatDownloadWithEtag_isNotModified() throws Exception {
+        when(jwtTokenProvider.getClaims("share")).thenReturn(claims);
+        when(claims.get("workspace_id", String.class)).thenReturn(workspaceId.toString());
+        when(exportSource.dataVersion(workspaceId)).thenReturn("v1");
+        when(exportSource.load(workspaceId)).thenReturn(new ExportInput("ws", List.of(), Map.of(), Map.of(), Map.of()));
+
+        MvcResult first = mockMvc.perform(get("/api/public/export/conll/{workspaceId}", workspaceId)
+                        .param("token", "share"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(first))
+                .andExpect(status().isOk());
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        mockMvc.perform(get("/api/public/export/conll/{workspaceId}", workspaceId)
+                        .param("token", "share")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        verify(exportSource, times(1)).dataVersion(workspaceId);
+        verify(exportSource, times(1)).load(workspaceId);
+    }
+}
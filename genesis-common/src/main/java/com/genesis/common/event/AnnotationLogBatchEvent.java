@@ -0,0 +1,47 @@
+package com.genesis.common.event;
+
+import java.util.List;
+import java.util.UUID;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Several {@link AnnotationLogEvent}s of one user in one workspace, published
+ * once by a batch operation. Persisted by AnnotationAuditListener
+ * (genesis-logging) on AFTER_COMMIT as one row per entry, all in a single
+ * transaction instead of one per entry.
+ */
+public class AnnotationLogBatchEvent extends ApplicationEvent {
+
+    private final UUID workspaceId;
+    private final String userId;
+    private final List<Entry> entries;
+
+    /**
+     * One audit row: the action, the entity acted on and its payload, as in
+     * {@link AnnotationLogEvent}.
+     */
+    public record Entry(ActionType actionType, UUID entityId, String payloadJson) {
+    }
+
+    public AnnotationLogBatchEvent(Object source,
+            UUID workspaceId,
+            String userId,
+            List<Entry> entries) {
+        super(source);
+        this.workspaceId = workspaceId;
+        this.userId = userId;
+        this.entries = List.copyOf(entries);
+    }
+
+    public UUID getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+}
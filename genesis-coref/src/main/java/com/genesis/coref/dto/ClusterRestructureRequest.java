@@ -0,0 +1,86 @@
+package com.genesis.coref.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request to merge and split many clusters of one workspace in a single
+ * transaction.
+ *
+ * <p>
+ * Merges are transitive: {@code MERGE [a, b]} and {@code MERGE [b, c]} leave
+ * one cluster holding the mentions of all three. A split moves the listed
+ * mentions out of their cluster into a new one, whatever that cluster is
+ * merged with. Either all directives apply or none do.
+ */
+public class ClusterRestructureRequest {
+
+    private List<Directive> directives;
+
+    public List<Directive> getDirectives() {
+        return directives;
+    }
+
+    public void setDirectives(List<Directive> directives) {
+        this.directives = directives;
+    }
+
+    /**
+     * One restructuring directive. {@code MERGE} reads {@code clusterIds} (at
+     * least two); {@code SPLIT} reads {@code clusterId}, {@code mentionIds} and
+     * an optional {@code label} for the new cluster.
+     */
+    public static class Directive {
+
+        /** Kind of restructuring directive. */
+        public enum Type {
+            MERGE, SPLIT
+        }
+
+        private Type type;
+        private List<UUID> clusterIds;
+        private UUID clusterId;
+        private List<UUID> mentionIds;
+        private String label;
+
+        public Type getType() {
+            return type;
+        }
+
+        public void setType(Type type) {
+            this.type = type;
+        }
+
+        public List<UUID> getClusterIds() {
+            return clusterIds;
+        }
+
+        public void setClusterIds(List<UUID> clusterIds) {
+            this.clusterIds = clusterIds;
+        }
+
+        public UUID getClusterId() {
+            return clusterId;
+        }
+
+        public void setClusterId(UUID clusterId) {
+            this.clusterId = clusterId;
+        }
+
+        public List<UUID> getMentionIds() {
+            return mentionIds;
+        }
+
+        public void setMentionIds(List<UUID> mentionIds) {
+            this.mentionIds = mentionIds;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+    }
+}
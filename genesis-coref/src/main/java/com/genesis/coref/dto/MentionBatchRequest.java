@@ -0,0 +1,76 @@
+package com.genesis.coref.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request to apply several mention operations to one workspace in a single
+ * transaction.
+ *
+ * <p>
+ * Operations run in list order, so a later operation sees the effect of an
+ * earlier one (e.g. a deleted mention frees its span for a create). Either all
+ * operations apply or none do.
+ */
+public class MentionBatchRequest {
+
+    private List<Operation> operations;
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * One mention operation. {@code CREATE} reads {@code mention};
+     * {@code ASSIGN} reads {@code mentionId} and {@code clusterId};
+     * {@code UNASSIGN} and {@code DELETE} read {@code mentionId}.
+     */
+    public static class Operation {
+
+        /** Kind of mention operation. */
+        public enum Type {
+            CREATE, ASSIGN, UNASSIGN, DELETE
+        }
+
+        private Type type;
+        private UUID mentionId;
+        private UUID clusterId;
+        private CreateMentionRequest mention;
+
+        public Type getType() {
+            return type;
+        }
+
+        public void setType(Type type) {
+            this.type = type;
+        }
+
+        public UUID getMentionId() {
+            return mentionId;
+        }
+
+        public void setMentionId(UUID mentionId) {
+            this.mentionId = mentionId;
+        }
+
+        public UUID getClusterId() {
+            return clusterId;
+        }
+
+        public void setClusterId(UUID clusterId) {
+            this.clusterId = clusterId;
+        }
+
+        public CreateMentionRequest getMention() {
+            return mention;
+        }
+
+        public void setMention(CreateMentionRequest mention) {
+            this.mention = mention;
+        }
+    }
+}
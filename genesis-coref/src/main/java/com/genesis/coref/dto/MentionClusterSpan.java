@@ -0,0 +1,21 @@
+package com.genesis.coref.dto;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of an assigned mention joined to its cluster: just
+ * what the CoNLL coreference column needs.
+ *
+ * @param documentId      the mention's document
+ * @param sentenceIndex   sentence of the mention
+ * @param startTokenIndex first token (inclusive)
+ * @param endTokenIndex   last token (inclusive)
+ * @param clusterNumber   workspace-scoped cluster number
+ */
+public record MentionClusterSpan(
+        UUID documentId,
+        int sentenceIndex,
+        int startTokenIndex,
+        int endTokenIndex,
+        int clusterNumber) {
+}
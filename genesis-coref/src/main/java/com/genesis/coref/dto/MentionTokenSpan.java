@@ -0,0 +1,21 @@
+package com.genesis.coref.dto;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of a mention's position: what overlap checks and the
+ * editor's mention overlay need, without the mention text.
+ *
+ * @param mentionId       the mention
+ * @param sentenceIndex   sentence of the mention
+ * @param startTokenIndex first token (inclusive)
+ * @param endTokenIndex   last token (inclusive)
+ * @param clusterId       the mention's cluster, or {@code null} if unassigned
+ */
+public record MentionTokenSpan(
+        UUID mentionId,
+        int sentenceIndex,
+        int startTokenIndex,
+        int endTokenIndex,
+        UUID clusterId) {
+}
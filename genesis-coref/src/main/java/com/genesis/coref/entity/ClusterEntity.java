@@ -51,9 +51,11 @@ public class ClusterEntity extends BaseEntity {
     private String color;
 
     /**
-     * Number of mentions in this cluster (cached for performance).
+     * Number of mentions in this cluster (cached for performance). Written on
+     * insert only; afterwards it moves by delta UPDATEs (ClusterMentionCounts),
+     * so saving a cluster never overwrites a concurrent change to it.
      */
-    @Column(name = "mention_count")
+    @Column(name = "mention_count", updatable = false)
     private Integer mentionCount;
 
     // Getters and Setters
@@ -1,9 +1,13 @@
 package com.genesis.coref.listener;
 
+import com.genesis.coref.dto.MentionTokenSpan;
 import com.genesis.coref.entity.ClusterEntity;
 import com.genesis.coref.entity.MentionEntity;
 import com.genesis.coref.repository.ClusterRepository;
 import com.genesis.coref.repository.MentionRepository;
+import com.genesis.coref.service.ClusterMentionCounts;
+import com.genesis.coref.service.ClusterNumbering;
+import com.genesis.coref.service.MentionSpanCache;
 import com.genesis.importexport.entity.TokenEntity;
 import com.genesis.importexport.event.ConllImportedEvent;
 import com.genesis.importexport.format.Conll2012Parser.MentionSpan;
@@ -12,6 +16,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,11 +28,12 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * Persists CoNLL-imported mention spans + clusters into the coref tables.
  *
- * <p>For each unique CoNLL cluster id encountered, allocates a workspace-scoped
- * {@link ClusterEntity} (preserving the original CoNLL id as the cluster
- * number when free, otherwise falling back to the next free number and storing
- * the original in {@code label}). Then persists one {@link MentionEntity} per
- * span, linked to that cluster.
+ * <p>Each unique CoNLL cluster id is read as a display number and resolved to
+ * the workspace cluster of that rank. Ids beyond the workspace's clusters get
+ * a new {@link ClusterEntity}, numbered above every stored number in ascending
+ * CoNLL id order (the original id is kept in {@code label}), so the display
+ * numbers of existing clusters never move. Then persists one
+ * {@link MentionEntity} per span, linked to that cluster.
  */
 @Component
 public class ConllMentionImportListener {
@@ -41,13 +48,19 @@ public class ConllMentionImportListener {
     private final ClusterRepository clusterRepository;
     private final MentionRepository mentionRepository;
     private final TokenRepository tokenRepository;
+    private final MentionSpanCache spanCache;
+    private final ClusterMentionCounts mentionCounts;
 
     public ConllMentionImportListener(ClusterRepository clusterRepository,
             MentionRepository mentionRepository,
-            TokenRepository tokenRepository) {
+            TokenRepository tokenRepository,
+            MentionSpanCache spanCache,
+            ClusterMentionCounts mentionCounts) {
         this.clusterRepository = clusterRepository;
         this.mentionRepository = mentionRepository;
         this.tokenRepository = tokenRepository;
+        this.spanCache = spanCache;
+        this.mentionCounts = mentionCounts;
     }
 
     @EventListener
@@ -62,16 +75,38 @@ public class ConllMentionImportListener {
             return;
         }
 
-        // Wipe any prior mentions on this document (re-import path)
+        // Wipe any prior mentions on this document (re-import path), taking
+        // them off their clusters' counts
+        Map<UUID, Integer> clusterDeltas = new HashMap<>();
+        for (MentionTokenSpan prior : mentionRepository.findTokenSpans(workspaceId, documentId)) {
+            if (prior.clusterId() != null) {
+                clusterDeltas.merge(prior.clusterId(), -1, Integer::sum);
+            }
+        }
         mentionRepository.deleteByDocumentId(documentId);
+        spanCache.evictDocument(documentId);
 
+        // CoNLL ids are display numbers, as exports write them: id N is the
+        // cluster ranked N-th in the workspace, whatever its stored number
+        ClusterNumbering numbering = ClusterNumbering.of(clusterRepository.findClusterNumbers(workspaceId));
         Map<Integer, ClusterEntity> clusterByConllId = new HashMap<>();
-        Map<Integer, Integer> mentionCountByConllId = new HashMap<>();
-
+        SortedSet<Integer> conllIds = new TreeSet<>();
         for (MentionSpan span : spans) {
-            int conllId = span.getClusterId();
-            mentionCountByConllId.merge(conllId, 1, Integer::sum);
-            clusterByConllId.computeIfAbsent(conllId, id -> resolveOrCreateCluster(workspaceId, id));
+            conllIds.add(span.getClusterId());
+        }
+        Integer nextNumber = null;
+        for (int conllId : conllIds) {
+            Integer storedNumber = numbering.storedNumber(conllId);
+            ClusterEntity cluster = storedNumber == null ? null
+                    : clusterRepository.findByWorkspaceIdAndClusterNumber(workspaceId, storedNumber).orElse(null);
+            if (cluster == null) {
+                // Numbered past the maximum: filling a gap would shift the ranks above it
+                if (nextNumber == null) {
+                    nextNumber = clusterRepository.getNextClusterNumber(workspaceId);
+                }
+                cluster = createCluster(workspaceId, conllId, nextNumber++);
+            }
+            clusterByConllId.put(conllId, cluster);
         }
 
         // Cache tokens per sentence to compute mention text
@@ -91,34 +126,21 @@ public class ConllMentionImportListener {
             m.setEndTokenIndex(span.getEndTokenIndex());
             m.setText(extractMentionText(documentId, span, tokensBySentence));
             mentions.add(m);
+            clusterDeltas.merge(cluster.getId(), 1, Integer::sum);
         }
         mentionRepository.saveAll(mentions);
 
-        // Update mention counts on the touched clusters
-        clusterByConllId.forEach((conllId, cluster) -> {
-            int delta = mentionCountByConllId.getOrDefault(conllId, 0);
-            int prev = cluster.getMentionCount() == null ? 0 : cluster.getMentionCount();
-            cluster.setMentionCount(prev + delta);
-        });
-        clusterRepository.saveAll(clusterByConllId.values());
+        // One delta UPDATE per touched cluster, written at commit
+        mentionCounts.adjustAll(clusterDeltas);
 
         log.info("CoNLL import: persisted {} mentions across {} clusters for doc {}",
                 mentions.size(), clusterByConllId.size(), documentId);
     }
 
-    private ClusterEntity resolveOrCreateCluster(UUID workspaceId, int conllId) {
-        return clusterRepository.findByWorkspaceIdAndClusterNumber(workspaceId, conllId)
-                .orElseGet(() -> createCluster(workspaceId, conllId));
-    }
-
-    private ClusterEntity createCluster(UUID workspaceId, int conllId) {
-        int targetNumber = conllId;
-        if (clusterRepository.existsByWorkspaceIdAndClusterNumber(workspaceId, targetNumber)) {
-            targetNumber = clusterRepository.getNextClusterNumber(workspaceId);
-        }
+    private ClusterEntity createCluster(UUID workspaceId, int conllId, int clusterNumber) {
         ClusterEntity cluster = new ClusterEntity();
         cluster.setWorkspaceId(workspaceId);
-        cluster.setClusterNumber(targetNumber);
+        cluster.setClusterNumber(clusterNumber);
         cluster.setLabel("CoNLL #" + conllId);
         cluster.setColor(CLUSTER_COLORS[Math.floorMod(conllId, CLUSTER_COLORS.length)]);
         cluster.setMentionCount(0);
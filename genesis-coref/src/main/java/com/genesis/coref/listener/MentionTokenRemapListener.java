@@ -0,0 +1,93 @@
+package com.genesis.coref.listener;
+
+import com.genesis.coref.entity.MentionEntity;
+import com.genesis.coref.repository.MentionRepository;
+import com.genesis.coref.service.ClusterMentionCounts;
+import com.genesis.coref.service.MentionSpanCache;
+import com.genesis.importexport.event.DocumentTokensRemappedEvent;
+import com.genesis.importexport.event.TokenRemap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps coreference mentions on their tokens when a document is incrementally
+ * re-imported.
+ *
+ * <p>Mentions in sentences after the edited range only change sentence index
+ * (one bulk update). Mentions inside it are mapped through their tokens: a
+ * mention whose tokens all survived, still adjacent and within one sentence,
+ * moves; any other mention is deleted and its cluster's mention count
+ * decremented. Runs in the re-import's transaction.
+ */
+@Component
+public class MentionTokenRemapListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MentionTokenRemapListener.class);
+
+    private final MentionRepository mentionRepository;
+    private final ClusterMentionCounts mentionCounts;
+    private final MentionSpanCache spanCache;
+
+    public MentionTokenRemapListener(MentionRepository mentionRepository, ClusterMentionCounts mentionCounts,
+            MentionSpanCache spanCache) {
+        this.mentionRepository = mentionRepository;
+        this.mentionCounts = mentionCounts;
+        this.spanCache = spanCache;
+    }
+
+    @EventListener
+    @Transactional
+    public void onTokensRemapped(DocumentTokensRemappedEvent event) {
+        UUID documentId = event.getDocumentId();
+        TokenRemap remap = event.getRemap();
+
+        // Load before the bulk shift: the shifted rows may land in this range.
+        List<MentionEntity> affected = mentionRepository.findBySentenceRange(
+                documentId, remap.getFirstChangedSentence(), remap.getChangedSentencesEnd());
+        if (remap.getSentenceShift() != 0) {
+            mentionRepository.shiftSentencesFrom(documentId, remap.getChangedSentencesEnd(), remap.getSentenceShift());
+        }
+        if (!affected.isEmpty() || remap.getSentenceShift() != 0) {
+            spanCache.evictDocument(documentId);
+        }
+
+        List<MentionEntity> dropped = new ArrayList<>();
+        for (MentionEntity mention : affected) {
+            int start = remap.oldGlobalIndex(mention.getSentenceIndex(), mention.getStartTokenIndex());
+            int end = remap.oldGlobalIndex(mention.getSentenceIndex(), mention.getEndTokenIndex());
+            int newStart = start < 0 || end < start ? -1 : remap.mapSpan(start, end);
+            int newEnd = newStart + (end - start);
+            if (newStart < 0 || remap.newSentenceIndex(newStart) != remap.newSentenceIndex(newEnd)) {
+                dropped.add(mention);
+                continue;
+            }
+            mention.setSentenceIndex(remap.newSentenceIndex(newStart));
+            mention.setStartTokenIndex(remap.newTokenIndex(newStart));
+            mention.setEndTokenIndex(remap.newTokenIndex(newEnd));
+        }
+
+        if (!dropped.isEmpty()) {
+            Map<UUID, Integer> clusterDeltas = new HashMap<>();
+            dropped.forEach(m -> {
+                if (m.getClusterId() != null) {
+                    clusterDeltas.merge(m.getClusterId(), -1, Integer::sum);
+                }
+            });
+            mentionRepository.deleteAll(dropped);
+            mentionCounts.adjustAll(clusterDeltas);
+        }
+
+        if (!affected.isEmpty()) {
+            log.info("Re-import of document {}: kept {} and dropped {} mentions on edited tokens",
+                    documentId, affected.size() - dropped.size(), dropped.size());
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.genesis.coref.repository;
 
 import com.genesis.coref.entity.ClusterEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,6 +23,9 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ClusterRepository extends JpaRepository<ClusterEntity, UUID> {
 
+    /** {@code jakarta.persistence.lock.timeout} value asking Hibernate for SKIP LOCKED. */
+    String SKIP_LOCKED = "-2";
+
     /**
      * Find all clusters for a workspace ordered by cluster number.
      */
@@ -34,6 +44,23 @@ public interface ClusterRepository extends JpaRepository<ClusterEntity, UUID> {
             @Param("cursor") Integer cursor,
             Pageable pageable);
 
+    /**
+     * Stored cluster numbers of a workspace, ascending. Numbers may have gaps;
+     * see {@code ClusterNumbering} for the contiguous display numbers.
+     */
+    @Query("SELECT c.clusterNumber FROM ClusterEntity c WHERE c.workspaceId = :workspaceId "
+            + "ORDER BY c.clusterNumber ASC")
+    List<Integer> findClusterNumbers(@Param("workspaceId") UUID workspaceId);
+
+    /**
+     * Stored cluster numbers of the workspace that owns a document's mentions,
+     * ascending. Empty if the document has no mentions.
+     */
+    @Query("SELECT c.clusterNumber FROM ClusterEntity c WHERE c.workspaceId IN "
+            + "(SELECT m.workspaceId FROM MentionEntity m WHERE m.documentId = :documentId) "
+            + "ORDER BY c.clusterNumber ASC")
+    List<Integer> findClusterNumbersByDocumentId(@Param("documentId") UUID documentId);
+
     /**
      * Find a cluster by workspace and cluster number.
      */
@@ -59,4 +86,56 @@ public interface ClusterRepository extends JpaRepository<ClusterEntity, UUID> {
      * Check if a cluster exists.
      */
     boolean existsByWorkspaceIdAndClusterNumber(UUID workspaceId, Integer clusterNumber);
+
+    /**
+     * Add {@code delta} (may be negative) to a cluster's mention count in one
+     * UPDATE, without reading the cluster or counting its mentions. The
+     * version is left alone: the count is maintained only by deltas, so
+     * concurrent writers need no optimistic lock on it. Pending changes are
+     * flushed first.
+     *
+     * @return number of cluster rows updated (0 if the cluster is gone)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ClusterEntity c SET c.mentionCount = COALESCE(c.mentionCount, 0) + :delta "
+            + "WHERE c.id = :clusterId")
+    int adjustMentionCount(@Param("clusterId") UUID clusterId, @Param("delta") int delta);
+
+    /**
+     * Ids of clusters whose stored mention count differs from their mentions.
+     * Read without locks, so a cluster with a delta in flight may be listed;
+     * {@link #recountMentionCounts} settles it under a row lock.
+     */
+    @Query("SELECT c.id FROM ClusterEntity c "
+            + "WHERE c.mentionCount IS NULL "
+            + "OR c.mentionCount <> (SELECT COUNT(m) FROM MentionEntity m WHERE m.clusterId = c.id)")
+    List<UUID> findDriftedClusterIds();
+
+    /**
+     * Row-lock the given clusters, skipping those another transaction holds
+     * (e.g. one applying a mention count delta) where the database supports
+     * it.
+     *
+     * @return the clusters now locked
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_LOCK_TIMEOUT, value = SKIP_LOCKED))
+    @Query("SELECT c FROM ClusterEntity c WHERE c.id IN :clusterIds")
+    List<ClusterEntity> lockForRecount(@Param("clusterIds") Collection<UUID> clusterIds);
+
+    /**
+     * Recount the mentions of the given clusters where the stored count
+     * differs. Call it on clusters locked by {@link #lockForRecount} in the
+     * same transaction: the recount statement then starts after every delta
+     * committed before the lock, and later deltas wait for it and apply on
+     * top. Pending changes are flushed first.
+     *
+     * @return number of clusters corrected
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ClusterEntity c SET c.mentionCount = "
+            + "CAST((SELECT COUNT(m) FROM MentionEntity m WHERE m.clusterId = c.id) AS Integer) "
+            + "WHERE c.id IN :clusterIds AND (c.mentionCount IS NULL "
+            + "OR c.mentionCount <> (SELECT COUNT(m) FROM MentionEntity m WHERE m.clusterId = c.id))")
+    int recountMentionCounts(@Param("clusterIds") Collection<UUID> clusterIds);
 }
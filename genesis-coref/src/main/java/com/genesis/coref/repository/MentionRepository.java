@@ -1,12 +1,19 @@
 package com.genesis.coref.repository;
 
+import com.genesis.coref.dto.MentionClusterSpan;
+import com.genesis.coref.dto.MentionTokenSpan;
 import com.genesis.coref.entity.MentionEntity;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,6 +23,9 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface MentionRepository extends JpaRepository<MentionEntity, UUID> {
 
+        /** JDBC fetch size of the span streams. */
+        String SPAN_FETCH_SIZE = "1000";
+
         /**
          * Find all mentions for a workspace.
          */
@@ -41,6 +51,52 @@ public interface MentionRepository extends JpaRepository<MentionEntity, UUID> {
                         "ORDER BY m.sentenceIndex ASC, m.startTokenIndex ASC")
         List<MentionEntity> findByDocumentIdOrdered(@Param("documentId") UUID documentId);
 
+        /**
+         * Spans and cluster numbers of a document's assigned mentions, ordered by
+         * sentence and start token. Mentions without a (resolvable) cluster are
+         * left out. The stream must be consumed inside a transaction and closed.
+         */
+        @Query("SELECT new com.genesis.coref.dto.MentionClusterSpan(m.documentId, m.sentenceIndex, "
+                        + "m.startTokenIndex, m.endTokenIndex, c.clusterNumber) "
+                        + "FROM MentionEntity m JOIN ClusterEntity c ON c.id = m.clusterId "
+                        + "WHERE m.documentId = :documentId "
+                        + "ORDER BY m.sentenceIndex ASC, m.startTokenIndex ASC")
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = SPAN_FETCH_SIZE))
+        Stream<MentionClusterSpan> streamClusterSpansByDocumentId(@Param("documentId") UUID documentId);
+
+        /**
+         * Spans and cluster numbers of a workspace's assigned mentions, grouped
+         * by document and ordered by sentence and start token within it.
+         * The stream must be consumed inside a transaction and closed.
+         */
+        @Query("SELECT new com.genesis.coref.dto.MentionClusterSpan(m.documentId, m.sentenceIndex, "
+                        + "m.startTokenIndex, m.endTokenIndex, c.clusterNumber) "
+                        + "FROM MentionEntity m JOIN ClusterEntity c ON c.id = m.clusterId "
+                        + "WHERE m.workspaceId = :workspaceId "
+                        + "ORDER BY m.documentId ASC, m.sentenceIndex ASC, m.startTokenIndex ASC")
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = SPAN_FETCH_SIZE))
+        Stream<MentionClusterSpan> streamClusterSpansByWorkspaceId(@Param("workspaceId") UUID workspaceId);
+
+        /**
+         * Positions and clusters of a document's mentions in a workspace, in no
+         * particular order. Feeds the mention span index.
+         */
+        @Query("SELECT new com.genesis.coref.dto.MentionTokenSpan(m.id, m.sentenceIndex, "
+                        + "m.startTokenIndex, m.endTokenIndex, m.clusterId) "
+                        + "FROM MentionEntity m WHERE m.workspaceId = :workspaceId AND m.documentId = :documentId")
+        List<MentionTokenSpan> findTokenSpans(@Param("workspaceId") UUID workspaceId,
+                        @Param("documentId") UUID documentId);
+
+        /**
+         * Positions and clusters of the given mentions, restricted to a
+         * workspace. Ids of other workspaces' mentions are left out.
+         */
+        @Query("SELECT new com.genesis.coref.dto.MentionTokenSpan(m.id, m.sentenceIndex, "
+                        + "m.startTokenIndex, m.endTokenIndex, m.clusterId) "
+                        + "FROM MentionEntity m WHERE m.workspaceId = :workspaceId AND m.id IN :mentionIds")
+        List<MentionTokenSpan> findTokenSpansByIds(@Param("workspaceId") UUID workspaceId,
+                        @Param("mentionIds") Collection<UUID> mentionIds);
+
         /**
          * Find all mentions in a cluster.
          */
@@ -115,6 +171,16 @@ public interface MentionRepository extends JpaRepository<MentionEntity, UUID> {
         @Query("UPDATE MentionEntity m SET m.clusterId = :targetId WHERE m.clusterId IN :sourceIds")
         int reassignMentionsToCluster(@Param("targetId") UUID targetId, @Param("sourceIds") List<UUID> sourceIds);
 
+        /**
+         * Assign the given mentions to a cluster in a single batch UPDATE.
+         *
+         * @return number of mention rows updated
+         */
+        @Modifying
+        @Query("UPDATE MentionEntity m SET m.clusterId = :clusterId WHERE m.id IN :mentionIds")
+        int assignMentionsToCluster(@Param("clusterId") UUID clusterId,
+                        @Param("mentionIds") Collection<UUID> mentionIds);
+
         /**
          * Check if a mention overlaps with existing mentions in the same sentence.
          */
@@ -132,4 +198,24 @@ public interface MentionRepository extends JpaRepository<MentionEntity, UUID> {
          */
         @Query("SELECT COALESCE(SUM(m.endTokenIndex - m.startTokenIndex + 1), 0) FROM MentionEntity m WHERE m.documentId = :documentId")
         Long sumMentionTokensByDocumentId(@Param("documentId") UUID documentId);
+
+        /**
+         * Mentions of a document in sentences [fromSentence, toSentence).
+         */
+        @Query("SELECT m FROM MentionEntity m WHERE m.documentId = :documentId "
+                        + "AND m.sentenceIndex >= :fromSentence AND m.sentenceIndex < :toSentence")
+        List<MentionEntity> findBySentenceRange(@Param("documentId") UUID documentId,
+                        @Param("fromSentence") int fromSentence,
+                        @Param("toSentence") int toSentence);
+
+        /**
+         * Move every mention in a sentence at or after {@code fromSentence} by
+         * {@code shift} sentences.
+         */
+        @Modifying
+        @Query("UPDATE MentionEntity m SET m.sentenceIndex = m.sentenceIndex + :shift "
+                        + "WHERE m.documentId = :documentId AND m.sentenceIndex >= :fromSentence")
+        int shiftSentencesFrom(@Param("documentId") UUID documentId,
+                        @Param("fromSentence") int fromSentence,
+                        @Param("shift") int shift);
 }
@@ -0,0 +1,68 @@
+package com.genesis.coref.service;
+
+import com.genesis.coref.entity.ClusterEntity;
+import com.genesis.coref.repository.ClusterRepository;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Periodically rewrites every cluster's {@code mention_count} that no longer
+ * matches its mentions.
+ *
+ * <p>
+ * Counts are maintained by deltas ({@link ClusterMentionCounts}); this sweep
+ * only repairs drift, e.g. rows written before delta maintenance or by manual
+ * SQL. Drifted clusters are found without locks, then recounted in short
+ * transactions of {@value #BATCH_SIZE} that row-lock them first, so a recount
+ * never overwrites a delta committed while it runs. Clusters locked by a
+ * writer at that moment are skipped and corrected on the next run. Interval:
+ * {@code genesis.coref.count-reconcile-interval} (default one hour).
+ */
+@Component
+public class ClusterCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterCountReconciler.class);
+
+    /** Clusters locked and recounted per transaction. */
+    static final int BATCH_SIZE = 500;
+
+    private final ClusterRepository clusterRepository;
+    private final TransactionOperations transactionOperations;
+
+    public ClusterCountReconciler(ClusterRepository clusterRepository,
+            TransactionOperations transactionOperations) {
+        this.clusterRepository = clusterRepository;
+        this.transactionOperations = transactionOperations;
+    }
+
+    /**
+     * Fix drifted counts.
+     *
+     * @return number of clusters whose count was corrected
+     */
+    @Scheduled(fixedDelayString = "${genesis.coref.count-reconcile-interval:PT1H}",
+            initialDelayString = "${genesis.coref.count-reconcile-interval:PT1H}")
+    public int reconcile() {
+        List<UUID> drifted = clusterRepository.findDriftedClusterIds();
+        int fixed = 0;
+        for (int from = 0; from < drifted.size(); from += BATCH_SIZE) {
+            List<UUID> batch = drifted.subList(from, Math.min(drifted.size(), from + BATCH_SIZE));
+            Integer recounted = transactionOperations.execute(status -> {
+                List<UUID> locked = clusterRepository.lockForRecount(batch).stream()
+                        .map(ClusterEntity::getId)
+                        .toList();
+                return locked.isEmpty() ? 0 : clusterRepository.recountMentionCounts(locked);
+            });
+            fixed += recounted == null ? 0 : recounted;
+        }
+        if (fixed > 0) {
+            logger.warn("Corrected drifted mention counts on {} clusters", fixed);
+        }
+        return fixed;
+    }
+}
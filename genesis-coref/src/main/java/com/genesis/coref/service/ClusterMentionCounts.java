@@ -0,0 +1,106 @@
+package com.genesis.coref.service;
+
+import com.genesis.coref.repository.ClusterRepository;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@code coref_clusters.mention_count} current with atomic delta
+ * UPDATEs instead of recounting.
+ *
+ * <p>
+ * Writers report how many mentions a cluster gained or lost. Within a
+ * transaction the deltas are summed and written just before commit, one
+ * {@code mention_count = mention_count + :delta} UPDATE per cluster with a
+ * non-zero net change, in cluster id order so concurrent transactions lock
+ * rows in the same order. The UPDATE neither reads the cluster nor bumps its
+ * version, so annotators working on the same cluster don't trip each other's
+ * optimistic locks; {@code ClusterEntity} never writes the column itself.
+ * Outside a transaction a delta is written at once. Drift from paths that
+ * bypass this (manual SQL, crashes between statements) is repaired by
+ * {@link ClusterCountReconciler}.
+ */
+@Component
+public class ClusterMentionCounts {
+
+    private final ClusterRepository clusterRepository;
+
+    public ClusterMentionCounts(ClusterRepository clusterRepository) {
+        this.clusterRepository = clusterRepository;
+    }
+
+    /**
+     * Add {@code delta} (may be negative) to a cluster's mention count when the
+     * current transaction commits. Unassigned ({@code null}) clusters and zero
+     * deltas are ignored.
+     */
+    public void adjust(UUID clusterId, int delta) {
+        if (clusterId == null || delta == 0) {
+            return;
+        }
+        Pending pending = pending();
+        if (pending == null) {
+            clusterRepository.adjustMentionCount(clusterId, delta);
+        } else {
+            pending.deltas.merge(clusterId, delta, Integer::sum);
+        }
+    }
+
+    /**
+     * Add each entry's delta, see {@link #adjust(UUID, int)}.
+     */
+    public void adjustAll(@NonNull Map<UUID, Integer> deltas) {
+        deltas.forEach(this::adjust);
+    }
+
+    private Pending pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    /**
+     * Net deltas of one transaction, written before it commits.
+     */
+    private final class Pending implements TransactionSynchronization {
+
+        private final Map<UUID, Integer> deltas = new TreeMap<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(ClusterMentionCounts.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ClusterMentionCounts.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            deltas.forEach((clusterId, delta) -> {
+                if (delta != 0) {
+                    clusterRepository.adjustMentionCount(clusterId, delta);
+                }
+            });
+            deltas.clear();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ClusterMentionCounts.this);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.genesis.coref.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contiguous display numbers for a workspace's clusters, computed from the
+ * stored cluster numbers at read time.
+ *
+ * <p>
+ * Stored numbers are stable and may have gaps after deletes and merges; the
+ * display number of a cluster is its 1-based rank among the stored numbers,
+ * so exports always show {@code 1..N}. Lookups are a binary search over one
+ * sorted snapshot.
+ */
+public final class ClusterNumbering {
+
+    private final int[] storedNumbers;
+
+    private ClusterNumbering(int[] storedNumbers) {
+        this.storedNumbers = storedNumbers;
+    }
+
+    /**
+     * Build a numbering from a workspace's stored cluster numbers, in any order.
+     */
+    public static ClusterNumbering of(List<Integer> storedNumbers) {
+        int[] sorted = storedNumbers.stream().mapToInt(Integer::intValue).sorted().toArray();
+        return new ClusterNumbering(sorted);
+    }
+
+    /**
+     * Number of clusters in the snapshot.
+     */
+    public int size() {
+        return storedNumbers.length;
+    }
+
+    /**
+     * Display number (1-based rank) of a stored cluster number. A number missing
+     * from the snapshot (a cluster created after it was taken) is placed after
+     * all ranked clusters so it cannot collide with one.
+     */
+    public int displayNumber(int storedNumber) {
+        int index = Arrays.binarySearch(storedNumbers, storedNumber);
+        return index >= 0 ? index + 1 : storedNumbers.length + storedNumber;
+    }
+
+    /**
+     * Stored cluster number shown as {@code displayNumber}, or {@code null} if
+     * no cluster has that rank.
+     */
+    public Integer storedNumber(int displayNumber) {
+        if (displayNumber < 1 || displayNumber > storedNumbers.length) {
+            return null;
+        }
+        return storedNumbers[displayNumber - 1];
+    }
+}
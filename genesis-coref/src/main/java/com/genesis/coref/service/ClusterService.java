@@ -1,11 +1,14 @@
 package com.genesis.coref.service;
 
 import com.genesis.coref.dto.ClusterDto;
+import com.genesis.coref.dto.ClusterRestructureRequest;
 import com.genesis.coref.dto.CreateClusterRequest;
+import com.genesis.coref.dto.MentionTokenSpan;
 import com.genesis.coref.entity.ClusterEntity;
 import com.genesis.coref.repository.ClusterRepository;
 import com.genesis.coref.repository.MentionRepository;
 import com.genesis.common.event.ActionType;
+import com.genesis.common.event.AnnotationLogBatchEvent;
 import com.genesis.common.event.AnnotationLogEvent;
 import com.genesis.common.event.WorkspaceActivityEvent;
 import com.genesis.common.exception.ResourceNotFoundException;
@@ -13,10 +16,16 @@ import com.genesis.common.exception.ValidationException;
 import com.genesis.common.response.CursorPage;
 import com.genesis.workspace.service.WorkspaceAccessControl;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
@@ -37,19 +46,28 @@ public class ClusterService {
             "#DDA0DD", "#98D8C8", "#F7DC6F", "#BB8FCE", "#85C1E9"
     };
 
+    /** Upper bound on directives in one {@link #restructureClusters} call. */
+    static final int MAX_RESTRUCTURE_DIRECTIVES = 1000;
+
     private final ClusterRepository clusterRepository;
     private final MentionRepository mentionRepository;
     private final WorkspaceAccessControl accessControl;
     private final ApplicationEventPublisher eventPublisher;
+    private final MentionSpanCache spanCache;
+    private final ClusterMentionCounts mentionCounts;
 
     public ClusterService(ClusterRepository clusterRepository,
             MentionRepository mentionRepository,
             WorkspaceAccessControl accessControl,
-            ApplicationEventPublisher eventPublisher) {
+            ApplicationEventPublisher eventPublisher,
+            MentionSpanCache spanCache,
+            ClusterMentionCounts mentionCounts) {
         this.clusterRepository = clusterRepository;
         this.mentionRepository = mentionRepository;
         this.accessControl = accessControl;
         this.eventPublisher = eventPublisher;
+        this.spanCache = spanCache;
+        this.mentionCounts = mentionCounts;
     }
 
     /**
@@ -143,8 +161,8 @@ public class ClusterService {
 
     /**
      * Delete cluster. Mentions are unassigned (not deleted). Remaining clusters
-     * are renumbered contiguously so the visible cluster numbers stay consistent
-     * (1, 2, 3, ...) with no gaps.
+     * keep their numbers; exports rank them into contiguous display numbers
+     * (see {@link ClusterNumbering}), so no renumbering is needed here.
      */
     @Transactional
     public void deleteCluster(@NonNull UUID clusterId, @NonNull UUID callerId) {
@@ -153,13 +171,11 @@ public class ClusterService {
 
         // Unassign all mentions from this cluster
         mentionRepository.unassignFromCluster(clusterId);
+        spanCache.evictWorkspace(cluster.getWorkspaceId());
 
         UUID workspaceId = cluster.getWorkspaceId();
         clusterRepository.delete(cluster);
 
-        // Compact remaining cluster numbers so they stay contiguous (1, 2, 3, ...).
-        compactClusterNumbers(workspaceId);
-
         eventPublisher.publishEvent(new WorkspaceActivityEvent(this, workspaceId));
     }
 
@@ -169,8 +185,8 @@ public class ClusterService {
      * <p>
      * All mentions belonging to the source clusters are reassigned to the target
      * via a single batch UPDATE, the target's cached {@code mentionCount} is
-     * increased by the sum of the source counts, the source clusters are deleted,
-     * and the remaining clusters in the workspace are renumbered contiguously.
+     * increased by the number of mentions moved and the source clusters are
+     * deleted. The remaining clusters keep their numbers.
      *
      * @param workspaceId the workspace that owns all clusters in the merge
      * @param sourceIds   ids of the clusters to merge into the target (must be
@@ -212,42 +228,34 @@ public class ClusterService {
                     "targetClusterId does not belong to workspace " + workspaceId);
         }
 
-        // Load + validate sources. Compute mentionCount delta BEFORE deletion.
-        int targetMentionCountDelta = 0;
+        // Load + validate sources in one query.
+        Map<UUID, ClusterEntity> loaded = loadClusters(dedupedSourceIds);
         List<ClusterEntity> sources = new ArrayList<>(dedupedSourceIds.size());
         for (UUID sourceId : dedupedSourceIds) {
-            ClusterEntity source = findClusterById(sourceId);
+            ClusterEntity source = loaded.get(sourceId);
+            if (source == null) {
+                throw new ResourceNotFoundException("Cluster", sourceId);
+            }
             if (!workspaceId.equals(source.getWorkspaceId())) {
                 throw new ValidationException(
                         "sourceClusterId " + sourceId + " does not belong to workspace " + workspaceId);
             }
-            Integer count = source.getMentionCount();
-            if (count != null) {
-                targetMentionCountDelta += count;
-            }
             sources.add(source);
         }
 
         // Single batch UPDATE — no N individual saves.
-        mentionRepository.reassignMentionsToCluster(targetId, dedupedSourceIds);
+        int mentionsMoved = mentionRepository.reassignMentionsToCluster(targetId, dedupedSourceIds);
+        spanCache.evictWorkspace(workspaceId);
 
-        // Update the target's cached count.
+        // The target gains exactly the rows moved; the sources are deleted below.
+        mentionCounts.adjust(targetId, mentionsMoved);
         Integer existing = target.getMentionCount() != null ? target.getMentionCount() : 0;
-        target.setMentionCount(existing + targetMentionCountDelta);
-        ClusterEntity savedTarget = clusterRepository.save(target);
+        target.setMentionCount(existing + mentionsMoved);
 
         // Delete source clusters. clusterId on MentionEntity is a plain UUID column
         // (no FK constraint), so this is safe after the batch reassignment above.
         clusterRepository.deleteAll(sources);
 
-        // Renumber remaining clusters so numbers stay contiguous.
-        compactClusterNumbers(workspaceId);
-
-        // Re-load the target so the DTO reflects any cluster_number changes from
-        // compaction.
-        ClusterEntity refreshed = clusterRepository.findById(savedTarget.getId())
-                .orElse(savedTarget);
-
         eventPublisher.publishEvent(new WorkspaceActivityEvent(this, workspaceId));
 
         // Audit log: cluster merged
@@ -255,15 +263,267 @@ public class ClusterService {
                 workspaceId,
                 currentUser(),
                 ActionType.CLUSTER_MERGED,
-                refreshed.getId(),
-                String.format("{\"sourceIds\":[%s],\"targetId\":\"%s\",\"mentionsReassigned\":%d}",
-                        dedupedSourceIds.stream()
-                                .map(id -> "\"" + id + "\"")
-                                .collect(Collectors.joining(",")),
-                        refreshed.getId(),
-                        targetMentionCountDelta)));
-
-        return mapToDto(refreshed);
+                target.getId(),
+                mergedPayload(dedupedSourceIds, target.getId(), mentionsMoved)));
+
+        return mapToDto(target);
+    }
+
+    /**
+     * Apply a list of merge and split directives to a workspace's clusters in
+     * one transaction.
+     *
+     * <p>
+     * Directives are resolved in memory before anything is written: merges
+     * through a union-find over cluster ids (so they chain transitively),
+     * splits against their mentions' current clusters. Each merged group
+     * survives as its member with the lowest cluster number. The outcome is
+     * then written set-wise: one UPDATE per merged group and per split, one
+     * batch insert for the split clusters and one batch delete for the
+     * absorbed ones. Mention counts are adjusted once, at commit, and split
+     * clusters take consecutive numbers from a single lookup; absorbed
+     * clusters simply leave gaps.
+     *
+     * @param workspaceId the workspace that owns every cluster and mention named
+     * @param request     the directives, applied together
+     * @param callerId    the authenticated caller (must be a member)
+     * @return the surviving clusters touched by a directive, followed by the
+     *         clusters created by splits in directive order
+     * @throws ValidationException       if a directive is malformed, a cluster
+     *                                   belongs to another workspace, or a split
+     *                                   mention is not in the directive's cluster
+     *                                   or is split more than once
+     * @throws ResourceNotFoundException if a cluster or mention cannot be found
+     */
+    @Transactional
+    public List<ClusterDto> restructureClusters(@NonNull UUID workspaceId,
+            @NonNull ClusterRestructureRequest request,
+            @NonNull UUID callerId) {
+        accessControl.requireMember(workspaceId, callerId);
+        List<ClusterRestructureRequest.Directive> directives = request.getDirectives();
+        if (directives == null || directives.isEmpty()) {
+            throw new ValidationException("directives", "At least one directive is required");
+        }
+        if (directives.size() > MAX_RESTRUCTURE_DIRECTIVES) {
+            throw new ValidationException("directives",
+                    "At most " + MAX_RESTRUCTURE_DIRECTIVES + " directives are allowed per request");
+        }
+
+        Set<UUID> clusterIds = new LinkedHashSet<>();
+        Set<UUID> mentionIds = new HashSet<>();
+        List<ClusterRestructureRequest.Directive> splits = new ArrayList<>();
+        for (ClusterRestructureRequest.Directive directive : directives) {
+            validateDirective(directive);
+            if (directive.getType() == ClusterRestructureRequest.Directive.Type.MERGE) {
+                clusterIds.addAll(directive.getClusterIds());
+            } else {
+                clusterIds.add(directive.getClusterId());
+                for (UUID mentionId : directive.getMentionIds()) {
+                    if (!mentionIds.add(mentionId)) {
+                        throw new ValidationException("directives",
+                                "Mention " + mentionId + " is split more than once");
+                    }
+                }
+                splits.add(directive);
+            }
+        }
+
+        Map<UUID, ClusterEntity> clusters = loadClusters(clusterIds);
+        for (UUID clusterId : clusterIds) {
+            ClusterEntity cluster = clusters.get(clusterId);
+            if (cluster == null) {
+                throw new ResourceNotFoundException("Cluster", clusterId);
+            }
+            if (!workspaceId.equals(cluster.getWorkspaceId())) {
+                throw new ValidationException("Cluster " + clusterId + " does not belong to workspace " + workspaceId);
+            }
+        }
+        Map<UUID, MentionTokenSpan> mentions = mentionIds.isEmpty()
+                ? Map.of()
+                : mentionRepository.findTokenSpansByIds(workspaceId, mentionIds).stream()
+                        .collect(Collectors.toMap(MentionTokenSpan::mentionId, Function.identity()));
+        for (ClusterRestructureRequest.Directive split : splits) {
+            for (UUID mentionId : split.getMentionIds()) {
+                MentionTokenSpan mention = mentions.get(mentionId);
+                if (mention == null) {
+                    throw new ResourceNotFoundException("Mention", mentionId);
+                }
+                if (!split.getClusterId().equals(mention.clusterId())) {
+                    throw new ValidationException("directives",
+                            "Mention " + mentionId + " is not in cluster " + split.getClusterId());
+                }
+            }
+        }
+
+        // Resolve merges in memory; each group survives as its lowest-numbered cluster.
+        ClusterUnionFind groups = new ClusterUnionFind(clusterIds);
+        for (ClusterRestructureRequest.Directive directive : directives) {
+            if (directive.getType() == ClusterRestructureRequest.Directive.Type.MERGE) {
+                UUID first = directive.getClusterIds().get(0);
+                directive.getClusterIds().forEach(clusterId -> groups.union(first, clusterId));
+            }
+        }
+        Map<UUID, ClusterEntity> survivorByRoot = new HashMap<>();
+        for (UUID clusterId : clusterIds) {
+            survivorByRoot.merge(groups.find(clusterId), clusters.get(clusterId),
+                    (a, b) -> a.getClusterNumber() <= b.getClusterNumber() ? a : b);
+        }
+        Function<UUID, ClusterEntity> survivorOf = clusterId -> survivorByRoot.get(groups.find(clusterId));
+        Set<ClusterEntity> survivors = new LinkedHashSet<>();
+        Map<UUID, List<UUID>> absorbedBySurvivor = new LinkedHashMap<>();
+        for (UUID clusterId : clusterIds) {
+            ClusterEntity survivor = survivorOf.apply(clusterId);
+            survivors.add(survivor);
+            if (!survivor.getId().equals(clusterId)) {
+                absorbedBySurvivor.computeIfAbsent(survivor.getId(), id -> new ArrayList<>()).add(clusterId);
+            }
+        }
+
+        Map<UUID, Integer> clusterDeltas = new LinkedHashMap<>();
+        List<AnnotationLogBatchEvent.Entry> auditEntries = new ArrayList<>();
+
+        // One UPDATE per merged group.
+        List<UUID> absorbedIds = new ArrayList<>();
+        absorbedBySurvivor.forEach((survivorId, absorbed) -> {
+            int moved = mentionRepository.reassignMentionsToCluster(survivorId, absorbed);
+            clusterDeltas.merge(survivorId, moved, Integer::sum);
+            absorbedIds.addAll(absorbed);
+            auditEntries.add(new AnnotationLogBatchEvent.Entry(
+                    ActionType.CLUSTER_MERGED, survivorId, mergedPayload(absorbed, survivorId, moved)));
+        });
+
+        // Split clusters take consecutive numbers; one batch insert, one UPDATE per split.
+        List<ClusterEntity> created = new ArrayList<>(splits.size());
+        if (!splits.isEmpty()) {
+            int nextNumber = clusterRepository.getNextClusterNumber(workspaceId);
+            for (ClusterRestructureRequest.Directive split : splits) {
+                ClusterEntity cluster = new ClusterEntity();
+                cluster.setWorkspaceId(workspaceId);
+                cluster.setClusterNumber(nextNumber);
+                cluster.setLabel(split.getLabel());
+                cluster.setColor(getDefaultColor(nextNumber++));
+                cluster.setMentionCount(0);
+                created.add(cluster);
+            }
+            created = clusterRepository.saveAll(created);
+        }
+        for (int i = 0; i < splits.size(); i++) {
+            ClusterRestructureRequest.Directive split = splits.get(i);
+            ClusterEntity cluster = created.get(i);
+            int moved = mentionRepository.assignMentionsToCluster(cluster.getId(), split.getMentionIds());
+            clusterDeltas.merge(survivorOf.apply(split.getClusterId()).getId(), -moved, Integer::sum);
+            clusterDeltas.merge(cluster.getId(), moved, Integer::sum);
+            auditEntries.add(new AnnotationLogBatchEvent.Entry(ActionType.CLUSTER_CREATED, cluster.getId(),
+                    String.format("{\"clusterNumber\":%d,\"label\":%s,\"splitFromId\":\"%s\","
+                            + "\"mentionsReassigned\":%d}",
+                            cluster.getClusterNumber(),
+                            cluster.getLabel() == null ? "null" : "\"" + escape(cluster.getLabel()) + "\"",
+                            split.getClusterId(),
+                            moved)));
+        }
+
+        // Absorbed clusters are empty now; drop them in one statement.
+        if (!absorbedIds.isEmpty()) {
+            clusterRepository.deleteAllByIdInBatch(absorbedIds);
+        }
+        spanCache.evictWorkspace(workspaceId);
+        mentionCounts.adjustAll(clusterDeltas);
+
+        eventPublisher.publishEvent(new WorkspaceActivityEvent(this, workspaceId));
+        eventPublisher.publishEvent(new AnnotationLogBatchEvent(this, workspaceId, currentUser(), auditEntries));
+
+        List<ClusterDto> result = new ArrayList<>(survivors.size() + created.size());
+        for (ClusterEntity cluster : survivors) {
+            result.add(mapToDto(withCountDelta(cluster, clusterDeltas)));
+        }
+        for (ClusterEntity cluster : created) {
+            result.add(mapToDto(withCountDelta(cluster, clusterDeltas)));
+        }
+        return result;
+    }
+
+    private static void validateDirective(ClusterRestructureRequest.Directive directive) {
+        if (directive == null || directive.getType() == null) {
+            throw new ValidationException("directives", "Every directive needs a type");
+        }
+        switch (directive.getType()) {
+            case MERGE -> {
+                List<UUID> clusterIds = directive.getClusterIds();
+                if (clusterIds == null || clusterIds.size() < 2 || clusterIds.contains(null)) {
+                    throw new ValidationException("directives", "MERGE needs at least two clusterIds");
+                }
+            }
+            case SPLIT -> {
+                List<UUID> mentionIds = directive.getMentionIds();
+                if (directive.getClusterId() == null || mentionIds == null || mentionIds.isEmpty()
+                        || mentionIds.contains(null)) {
+                    throw new ValidationException("directives", "SPLIT needs clusterId and mentionIds");
+                }
+            }
+        }
+    }
+
+    /**
+     * Set the in-memory mention count the pending delta will produce at commit,
+     * so the returned DTO matches the stored value.
+     */
+    private static ClusterEntity withCountDelta(ClusterEntity cluster, Map<UUID, Integer> clusterDeltas) {
+        int existing = cluster.getMentionCount() != null ? cluster.getMentionCount() : 0;
+        cluster.setMentionCount(existing + clusterDeltas.getOrDefault(cluster.getId(), 0));
+        return cluster;
+    }
+
+    /**
+     * Disjoint sets over a fixed set of cluster ids, with path halving and
+     * union by size.
+     */
+    private static final class ClusterUnionFind {
+
+        private final Map<UUID, Integer> indexes;
+        private final int[] parent;
+        private final int[] size;
+        private final UUID[] ids;
+
+        ClusterUnionFind(Collection<UUID> clusterIds) {
+            indexes = new HashMap<>(clusterIds.size() * 2);
+            parent = new int[clusterIds.size()];
+            size = new int[clusterIds.size()];
+            ids = new UUID[clusterIds.size()];
+            int i = 0;
+            for (UUID clusterId : clusterIds) {
+                indexes.put(clusterId, i);
+                parent[i] = i;
+                size[i] = 1;
+                ids[i++] = clusterId;
+            }
+        }
+
+        UUID find(UUID clusterId) {
+            return ids[root(indexes.get(clusterId))];
+        }
+
+        void union(UUID a, UUID b) {
+            int rootA = root(indexes.get(a));
+            int rootB = root(indexes.get(b));
+            if (rootA == rootB) {
+                return;
+            }
+            if (size[rootA] < size[rootB]) {
+                int swap = rootA;
+                rootA = rootB;
+                rootB = swap;
+            }
+            parent[rootB] = rootA;
+            size[rootA] += size[rootB];
+        }
+
+        private int root(int i) {
+            while (parent[i] != i) {
+                parent[i] = parent[parent[i]];
+                i = parent[i];
+            }
+            return i;
+        }
     }
 
     /**
@@ -277,7 +537,9 @@ public class ClusterService {
      * (which can never collide with positives), then assign the final positives.
      *
      * <p>
-     * If numbers are already contiguous (1, 2, 3, ...) this is a no-op.
+     * Deletes and merges leave gaps and exports rank around them, so this is
+     * only needed to tidy the stored numbers themselves. If numbers are
+     * already contiguous (1, 2, 3, ...) this is a no-op.
      */
     @Transactional
     public void compactClusterNumbers(@NonNull UUID workspaceId) {
@@ -313,17 +575,6 @@ public class ClusterService {
         clusterRepository.saveAllAndFlush(clusters);
     }
 
-    /**
-     * Update mention count cache for a cluster.
-     */
-    @Transactional
-    public void updateMentionCount(@NonNull UUID clusterId) {
-        ClusterEntity cluster = findClusterById(clusterId);
-        long count = mentionRepository.countByClusterId(clusterId);
-        cluster.setMentionCount((int) count);
-        clusterRepository.save(cluster);
-    }
-
     /**
      * Set representative text for cluster.
      */
@@ -339,6 +590,20 @@ public class ClusterService {
         return mapToDto(saved);
     }
 
+    private Map<UUID, ClusterEntity> loadClusters(Collection<UUID> clusterIds) {
+        return clusterRepository.findAllById(clusterIds).stream()
+                .collect(Collectors.toMap(ClusterEntity::getId, Function.identity()));
+    }
+
+    private static String mergedPayload(List<UUID> sourceIds, UUID targetId, int mentionsMoved) {
+        return String.format("{\"sourceIds\":[%s],\"targetId\":\"%s\",\"mentionsReassigned\":%d}",
+                sourceIds.stream()
+                        .map(id -> "\"" + id + "\"")
+                        .collect(Collectors.joining(",")),
+                targetId,
+                mentionsMoved);
+    }
+
     private ClusterEntity findClusterById(UUID clusterId) {
         return clusterRepository.findById(clusterId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cluster", clusterId));
@@ -1,13 +1,13 @@
 package com.genesis.coref.service;
 
-import com.genesis.coref.entity.ClusterEntity;
-import com.genesis.coref.entity.MentionEntity;
+import com.genesis.coref.dto.MentionClusterSpan;
 import com.genesis.coref.repository.ClusterRepository;
 import com.genesis.coref.repository.MentionRepository;
+import com.genesis.importexport.format.CorefAnnotations;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,105 +30,61 @@ public class CoreferenceService {
     }
 
     /**
-     * Generate coreference annotations for CoNLL export.
-     * Returns a map of "sentenceIndex-tokenIndex" -> coref annotation string.
+     * Generate the CoNLL coreference column of a document: a {@code (N} /
+     * {@code N)} / {@code (N)} fragment per mention boundary, keyed by
+     * {@code (sentenceIndex, tokenIndex)}.
+     *
+     * <p>
+     * Cluster numbers are resolved by the same query that reads the mentions
+     * and written as their workspace-wide display numbers ({@code 1..N}), so
+     * gaps left by deletes and merges never show; unassigned mentions are
+     * skipped.
      *
      * @param documentId the document ID
-     * @return map of token positions to coref annotations
+     * @return coref fragments of the document's assigned mentions
      */
-    public Map<String, String> generateCorefAnnotations(@NonNull UUID documentId) {
-        List<MentionEntity> mentions = mentionRepository.findByDocumentIdOrdered(documentId);
-        Map<String, String> annotations = new HashMap<>();
-
-        for (MentionEntity mention : mentions) {
-            if (mention.getClusterId() == null) {
-                continue; // Skip unassigned mentions
-            }
-
-            // Get cluster number
-            ClusterEntity cluster = clusterRepository.findById(mention.getClusterId()).orElse(null);
-            if (cluster == null) {
-                continue;
-            }
-
-            int clusterNum = cluster.getClusterNumber();
-            int sentIdx = mention.getSentenceIndex();
-            int startToken = mention.getStartTokenIndex();
-            int endToken = mention.getEndTokenIndex();
-
-            if (startToken == endToken) {
-                // Single-token mention: (N)
-                String key = sentIdx + "-" + startToken;
-                String existing = annotations.get(key);
-                String newAnnotation = "(" + clusterNum + ")";
-                annotations.put(key, mergeAnnotations(existing, newAnnotation));
-            } else {
-                // Multi-token mention: (N at start, N) at end
-                String startKey = sentIdx + "-" + startToken;
-                String endKey = sentIdx + "-" + endToken;
-
-                String startAnnotation = "(" + clusterNum;
-                String endAnnotation = clusterNum + ")";
-
-                annotations.put(startKey, mergeAnnotations(annotations.get(startKey), startAnnotation));
-                annotations.put(endKey, mergeAnnotations(annotations.get(endKey), endAnnotation));
-            }
+    public CorefAnnotations generateCorefAnnotations(@NonNull UUID documentId) {
+        CorefAnnotations annotations = new CorefAnnotations();
+        ClusterNumbering numbering =
+                ClusterNumbering.of(clusterRepository.findClusterNumbersByDocumentId(documentId));
+        try (Stream<MentionClusterSpan> spans = mentionRepository.streamClusterSpansByDocumentId(documentId)) {
+            spans.forEach(span -> addMention(annotations, span, numbering));
         }
-
         return annotations;
     }
 
     /**
-     * Generate coreference annotations for all documents in a workspace.
-     * Returns a map of documentId -> (tokenPosition -> coref annotation).
+     * Generate the coreference columns of all documents in a workspace, in one
+     * pass over a single query ordered by document and sentence.
+     * Every document with at least one assigned mention has an entry, and
+     * cluster numbers are the workspace's display numbers ({@code 1..N}).
      *
      * @param workspaceId the workspace ID
-     * @return nested map of document and token positions to coref annotations
+     * @return map of documentId to its coref fragments
      */
-    public Map<UUID, Map<String, String>> generateWorkspaceCorefAnnotations(@NonNull UUID workspaceId) {
-        Map<UUID, Map<String, String>> result = new HashMap<>();
-        List<MentionEntity> allMentions = mentionRepository.findByWorkspaceId(workspaceId);
-
-        for (MentionEntity mention : allMentions) {
-            if (mention.getClusterId() == null) {
-                continue;
-            }
-
-            UUID docId = mention.getDocumentId();
-            result.computeIfAbsent(docId, k -> new HashMap<>());
-
-            ClusterEntity cluster = clusterRepository.findById(mention.getClusterId()).orElse(null);
-            if (cluster == null) {
-                continue;
-            }
-
-            int clusterNum = cluster.getClusterNumber();
-            int sentIdx = mention.getSentenceIndex();
-            int startToken = mention.getStartTokenIndex();
-            int endToken = mention.getEndTokenIndex();
-
-            Map<String, String> docAnnotations = result.get(docId);
-
-            if (startToken == endToken) {
-                String key = sentIdx + "-" + startToken;
-                String existing = docAnnotations.get(key);
-                String newAnnotation = "(" + clusterNum + ")";
-                docAnnotations.put(key, mergeAnnotations(existing, newAnnotation));
-            } else {
-                String startKey = sentIdx + "-" + startToken;
-                String endKey = sentIdx + "-" + endToken;
-
-                String startAnnotation = "(" + clusterNum;
-                String endAnnotation = clusterNum + ")";
-
-                docAnnotations.put(startKey, mergeAnnotations(docAnnotations.get(startKey), startAnnotation));
-                docAnnotations.put(endKey, mergeAnnotations(docAnnotations.get(endKey), endAnnotation));
+    public Map<UUID, CorefAnnotations> generateWorkspaceCorefAnnotations(@NonNull UUID workspaceId) {
+        Map<UUID, CorefAnnotations> result = new HashMap<>();
+        ClusterNumbering numbering = ClusterNumbering.of(clusterRepository.findClusterNumbers(workspaceId));
+        try (Stream<MentionClusterSpan> spans = mentionRepository.streamClusterSpansByWorkspaceId(workspaceId)) {
+            UUID currentDocument = null;
+            CorefAnnotations docAnnotations = null;
+            for (MentionClusterSpan span : (Iterable<MentionClusterSpan>) spans::iterator) {
+                if (!span.documentId().equals(currentDocument)) {
+                    currentDocument = span.documentId();
+                    docAnnotations = result.computeIfAbsent(currentDocument, k -> new CorefAnnotations());
+                }
+                addMention(docAnnotations, span, numbering);
             }
         }
-
         return result;
     }
 
+    private static void addMention(CorefAnnotations annotations, MentionClusterSpan span,
+            ClusterNumbering numbering) {
+        annotations.addMention(span.sentenceIndex(), span.startTokenIndex(), span.endTokenIndex(),
+                numbering.displayNumber(span.clusterNumber()));
+    }
+
     /**
      * Get annotation statistics for a workspace.
      */
@@ -140,16 +96,6 @@ public class CoreferenceService {
         return new AnnotationStats(mentionCount, clusterCount, unassignedCount);
     }
 
-    /**
-     * Merge multiple annotations on the same token using pipe separator.
-     */
-    private String mergeAnnotations(String existing, String newAnnotation) {
-        if (existing == null || existing.isEmpty()) {
-            return newAnnotation;
-        }
-        return existing + "|" + newAnnotation;
-    }
-
     /**
      * Annotation statistics.
      */
@@ -1,11 +1,15 @@
 package com.genesis.coref.service;
 
 import com.genesis.coref.dto.CreateMentionRequest;
+import com.genesis.coref.dto.MentionBatchRequest;
 import com.genesis.coref.dto.MentionDto;
+import com.genesis.coref.dto.MentionTokenSpan;
+import com.genesis.coref.entity.ClusterEntity;
 import com.genesis.coref.entity.MentionEntity;
 import com.genesis.coref.repository.ClusterRepository;
 import com.genesis.coref.repository.MentionRepository;
 import com.genesis.common.event.ActionType;
+import com.genesis.common.event.AnnotationLogBatchEvent;
 import com.genesis.common.event.AnnotationLogEvent;
 import com.genesis.common.event.MentionAnnotatedEvent;
 import com.genesis.common.event.WorkspaceActivityEvent;
@@ -13,8 +17,16 @@ import com.genesis.common.exception.ResourceNotFoundException;
 import com.genesis.common.exception.ValidationException;
 import com.genesis.common.response.CursorPage;
 import com.genesis.workspace.service.WorkspaceAccessControl;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,22 +46,28 @@ public class MentionService {
 
     private static final Logger logger = LoggerFactory.getLogger(MentionService.class);
 
+    /** Upper bound on operations in one {@link #applyBatch} call. */
+    static final int MAX_BATCH_OPERATIONS = 500;
+
     private final MentionRepository mentionRepository;
     private final ClusterRepository clusterRepository;
-    private final ClusterService clusterService;
+    private final ClusterMentionCounts mentionCounts;
     private final WorkspaceAccessControl accessControl;
     private final ApplicationEventPublisher eventPublisher;
+    private final MentionSpanCache spanCache;
 
     public MentionService(MentionRepository mentionRepository,
             ClusterRepository clusterRepository,
-            ClusterService clusterService,
+            ClusterMentionCounts mentionCounts,
             WorkspaceAccessControl accessControl,
-            ApplicationEventPublisher eventPublisher) {
+            ApplicationEventPublisher eventPublisher,
+            MentionSpanCache spanCache) {
         this.mentionRepository = mentionRepository;
         this.clusterRepository = clusterRepository;
-        this.clusterService = clusterService;
+        this.mentionCounts = mentionCounts;
         this.accessControl = accessControl;
         this.eventPublisher = eventPublisher;
+        this.spanCache = spanCache;
     }
 
     /**
@@ -60,9 +78,11 @@ public class MentionService {
             @NonNull CreateMentionRequest request,
             @NonNull UUID callerId) {
         accessControl.requireMember(workspaceId, callerId);
+        UUID clusterId = request.getClusterId();
+        ClusterEntity cluster = clusterId == null ? null
+                : requireInWorkspace(workspaceId, clusterId, clusterRepository.findById(clusterId).orElse(null));
         // Validate no overlap with existing mentions
-        boolean hasOverlap = mentionRepository.hasOverlappingMention(
-                request.getDocumentId(),
+        boolean hasOverlap = spanCache.get(workspaceId, request.getDocumentId()).overlaps(
                 request.getSentenceIndex(),
                 request.getStartTokenIndex(),
                 request.getEndTokenIndex());
@@ -78,14 +98,13 @@ public class MentionService {
         mention.setEndTokenIndex(request.getEndTokenIndex());
         mention.setText(request.getText());
         mention.setMentionType(request.getMentionType());
-        mention.setClusterId(request.getClusterId());
+        mention.setClusterId(clusterId);
 
         MentionEntity saved = mentionRepository.save(mention);
+        spanCache.saved(saved);
 
         // Update cluster mention count if assigned
-        if (saved.getClusterId() != null) {
-            clusterService.updateMentionCount(saved.getClusterId());
-        }
+        mentionCounts.adjust(saved.getClusterId(), 1);
 
         // Update document progress and status
         publishMentionAnnotated(saved.getDocumentId());
@@ -99,11 +118,9 @@ public class MentionService {
                 currentUser(),
                 ActionType.MENTION_CREATED,
                 saved.getId(),
-                String.format("{\"documentId\":\"%s\",\"clusterId\":%s}",
-                        saved.getDocumentId(),
-                        saved.getClusterId() == null ? "null" : "\"" + saved.getClusterId() + "\"")));
+                createdPayload(saved)));
 
-        return mapToDto(saved);
+        return mapToDto(saved, id -> cluster);
     }
 
     /**
@@ -169,6 +186,15 @@ public class MentionService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Spans of a document's mentions that contain a token, from the span index.
+     */
+    public List<MentionTokenSpan> getMentionSpansAt(@NonNull UUID workspaceId, @NonNull UUID documentId,
+            int sentenceIndex, int tokenIndex, @NonNull UUID callerId) {
+        accessControl.requireMember(workspaceId, callerId);
+        return spanCache.get(workspaceId, documentId).covering(sentenceIndex, tokenIndex);
+    }
+
     /**
      * Get mention by ID.
      */
@@ -196,12 +222,13 @@ public class MentionService {
 
         mention.setClusterId(clusterId);
         MentionEntity saved = mentionRepository.save(mention);
+        spanCache.saved(saved);
 
         // Update mention counts
-        if (oldClusterId != null) {
-            clusterService.updateMentionCount(oldClusterId);
+        if (!clusterId.equals(oldClusterId)) {
+            mentionCounts.adjust(oldClusterId, -1);
+            mentionCounts.adjust(clusterId, 1);
         }
-        clusterService.updateMentionCount(clusterId);
 
         publishMentionAnnotated(saved.getDocumentId());
 
@@ -214,9 +241,7 @@ public class MentionService {
                 currentUser(),
                 ActionType.MENTION_ASSIGNED,
                 saved.getId(),
-                String.format("{\"oldClusterId\":%s,\"newClusterId\":\"%s\"}",
-                        oldClusterId == null ? "null" : "\"" + oldClusterId + "\"",
-                        clusterId)));
+                assignedPayload(oldClusterId, clusterId)));
 
         return mapToDto(saved);
     }
@@ -232,11 +257,10 @@ public class MentionService {
 
         mention.setClusterId(null);
         MentionEntity saved = mentionRepository.save(mention);
+        spanCache.saved(saved);
 
         // Update mention count
-        if (oldClusterId != null) {
-            clusterService.updateMentionCount(oldClusterId);
-        }
+        mentionCounts.adjust(oldClusterId, -1);
 
         publishMentionAnnotated(saved.getDocumentId());
 
@@ -249,8 +273,7 @@ public class MentionService {
                 currentUser(),
                 ActionType.MENTION_ASSIGNED,
                 saved.getId(),
-                String.format("{\"oldClusterId\":%s,\"newClusterId\":null}",
-                        oldClusterId == null ? "null" : "\"" + oldClusterId + "\"")));
+                assignedPayload(oldClusterId, null)));
 
         return mapToDto(saved);
     }
@@ -265,11 +288,10 @@ public class MentionService {
         UUID clusterId = mention.getClusterId();
 
         mentionRepository.delete(mention);
+        spanCache.deleted(mention);
 
         // Update cluster mention count
-        if (clusterId != null) {
-            clusterService.updateMentionCount(clusterId);
-        }
+        mentionCounts.adjust(clusterId, -1);
 
         publishMentionAnnotated(mention.getDocumentId());
 
@@ -282,9 +304,183 @@ public class MentionService {
                 currentUser(),
                 ActionType.MENTION_DELETED,
                 mention.getId(),
-                String.format("{\"clusterId\":%s,\"documentId\":\"%s\"}",
-                        clusterId == null ? "null" : "\"" + clusterId + "\"",
-                        mention.getDocumentId())));
+                deletedPayload(mention)));
+    }
+
+    /**
+     * Apply a batch of mention operations in one transaction, in request order.
+     *
+     * <p>
+     * Per-operation work is limited to the mention write itself: mentions and
+     * clusters are loaded once up front, overlap is checked against the span
+     * index of each touched document, cluster counts are moved by one delta
+     * UPDATE per touched cluster, and progress, workspace activity and audit
+     * rows are published once for the whole batch. Any invalid operation rolls
+     * the whole batch back.
+     *
+     * @return one mention per operation, in order; {@code null} for deletes
+     */
+    @Transactional
+    public List<MentionDto> applyBatch(@NonNull UUID workspaceId,
+            @NonNull MentionBatchRequest request,
+            @NonNull UUID callerId) {
+        accessControl.requireMember(workspaceId, callerId);
+        List<MentionBatchRequest.Operation> operations = request.getOperations();
+        if (operations == null || operations.isEmpty()) {
+            throw new ValidationException("operations", "At least one operation is required");
+        }
+        if (operations.size() > MAX_BATCH_OPERATIONS) {
+            throw new ValidationException("operations",
+                    "At most " + MAX_BATCH_OPERATIONS + " operations are allowed per batch");
+        }
+
+        Set<UUID> mentionIds = new HashSet<>();
+        Set<UUID> clusterIds = new HashSet<>();
+        for (MentionBatchRequest.Operation op : operations) {
+            validateOperation(op);
+            if (op.getMentionId() != null) {
+                mentionIds.add(op.getMentionId());
+            }
+            UUID clusterId = op.getType() == MentionBatchRequest.Operation.Type.CREATE
+                    ? op.getMention().getClusterId()
+                    : op.getClusterId();
+            if (clusterId != null) {
+                clusterIds.add(clusterId);
+            }
+        }
+        Map<UUID, MentionEntity> mentions = mentionRepository.findAllById(mentionIds).stream()
+                .filter(m -> workspaceId.equals(m.getWorkspaceId()))
+                .collect(Collectors.toMap(MentionEntity::getId, Function.identity()));
+        Map<UUID, ClusterEntity> clusters = clusterRepository.findAllById(clusterIds).stream()
+                .collect(Collectors.toMap(ClusterEntity::getId, Function.identity()));
+        for (UUID clusterId : clusterIds) {
+            requireInWorkspace(workspaceId, clusterId, clusters.get(clusterId));
+        }
+
+        Map<UUID, MentionSpanIndex> indexes = new HashMap<>();
+        Map<UUID, Integer> clusterDeltas = new LinkedHashMap<>();
+        Set<UUID> documentIds = new LinkedHashSet<>();
+        List<AnnotationLogBatchEvent.Entry> auditEntries = new ArrayList<>(operations.size());
+        List<MentionEntity> results = new ArrayList<>(operations.size());
+
+        for (MentionBatchRequest.Operation op : operations) {
+            MentionEntity result;
+            switch (op.getType()) {
+                case CREATE -> {
+                    CreateMentionRequest create = op.getMention();
+                    MentionSpanIndex index = indexes.computeIfAbsent(create.getDocumentId(),
+                            documentId -> spanCache.get(workspaceId, documentId));
+                    if (index.overlaps(create.getSentenceIndex(), create.getStartTokenIndex(),
+                            create.getEndTokenIndex())) {
+                        throw new ValidationException("Mention overlaps with existing mention in this sentence");
+                    }
+                    MentionEntity mention = new MentionEntity();
+                    mention.setWorkspaceId(workspaceId);
+                    mention.setDocumentId(create.getDocumentId());
+                    mention.setSentenceIndex(create.getSentenceIndex());
+                    mention.setStartTokenIndex(create.getStartTokenIndex());
+                    mention.setEndTokenIndex(create.getEndTokenIndex());
+                    mention.setText(create.getText());
+                    mention.setMentionType(create.getMentionType());
+                    mention.setClusterId(create.getClusterId());
+                    result = mentionRepository.save(mention);
+                    spanCache.saved(result);
+                    indexes.put(result.getDocumentId(), index.with(MentionSpanCache.spanOf(result)));
+                    mentions.put(result.getId(), result);
+                    adjust(clusterDeltas, result.getClusterId(), 1);
+                    auditEntries.add(new AnnotationLogBatchEvent.Entry(
+                            ActionType.MENTION_CREATED, result.getId(), createdPayload(result)));
+                }
+                case ASSIGN, UNASSIGN -> {
+                    MentionEntity mention = batchMention(mentions, op.getMentionId());
+                    UUID oldClusterId = mention.getClusterId();
+                    UUID newClusterId = op.getType() == MentionBatchRequest.Operation.Type.ASSIGN
+                            ? op.getClusterId()
+                            : null;
+                    mention.setClusterId(newClusterId);
+                    result = mentionRepository.save(mention);
+                    spanCache.saved(result);
+                    MentionTokenSpan span = MentionSpanCache.spanOf(result);
+                    indexes.computeIfPresent(result.getDocumentId(), (documentId, index) -> index.with(span));
+                    adjust(clusterDeltas, oldClusterId, -1);
+                    adjust(clusterDeltas, newClusterId, 1);
+                    auditEntries.add(new AnnotationLogBatchEvent.Entry(
+                            ActionType.MENTION_ASSIGNED, mention.getId(), assignedPayload(oldClusterId, newClusterId)));
+                }
+                case DELETE -> {
+                    MentionEntity mention = batchMention(mentions, op.getMentionId());
+                    mentionRepository.delete(mention);
+                    spanCache.deleted(mention);
+                    mentions.remove(mention.getId());
+                    indexes.computeIfPresent(mention.getDocumentId(),
+                            (documentId, index) -> index.without(mention.getSentenceIndex(), mention.getId()));
+                    adjust(clusterDeltas, mention.getClusterId(), -1);
+                    auditEntries.add(new AnnotationLogBatchEvent.Entry(
+                            ActionType.MENTION_DELETED, mention.getId(), deletedPayload(mention)));
+                    documentIds.add(mention.getDocumentId());
+                    results.add(null);
+                    continue;
+                }
+                default -> throw new IllegalStateException("Unhandled operation " + op.getType());
+            }
+            documentIds.add(result.getDocumentId());
+            results.add(result);
+        }
+
+        mentionCounts.adjustAll(clusterDeltas);
+        documentIds.forEach(this::publishMentionAnnotated);
+        eventPublisher.publishEvent(new WorkspaceActivityEvent(this, workspaceId));
+        eventPublisher.publishEvent(new AnnotationLogBatchEvent(this, workspaceId, currentUser(), auditEntries));
+
+        List<MentionDto> dtos = new ArrayList<>(results.size());
+        for (MentionEntity result : results) {
+            dtos.add(result == null ? null : mapToDto(result, clusters::get));
+        }
+        return dtos;
+    }
+
+    private static void validateOperation(MentionBatchRequest.Operation op) {
+        if (op == null || op.getType() == null) {
+            throw new ValidationException("operations", "Every operation needs a type");
+        }
+        switch (op.getType()) {
+            case CREATE -> {
+                CreateMentionRequest create = op.getMention();
+                if (create == null || create.getDocumentId() == null || create.getSentenceIndex() == null
+                        || create.getStartTokenIndex() == null || create.getEndTokenIndex() == null) {
+                    throw new ValidationException("operations",
+                            "CREATE needs a mention with document, sentence and token span");
+                }
+            }
+            case ASSIGN -> {
+                if (op.getMentionId() == null || op.getClusterId() == null) {
+                    throw new ValidationException("operations", "ASSIGN needs mentionId and clusterId");
+                }
+            }
+            case UNASSIGN, DELETE -> {
+                if (op.getMentionId() == null) {
+                    throw new ValidationException("operations", op.getType() + " needs mentionId");
+                }
+            }
+        }
+    }
+
+    /**
+     * A mention of this batch's workspace that is still present at this point
+     * of the batch. Mentions of other workspaces read as missing.
+     */
+    private static MentionEntity batchMention(Map<UUID, MentionEntity> mentions, UUID mentionId) {
+        MentionEntity mention = mentions.get(mentionId);
+        if (mention == null) {
+            throw new ResourceNotFoundException("Mention", mentionId);
+        }
+        return mention;
+    }
+
+    private static void adjust(Map<UUID, Integer> clusterDeltas, UUID clusterId, int delta) {
+        if (clusterId != null) {
+            clusterDeltas.merge(clusterId, delta, Integer::sum);
+        }
     }
 
     /**
@@ -315,7 +511,46 @@ public class MentionService {
         return auth.getName();
     }
 
+    private static String createdPayload(MentionEntity mention) {
+        return String.format("{\"documentId\":\"%s\",\"clusterId\":%s}",
+                mention.getDocumentId(), quoted(mention.getClusterId()));
+    }
+
+    private static String assignedPayload(UUID oldClusterId, UUID newClusterId) {
+        return String.format("{\"oldClusterId\":%s,\"newClusterId\":%s}",
+                quoted(oldClusterId), quoted(newClusterId));
+    }
+
+    private static String deletedPayload(MentionEntity mention) {
+        return String.format("{\"clusterId\":%s,\"documentId\":\"%s\"}",
+                quoted(mention.getClusterId()), mention.getDocumentId());
+    }
+
+    private static String quoted(UUID id) {
+        return id == null ? "null" : "\"" + id + "\"";
+    }
+
+    /**
+     * Reject a cluster that does not exist or belongs to another workspace.
+     *
+     * @param cluster the loaded cluster, or {@code null} if there is none
+     * @return the cluster
+     */
+    private static ClusterEntity requireInWorkspace(UUID workspaceId, UUID clusterId, ClusterEntity cluster) {
+        if (cluster == null) {
+            throw new ResourceNotFoundException("Cluster", clusterId);
+        }
+        if (!workspaceId.equals(cluster.getWorkspaceId())) {
+            throw new ValidationException("Cluster " + clusterId + " does not belong to workspace " + workspaceId);
+        }
+        return cluster;
+    }
+
     private MentionDto mapToDto(MentionEntity entity) {
+        return mapToDto(entity, id -> clusterRepository.findById(id).orElse(null));
+    }
+
+    private static MentionDto mapToDto(MentionEntity entity, Function<UUID, ClusterEntity> clusterLookup) {
         MentionDto dto = new MentionDto();
         dto.setId(entity.getId());
         dto.setWorkspaceId(entity.getWorkspaceId());
@@ -331,10 +566,11 @@ public class MentionService {
 
         // Add cluster info if assigned
         if (entity.getClusterId() != null) {
-            clusterRepository.findById(entity.getClusterId()).ifPresent(cluster -> {
+            ClusterEntity cluster = clusterLookup.apply(entity.getClusterId());
+            if (cluster != null) {
                 dto.setClusterNumber(cluster.getClusterNumber());
                 dto.setClusterColor(cluster.getColor());
-            });
+            }
         }
 
         return dto;
@@ -0,0 +1,251 @@
+package com.genesis.coref.service;
+
+import com.genesis.coref.dto.MentionTokenSpan;
+import com.genesis.coref.entity.MentionEntity;
+import com.genesis.coref.repository.MentionRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.UnaryOperator;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded in-memory cache of per-document {@link MentionSpanIndex}es, so
+ * overlap validation and "mentions at token" lookups skip the database.
+ *
+ * <p>
+ * An index is loaded on first touch of a document and kept, least recently
+ * used first out, for up to {@link #MAX_CACHED_DOCUMENTS} documents. Writers
+ * report their changes here; a change is applied to the cached index only
+ * once its transaction commits, so other transactions never see uncommitted
+ * spans. Inside a transaction that has changed a document, that document is
+ * read from the database (which sees the transaction's own writes) and not
+ * cached. Bulk changes — a CoNLL re-import, a token remap, a cluster delete or
+ * merge — evict instead of patching. Entries expire after
+ * {@link #ENTRY_TTL}, which bounds staleness for writes made by other
+ * instances.
+ */
+@Component
+public class MentionSpanCache {
+
+    /** Document indexes kept at most. */
+    static final int MAX_CACHED_DOCUMENTS = 2048;
+
+    /** How long a loaded index is trusted. */
+    static final Duration ENTRY_TTL = Duration.ofMinutes(5);
+
+    /** Generation counters, striped by document, that veto racing loads. */
+    private static final int GENERATION_STRIPES = 64;
+
+    private final MentionRepository mentionRepository;
+
+    /** Cached indexes in access order; guarded by {@code this}. */
+    private final LinkedHashMap<DocumentKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Bumped under {@code this} whenever committed changes reach a document. A
+     * load only caches its result if its stripe did not move meanwhile, so a
+     * commit that lands between the load's query and its insertion is not lost.
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public MentionSpanCache(MentionRepository mentionRepository) {
+        this.mentionRepository = mentionRepository;
+    }
+
+    private record DocumentKey(UUID workspaceId, UUID documentId) {
+    }
+
+    private record Entry(MentionSpanIndex index, long loadedAt) {
+    }
+
+    /**
+     * The span index of a document's mentions in a workspace.
+     */
+    public MentionSpanIndex get(@NonNull UUID workspaceId, @NonNull UUID documentId) {
+        DocumentKey key = new DocumentKey(workspaceId, documentId);
+        Pending pending = pending(false);
+        if (pending != null && pending.touches(key)) {
+            return load(key);
+        }
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.loadedAt() < ENTRY_TTL.toNanos()) {
+                return entry.index();
+            }
+        }
+        int stripe = stripe(documentId);
+        long generation = generations.get(stripe);
+        MentionSpanIndex index = load(key);
+        synchronized (this) {
+            if (generations.get(stripe) == generation) {
+                entries.put(key, new Entry(index, System.nanoTime()));
+                if (entries.size() > MAX_CACHED_DOCUMENTS) {
+                    entries.remove(entries.keySet().iterator().next());
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Record a new or re-assigned mention, effective on commit.
+     */
+    public void saved(@NonNull MentionEntity mention) {
+        MentionTokenSpan span = spanOf(mention);
+        change(keyOf(mention), index -> index.with(span));
+    }
+
+    /**
+     * Record a deleted mention, effective on commit.
+     */
+    public void deleted(@NonNull MentionEntity mention) {
+        int sentenceIndex = mention.getSentenceIndex();
+        UUID mentionId = mention.getId();
+        change(keyOf(mention), index -> index.without(sentenceIndex, mentionId));
+    }
+
+    /**
+     * Drop a document's index on commit, e.g. after its mentions were replaced
+     * or moved in bulk.
+     */
+    public void evictDocument(@NonNull UUID documentId) {
+        Pending pending = pending(true);
+        if (pending == null) {
+            apply(Map.of(), Set.of(documentId), Set.of());
+        } else {
+            pending.documents.add(documentId);
+        }
+    }
+
+    /**
+     * Drop every index of a workspace on commit, e.g. after cluster ids were
+     * rewritten across documents.
+     */
+    public void evictWorkspace(@NonNull UUID workspaceId) {
+        Pending pending = pending(true);
+        if (pending == null) {
+            apply(Map.of(), Set.of(), Set.of(workspaceId));
+        } else {
+            pending.workspaces.add(workspaceId);
+        }
+    }
+
+    /**
+     * A mention's entry in the index.
+     */
+    static MentionTokenSpan spanOf(MentionEntity mention) {
+        return new MentionTokenSpan(mention.getId(), mention.getSentenceIndex(),
+                mention.getStartTokenIndex(), mention.getEndTokenIndex(), mention.getClusterId());
+    }
+
+    private MentionSpanIndex load(DocumentKey key) {
+        return MentionSpanIndex.of(mentionRepository.findTokenSpans(key.workspaceId(), key.documentId()));
+    }
+
+    private void change(DocumentKey key, UnaryOperator<MentionSpanIndex> change) {
+        Pending pending = pending(true);
+        if (pending == null) {
+            apply(Map.of(key, List.of(change)), Set.of(), Set.of());
+        } else {
+            pending.changes.computeIfAbsent(key, k -> new ArrayList<>()).add(change);
+        }
+    }
+
+    private synchronized void apply(Map<DocumentKey, List<UnaryOperator<MentionSpanIndex>>> changes,
+            Set<UUID> documents, Set<UUID> workspaces) {
+        changes.forEach((key, operators) -> {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                MentionSpanIndex index = entry.index();
+                for (UnaryOperator<MentionSpanIndex> operator : operators) {
+                    index = operator.apply(index);
+                }
+                entries.put(key, new Entry(index, entry.loadedAt()));
+            }
+            generations.incrementAndGet(stripe(key.documentId()));
+        });
+        if (!documents.isEmpty()) {
+            entries.keySet().removeIf(key -> documents.contains(key.documentId()));
+            documents.forEach(documentId -> generations.incrementAndGet(stripe(documentId)));
+        }
+        if (!workspaces.isEmpty()) {
+            entries.keySet().removeIf(key -> workspaces.contains(key.workspaceId()));
+            for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+                generations.incrementAndGet(stripe);
+            }
+        }
+    }
+
+    /**
+     * The current transaction's staged changes, registering them on first use
+     * when {@code create}; {@code null} outside a transaction.
+     */
+    private Pending pending(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null && create) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private static DocumentKey keyOf(MentionEntity mention) {
+        return new DocumentKey(mention.getWorkspaceId(), mention.getDocumentId());
+    }
+
+    private static int stripe(UUID documentId) {
+        return Math.floorMod(documentId.hashCode(), GENERATION_STRIPES);
+    }
+
+    /**
+     * Changes staged by one transaction, applied after it commits and dropped
+     * if it rolls back.
+     */
+    private final class Pending implements TransactionSynchronization {
+
+        private final Map<DocumentKey, List<UnaryOperator<MentionSpanIndex>>> changes = new HashMap<>();
+        private final Set<UUID> documents = new HashSet<>();
+        private final Set<UUID> workspaces = new HashSet<>();
+
+        boolean touches(DocumentKey key) {
+            return changes.containsKey(key)
+                    || documents.contains(key.documentId())
+                    || workspaces.contains(key.workspaceId());
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(MentionSpanCache.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(MentionSpanCache.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            apply(changes, documents, workspaces);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(MentionSpanCache.this);
+        }
+    }
+}
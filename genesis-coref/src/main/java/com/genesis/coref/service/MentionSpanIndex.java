@@ -0,0 +1,201 @@
+package com.genesis.coref.service;
+
+import com.genesis.coref.dto.MentionTokenSpan;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable interval index of one document's mention spans, per sentence.
+ *
+ * <p>
+ * Each sentence keeps its spans sorted by start token together with the
+ * running maximum of their end tokens, so an overlap test is one binary search
+ * and a "covering token" lookup walks back only over spans that can still
+ * reach the token. Spans may nest (CoNLL imports do). {@link #with} and
+ * {@link #without} return a new index that shares every untouched sentence.
+ */
+public final class MentionSpanIndex {
+
+    private static final MentionSpanIndex EMPTY = new MentionSpanIndex(Map.of(), 0);
+
+    private static final Comparator<MentionTokenSpan> BY_POSITION = Comparator
+            .comparingInt(MentionTokenSpan::startTokenIndex)
+            .thenComparingInt(MentionTokenSpan::endTokenIndex);
+
+    private final Map<Integer, Sentence> sentences;
+    private final int size;
+
+    private MentionSpanIndex(Map<Integer, Sentence> sentences, int size) {
+        this.sentences = sentences;
+        this.size = size;
+    }
+
+    /**
+     * Index of a document without mentions.
+     */
+    public static MentionSpanIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Index the given spans, in any order.
+     */
+    public static MentionSpanIndex of(Collection<MentionTokenSpan> spans) {
+        if (spans.isEmpty()) {
+            return EMPTY;
+        }
+        Map<Integer, List<MentionTokenSpan>> bySentence = new HashMap<>();
+        for (MentionTokenSpan span : spans) {
+            bySentence.computeIfAbsent(span.sentenceIndex(), s -> new ArrayList<>()).add(span);
+        }
+        Map<Integer, Sentence> sentences = new HashMap<>(bySentence.size() * 2);
+        bySentence.forEach((sentenceIndex, list) -> sentences.put(sentenceIndex, Sentence.of(list)));
+        return new MentionSpanIndex(sentences, spans.size());
+    }
+
+    /**
+     * Number of indexed mentions.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether any mention in the sentence shares a token with
+     * {@code [startTokenIndex, endTokenIndex]}.
+     */
+    public boolean overlaps(int sentenceIndex, int startTokenIndex, int endTokenIndex) {
+        Sentence sentence = sentences.get(sentenceIndex);
+        return sentence != null && sentence.overlaps(startTokenIndex, endTokenIndex);
+    }
+
+    /**
+     * Mentions whose span contains the token, ordered by start, then end token.
+     */
+    public List<MentionTokenSpan> covering(int sentenceIndex, int tokenIndex) {
+        Sentence sentence = sentences.get(sentenceIndex);
+        return sentence == null ? List.of() : sentence.covering(tokenIndex);
+    }
+
+    /**
+     * Mentions of the sentence ordered by start, then end token.
+     */
+    public List<MentionTokenSpan> sentence(int sentenceIndex) {
+        Sentence sentence = sentences.get(sentenceIndex);
+        return sentence == null ? List.of() : List.of(sentence.spans);
+    }
+
+    /**
+     * This index with {@code span} added, replacing a span of the same mention
+     * in the same sentence.
+     */
+    public MentionSpanIndex with(MentionTokenSpan span) {
+        Sentence sentence = sentences.get(span.sentenceIndex());
+        List<MentionTokenSpan> spans = new ArrayList<>(sentence == null ? 1 : sentence.spans.length + 1);
+        boolean replaced = false;
+        if (sentence != null) {
+            for (MentionTokenSpan existing : sentence.spans) {
+                if (existing.mentionId().equals(span.mentionId())) {
+                    replaced = true;
+                } else {
+                    spans.add(existing);
+                }
+            }
+        }
+        spans.add(span);
+        return replace(span.sentenceIndex(), spans, replaced ? size : size + 1);
+    }
+
+    /**
+     * This index without the mention, which sits in {@code sentenceIndex}.
+     * Unknown mentions are ignored.
+     */
+    public MentionSpanIndex without(int sentenceIndex, UUID mentionId) {
+        Sentence sentence = sentences.get(sentenceIndex);
+        if (sentence == null) {
+            return this;
+        }
+        List<MentionTokenSpan> spans = new ArrayList<>(sentence.spans.length);
+        for (MentionTokenSpan existing : sentence.spans) {
+            if (!existing.mentionId().equals(mentionId)) {
+                spans.add(existing);
+            }
+        }
+        return spans.size() == sentence.spans.length ? this : replace(sentenceIndex, spans, size - 1);
+    }
+
+    private MentionSpanIndex replace(int sentenceIndex, List<MentionTokenSpan> spans, int newSize) {
+        Map<Integer, Sentence> copy = new HashMap<>(sentences);
+        if (spans.isEmpty()) {
+            copy.remove(sentenceIndex);
+        } else {
+            copy.put(sentenceIndex, Sentence.of(spans));
+        }
+        return new MentionSpanIndex(copy, newSize);
+    }
+
+    /**
+     * Spans of one sentence sorted by start; {@code maxEnds[i]} is the largest
+     * end among {@code spans[0..i]}.
+     */
+    private static final class Sentence {
+
+        private final MentionTokenSpan[] spans;
+        private final int[] starts;
+        private final int[] maxEnds;
+
+        private Sentence(MentionTokenSpan[] spans) {
+            this.spans = spans;
+            this.starts = new int[spans.length];
+            this.maxEnds = new int[spans.length];
+            int maxEnd = Integer.MIN_VALUE;
+            for (int i = 0; i < spans.length; i++) {
+                starts[i] = spans[i].startTokenIndex();
+                maxEnd = Math.max(maxEnd, spans[i].endTokenIndex());
+                maxEnds[i] = maxEnd;
+            }
+        }
+
+        static Sentence of(List<MentionTokenSpan> spans) {
+            MentionTokenSpan[] sorted = spans.toArray(new MentionTokenSpan[0]);
+            Arrays.sort(sorted, BY_POSITION);
+            return new Sentence(sorted);
+        }
+
+        boolean overlaps(int start, int end) {
+            int candidates = startingAtOrBefore(end);
+            return candidates > 0 && maxEnds[candidates - 1] >= start;
+        }
+
+        List<MentionTokenSpan> covering(int token) {
+            List<MentionTokenSpan> result = new ArrayList<>();
+            for (int i = startingAtOrBefore(token) - 1; i >= 0 && maxEnds[i] >= token; i--) {
+                if (spans[i].endTokenIndex() >= token) {
+                    result.add(spans[i]);
+                }
+            }
+            return result.reversed();
+        }
+
+        /** Number of spans starting at or before {@code token}. */
+        private int startingAtOrBefore(int token) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= token) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.genesis.coref.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.genesis.coref.entity.ClusterEntity;
+import com.genesis.coref.entity.MentionEntity;
+import com.genesis.coref.repository.ClusterRepository;
+import com.genesis.coref.repository.MentionRepository;
+import com.genesis.coref.service.ClusterMentionCounts;
+import com.genesis.coref.service.MentionSpanCache;
+import com.genesis.importexport.event.ConllImportedEvent;
+import com.genesis.importexport.format.Conll2012Parser.MentionSpan;
+import com.genesis.importexport.repository.TokenRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link ConllMentionImportListener}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConllMentionImportListenerTest {
+
+    @Mock
+    private ClusterRepository clusterRepository;
+
+    @Mock
+    private MentionRepository mentionRepository;
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @Mock
+    private MentionSpanCache spanCache;
+
+    @Mock
+    private ClusterMentionCounts mentionCounts;
+
+    @InjectMocks
+    private ConllMentionImportListener listener;
+
+    @Test
+    @DisplayName("new clusters are numbered above the maximum so gapped numbers keep their display ranks")
+    void newClustersNeverFillGaps() {
+        UUID workspaceId = UUID.randomUUID();
+        UUID documentId = UUID.randomUUID();
+        ClusterEntity first = cluster(workspaceId, 1);
+        ClusterEntity fifth = cluster(workspaceId, 5);
+        // Stored {1, 5}: display 1 -> stored 1, display 2 -> stored 5
+        when(clusterRepository.findClusterNumbers(workspaceId)).thenReturn(List.of(1, 5));
+        when(clusterRepository.findByWorkspaceIdAndClusterNumber(workspaceId, 1)).thenReturn(Optional.of(first));
+        when(clusterRepository.findByWorkspaceIdAndClusterNumber(workspaceId, 5)).thenReturn(Optional.of(fifth));
+        when(clusterRepository.getNextClusterNumber(workspaceId)).thenReturn(6);
+        when(clusterRepository.save(any(ClusterEntity.class))).thenAnswer(invocation -> {
+            ClusterEntity saved = invocation.getArgument(0);
+            saved.setId(UUID.randomUUID());
+            return saved;
+        });
+
+        listener.onConllImported(new ConllImportedEvent(this, documentId, workspaceId, List.of(
+                new MentionSpan(0, 0, 0, 4),
+                new MentionSpan(0, 1, 1, 3),
+                new MentionSpan(0, 2, 2, 2),
+                new MentionSpan(1, 0, 0, 1))));
+
+        ArgumentCaptor<ClusterEntity> created = ArgumentCaptor.forClass(ClusterEntity.class);
+        verify(clusterRepository, times(2)).save(created.capture());
+        assertThat(created.getAllValues())
+                .extracting(ClusterEntity::getClusterNumber, ClusterEntity::getLabel)
+                .containsExactly(tuple(6, "CoNLL #3"), tuple(7, "CoNLL #4"));
+        verify(clusterRepository, never()).findByWorkspaceIdAndClusterNumber(workspaceId, 3);
+        verify(clusterRepository, never()).existsByWorkspaceIdAndClusterNumber(any(), any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MentionEntity>> mentions = ArgumentCaptor.forClass(List.class);
+        verify(mentionRepository).saveAll(mentions.capture());
+        assertThat(mentions.getValue()).extracting(MentionEntity::getClusterId)
+                .containsExactly(created.getAllValues().get(1).getId(), created.getAllValues().get(0).getId(),
+                        fifth.getId(), first.getId());
+        verify(mentionCounts).adjustAll(Map.of(
+                first.getId(), 1, fifth.getId(), 1,
+                created.getAllValues().get(0).getId(), 1, created.getAllValues().get(1).getId(), 1));
+    }
+
+    private static ClusterEntity cluster(UUID workspaceId, int clusterNumber) {
+        ClusterEntity cluster = new ClusterEntity();
+        cluster.setId(UUID.randomUUID());
+        cluster.setWorkspaceId(workspaceId);
+        cluster.setClusterNumber(clusterNumber);
+        return cluster;
+    }
+}
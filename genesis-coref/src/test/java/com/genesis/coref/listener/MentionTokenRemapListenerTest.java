@@ -0,0 +1,75 @@
+package com.genesis.coref.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.genesis.coref.entity.MentionEntity;
+import com.genesis.coref.repository.MentionRepository;
+import com.genesis.coref.service.ClusterMentionCounts;
+import com.genesis.coref.service.MentionSpanCache;
+import com.genesis.importexport.event.DocumentTokensRemappedEvent;
+import com.genesis.importexport.event.TokenRemap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link MentionTokenRemapListener}.
+ */
+@ExtendWith(MockitoExtension.class)
+class MentionTokenRemapListenerTest {
+
+    @Mock
+    private MentionRepository mentionRepository;
+
+    @Mock
+    private ClusterMentionCounts mentionCounts;
+
+    @Mock
+    private MentionSpanCache spanCache;
+
+    @InjectMocks
+    private MentionTokenRemapListener listener;
+
+    private static MentionEntity mention(UUID clusterId, int sentence, int start, int end) {
+        MentionEntity mention = new MentionEntity();
+        mention.setClusterId(clusterId);
+        mention.setSentenceIndex(sentence);
+        mention.setStartTokenIndex(start);
+        mention.setEndTokenIndex(end);
+        return mention;
+    }
+
+    @Test
+    @DisplayName("moves mentions whose tokens survived and drops the rest, decrementing their cluster counts")
+    void remapsMentionsInEditedSentences() {
+        UUID documentId = UUID.randomUUID();
+        UUID clusterId = UUID.randomUUID();
+        // Sentence 1 "Gamma delta ." (tokens 3..5) became "Gamma big delta ." (3..6).
+        TokenRemap remap = new TokenRemap(1, new int[] {3, 6}, new int[] {3, 7}, new int[] {3, 5, 6});
+        MentionEntity deltaDot = mention(clusterId, 1, 1, 2);
+        MentionEntity gammaDelta = mention(clusterId, 1, 0, 1);
+        when(mentionRepository.findBySentenceRange(documentId, 1, 2)).thenReturn(List.of(deltaDot, gammaDelta));
+
+        listener.onTokensRemapped(new DocumentTokensRemappedEvent(this, documentId, remap));
+
+        assertThat(deltaDot.getSentenceIndex()).isEqualTo(1);
+        assertThat(deltaDot.getStartTokenIndex()).isEqualTo(2);
+        assertThat(deltaDot.getEndTokenIndex()).isEqualTo(3);
+        verify(mentionRepository).deleteAll(List.of(gammaDelta));
+        verify(mentionCounts).adjustAll(Map.of(clusterId, -1));
+        verify(spanCache).evictDocument(documentId);
+        // Same sentence count: nothing after the edit changes sentence.
+        verify(mentionRepository, never()).shiftSentencesFrom(any(), anyInt(), anyInt());
+    }
+}
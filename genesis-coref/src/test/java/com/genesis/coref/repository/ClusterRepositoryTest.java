@@ -3,6 +3,7 @@ package com.genesis.coref.repository;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.genesis.coref.entity.ClusterEntity;
+import com.genesis.coref.entity.MentionEntity;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ContextConfiguration;
 import com.genesis.coref.config.CorefTestConfiguration;
@@ -25,6 +27,12 @@ class ClusterRepositoryTest {
     @Autowired
     private ClusterRepository clusterRepository;
 
+    @Autowired
+    private MentionRepository mentionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     private UUID workspaceId;
 
     @BeforeEach
@@ -130,6 +138,94 @@ class ClusterRepositoryTest {
         assertEquals(3, page.get(0).getClusterNumber());
     }
 
+    @Test
+    @DisplayName("Mention count delta is applied in place without touching the version")
+    void adjustMentionCount() {
+        ClusterEntity cluster = createCluster(workspaceId, 1, "Test");
+        ClusterEntity uncounted = new ClusterEntity();
+        uncounted.setWorkspaceId(workspaceId);
+        uncounted.setClusterNumber(2);
+        clusterRepository.saveAndFlush(uncounted);
+        Long version = cluster.getVersion();
+
+        assertEquals(1, clusterRepository.adjustMentionCount(cluster.getId(), 3));
+        clusterRepository.adjustMentionCount(cluster.getId(), -1);
+        clusterRepository.adjustMentionCount(uncounted.getId(), 2);
+        assertEquals(0, clusterRepository.adjustMentionCount(UUID.randomUUID(), 1));
+        entityManager.clear();
+
+        ClusterEntity reloaded = clusterRepository.findById(cluster.getId()).orElseThrow();
+        assertEquals(2, reloaded.getMentionCount());
+        assertEquals(version, reloaded.getVersion());
+        assertEquals(2, clusterRepository.findById(uncounted.getId()).orElseThrow().getMentionCount());
+    }
+
+    @Test
+    @DisplayName("Saving a cluster never overwrites its mention count")
+    void saveKeepsMentionCount() {
+        ClusterEntity cluster = createCluster(workspaceId, 1, "Test");
+        clusterRepository.adjustMentionCount(cluster.getId(), 4);
+        entityManager.clear();
+
+        ClusterEntity loaded = clusterRepository.findById(cluster.getId()).orElseThrow();
+        loaded.setLabel("Renamed");
+        loaded.setMentionCount(0);
+        clusterRepository.saveAndFlush(loaded);
+        entityManager.clear();
+
+        ClusterEntity reloaded = clusterRepository.findById(cluster.getId()).orElseThrow();
+        assertEquals("Renamed", reloaded.getLabel());
+        assertEquals(4, reloaded.getMentionCount());
+    }
+
+    @Test
+    @DisplayName("Reconciliation recounts only drifted clusters")
+    void recountMentionCounts() {
+        ClusterEntity drifted = createCluster(workspaceId, 1, "Drifted");
+        ClusterEntity accurate = createCluster(workspaceId, 2, "Accurate");
+        ClusterEntity empty = createCluster(workspaceId, 3, "Empty");
+        mention(drifted.getId());
+        mention(drifted.getId());
+        mention(accurate.getId());
+        clusterRepository.adjustMentionCount(drifted.getId(), 5);
+        clusterRepository.adjustMentionCount(accurate.getId(), 1);
+
+        List<UUID> driftedIds = clusterRepository.findDriftedClusterIds();
+        assertEquals(List.of(drifted.getId()), driftedIds);
+        assertEquals(1, clusterRepository.lockForRecount(driftedIds).size());
+        assertEquals(1, clusterRepository.recountMentionCounts(List.of(drifted.getId(), accurate.getId())));
+        entityManager.clear();
+
+        assertEquals(2, clusterRepository.findById(drifted.getId()).orElseThrow().getMentionCount());
+        assertEquals(1, clusterRepository.findById(accurate.getId()).orElseThrow().getMentionCount());
+        assertEquals(0, clusterRepository.findById(empty.getId()).orElseThrow().getMentionCount());
+    }
+
+    @Test
+    @DisplayName("Stored cluster numbers come back ascending, gaps included, per workspace or document")
+    void findClusterNumbers() {
+        ClusterEntity fifth = createCluster(workspaceId, 5, "Fifth");
+        createCluster(workspaceId, 1, "First");
+        createCluster(workspaceId, 3, "Third");
+        createCluster(UUID.randomUUID(), 2, "Other");
+        UUID documentId = mention(fifth.getId()).getDocumentId();
+
+        assertEquals(List.of(1, 3, 5), clusterRepository.findClusterNumbers(workspaceId));
+        assertEquals(List.of(1, 3, 5), clusterRepository.findClusterNumbersByDocumentId(documentId));
+        assertTrue(clusterRepository.findClusterNumbersByDocumentId(UUID.randomUUID()).isEmpty());
+    }
+
+    private MentionEntity mention(UUID clusterId) {
+        MentionEntity mention = new MentionEntity();
+        mention.setWorkspaceId(workspaceId);
+        mention.setDocumentId(UUID.randomUUID());
+        mention.setClusterId(clusterId);
+        mention.setSentenceIndex(0);
+        mention.setStartTokenIndex(0);
+        mention.setEndTokenIndex(0);
+        return mentionRepository.save(mention);
+    }
+
     private ClusterEntity createCluster(UUID wsId, int number, String label) {
         ClusterEntity cluster = new ClusterEntity();
         cluster.setWorkspaceId(wsId);
@@ -2,15 +2,19 @@ package com.genesis.coref.repository;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.genesis.coref.dto.MentionClusterSpan;
+import com.genesis.coref.dto.MentionTokenSpan;
 import com.genesis.coref.entity.ClusterEntity;
 import com.genesis.coref.entity.MentionEntity;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ContextConfiguration;
 import com.genesis.coref.config.CorefTestConfiguration;
@@ -28,6 +32,9 @@ class MentionRepositoryTest {
     @Autowired
     private ClusterRepository clusterRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private UUID workspaceId;
     private UUID documentId;
     private UUID clusterId;
@@ -185,6 +192,102 @@ class MentionRepositoryTest {
         assertTrue(page2.stream().noneMatch(m -> m.getWorkspaceId().equals(otherWorkspace)));
     }
 
+    @Test
+    @DisplayName("Cluster span stream joins cluster numbers and orders by sentence and start token")
+    void streamClusterSpansByDocumentId() {
+        ClusterEntity second = new ClusterEntity();
+        second.setWorkspaceId(workspaceId);
+        second.setClusterNumber(7);
+        UUID secondId = clusterRepository.save(second).getId();
+
+        assign(createMention(1, 0, 2), clusterId);
+        assign(createMention(0, 3, 4), secondId);
+        assign(createMention(0, 0, 0), clusterId);
+        createMention(0, 1, 1); // Unassigned
+        assign(createMention(0, 5, 5), UUID.randomUUID()); // Dangling cluster id
+
+        List<MentionClusterSpan> spans;
+        try (Stream<MentionClusterSpan> stream = mentionRepository.streamClusterSpansByDocumentId(documentId)) {
+            spans = stream.toList();
+        }
+
+        assertEquals(List.of(
+                new MentionClusterSpan(documentId, 0, 0, 0, 1),
+                new MentionClusterSpan(documentId, 0, 3, 4, 7),
+                new MentionClusterSpan(documentId, 1, 0, 2, 1)), spans);
+    }
+
+    @Test
+    @DisplayName("Workspace cluster span stream groups by document")
+    void streamClusterSpansByWorkspaceId() {
+        UUID otherDocument = UUID.randomUUID();
+        assign(createMention(2, 0, 0), clusterId);
+        MentionEntity other = createMention(0, 1, 1);
+        other.setDocumentId(otherDocument);
+        assign(other, clusterId);
+        assign(createMention(0, 4, 4), clusterId);
+
+        List<MentionClusterSpan> spans;
+        try (Stream<MentionClusterSpan> stream = mentionRepository.streamClusterSpansByWorkspaceId(workspaceId)) {
+            spans = stream.toList();
+        }
+
+        assertEquals(3, spans.size());
+        List<UUID> documents = spans.stream().map(MentionClusterSpan::documentId).distinct().toList();
+        assertEquals(2, documents.size());
+        List<Integer> sentencesOfDocument = spans.stream()
+                .filter(span -> span.documentId().equals(documentId))
+                .map(MentionClusterSpan::sentenceIndex)
+                .toList();
+        assertEquals(List.of(0, 2), sentencesOfDocument);
+    }
+
+    @Test
+    @DisplayName("Token spans cover a document's mentions in one workspace, assigned or not")
+    void findTokenSpans() {
+        MentionEntity assigned = createMention(1, 0, 2);
+        assign(assigned, clusterId);
+        MentionEntity unassigned = createMention(0, 3, 4);
+        MentionEntity foreign = createMention(0, 0, 0);
+        foreign.setWorkspaceId(UUID.randomUUID());
+        mentionRepository.save(foreign);
+
+        List<MentionTokenSpan> spans = mentionRepository.findTokenSpans(workspaceId, documentId);
+
+        assertEquals(2, spans.size());
+        assertTrue(spans.contains(new MentionTokenSpan(assigned.getId(), 1, 0, 2, clusterId)));
+        assertTrue(spans.contains(new MentionTokenSpan(unassigned.getId(), 0, 3, 4, null)));
+    }
+
+    @Test
+    @DisplayName("Selected mentions are read by id within a workspace and moved to a cluster in one UPDATE")
+    void tokenSpansByIdsAndAssignToCluster() {
+        MentionEntity first = createMention(0, 0, 1);
+        assign(first, clusterId);
+        MentionEntity second = createMention(1, 2, 2);
+        MentionEntity untouched = createMention(2, 0, 0);
+        MentionEntity foreign = createMention(3, 0, 0);
+        foreign.setWorkspaceId(UUID.randomUUID());
+        mentionRepository.save(foreign);
+
+        List<MentionTokenSpan> spans = mentionRepository.findTokenSpansByIds(workspaceId,
+                List.of(first.getId(), second.getId(), foreign.getId()));
+        assertEquals(2, spans.size());
+        assertTrue(spans.contains(new MentionTokenSpan(first.getId(), 0, 0, 1, clusterId)));
+
+        UUID target = UUID.randomUUID();
+        assertEquals(2, mentionRepository.assignMentionsToCluster(target, List.of(first.getId(), second.getId())));
+        entityManager.clear();
+        assertEquals(target, mentionRepository.findById(first.getId()).orElseThrow().getClusterId());
+        assertEquals(target, mentionRepository.findById(second.getId()).orElseThrow().getClusterId());
+        assertNull(mentionRepository.findById(untouched.getId()).orElseThrow().getClusterId());
+    }
+
+    private void assign(MentionEntity mention, UUID cluster) {
+        mention.setClusterId(cluster);
+        mentionRepository.save(mention);
+    }
+
     private MentionEntity createMention(int sentenceIdx, int startToken, int endToken) {
         MentionEntity mention = new MentionEntity();
         mention.setWorkspaceId(workspaceId);
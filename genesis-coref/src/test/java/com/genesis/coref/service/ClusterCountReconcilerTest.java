@@ -0,0 +1,75 @@
+package com.genesis.coref.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.genesis.coref.entity.ClusterEntity;
+import com.genesis.coref.repository.ClusterRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Unit tests for ClusterCountReconciler: drifted clusters are locked before
+ * they are recounted, batch by batch, and locked-out clusters are skipped.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClusterCountReconcilerTest {
+
+    @Mock
+    private ClusterRepository clusterRepository;
+
+    private ClusterCountReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new ClusterCountReconciler(clusterRepository, TransactionOperations.withoutTransaction());
+    }
+
+    @Test
+    @DisplayName("Should recount only the clusters it could lock, locking each batch first")
+    void locksThenRecountsPerBatch() {
+        List<UUID> drifted = new ArrayList<>();
+        for (int i = 0; i < ClusterCountReconciler.BATCH_SIZE + 1; i++) {
+            drifted.add(UUID.randomUUID());
+        }
+        List<UUID> firstBatch = drifted.subList(0, ClusterCountReconciler.BATCH_SIZE);
+        List<UUID> lastBatch = drifted.subList(ClusterCountReconciler.BATCH_SIZE, drifted.size());
+        when(clusterRepository.findDriftedClusterIds()).thenReturn(drifted);
+        when(clusterRepository.lockForRecount(firstBatch)).thenReturn(List.of(cluster(drifted.get(0))));
+        when(clusterRepository.lockForRecount(lastBatch)).thenReturn(List.of());
+        when(clusterRepository.recountMentionCounts(List.of(drifted.get(0)))).thenReturn(1);
+
+        assertEquals(1, reconciler.reconcile());
+
+        InOrder order = inOrder(clusterRepository);
+        order.verify(clusterRepository).lockForRecount(firstBatch);
+        order.verify(clusterRepository).recountMentionCounts(List.of(drifted.get(0)));
+        order.verify(clusterRepository).lockForRecount(lastBatch);
+        verify(clusterRepository, times(1)).recountMentionCounts(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no cluster has drifted")
+    void nothingDrifted() {
+        when(clusterRepository.findDriftedClusterIds()).thenReturn(List.of());
+
+        assertEquals(0, reconciler.reconcile());
+
+        verify(clusterRepository, never()).lockForRecount(anyCollection());
+    }
+
+    private static ClusterEntity cluster(UUID id) {
+        ClusterEntity cluster = new ClusterEntity();
+        cluster.setId(id);
+        return cluster;
+    }
+}
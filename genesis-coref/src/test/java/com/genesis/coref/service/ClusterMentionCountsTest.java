@@ -0,0 +1,88 @@
+package com.genesis.coref.service;
+
+import static org.mockito.Mockito.*;
+
+import com.genesis.coref.repository.ClusterRepository;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for ClusterMentionCounts: deltas of one transaction are summed
+ * and written once per cluster before commit.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClusterMentionCountsTest {
+
+    @Mock
+    private ClusterRepository clusterRepository;
+
+    private ClusterMentionCounts counts;
+
+    @BeforeEach
+    void setUp() {
+        counts = new ClusterMentionCounts(clusterRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write one net delta per cluster before commit, in cluster id order")
+    void coalescesPerTransaction() {
+        UUID low = new UUID(0, 1);
+        UUID high = new UUID(0, 2);
+        UUID cancelled = new UUID(0, 3);
+        TransactionSynchronizationManager.initSynchronization();
+
+        counts.adjust(high, 1);
+        counts.adjust(low, -1);
+        counts.adjust(high, 1);
+        counts.adjustAll(Map.of(cancelled, 1));
+        counts.adjust(cancelled, -1);
+        counts.adjust(null, 1);
+        verifyNoInteractions(clusterRepository);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+
+        InOrder inOrder = inOrder(clusterRepository);
+        inOrder.verify(clusterRepository).adjustMentionCount(low, -1);
+        inOrder.verify(clusterRepository).adjustMentionCount(high, 2);
+        verifyNoMoreInteractions(clusterRepository);
+    }
+
+    @Test
+    @DisplayName("Should write nothing when the transaction rolls back")
+    void dropsOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        counts.adjust(UUID.randomUUID(), 1);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(clusterRepository);
+    }
+
+    @Test
+    @DisplayName("Should write at once outside a transaction")
+    void writesImmediatelyWithoutTransaction() {
+        UUID clusterId = UUID.randomUUID();
+
+        counts.adjust(clusterId, 3);
+
+        verify(clusterRepository).adjustMentionCount(clusterId, 3);
+    }
+}
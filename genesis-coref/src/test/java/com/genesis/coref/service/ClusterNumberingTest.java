@@ -0,0 +1,38 @@
+package com.genesis.coref.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ClusterNumbering.
+ */
+class ClusterNumberingTest {
+
+    @Test
+    @DisplayName("Should rank stored numbers with gaps into contiguous display numbers")
+    void ranksAcrossGaps() {
+        ClusterNumbering numbering = ClusterNumbering.of(List.of(9, 1, 5, 3));
+
+        assertEquals(4, numbering.size());
+        assertEquals(1, numbering.displayNumber(1));
+        assertEquals(2, numbering.displayNumber(3));
+        assertEquals(3, numbering.displayNumber(5));
+        assertEquals(4, numbering.displayNumber(9));
+        assertEquals(5, numbering.storedNumber(3));
+        assertNull(numbering.storedNumber(0));
+        assertNull(numbering.storedNumber(5));
+    }
+
+    @Test
+    @DisplayName("Should place numbers missing from the snapshot after every ranked cluster")
+    void unknownNumbersDoNotCollide() {
+        ClusterNumbering numbering = ClusterNumbering.of(List.of(1, 5));
+
+        assertTrue(numbering.displayNumber(3) > numbering.size());
+        assertNotEquals(numbering.displayNumber(3), numbering.displayNumber(4));
+        assertEquals(7, ClusterNumbering.of(List.of()).displayNumber(7));
+    }
+}
@@ -5,7 +5,9 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 import com.genesis.coref.dto.ClusterDto;
+import com.genesis.coref.dto.ClusterRestructureRequest;
 import com.genesis.coref.dto.CreateClusterRequest;
+import com.genesis.coref.dto.MentionTokenSpan;
 import com.genesis.coref.entity.ClusterEntity;
 import com.genesis.coref.repository.ClusterRepository;
 import com.genesis.coref.repository.MentionRepository;
@@ -56,7 +58,8 @@ class ClusterServiceTest {
 
     @BeforeEach
     void setUp() {
-        clusterService = new ClusterService(clusterRepository, mentionRepository, accessControl, eventPublisher);
+        clusterService = new ClusterService(clusterRepository, mentionRepository, accessControl, eventPublisher,
+                new MentionSpanCache(mentionRepository), new ClusterMentionCounts(clusterRepository));
         workspaceId = UUID.randomUUID();
         clusterId = UUID.randomUUID();
         callerId = UUID.randomUUID();
@@ -181,9 +184,6 @@ class ClusterServiceTest {
         existing.setId(clusterId);
 
         when(clusterRepository.findById(clusterId)).thenReturn(Optional.of(existing));
-        // After delete, compaction queries the remaining clusters; return empty.
-        when(clusterRepository.findByWorkspaceIdOrderByClusterNumberAsc(workspaceId))
-                .thenReturn(Collections.emptyList());
 
         clusterService.deleteCluster(clusterId, callerId);
 
@@ -191,27 +191,10 @@ class ClusterServiceTest {
         verify(clusterRepository).delete(existing);
     }
 
-    @Test
-    @DisplayName("Should update mention count")
-    void updateMentionCount() {
-        ClusterEntity existing = createClusterEntity(1, "Test");
-        existing.setId(clusterId);
-
-        when(clusterRepository.findById(clusterId)).thenReturn(Optional.of(existing));
-        when(mentionRepository.countByClusterId(clusterId)).thenReturn(5L);
-        when(clusterRepository.save(any(ClusterEntity.class))).thenAnswer(inv -> inv.getArgument(0));
-
-        clusterService.updateMentionCount(clusterId);
-
-        ArgumentCaptor<ClusterEntity> captor = ArgumentCaptor.forClass(ClusterEntity.class);
-        verify(clusterRepository).save(captor.capture());
-        assertEquals(5, captor.getValue().getMentionCount());
-    }
-
     // ==================== Merge tests ====================
 
     @Test
-    @DisplayName("mergeClusters happy path: reassigns mentions, sums counts, deletes sources, compacts numbers")
+    @DisplayName("mergeClusters happy path: reassigns mentions, moves counts, deletes sources, keeps numbers")
     void mergeClusters_happyPath() {
         UUID source1Id = UUID.randomUUID();
         UUID source2Id = UUID.randomUUID();
@@ -234,19 +217,9 @@ class ClusterServiceTest {
         store.put(source2Id, source2);
         store.put(targetId, target);
 
-        when(clusterRepository.findById(any(UUID.class)))
-                .thenAnswer(inv -> Optional.ofNullable(store.get(inv.<UUID>getArgument(0))));
-        when(clusterRepository.save(any(ClusterEntity.class))).thenAnswer(inv -> inv.getArgument(0));
-
-        // After deletion of source1+source2, the workspace ordering is target alone
-        // — but its number is currently 3, which is non-contiguous, so compaction
-        // will renumber it to 1. Return a mutable list so the service can mutate
-        // cluster numbers in place.
-        List<ClusterEntity> remaining = new ArrayList<>();
-        remaining.add(target);
-        when(clusterRepository.findByWorkspaceIdOrderByClusterNumberAsc(workspaceId))
-                .thenReturn(remaining);
-        when(clusterRepository.saveAllAndFlush(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(clusterRepository.findById(targetId)).thenReturn(Optional.of(target));
+        stubFindAllById(store);
+        when(mentionRepository.reassignMentionsToCluster(eq(targetId), anyList())).thenReturn(5);
 
         ClusterDto result = clusterService.mergeClusters(
                 workspaceId,
@@ -266,14 +239,21 @@ class ClusterServiceTest {
         deleteCaptor.getValue().forEach(deleted::add);
         assertEquals(2, deleted.size());
 
-        // Target's mention count = 4 (existing) + 2 + 3 = 9.
+        // Sources are loaded in one query, not one lookup each.
+        verify(clusterRepository, times(1)).findById(any());
+        verify(clusterRepository).findAllById(any());
+
+        // Target gains the 5 moved mentions with one delta UPDATE: 4 + 5 = 9.
+        verify(clusterRepository).adjustMentionCount(targetId, 5);
+        verify(clusterRepository, never()).save(any(ClusterEntity.class));
         assertEquals(9, target.getMentionCount());
+        assertEquals(9, result.getMentionCount());
 
-        // Compaction rewrote the remaining cluster's number from 3 → 1.
-        assertEquals(1, target.getClusterNumber());
-        // Returned DTO reflects the renumber.
-        assertEquals(1, result.getClusterNumber());
+        // No renumbering: the target keeps its stable number 3.
+        assertEquals(3, result.getClusterNumber());
         assertEquals(targetId, result.getId());
+        verify(clusterRepository, never()).findByWorkspaceIdOrderByClusterNumberAsc(any());
+        verify(clusterRepository, never()).saveAllAndFlush(anyList());
     }
 
     @Test
@@ -301,7 +281,7 @@ class ClusterServiceTest {
         source.setMentionCount(1);
 
         when(clusterRepository.findById(targetId)).thenReturn(Optional.of(target));
-        when(clusterRepository.findById(sourceId)).thenReturn(Optional.of(source));
+        when(clusterRepository.findAllById(any())).thenReturn(List.of(source));
 
         assertThrows(ValidationException.class, () -> clusterService.mergeClusters(
                 workspaceId, Collections.singletonList(sourceId), targetId, callerId));
@@ -319,6 +299,102 @@ class ClusterServiceTest {
                 workspaceId, Collections.singletonList(missingId), targetId, callerId));
     }
 
+    // ==================== Restructure tests ====================
+
+    @Test
+    @DisplayName("restructureClusters chains merges, splits mentions out and writes each group once")
+    void restructureClusters_mergesAndSplits() {
+        ClusterEntity a = createClusterEntity(1, "A");
+        a.setId(UUID.randomUUID());
+        a.setMentionCount(3);
+        ClusterEntity b = createClusterEntity(2, "B");
+        b.setId(UUID.randomUUID());
+        ClusterEntity c = createClusterEntity(3, "C");
+        c.setId(UUID.randomUUID());
+        ClusterEntity d = createClusterEntity(5, "D");
+        d.setId(UUID.randomUUID());
+        d.setMentionCount(4);
+        Map<UUID, ClusterEntity> store = new HashMap<>();
+        List.of(a, b, c, d).forEach(cluster -> store.put(cluster.getId(), cluster));
+        UUID m1 = UUID.randomUUID();
+        UUID m2 = UUID.randomUUID();
+        UUID createdId = UUID.randomUUID();
+
+        stubFindAllById(store);
+        when(mentionRepository.findTokenSpansByIds(eq(workspaceId), any())).thenReturn(List.of(
+                new MentionTokenSpan(m1, 0, 0, 1, d.getId()),
+                new MentionTokenSpan(m2, 2, 3, 3, d.getId())));
+        when(mentionRepository.reassignMentionsToCluster(a.getId(), List.of(c.getId(), b.getId()))).thenReturn(4);
+        when(clusterRepository.getNextClusterNumber(workspaceId)).thenReturn(6);
+        when(clusterRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<ClusterEntity> saved = inv.getArgument(0);
+            saved.get(0).setId(createdId);
+            return saved;
+        });
+        when(mentionRepository.assignMentionsToCluster(createdId, List.of(m1, m2))).thenReturn(2);
+
+        // C+B and then A+C: one group of three that survives as A (lowest number).
+        ClusterRestructureRequest request = new ClusterRestructureRequest();
+        request.setDirectives(List.of(
+                merge(c.getId(), b.getId()),
+                merge(a.getId(), c.getId()),
+                split(d.getId(), "Split", m1, m2)));
+
+        List<ClusterDto> result = clusterService.restructureClusters(workspaceId, request, callerId);
+
+        verify(mentionRepository, times(1)).reassignMentionsToCluster(any(), anyList());
+        verify(clusterRepository).deleteAllByIdInBatch(List.of(c.getId(), b.getId()));
+        verify(clusterRepository).adjustMentionCount(a.getId(), 4);
+        verify(clusterRepository).adjustMentionCount(d.getId(), -2);
+        verify(clusterRepository).adjustMentionCount(createdId, 2);
+        verify(clusterRepository, never()).findById(any());
+
+        assertEquals(List.of(a.getId(), d.getId(), createdId), result.stream().map(ClusterDto::getId).toList());
+        assertEquals(7, result.get(0).getMentionCount());
+        assertEquals(2, result.get(1).getMentionCount());
+        assertEquals(6, result.get(2).getClusterNumber());
+        assertEquals("Split", result.get(2).getLabel());
+        assertEquals(2, result.get(2).getMentionCount());
+    }
+
+    @Test
+    @DisplayName("restructureClusters rejects a split mention outside its cluster before writing anything")
+    void restructureClusters_rejectsForeignSplitMention() {
+        ClusterEntity a = createClusterEntity(1, "A");
+        a.setId(UUID.randomUUID());
+        UUID mentionId = UUID.randomUUID();
+        stubFindAllById(Map.of(a.getId(), a));
+        when(mentionRepository.findTokenSpansByIds(eq(workspaceId), any()))
+                .thenReturn(List.of(new MentionTokenSpan(mentionId, 0, 0, 0, UUID.randomUUID())));
+
+        ClusterRestructureRequest request = new ClusterRestructureRequest();
+        request.setDirectives(List.of(split(a.getId(), null, mentionId)));
+
+        assertThrows(ValidationException.class,
+                () -> clusterService.restructureClusters(workspaceId, request, callerId));
+        verify(clusterRepository, never()).saveAll(anyList());
+        verify(mentionRepository, never()).assignMentionsToCluster(any(), any());
+    }
+
+    @Test
+    @DisplayName("restructureClusters rejects malformed directives and mentions split twice")
+    void restructureClusters_rejectsMalformedDirectives() {
+        UUID mentionId = UUID.randomUUID();
+        ClusterRestructureRequest lonelyMerge = new ClusterRestructureRequest();
+        lonelyMerge.setDirectives(List.of(merge(UUID.randomUUID())));
+        ClusterRestructureRequest splitTwice = new ClusterRestructureRequest();
+        splitTwice.setDirectives(List.of(split(UUID.randomUUID(), null, mentionId),
+                split(UUID.randomUUID(), null, mentionId)));
+
+        assertThrows(ValidationException.class,
+                () -> clusterService.restructureClusters(workspaceId, new ClusterRestructureRequest(), callerId));
+        assertThrows(ValidationException.class,
+                () -> clusterService.restructureClusters(workspaceId, lonelyMerge, callerId));
+        assertThrows(ValidationException.class,
+                () -> clusterService.restructureClusters(workspaceId, splitTwice, callerId));
+        verifyNoInteractions(clusterRepository, mentionRepository);
+    }
+
     // ==================== Compaction tests ====================
 
     @Test
@@ -361,31 +437,48 @@ class ClusterServiceTest {
     }
 
     @Test
-    @DisplayName("deleteCluster automatically compacts remaining cluster numbers")
-    void deleteCluster_compactsNumbers() {
-        // Simulate: workspace had clusters 1,2,3; we delete cluster 2. After delete,
-        // findByWorkspaceIdOrderByClusterNumberAsc returns the remaining clusters
-        // numbered (1, 3) — compaction should rewrite to (1, 2).
+    @DisplayName("deleteCluster leaves the remaining cluster numbers alone (gaps are ranked at export)")
+    void deleteCluster_keepsNumbers() {
         UUID toDeleteId = UUID.randomUUID();
         ClusterEntity toDelete = createClusterEntity(2, "Mid");
         toDelete.setId(toDeleteId);
 
-        ClusterEntity remaining1 = createClusterEntity(1, "First");
-        ClusterEntity remaining3 = createClusterEntity(3, "Third");
-        List<ClusterEntity> remaining = new ArrayList<>(Arrays.asList(remaining1, remaining3));
-
         when(clusterRepository.findById(toDeleteId)).thenReturn(Optional.of(toDelete));
-        when(clusterRepository.findByWorkspaceIdOrderByClusterNumberAsc(workspaceId))
-                .thenReturn(remaining);
-        when(clusterRepository.saveAllAndFlush(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
         clusterService.deleteCluster(toDeleteId, callerId);
 
-        // After compaction: 1 stays 1, 3 becomes 2.
-        assertEquals(1, remaining1.getClusterNumber());
-        assertEquals(2, remaining3.getClusterNumber());
         verify(clusterRepository).delete(toDelete);
         verify(mentionRepository).unassignFromCluster(toDeleteId);
+        verify(clusterRepository, never()).findByWorkspaceIdOrderByClusterNumberAsc(any());
+        verify(clusterRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    private void stubFindAllById(Map<UUID, ClusterEntity> store) {
+        when(clusterRepository.findAllById(any())).thenAnswer(inv -> {
+            List<ClusterEntity> found = new ArrayList<>();
+            inv.<Iterable<UUID>>getArgument(0).forEach(id -> {
+                if (store.containsKey(id)) {
+                    found.add(store.get(id));
+                }
+            });
+            return found;
+        });
+    }
+
+    private static ClusterRestructureRequest.Directive merge(UUID... clusterIds) {
+        ClusterRestructureRequest.Directive directive = new ClusterRestructureRequest.Directive();
+        directive.setType(ClusterRestructureRequest.Directive.Type.MERGE);
+        directive.setClusterIds(Arrays.asList(clusterIds));
+        return directive;
+    }
+
+    private static ClusterRestructureRequest.Directive split(UUID clusterId, String label, UUID... mentionIds) {
+        ClusterRestructureRequest.Directive directive = new ClusterRestructureRequest.Directive();
+        directive.setType(ClusterRestructureRequest.Directive.Type.SPLIT);
+        directive.setClusterId(clusterId);
+        directive.setMentionIds(Arrays.asList(mentionIds));
+        directive.setLabel(label);
+        return directive;
     }
 
     private ClusterEntity createClusterEntity(int number, String label) {
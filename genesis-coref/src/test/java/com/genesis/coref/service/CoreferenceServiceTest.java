@@ -3,14 +3,17 @@ package com.genesis.coref.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import com.genesis.coref.entity.ClusterEntity;
+import com.genesis.coref.dto.MentionClusterSpan;
 import com.genesis.coref.entity.MentionEntity;
 import com.genesis.coref.repository.ClusterRepository;
 import com.genesis.coref.repository.MentionRepository;
+import com.genesis.importexport.format.CorefAnnotations;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -34,83 +37,91 @@ class CoreferenceServiceTest {
 
     private UUID workspaceId;
     private UUID documentId;
-    private UUID clusterId;
 
     @BeforeEach
     void setUp() {
         coreferenceService = new CoreferenceService(mentionRepository, clusterRepository);
         workspaceId = UUID.randomUUID();
         documentId = UUID.randomUUID();
-        clusterId = UUID.randomUUID();
     }
 
     @Test
     @DisplayName("Should generate single-token coref annotation")
     void generateSingleTokenAnnotation() {
-        MentionEntity mention = createMention(0, 0, 0, clusterId);
-        ClusterEntity cluster = createCluster(1);
+        when(clusterRepository.findClusterNumbersByDocumentId(documentId)).thenReturn(List.of(1));
+        when(mentionRepository.streamClusterSpansByDocumentId(documentId))
+                .thenReturn(Stream.of(span(documentId, 0, 0, 0, 1)));
 
-        when(mentionRepository.findByDocumentIdOrdered(documentId))
-                .thenReturn(Arrays.asList(mention));
-        when(clusterRepository.findById(clusterId)).thenReturn(Optional.of(cluster));
+        CorefAnnotations annotations = coreferenceService.generateCorefAnnotations(documentId);
 
-        Map<String, String> annotations = coreferenceService.generateCorefAnnotations(documentId);
-
-        assertEquals("(1)", annotations.get("0-0"));
+        assertEquals("(1)", annotations.get(0, 0));
     }
 
     @Test
     @DisplayName("Should generate multi-token coref annotation")
     void generateMultiTokenAnnotation() {
-        MentionEntity mention = createMention(0, 0, 2, clusterId);
-        ClusterEntity cluster = createCluster(1);
-
-        when(mentionRepository.findByDocumentIdOrdered(documentId))
-                .thenReturn(Arrays.asList(mention));
-        when(clusterRepository.findById(clusterId)).thenReturn(Optional.of(cluster));
+        when(clusterRepository.findClusterNumbersByDocumentId(documentId)).thenReturn(List.of(1));
+        when(mentionRepository.streamClusterSpansByDocumentId(documentId))
+                .thenReturn(Stream.of(span(documentId, 0, 0, 2, 1)));
 
-        Map<String, String> annotations = coreferenceService.generateCorefAnnotations(documentId);
+        CorefAnnotations annotations = coreferenceService.generateCorefAnnotations(documentId);
 
-        assertEquals("(1", annotations.get("0-0")); // Start
-        assertEquals("1)", annotations.get("0-2")); // End
+        assertEquals("(1", annotations.get(0, 0)); // Start
+        assertEquals("1)", annotations.get(0, 2)); // End
     }
 
     @Test
     @DisplayName("Should merge overlapping annotations with pipe")
     void mergeOverlappingAnnotations() {
-        UUID cluster1Id = UUID.randomUUID();
-        UUID cluster2Id = UUID.randomUUID();
-
-        MentionEntity mention1 = createMention(0, 0, 0, cluster1Id);
-        MentionEntity mention2 = createMention(0, 0, 0, cluster2Id);
+        when(clusterRepository.findClusterNumbersByDocumentId(documentId)).thenReturn(List.of(1, 2));
+        when(mentionRepository.streamClusterSpansByDocumentId(documentId))
+                .thenReturn(Stream.of(span(documentId, 0, 0, 0, 1), span(documentId, 0, 0, 0, 2)));
 
-        ClusterEntity cluster1 = createCluster(1);
-        cluster1.setId(cluster1Id);
-        ClusterEntity cluster2 = createCluster(2);
-        cluster2.setId(cluster2Id);
+        CorefAnnotations annotations = coreferenceService.generateCorefAnnotations(documentId);
 
-        when(mentionRepository.findByDocumentIdOrdered(documentId))
-                .thenReturn(Arrays.asList(mention1, mention2));
-        when(clusterRepository.findById(cluster1Id)).thenReturn(Optional.of(cluster1));
-        when(clusterRepository.findById(cluster2Id)).thenReturn(Optional.of(cluster2));
-
-        Map<String, String> annotations = coreferenceService.generateCorefAnnotations(documentId);
+        assertEquals("(1)|(2)", annotations.get(0, 0));
+    }
 
-        String annotation = annotations.get("0-0");
-        assertTrue(annotation.contains("|"));
-        assertTrue(annotation.contains("(1)"));
-        assertTrue(annotation.contains("(2)"));
+    @Test
+    @DisplayName("Should resolve cluster numbers in the span query, without per-mention lookups")
+    void noPerMentionClusterLookups() {
+        Stream<MentionClusterSpan> spans = Stream.of(span(documentId, 0, 0, 1, 4), span(documentId, 1, 2, 2, 5));
+        AtomicBoolean closed = new AtomicBoolean();
+        when(clusterRepository.findClusterNumbersByDocumentId(documentId)).thenReturn(List.of(4, 5));
+        when(mentionRepository.streamClusterSpansByDocumentId(documentId))
+                .thenReturn(spans.onClose(() -> closed.set(true)));
+
+        CorefAnnotations annotations = coreferenceService.generateCorefAnnotations(documentId);
+
+        assertEquals(3, annotations.size());
+        assertTrue(closed.get());
+        verify(clusterRepository).findClusterNumbersByDocumentId(documentId);
+        verifyNoMoreInteractions(clusterRepository);
     }
 
     @Test
-    @DisplayName("Should skip unassigned mentions")
-    void skipUnassignedMentions() {
-        MentionEntity mention = createMention(0, 0, 0, null); // No cluster
+    @DisplayName("Should export contiguous display numbers over gaps in stored cluster numbers")
+    void ranksClusterNumbersAcrossGaps() {
+        // Clusters 2 and 4 were deleted or merged away: 1, 3, 5, 9 display as 1..4
+        when(clusterRepository.findClusterNumbersByDocumentId(documentId)).thenReturn(List.of(1, 3, 5, 9));
+        when(mentionRepository.streamClusterSpansByDocumentId(documentId))
+                .thenReturn(Stream.of(span(documentId, 0, 0, 0, 3), span(documentId, 0, 2, 3, 9),
+                        span(documentId, 1, 0, 0, 1)));
+
+        CorefAnnotations annotations = coreferenceService.generateCorefAnnotations(documentId);
+
+        assertEquals("(2)", annotations.get(0, 0));
+        assertEquals("(4", annotations.get(0, 2));
+        assertEquals("4)", annotations.get(0, 3));
+        assertEquals("(1)", annotations.get(1, 0));
+    }
 
-        when(mentionRepository.findByDocumentIdOrdered(documentId))
-                .thenReturn(Arrays.asList(mention));
+    @Test
+    @DisplayName("Should return empty annotations for a document without assigned mentions")
+    void noAssignedMentions() {
+        when(mentionRepository.streamClusterSpansByDocumentId(documentId)).thenReturn(Stream.empty());
 
-        Map<String, String> annotations = coreferenceService.generateCorefAnnotations(documentId);
+        CorefAnnotations annotations = coreferenceService.generateCorefAnnotations(documentId);
 
         assertTrue(annotations.isEmpty());
     }
@@ -121,22 +132,22 @@ class CoreferenceServiceTest {
         UUID doc1 = UUID.randomUUID();
         UUID doc2 = UUID.randomUUID();
 
-        MentionEntity mention1 = createMention(0, 0, 0, clusterId);
-        mention1.setDocumentId(doc1);
-        MentionEntity mention2 = createMention(0, 1, 1, clusterId);
-        mention2.setDocumentId(doc2);
-
-        ClusterEntity cluster = createCluster(1);
+        when(clusterRepository.findClusterNumbers(workspaceId)).thenReturn(List.of(2, 7));
+        when(mentionRepository.streamClusterSpansByWorkspaceId(workspaceId))
+                .thenReturn(Stream.of(
+                        span(doc1, 0, 0, 0, 2),
+                        span(doc1, 2, 1, 3, 7),
+                        span(doc2, 0, 1, 1, 2)));
 
-        when(mentionRepository.findByWorkspaceId(workspaceId))
-                .thenReturn(Arrays.asList(mention1, mention2));
-        when(clusterRepository.findById(clusterId)).thenReturn(Optional.of(cluster));
-
-        Map<UUID, Map<String, String>> annotations = coreferenceService.generateWorkspaceCorefAnnotations(workspaceId);
+        Map<UUID, CorefAnnotations> annotations = coreferenceService.generateWorkspaceCorefAnnotations(workspaceId);
 
         assertEquals(2, annotations.size());
-        assertTrue(annotations.containsKey(doc1));
-        assertTrue(annotations.containsKey(doc2));
+        assertEquals("(1)", annotations.get(doc1).get(0, 0));
+        assertEquals("2)", annotations.get(doc1).get(2, 3));
+        assertEquals("(1)", annotations.get(doc2).get(0, 1));
+        assertNull(annotations.get(doc2).get(0, 0));
+        verify(clusterRepository).findClusterNumbers(workspaceId);
+        verifyNoMoreInteractions(clusterRepository);
     }
 
     @Test
@@ -154,23 +165,8 @@ class CoreferenceServiceTest {
         assertEquals(2, stats.getUnassignedCount());
     }
 
-    private MentionEntity createMention(int sentenceIdx, int startToken, int endToken, UUID clusterId) {
-        MentionEntity entity = new MentionEntity();
-        entity.setId(UUID.randomUUID());
-        entity.setWorkspaceId(workspaceId);
-        entity.setDocumentId(documentId);
-        entity.setSentenceIndex(sentenceIdx);
-        entity.setStartTokenIndex(startToken);
-        entity.setEndTokenIndex(endToken);
-        entity.setClusterId(clusterId);
-        return entity;
-    }
-
-    private ClusterEntity createCluster(int number) {
-        ClusterEntity entity = new ClusterEntity();
-        entity.setId(clusterId);
-        entity.setWorkspaceId(workspaceId);
-        entity.setClusterNumber(number);
-        return entity;
+    private static MentionClusterSpan span(UUID documentId, int sentenceIdx, int startToken, int endToken,
+            int clusterNumber) {
+        return new MentionClusterSpan(documentId, sentenceIdx, startToken, endToken, clusterNumber);
     }
 }
@@ -3,8 +3,15 @@ package com.genesis.coref.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.genesis.common.event.ActionType;
+import com.genesis.common.event.AnnotationLogBatchEvent;
+import com.genesis.common.event.AnnotationLogEvent;
+import com.genesis.common.event.MentionAnnotatedEvent;
+import com.genesis.common.event.WorkspaceActivityEvent;
 import com.genesis.coref.dto.CreateMentionRequest;
+import com.genesis.coref.dto.MentionBatchRequest;
 import com.genesis.coref.dto.MentionDto;
+import com.genesis.coref.dto.MentionTokenSpan;
 import com.genesis.coref.entity.ClusterEntity;
 import com.genesis.coref.entity.MentionEntity;
 import com.genesis.coref.repository.ClusterRepository;
@@ -21,6 +28,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -42,7 +50,6 @@ class MentionServiceTest {
     @Mock
     private com.genesis.workspace.service.WorkspaceAccessControl accessControl;
 
-    private ClusterService clusterService; // Real service, not mocked
     private MentionService mentionService;
 
     private UUID workspaceId;
@@ -53,10 +60,10 @@ class MentionServiceTest {
 
     @BeforeEach
     void setUp() {
-        // Use real ClusterService with mocked repos to avoid Java 25 Mockito issues
-        clusterService = new ClusterService(clusterRepository, mentionRepository, accessControl, eventPublisher);
-        mentionService = new MentionService(mentionRepository, clusterRepository, clusterService,
-                accessControl, eventPublisher);
+        // Real collaborators over the mocked repos to avoid Java 25 Mockito issues
+        mentionService = new MentionService(mentionRepository, clusterRepository,
+                new ClusterMentionCounts(clusterRepository), accessControl, eventPublisher,
+                new MentionSpanCache(mentionRepository));
         workspaceId = UUID.randomUUID();
         documentId = UUID.randomUUID();
         mentionId = UUID.randomUUID();
@@ -78,7 +85,7 @@ class MentionServiceTest {
     @Test
     @DisplayName("Should create mention")
     void createMention() {
-        when(mentionRepository.hasOverlappingMention(any(), anyInt(), anyInt(), anyInt())).thenReturn(false);
+        when(mentionRepository.findTokenSpans(workspaceId, documentId)).thenReturn(List.of());
         when(mentionRepository.save(any(MentionEntity.class))).thenAnswer(inv -> {
             MentionEntity entity = inv.getArgument(0);
             entity.setId(mentionId);
@@ -106,7 +113,8 @@ class MentionServiceTest {
     @Test
     @DisplayName("Should throw when mention overlaps")
     void throwOnOverlap() {
-        when(mentionRepository.hasOverlappingMention(any(), anyInt(), anyInt(), anyInt())).thenReturn(true);
+        when(mentionRepository.findTokenSpans(workspaceId, documentId))
+                .thenReturn(List.of(new MentionTokenSpan(mentionId, 0, 2, 4, null)));
 
         CreateMentionRequest request = new CreateMentionRequest();
         request.setDocumentId(documentId);
@@ -117,6 +125,29 @@ class MentionServiceTest {
         assertThrows(ValidationException.class, () -> mentionService.createMention(workspaceId, request, callerId));
     }
 
+    @Test
+    @DisplayName("Should reject creating a mention in a missing cluster or one of another workspace")
+    void createMentionValidatesCluster() {
+        CreateMentionRequest request = new CreateMentionRequest();
+        request.setDocumentId(documentId);
+        request.setSentenceIndex(0);
+        request.setStartTokenIndex(0);
+        request.setEndTokenIndex(2);
+        request.setClusterId(clusterId);
+        when(clusterRepository.findById(clusterId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> mentionService.createMention(workspaceId, request, callerId));
+
+        ClusterEntity foreign = cluster(clusterId, 1);
+        foreign.setWorkspaceId(UUID.randomUUID());
+        when(clusterRepository.findById(clusterId)).thenReturn(Optional.of(foreign));
+
+        assertThrows(ValidationException.class, () -> mentionService.createMention(workspaceId, request, callerId));
+        verify(mentionRepository, never()).save(any());
+        verify(clusterRepository, never()).adjustMentionCount(any(), anyInt());
+    }
+
     @Test
     @DisplayName("Should get a full (last) page of mentions by workspace")
     void getMentionsByWorkspace() {
@@ -180,11 +211,12 @@ class MentionServiceTest {
         when(clusterRepository.existsById(clusterId)).thenReturn(true);
         when(clusterRepository.findById(clusterId)).thenReturn(Optional.of(cluster));
         when(mentionRepository.save(any(MentionEntity.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(mentionRepository.countByClusterId(clusterId)).thenReturn(1L);
 
         MentionDto result = mentionService.assignToCluster(mentionId, clusterId, callerId);
 
         assertEquals(clusterId, result.getClusterId());
+        verify(clusterRepository).adjustMentionCount(clusterId, 1);
+        verify(mentionRepository, never()).countByClusterId(any());
     }
 
     @Test
@@ -206,18 +238,13 @@ class MentionServiceTest {
         mention.setId(mentionId);
         mention.setClusterId(clusterId);
 
-        ClusterEntity cluster = new ClusterEntity();
-        cluster.setId(clusterId);
-        cluster.setMentionCount(1);
-
         when(mentionRepository.findById(mentionId)).thenReturn(Optional.of(mention));
         when(mentionRepository.save(any(MentionEntity.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(clusterRepository.findById(clusterId)).thenReturn(Optional.of(cluster));
-        when(mentionRepository.countByClusterId(clusterId)).thenReturn(0L);
 
         MentionDto result = mentionService.unassignFromCluster(mentionId, callerId);
 
         assertNull(result.getClusterId());
+        verify(clusterRepository).adjustMentionCount(clusterId, -1);
     }
 
     @Test
@@ -227,16 +254,12 @@ class MentionServiceTest {
         mention.setId(mentionId);
         mention.setClusterId(clusterId);
 
-        ClusterEntity cluster = new ClusterEntity();
-        cluster.setId(clusterId);
-
         when(mentionRepository.findById(mentionId)).thenReturn(Optional.of(mention));
-        when(clusterRepository.findById(clusterId)).thenReturn(Optional.of(cluster));
-        when(mentionRepository.countByClusterId(clusterId)).thenReturn(0L);
 
         mentionService.deleteMention(mentionId, callerId);
 
         verify(mentionRepository).delete(mention);
+        verify(clusterRepository).adjustMentionCount(clusterId, -1);
     }
 
     @Test
@@ -275,6 +298,204 @@ class MentionServiceTest {
         assertEquals("#FF0000", result.getClusterColor());
     }
 
+    @Test
+    @DisplayName("Overlap checks after the first reuse the document's span index")
+    void overlapChecksReuseSpanIndex() {
+        when(mentionRepository.findTokenSpans(workspaceId, documentId)).thenReturn(List.of());
+        when(mentionRepository.save(any(MentionEntity.class))).thenAnswer(inv -> {
+            MentionEntity entity = inv.getArgument(0);
+            entity.setId(UUID.randomUUID());
+            return entity;
+        });
+        CreateMentionRequest first = new CreateMentionRequest();
+        first.setDocumentId(documentId);
+        first.setSentenceIndex(0);
+        first.setStartTokenIndex(0);
+        first.setEndTokenIndex(2);
+        CreateMentionRequest overlapping = new CreateMentionRequest();
+        overlapping.setDocumentId(documentId);
+        overlapping.setSentenceIndex(0);
+        overlapping.setStartTokenIndex(2);
+        overlapping.setEndTokenIndex(3);
+
+        MentionDto created = mentionService.createMention(workspaceId, first, callerId);
+
+        assertThrows(ValidationException.class,
+                () -> mentionService.createMention(workspaceId, overlapping, callerId));
+        assertEquals(List.of(created.getId()),
+                mentionService.getMentionSpansAt(workspaceId, documentId, 0, 1, callerId).stream()
+                        .map(MentionTokenSpan::mentionId).toList());
+        verify(mentionRepository, times(1)).findTokenSpans(workspaceId, documentId);
+        verify(mentionRepository, never()).hasOverlappingMention(any(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Batch applies operations in order and publishes side effects once")
+    void applyBatchCoalescesSideEffects() {
+        MentionEntity existing = createMentionEntity(0, 0, 1);
+        existing.setId(mentionId);
+        existing.setClusterId(clusterId);
+        when(mentionRepository.findAllById(any())).thenReturn(List.of(existing));
+        when(clusterRepository.findAllById(any())).thenReturn(List.of(cluster(clusterId, 1)));
+        when(mentionRepository.findTokenSpans(workspaceId, documentId))
+                .thenReturn(List.of(new MentionTokenSpan(mentionId, 0, 0, 1, clusterId)));
+        when(mentionRepository.save(any(MentionEntity.class))).thenAnswer(inv -> {
+            MentionEntity entity = inv.getArgument(0);
+            entity.setId(UUID.randomUUID());
+            return entity;
+        });
+        when(mentionRepository.sumMentionTokensByDocumentId(documentId)).thenReturn(5L);
+
+        // The last create overlaps the existing mention, which the delete before it frees
+        MentionBatchRequest request = batch(
+                create(0, 3, 4, clusterId),
+                delete(mentionId),
+                create(0, 0, 0, null));
+
+        List<MentionDto> result = mentionService.applyBatch(workspaceId, request, callerId);
+
+        assertEquals(3, result.size());
+        assertEquals(1, result.get(0).getClusterNumber());
+        assertNull(result.get(1));
+        assertNull(result.get(2).getClusterId());
+        verify(accessControl, times(1)).requireMember(workspaceId, callerId);
+        verify(mentionRepository, times(1)).findTokenSpans(workspaceId, documentId);
+        verify(mentionRepository, never()).hasOverlappingMention(any(), anyInt(), anyInt(), anyInt());
+        verify(mentionRepository).delete(existing);
+        // +1 from the create and -1 from the delete cancel out
+        verify(clusterRepository, never()).adjustMentionCount(any(), anyInt());
+        verify(mentionRepository, never()).countByClusterId(any());
+        verify(mentionRepository, times(1)).sumMentionTokensByDocumentId(documentId);
+        verify(eventPublisher, times(1)).publishEvent(any(MentionAnnotatedEvent.class));
+        verify(eventPublisher, times(1)).publishEvent(any(WorkspaceActivityEvent.class));
+        verify(eventPublisher, never()).publishEvent(any(AnnotationLogEvent.class));
+        ArgumentCaptor<AnnotationLogBatchEvent> audit = ArgumentCaptor.forClass(AnnotationLogBatchEvent.class);
+        verify(eventPublisher).publishEvent(audit.capture());
+        assertEquals(List.of(ActionType.MENTION_CREATED, ActionType.MENTION_DELETED, ActionType.MENTION_CREATED),
+                audit.getValue().getEntries().stream().map(AnnotationLogBatchEvent.Entry::actionType).toList());
+        assertEquals("test-user", audit.getValue().getUserId());
+    }
+
+    @Test
+    @DisplayName("Batch moves cluster counts with one delta update per cluster")
+    void applyBatchAdjustsClusterCounts() {
+        UUID otherClusterId = UUID.randomUUID();
+        MentionEntity first = createMentionEntity(0, 0, 1);
+        first.setId(mentionId);
+        first.setClusterId(clusterId);
+        MentionEntity second = createMentionEntity(1, 0, 1);
+        second.setId(UUID.randomUUID());
+        second.setClusterId(clusterId);
+        when(mentionRepository.findAllById(any())).thenReturn(List.of(first, second));
+        when(clusterRepository.findAllById(any())).thenReturn(List.of(cluster(otherClusterId, 2)));
+        when(mentionRepository.save(any(MentionEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        List<MentionDto> result = mentionService.applyBatch(workspaceId,
+                batch(assign(first.getId(), otherClusterId), assign(second.getId(), otherClusterId)), callerId);
+
+        assertEquals(2, result.get(1).getClusterNumber());
+        verify(clusterRepository).adjustMentionCount(clusterId, -2);
+        verify(clusterRepository).adjustMentionCount(otherClusterId, 2);
+        verify(clusterRepository, never()).findById(any());
+        String payload = String.format("{\"oldClusterId\":\"%s\",\"newClusterId\":\"%s\"}",
+                clusterId, otherClusterId);
+        ArgumentCaptor<AnnotationLogBatchEvent> audit = ArgumentCaptor.forClass(AnnotationLogBatchEvent.class);
+        verify(eventPublisher).publishEvent(audit.capture());
+        assertEquals(payload, audit.getValue().getEntries().get(0).payloadJson());
+    }
+
+    @Test
+    @DisplayName("Batch rejects overlap with a mention created earlier in the same batch")
+    void applyBatchRejectsInBatchOverlap() {
+        when(mentionRepository.findAllById(any())).thenReturn(List.of());
+        when(clusterRepository.findAllById(any())).thenReturn(List.of());
+        when(mentionRepository.findTokenSpans(workspaceId, documentId)).thenReturn(List.of());
+        when(mentionRepository.save(any(MentionEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        MentionBatchRequest request = batch(create(0, 0, 2, null), create(0, 2, 3, null));
+
+        assertThrows(ValidationException.class, () -> mentionService.applyBatch(workspaceId, request, callerId));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Batch treats mentions of another workspace as missing")
+    void applyBatchRejectsForeignMention() {
+        MentionEntity foreign = createMentionEntity(0, 0, 1);
+        foreign.setId(mentionId);
+        foreign.setWorkspaceId(UUID.randomUUID());
+        when(mentionRepository.findAllById(any())).thenReturn(List.of(foreign));
+        when(clusterRepository.findAllById(any())).thenReturn(List.of());
+
+        MentionBatchRequest request = batch(delete(mentionId));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> mentionService.applyBatch(workspaceId, request, callerId));
+        verify(mentionRepository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("Batch rejects clusters of another workspace and oversized batches")
+    void applyBatchValidatesInput() {
+        ClusterEntity foreign = cluster(clusterId, 1);
+        foreign.setWorkspaceId(UUID.randomUUID());
+        when(mentionRepository.findAllById(any())).thenReturn(List.of());
+        when(clusterRepository.findAllById(any())).thenReturn(List.of(foreign));
+
+        assertThrows(ValidationException.class, () -> mentionService.applyBatch(workspaceId,
+                batch(create(0, 0, 1, clusterId)), callerId));
+
+        MentionBatchRequest tooLarge = batch();
+        for (int i = 0; i <= MentionService.MAX_BATCH_OPERATIONS; i++) {
+            tooLarge.getOperations().add(delete(UUID.randomUUID()));
+        }
+        assertThrows(ValidationException.class, () -> mentionService.applyBatch(workspaceId, tooLarge, callerId));
+        assertThrows(ValidationException.class, () -> mentionService.applyBatch(workspaceId, batch(), callerId));
+    }
+
+    private ClusterEntity cluster(UUID id, int number) {
+        ClusterEntity cluster = new ClusterEntity();
+        cluster.setId(id);
+        cluster.setWorkspaceId(workspaceId);
+        cluster.setClusterNumber(number);
+        return cluster;
+    }
+
+    private static MentionBatchRequest batch(MentionBatchRequest.Operation... operations) {
+        MentionBatchRequest request = new MentionBatchRequest();
+        request.setOperations(new java.util.ArrayList<>(Arrays.asList(operations)));
+        return request;
+    }
+
+    private MentionBatchRequest.Operation create(int sentence, int start, int end, UUID cluster) {
+        CreateMentionRequest mention = new CreateMentionRequest();
+        mention.setDocumentId(documentId);
+        mention.setSentenceIndex(sentence);
+        mention.setStartTokenIndex(start);
+        mention.setEndTokenIndex(end);
+        mention.setClusterId(cluster);
+        MentionBatchRequest.Operation op = operation(MentionBatchRequest.Operation.Type.CREATE, null, null);
+        op.setMention(mention);
+        return op;
+    }
+
+    private static MentionBatchRequest.Operation assign(UUID mention, UUID cluster) {
+        return operation(MentionBatchRequest.Operation.Type.ASSIGN, mention, cluster);
+    }
+
+    private static MentionBatchRequest.Operation delete(UUID mention) {
+        return operation(MentionBatchRequest.Operation.Type.DELETE, mention, null);
+    }
+
+    private static MentionBatchRequest.Operation operation(MentionBatchRequest.Operation.Type type,
+            UUID mention, UUID cluster) {
+        MentionBatchRequest.Operation op = new MentionBatchRequest.Operation();
+        op.setType(type);
+        op.setMentionId(mention);
+        op.setClusterId(cluster);
+        return op;
+    }
+
     private MentionEntity createMentionEntity(int sentenceIdx, int startToken, int endToken) {
         MentionEntity entity = new MentionEntity();
         entity.setWorkspaceId(workspaceId);
@@ -0,0 +1,120 @@
+package com.genesis.coref.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.genesis.coref.dto.MentionTokenSpan;
+import com.genesis.coref.entity.MentionEntity;
+import com.genesis.coref.repository.MentionRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for MentionSpanCache: changes reach the cached index only when
+ * their transaction commits.
+ */
+@ExtendWith(MockitoExtension.class)
+class MentionSpanCacheTest {
+
+    @Mock
+    private MentionRepository mentionRepository;
+
+    private MentionSpanCache cache;
+    private UUID workspaceId;
+    private UUID documentId;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MentionSpanCache(mentionRepository);
+        workspaceId = UUID.randomUUID();
+        documentId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load a document once and patch it on commit")
+    void patchesOnCommit() {
+        when(mentionRepository.findTokenSpans(workspaceId, documentId)).thenReturn(List.of());
+        cache.get(workspaceId, documentId);
+
+        TransactionSynchronizationManager.initSynchronization();
+        MentionEntity mention = mention(0, 1, 2);
+        cache.saved(mention);
+        // Inside the writing transaction the document is read through the database
+        when(mentionRepository.findTokenSpans(workspaceId, documentId))
+                .thenReturn(List.of(MentionSpanCache.spanOf(mention)));
+        assertTrue(cache.get(workspaceId, documentId).overlaps(0, 2, 2));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertTrue(cache.get(workspaceId, documentId).overlaps(0, 2, 2));
+        verify(mentionRepository, times(2)).findTokenSpans(workspaceId, documentId);
+    }
+
+    @Test
+    @DisplayName("Should drop changes of a rolled back transaction")
+    void ignoresRollback() {
+        when(mentionRepository.findTokenSpans(workspaceId, documentId)).thenReturn(List.of());
+        cache.get(workspaceId, documentId);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.saved(mention(0, 1, 2));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertFalse(cache.get(workspaceId, documentId).overlaps(0, 2, 2));
+        verify(mentionRepository, times(1)).findTokenSpans(workspaceId, documentId);
+    }
+
+    @Test
+    @DisplayName("Should reload evicted documents and workspaces")
+    void evicts() {
+        UUID otherDocument = UUID.randomUUID();
+        when(mentionRepository.findTokenSpans(eq(workspaceId), any())).thenReturn(List.of());
+        cache.get(workspaceId, documentId);
+        cache.get(workspaceId, otherDocument);
+
+        cache.evictDocument(documentId);
+        cache.get(workspaceId, documentId);
+        cache.get(workspaceId, otherDocument);
+        verify(mentionRepository, times(2)).findTokenSpans(workspaceId, documentId);
+        verify(mentionRepository, times(1)).findTokenSpans(workspaceId, otherDocument);
+
+        cache.evictWorkspace(workspaceId);
+        cache.get(workspaceId, otherDocument);
+        verify(mentionRepository, times(2)).findTokenSpans(workspaceId, otherDocument);
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(s -> s.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private MentionEntity mention(int sentence, int start, int end) {
+        MentionEntity mention = new MentionEntity();
+        mention.setId(UUID.randomUUID());
+        mention.setWorkspaceId(workspaceId);
+        mention.setDocumentId(documentId);
+        mention.setSentenceIndex(sentence);
+        mention.setStartTokenIndex(start);
+        mention.setEndTokenIndex(end);
+        return mention;
+    }
+}
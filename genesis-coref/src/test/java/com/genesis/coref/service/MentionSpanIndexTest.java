@@ -0,0 +1,73 @@
+package com.genesis.coref.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.genesis.coref.dto.MentionTokenSpan;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for MentionSpanIndex.
+ */
+class MentionSpanIndexTest {
+
+    @Test
+    @DisplayName("Should detect overlap only within the same sentence, at inclusive bounds")
+    void overlaps() {
+        MentionSpanIndex index = MentionSpanIndex.of(List.of(span(0, 2, 4), span(0, 8, 8), span(3, 0, 1)));
+
+        assertTrue(index.overlaps(0, 4, 6));
+        assertTrue(index.overlaps(0, 0, 2));
+        assertTrue(index.overlaps(0, 3, 3));
+        assertTrue(index.overlaps(0, 0, 20));
+        assertFalse(index.overlaps(0, 5, 7));
+        assertFalse(index.overlaps(0, 0, 1));
+        assertFalse(index.overlaps(1, 2, 4));
+        assertFalse(MentionSpanIndex.empty().overlaps(0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should find every mention covering a token, including nested ones")
+    void coveringNested() {
+        MentionTokenSpan outer = span(0, 0, 9);
+        MentionTokenSpan inner = span(0, 2, 3);
+        MentionTokenSpan later = span(0, 5, 6);
+        MentionSpanIndex index = MentionSpanIndex.of(List.of(later, inner, outer));
+
+        assertEquals(List.of(outer, inner), index.covering(0, 3));
+        assertEquals(List.of(outer, later), index.covering(0, 6));
+        assertEquals(List.of(outer), index.covering(0, 9));
+        assertEquals(List.of(), index.covering(0, 10));
+        // A short span after a long one must not hide the long one
+        assertTrue(index.overlaps(0, 7, 7));
+    }
+
+    @Test
+    @DisplayName("Should return updated copies and leave the original untouched")
+    void withAndWithout() {
+        MentionTokenSpan first = span(0, 0, 1);
+        MentionSpanIndex original = MentionSpanIndex.of(List.of(first));
+
+        MentionTokenSpan second = span(0, 4, 5);
+        MentionSpanIndex added = original.with(second);
+        MentionTokenSpan reassigned = new MentionTokenSpan(first.mentionId(), 0, 0, 1, UUID.randomUUID());
+        MentionSpanIndex replaced = added.with(reassigned);
+        MentionSpanIndex removed = replaced.without(0, second.mentionId());
+
+        assertEquals(List.of(first), original.sentence(0));
+        assertEquals(2, added.size());
+        assertEquals(List.of(reassigned, second), replaced.sentence(0));
+        assertEquals(2, replaced.size());
+        assertEquals(List.of(reassigned), removed.sentence(0));
+        assertEquals(1, removed.size());
+        assertSame(removed, removed.without(0, UUID.randomUUID()));
+        assertEquals(0, removed.without(0, first.mentionId()).size());
+        assertEquals(List.of(), removed.without(0, first.mentionId()).sentence(0));
+    }
+
+    private static MentionTokenSpan span(int sentence, int start, int end) {
+        return new MentionTokenSpan(UUID.randomUUID(), sentence, start, end, null);
+    }
+}
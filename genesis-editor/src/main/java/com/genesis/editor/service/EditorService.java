@@ -189,9 +189,9 @@ public class EditorService {
             @NonNull UUID documentId, int page, int size) {
         DocumentContentResponse response = getDocumentContent(documentId, page, size);
 
-        // The global token offset is the document's first global token index, which
-        // tokenization already stored on the document. Read it directly instead of
-        // re-summing the token counts of every preceding document (C-009 O(N) loop).
+        // The global token offset is the document's first global token index, a
+        // prefix-sum lookup in the workspace's token offset index rather than a
+        // re-sum of the token counts of every preceding document (C-009 O(N) loop).
         // Null when the document is not yet tokenized → offset 0. workspaceId is kept
         // for API symmetry with the controller; the offset is a property of the document.
         DocumentResponse doc = documentService.getByIdInternal(documentId);
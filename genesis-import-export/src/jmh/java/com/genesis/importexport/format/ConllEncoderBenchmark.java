@@ -0,0 +1,153 @@
+package com.genesis.importexport.format;
+
+import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.dto.ExportOptions.Column2Mode;
+import com.genesis.importexport.entity.SentenceEntity;
+import com.genesis.importexport.entity.TokenEntity;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding one 30,000-token document to UTF-8 CoNLL-2012 bytes: the original
+ * {@code String.join} exporter ({@link LegacyConll2012Exporter}), the current
+ * {@link Conll2012Exporter} string path, and {@link ConllLineEncoder}.
+ *
+ * <p>The {@code bytes} counter reports encoded bytes per second next to the
+ * document rate. Run with {@code -prof gc} to compare allocation rates
+ * ({@code gc.alloc.rate.norm} is bytes allocated per document).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ConllEncoderBenchmark {
+
+    private static final int SENTENCES = 2000;
+    private static final int TOKENS_PER_SENTENCE = 15;
+    private static final String DOCUMENT_NAME = "Assamese corpus (part 1).txt";
+    private static final String[] FORMS = { "অসমীয়া", "ভাষা", "হৈছে", "এটা", "ইণ্ডো-আৰ্য", "।", "Guwahati" };
+
+    private List<SentenceEntity> sentences;
+    private Map<Integer, List<TokenEntity>> tokensBySentence;
+    private Map<String, String> coref;
+    private CorefAnnotations corefAnnotations;
+    private Map<UUID, String> posOverrides;
+    private ExportOptions options;
+
+    private LegacyConll2012Exporter legacy;
+    private Conll2012Exporter exporter;
+    private ConllLineEncoder encoder;
+    private CountingOutputStream sink;
+
+    /** Encoded bytes, reported per second next to the document throughput. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() {
+        sentences = new ArrayList<>(SENTENCES);
+        tokensBySentence = new HashMap<>();
+        coref = new HashMap<>();
+        posOverrides = new HashMap<>();
+        for (int s = 0; s < SENTENCES; s++) {
+            SentenceEntity sentence = new SentenceEntity();
+            sentence.setSentenceIndex(s);
+            sentences.add(sentence);
+            List<TokenEntity> tokens = new ArrayList<>(TOKENS_PER_SENTENCE);
+            for (int t = 0; t < TOKENS_PER_SENTENCE; t++) {
+                TokenEntity token = new TokenEntity();
+                token.setId(UUID.randomUUID());
+                token.setSentenceIndex(s);
+                token.setTokenIndex(t);
+                token.setGlobalIndex(s * TOKENS_PER_SENTENCE + t);
+                token.setForm(FORMS[t % FORMS.length]);
+                tokens.add(token);
+                if (t % 2 == 0) {
+                    posOverrides.put(token.getId(), "NN");
+                }
+                if (t % 5 == 0) {
+                    coref.put(s + "-" + t, "(" + (s % 50) + ")");
+                }
+            }
+            tokensBySentence.put(s, tokens);
+        }
+        corefAnnotations = CorefAnnotations.fromStrings(coref);
+        options = new ExportOptions();
+        options.setColumn2Mode(Column2Mode.SENTENCE_NUMBER);
+
+        legacy = new LegacyConll2012Exporter();
+        exporter = new Conll2012Exporter();
+        sink = new CountingOutputStream();
+        encoder = new ConllLineEncoder(sink);
+    }
+
+    @Benchmark
+    public byte[] legacyStringJoin(Bytes counter) {
+        byte[] encoded = legacy.export(DOCUMENT_NAME, sentences, tokensBySentence, coref, posOverrides, options, 0)
+                .getBytes(StandardCharsets.UTF_8);
+        counter.bytes += encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public byte[] exporterString(Bytes counter) {
+        byte[] encoded = exporter.export(DOCUMENT_NAME, sentences, tokensBySentence, coref, posOverrides, options, 0)
+                .getBytes(StandardCharsets.UTF_8);
+        counter.bytes += encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public long lineEncoder(Bytes counter) throws IOException {
+        long before = sink.count;
+        encoder.beginDocument(DOCUMENT_NAME);
+        for (SentenceEntity sentence : sentences) {
+            int index = sentence.getSentenceIndex();
+            encoder.sentence(exporter.column2Value(index, options, 0), tokensBySentence.get(index),
+                    corefAnnotations, posOverrides);
+        }
+        encoder.endDocument();
+        encoder.flush();
+        long written = sink.count - before;
+        counter.bytes += written;
+        return written;
+    }
+
+    /** Discards the encoded bytes, counting them so the work cannot be elided. */
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
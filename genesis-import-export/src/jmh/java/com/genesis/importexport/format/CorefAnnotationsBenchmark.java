@@ -0,0 +1,100 @@
+package com.genesis.importexport.format;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The coref column of a 30,000-token document with 6,000 mentions: building
+ * it the way {@code CoreferenceService} used to ({@code "s-t"} string keys,
+ * fragments joined with {@code |}) versus {@link CorefAnnotations}, and
+ * resolving it once per token as the exporter does.
+ *
+ * <p>Run with {@code -prof gc}; the string path allocates a key per mention
+ * boundary and another per token looked up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CorefAnnotationsBenchmark {
+
+    private static final int SENTENCES = 2000;
+    private static final int TOKENS_PER_SENTENCE = 15;
+    private static final int MENTIONS_PER_SENTENCE = 3;
+
+    /** sentenceIndex, start, end, clusterNumber per mention, in document order. */
+    private int[][] mentions;
+    private Map<String, String> strings;
+    private CorefAnnotations packed;
+
+    @Setup
+    public void setUp() {
+        mentions = new int[SENTENCES * MENTIONS_PER_SENTENCE][];
+        int m = 0;
+        for (int s = 0; s < SENTENCES; s++) {
+            mentions[m++] = new int[] { s, 0, 0, s % 50 };
+            mentions[m++] = new int[] { s, 2, 5, s % 70 };
+            mentions[m++] = new int[] { s, 5, 5, s % 30 };
+        }
+        strings = buildStrings();
+        packed = buildPacked();
+    }
+
+    @Benchmark
+    public Map<String, String> buildStrings() {
+        Map<String, String> result = new HashMap<>();
+        for (int[] mention : mentions) {
+            if (mention[1] == mention[2]) {
+                result.merge(mention[0] + "-" + mention[1], "(" + mention[3] + ")", (a, b) -> a + "|" + b);
+            } else {
+                result.merge(mention[0] + "-" + mention[1], "(" + mention[3], (a, b) -> a + "|" + b);
+                result.merge(mention[0] + "-" + mention[2], mention[3] + ")", (a, b) -> a + "|" + b);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public CorefAnnotations buildPacked() {
+        CorefAnnotations result = new CorefAnnotations(mentions.length * 2);
+        for (int[] mention : mentions) {
+            result.addMention(mention[0], mention[1], mention[2], mention[3]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void lookupStrings(Blackhole bh) {
+        for (int s = 0; s < SENTENCES; s++) {
+            for (int t = 0; t < TOKENS_PER_SENTENCE; t++) {
+                bh.consume(strings.getOrDefault(s + "-" + t, "-"));
+            }
+        }
+    }
+
+    @Benchmark
+    public void lookupPacked(Blackhole bh) {
+        for (int s = 0; s < SENTENCES; s++) {
+            for (int t = 0; t < TOKENS_PER_SENTENCE; t++) {
+                int first = packed.firstFragment(s, t);
+                for (int i = first; first >= 0 && packed.sameToken(first, i); i++) {
+                    bh.consume(packed.clusterAt(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.genesis.importexport.format;
+
+import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.dto.ExportOptions.Column2Mode;
+import com.genesis.importexport.entity.SentenceEntity;
+import com.genesis.importexport.entity.TokenEntity;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Baseline for {@link ConllEncoderBenchmark}: {@code Conll2012Exporter} as it
+ * was before the streaming writer and {@link ConllLineEncoder} ({@code String.join}
+ * per token, per-token name sanitizing and coref key strings). The
+ * single-document path is kept verbatim so the comparison stays honest.
+ */
+final class LegacyConll2012Exporter {
+
+    private static final String PLACEHOLDER = "-";
+    private static final String NER_PLACEHOLDER = "*";
+    private static final String NO_COREF = "-";
+
+    /**
+     * Export a single document to CoNLL-2012 format.
+     *
+     * @param documentName     name of the document
+     * @param sentences        list of sentences
+     * @param tokensBySentence map of sentence index to tokens
+     * @param corefAnnotations map of (sentenceIndex, tokenIndex) -> coref string
+     * @param options          export options
+     * @param sentenceOffset   offset for sentence numbering (for continuous
+     *                         numbering)
+     * @return CoNLL-2012 formatted string
+     */
+    String export(String documentName,
+            List<SentenceEntity> sentences,
+            Map<Integer, List<TokenEntity>> tokensBySentence,
+            Map<String, String> corefAnnotations,
+            ExportOptions options,
+            int sentenceOffset) {
+        return export(documentName, sentences, tokensBySentence, corefAnnotations, null, options, sentenceOffset);
+    }
+
+    /**
+     * Export a single document with per-token POS overrides (e.g. majority vote
+     * across multiple annotators). When posOverrides contains a non-empty value
+     * for a token's UUID it replaces token.getPos() in CoNLL column 5.
+     */
+    String export(String documentName,
+            List<SentenceEntity> sentences,
+            Map<Integer, List<TokenEntity>> tokensBySentence,
+            Map<String, String> corefAnnotations,
+            Map<UUID, String> posOverrides,
+            ExportOptions options,
+            int sentenceOffset) {
+        StringBuilder sb = new StringBuilder();
+
+        // Document header
+        sb.append("#begin document (").append(sanitizeDocName(documentName)).append("); part 000\n");
+
+        for (SentenceEntity sentence : sentences) {
+            List<TokenEntity> tokens = tokensBySentence.get(sentence.getSentenceIndex());
+            if (tokens == null || tokens.isEmpty()) {
+                continue;
+            }
+
+            // Calculate column 2 value based on mode
+            int column2Value;
+            if (options.getColumn2Mode() == Column2Mode.SENTENCE_NUMBER) {
+                column2Value = sentence.getSentenceIndex() + sentenceOffset;
+            } else {
+                column2Value = options.getDefaultPartNumber();
+            }
+
+            // Export each token
+            for (TokenEntity token : tokens) {
+                String line = formatTokenLine(
+                        sanitizeDocName(documentName),
+                        column2Value,
+                        token,
+                        corefAnnotations,
+                        posOverrides);
+                sb.append(line).append("\n");
+            }
+
+            // Blank line between sentences
+            sb.append("\n");
+        }
+
+        // Document footer
+        sb.append("#end document\n");
+
+        return sb.toString();
+    }
+
+    /**
+     * Format a single token line.
+     */
+    private String formatTokenLine(String docName, int column2, TokenEntity token,
+            Map<String, String> corefAnnotations,
+            Map<UUID, String> posOverrides) {
+        // Get coreference annotation for this token
+        String corefKey = token.getSentenceIndex() + "-" + token.getTokenIndex();
+        String coref = corefAnnotations != null ? corefAnnotations.getOrDefault(corefKey, NO_COREF) : NO_COREF;
+
+        // Resolve POS: per-token override (e.g. majority vote) wins; fall back to
+        // the deprecated TokenEntity.pos column.
+        String pos;
+        if (posOverrides != null && posOverrides.containsKey(token.getId())) {
+            pos = emptyToPlaceholder(posOverrides.get(token.getId()));
+        } else {
+            pos = emptyToPlaceholder(token.getPos());
+        }
+
+        // Build 12-column line
+        // Columns: DocID, Part/Sent, WordNum, Word, POS, Parse, Lemma, Frame, Sense,
+        // Speaker, NER, Coref
+        return String.join("\t",
+                docName, // 1. Document ID
+                String.valueOf(column2), // 2. Part/Sentence number
+                String.valueOf(token.getTokenIndex()), // 3. Word number (0-based in sentence)
+                token.getForm(), // 4. Word
+                pos, // 5. POS tag
+                NER_PLACEHOLDER, // 6. Parse bit
+                emptyToPlaceholder(token.getLemma()), // 7. Predicate lemma
+                PLACEHOLDER, // 8. Predicate frameset
+                PLACEHOLDER, // 9. Word sense
+                PLACEHOLDER, // 10. Speaker
+                emptyToPlaceholder(token.getNerTag()), // 11. Named entity
+                coref // 12. Coreference
+        );
+    }
+
+    private String sanitizeDocName(String name) {
+        if (name == null) {
+            return "document";
+        }
+        // Remove file extension and special characters
+        return name.replaceAll("\\.[^.]+$", "")
+                .replaceAll("[^a-zA-Z0-9_-]", "_");
+    }
+
+    private String emptyToPlaceholder(String value) {
+        return (value == null || value.isEmpty()) ? PLACEHOLDER : value;
+    }
+}
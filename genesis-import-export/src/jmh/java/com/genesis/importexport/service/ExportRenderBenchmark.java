@@ -0,0 +1,173 @@
+package com.genesis.importexport.service;
+
+import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.dto.ExportOptions.Column2Mode;
+import com.genesis.importexport.entity.TokenEntity;
+import com.genesis.importexport.repository.SentenceRepository;
+import com.genesis.importexport.repository.TokenRepository;
+import com.genesis.importexport.service.ExportService.DocumentInfo;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Workspace ZIP export time for {@code genesis.export.parallelism} 1 (inline)
+ * against 8, over 64 documents of 3,000 tokens.
+ *
+ * <p>Repositories are in-memory proxies; {@code dbLatencyMicros} adds a fixed
+ * delay to every token-chunk query to stand in for the database round trip.
+ * With 0 the benchmark measures rendering alone, which should scale with the
+ * number of cores; with a latency the parallel engine also overlaps the waits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportRenderBenchmark {
+
+    private static final int DOCUMENTS = 64;
+    private static final int SENTENCES = 200;
+    private static final int TOKENS_PER_SENTENCE = 15;
+
+    @Param({ "1", "8" })
+    public int parallelism;
+
+    @Param({ "0", "500" })
+    public int dbLatencyMicros;
+
+    private ExecutorService executor;
+    private ExportService exportService;
+    private List<DocumentInfo> documents;
+    private ExportOptions options;
+
+    @Setup
+    public void setUp() {
+        Map<UUID, List<TokenEntity>> tokens = new HashMap<>();
+        documents = new ArrayList<>();
+        for (int d = 0; d < DOCUMENTS; d++) {
+            UUID documentId = UUID.randomUUID();
+            tokens.put(documentId, document(documentId));
+            documents.add(new DocumentInfo(documentId, "document_" + d + ".txt"));
+        }
+
+        TokenRepository tokenRepository = proxy(TokenRepository.class, (method, args) -> {
+            if (!method.equals("findByDocumentIdAndGlobalIndexGreaterThanOrderByGlobalIndexAsc")) {
+                throw new UnsupportedOperationException(method);
+            }
+            if (dbLatencyMicros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(dbLatencyMicros));
+            }
+            List<TokenEntity> all = tokens.get((UUID) args[0]);
+            int from = Math.max(0, (Integer) args[1] + 1);
+            int to = Math.min(all.size(), from + ((Pageable) args[2]).getPageSize());
+            return from >= to ? List.of() : all.subList(from, to);
+        });
+        SentenceRepository sentenceRepository = proxy(SentenceRepository.class, (method, args) -> {
+            if (!method.equals("countByDocumentId")) {
+                throw new UnsupportedOperationException(method);
+            }
+            return (long) SENTENCES;
+        });
+        // Nothing is managed: contains() is false, so tokens are never detached one by one
+        EntityManager entityManager = proxy(EntityManager.class, (method, args) -> null);
+
+        ExportProperties properties = new ExportProperties();
+        properties.setParallelism(parallelism);
+        // Measure the engine, not the connection budget
+        properties.setRenderConnections(parallelism);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        exportService = new ExportService(tokenRepository, sentenceRepository, entityManager, executor, properties);
+
+        options = new ExportOptions();
+        options.setColumn2Mode(Column2Mode.SENTENCE_NUMBER);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long exportZip() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        exportService.streamWorkspace(documents, null, null, null, options, "workspace").writeTo(out);
+        return out.count;
+    }
+
+    private static List<TokenEntity> document(UUID documentId) {
+        List<TokenEntity> tokens = new ArrayList<>(SENTENCES * TOKENS_PER_SENTENCE);
+        int global = 0;
+        for (int s = 0; s < SENTENCES; s++) {
+            for (int t = 0; t < TOKENS_PER_SENTENCE; t++) {
+                TokenEntity token = new TokenEntity();
+                token.setId(UUID.randomUUID());
+                token.setDocumentId(documentId);
+                token.setSentenceIndex(s);
+                token.setTokenIndex(t);
+                token.setGlobalIndex(global++);
+                token.setForm("word" + t);
+                token.setPos(t % 2 == 0 ? "NN" : null);
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    /**
+     * A proxy answering through {@code handler}; a {@code null} answer to a
+     * method returning {@code boolean} becomes {@code false} rather than an
+     * unboxing NPE.
+     */
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (instance, method, args) -> {
+                    Object result = handler.invoke(method.getName(), args);
+                    return result == null && method.getReturnType() == boolean.class ? Boolean.FALSE : result;
+                }));
+    }
+
+    /** Discards the export, counting bytes so the work cannot be elided. */
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
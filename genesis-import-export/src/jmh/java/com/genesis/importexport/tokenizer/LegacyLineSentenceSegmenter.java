@@ -0,0 +1,129 @@
+package com.genesis.importexport.tokenizer;
+
+import com.genesis.importexport.tokenizer.SentenceSegmenter.SentenceResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Baseline for {@link LineSentenceSegmenterBenchmark}: the split / indexOf /
+ * regex segmenter as it was before the single-pass rewrite, kept verbatim so the
+ * comparison stays honest.
+ */
+final class LegacyLineSentenceSegmenter {
+
+    /**
+     * Pattern for sentence-ending punctuation.
+     * Matches: . ? ! । ॥ (followed by optional space or end)
+     */
+    private static final Pattern SENTENCE_END_PATTERN = Pattern.compile(
+            "([.?!।॥])(?:\\s|$)");
+
+    List<SentenceResult> segment(String text) {
+        List<SentenceResult> sentences = new ArrayList<>();
+
+        if (text == null || text.isEmpty()) {
+            return sentences;
+        }
+
+        // First, split by line breaks
+        String[] lines = text.split("\\r?\\n");
+        int currentOffset = 0;
+
+        for (String line : lines) {
+            // Skip empty lines
+            String trimmedLine = line.trim();
+            if (trimmedLine.isEmpty()) {
+                // Account for the newline character
+                currentOffset += line.length() + 1; // +1 for newline
+                continue;
+            }
+
+            // Find the actual start position (accounting for leading whitespace)
+            int lineStartInOriginal = text.indexOf(line, currentOffset);
+            if (lineStartInOriginal == -1) {
+                lineStartInOriginal = currentOffset;
+            }
+
+            // Segment this line by sentence-ending punctuation
+            List<SentenceResult> lineSentences = segmentLine(line, lineStartInOriginal);
+            sentences.addAll(lineSentences);
+
+            // Move to next line
+            currentOffset = lineStartInOriginal + line.length() + 1; // +1 for newline
+        }
+
+        return sentences;
+    }
+
+    /**
+     * Segment a single line into sentences based on punctuation.
+     */
+    private List<SentenceResult> segmentLine(String line, int lineStartOffset) {
+        List<SentenceResult> sentences = new ArrayList<>();
+
+        if (line.trim().isEmpty()) {
+            return sentences;
+        }
+
+        Matcher matcher = SENTENCE_END_PATTERN.matcher(line);
+        int lastEnd = 0;
+
+        while (matcher.find()) {
+            int sentenceEnd = matcher.end();
+            String sentenceText = line.substring(lastEnd, sentenceEnd).trim();
+
+            if (!sentenceText.isEmpty()) {
+                // Find exact position of sentence start (skip leading whitespace)
+                int leadingSpaces = 0;
+                while (lastEnd + leadingSpaces < line.length() &&
+                        Character.isWhitespace(line.charAt(lastEnd + leadingSpaces))) {
+                    leadingSpaces++;
+                }
+
+                int startOffset = lineStartOffset + lastEnd + leadingSpaces;
+                int endOffset = lineStartOffset + sentenceEnd;
+
+                // Trim trailing whitespace from end offset
+                while (endOffset > startOffset &&
+                        Character.isWhitespace(line.charAt(endOffset - lineStartOffset - 1))) {
+                    endOffset--;
+                }
+
+                sentences.add(new SentenceResult(sentenceText, startOffset, endOffset));
+            }
+
+            lastEnd = sentenceEnd;
+        }
+
+        // Handle remaining text (no sentence-ending punctuation)
+        if (lastEnd < line.length()) {
+            String remaining = line.substring(lastEnd).trim();
+            if (!remaining.isEmpty()) {
+                int leadingSpaces = 0;
+                while (lastEnd + leadingSpaces < line.length() &&
+                        Character.isWhitespace(line.charAt(lastEnd + leadingSpaces))) {
+                    leadingSpaces++;
+                }
+
+                int startOffset = lineStartOffset + lastEnd + leadingSpaces;
+                int endOffset = lineStartOffset + line.length();
+
+                sentences.add(new SentenceResult(remaining, startOffset, endOffset));
+            }
+        }
+
+        // If no sentences found, treat entire line as one sentence
+        if (sentences.isEmpty() && !line.trim().isEmpty()) {
+            String trimmed = line.trim();
+            int leadingSpaces = line.indexOf(trimmed.charAt(0));
+            sentences.add(new SentenceResult(
+                    trimmed,
+                    lineStartOffset + leadingSpaces,
+                    lineStartOffset + leadingSpaces + trimmed.length()));
+        }
+
+        return sentences;
+    }
+}
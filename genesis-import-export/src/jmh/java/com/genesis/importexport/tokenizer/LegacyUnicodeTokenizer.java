@@ -0,0 +1,75 @@
+package com.genesis.importexport.tokenizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Baseline for {@link UnicodeTokenizerBenchmark}: the per-char
+ * {@code Character.getType} tokenizer as it was before the class table and the
+ * sink API, kept verbatim so the comparison stays honest.
+ */
+final class LegacyUnicodeTokenizer {
+
+    List<Tokenizer.TokenResult> tokenize(String text, int startOffset) {
+        List<Tokenizer.TokenResult> tokens = new ArrayList<>();
+
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        int currentPos = 0;
+        int length = text.length();
+
+        while (currentPos < length) {
+            char c = text.charAt(currentPos);
+
+            if (Character.isWhitespace(c)) {
+                currentPos++;
+                continue;
+            }
+
+            if (isWordCharacter(c)) {
+                int tokenStart = currentPos;
+                while (currentPos < length && isWordCharacter(text.charAt(currentPos))) {
+                    currentPos++;
+                }
+                tokens.add(new Tokenizer.TokenResult(
+                        text.substring(tokenStart, currentPos),
+                        startOffset + tokenStart,
+                        startOffset + currentPos));
+            } else if (isPunctuation(c)) {
+                tokens.add(new Tokenizer.TokenResult(
+                        String.valueOf(c),
+                        startOffset + currentPos,
+                        startOffset + currentPos + 1));
+                currentPos++;
+            } else {
+                currentPos++;
+            }
+        }
+
+        return tokens;
+    }
+
+    private boolean isWordCharacter(char c) {
+        int type = Character.getType(c);
+        return Character.isLetterOrDigit(c) ||
+                type == Character.NON_SPACING_MARK ||
+                type == Character.COMBINING_SPACING_MARK ||
+                type == Character.ENCLOSING_MARK ||
+                c == '\u200C' || c == '\u200D';
+    }
+
+    private boolean isPunctuation(char c) {
+        int type = Character.getType(c);
+        return type == Character.START_PUNCTUATION ||
+                type == Character.END_PUNCTUATION ||
+                type == Character.CONNECTOR_PUNCTUATION ||
+                type == Character.DASH_PUNCTUATION ||
+                type == Character.INITIAL_QUOTE_PUNCTUATION ||
+                type == Character.FINAL_QUOTE_PUNCTUATION ||
+                type == Character.OTHER_PUNCTUATION ||
+                c == '\u0964' || c == '\u0965' || c == '\u0970' || c == '\u09F7' ||
+                c == '\u201C' || c == '\u201D' || c == '\u2018' || c == '\u2019';
+    }
+}
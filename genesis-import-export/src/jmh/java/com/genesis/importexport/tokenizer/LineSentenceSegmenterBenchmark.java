@@ -0,0 +1,61 @@
+package com.genesis.importexport.tokenizer;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Whole-document segmentation: the split / indexOf / regex implementation
+ * ({@link LegacyLineSentenceSegmenter}) against the single-pass
+ * {@link LineSentenceSegmenter}, through both its list and offset-only sink
+ * APIs. {@code paragraphs} scales the document so the legacy rescans show up.
+ *
+ * <p>Run with {@code -prof gc} to compare allocation rates as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LineSentenceSegmenterBenchmark {
+
+    @Param({ "100", "2000" })
+    public int paragraphs;
+
+    private String document;
+    private LegacyLineSentenceSegmenter legacy;
+    private LineSentenceSegmenter segmenter;
+
+    @Setup
+    public void setUp() {
+        document = TokenizerCorpus.document(paragraphs);
+        legacy = new LegacyLineSentenceSegmenter();
+        segmenter = new LineSentenceSegmenter();
+    }
+
+    @Benchmark
+    public Object legacyList() {
+        return legacy.segment(document);
+    }
+
+    @Benchmark
+    public Object singlePassList() {
+        return segmenter.segment(document);
+    }
+
+    @Benchmark
+    public int singlePassSink(Blackhole bh) {
+        return segmenter.segment(document, (start, end) -> bh.consume(end - start));
+    }
+}
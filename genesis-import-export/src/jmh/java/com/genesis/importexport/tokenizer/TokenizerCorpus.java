@@ -0,0 +1,39 @@
+package com.genesis.importexport.tokenizer;
+
+/**
+ * Shared benchmark input: Assamese, Bengali and Hindi prose with the usual
+ * danda / quote / comma punctuation, repeated to a realistic document size.
+ */
+final class TokenizerCorpus {
+
+    static final String ASSAMESE = "অসমীয়া ভাষা অসমৰ ৰাজ্যিক ভাষা। ই ইণ্ডো-আৰ্য ভাষা পৰিয়ালৰ অন্তৰ্গত, "
+            + "আৰু ইয়াৰ লিপি বঙালী লিপিৰ সৈতে প্ৰায় একে। “মই ভাত খাওঁ” বুলি তেওঁ ক'লে॥";
+
+    static final String BENGALI = "বাংলা ভাষা দক্ষিণ এশিয়ার একটি ইন্দো-আর্য ভাষা। "
+            + "আমি ভাত খাই, তুমি রুটি খাও; সে কী খায়? ২০২৪ সালে ৩০ কোটি মানুষ এই ভাষায় কথা বলে।";
+
+    static final String HINDI = "हिन्दी भारत की सबसे अधिक बोली जाने वाली भाषा है। "
+            + "मैं खाना खाता हूँ, और वह पानी पीती है। क्या आप ‘राम’ को जानते हैं? हाँ॥";
+
+    private TokenizerCorpus() {
+    }
+
+    /** One sentence-sized line per entry, cycling through the three scripts. */
+    static String[] lines(int count) {
+        String[] samples = { ASSAMESE, BENGALI, HINDI };
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            lines[i] = samples[i % samples.length];
+        }
+        return lines;
+    }
+
+    /** All three scripts joined into one newline-separated document of {@code repeat} paragraphs. */
+    static String document(int repeat) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < repeat; i++) {
+            sb.append(ASSAMESE).append('\n').append(BENGALI).append("\n\n").append(HINDI).append("\r\n");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.genesis.importexport.tokenizer;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of {@link UnicodeTokenizer} on Assamese/Bengali/Hindi sentences:
+ * the pre-table implementation ({@link LegacyUnicodeTokenizer}) against the
+ * current list API and the allocation-free sink API.
+ *
+ * <p>Run with {@code -prof gc} to compare allocation rates as well.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UnicodeTokenizerBenchmark {
+
+    private String[] lines;
+    private LegacyUnicodeTokenizer legacy;
+    private UnicodeTokenizer tokenizer;
+
+    @Setup
+    public void setUp() {
+        lines = TokenizerCorpus.lines(300);
+        legacy = new LegacyUnicodeTokenizer();
+        tokenizer = new UnicodeTokenizer();
+    }
+
+    @Benchmark
+    public void legacyList(Blackhole bh) {
+        for (String line : lines) {
+            bh.consume(legacy.tokenize(line, 0));
+        }
+    }
+
+    @Benchmark
+    public void tableList(Blackhole bh) {
+        for (String line : lines) {
+            bh.consume(tokenizer.tokenize(line, 0));
+        }
+    }
+
+    @Benchmark
+    public void tableSink(Blackhole bh) {
+        for (String line : lines) {
+            bh.consume(tokenizer.tokenize(line, 0, (start, end) -> bh.consume(end - start)));
+        }
+    }
+}
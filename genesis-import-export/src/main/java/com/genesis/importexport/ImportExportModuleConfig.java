@@ -1,13 +1,55 @@
 package com.genesis.importexport;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import com.genesis.common.CommonModuleConfig;
+import com.genesis.importexport.format.Conll2012Parser;
+import com.genesis.importexport.repository.BulkTokenWriter;
+import com.genesis.importexport.service.ExportProperties;
+import com.genesis.importexport.service.ImportProperties;
 
 @Configuration
 @ComponentScan(basePackages = "com.genesis.importexport")
 @Import(CommonModuleConfig.class)
+@EnableConfigurationProperties({ ImportProperties.class, ExportProperties.class })
 public class ImportExportModuleConfig {
-    // Import-Export module specific beans and configurations
+
+    /**
+     * Workers that decode the second and later parts of multi-part CoNLL-2012
+     * files. Shared by all concurrent imports.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService conllPartExecutor(ImportProperties importProperties) {
+        return Executors.newFixedThreadPool(Math.max(1, importProperties.getConllParallelism()),
+                new CustomizableThreadFactory("genesis-conll-"));
+    }
+
+    /**
+     * Virtual threads that fetch and render documents of a workspace export.
+     * Each export bounds its own in-flight documents, so the executor itself
+     * is unbounded.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService exportRenderExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("genesis-export-", 0).factory());
+    }
+
+    @Bean
+    public Conll2012Parser conll2012Parser(@Qualifier("conllPartExecutor") ExecutorService conllPartExecutor,
+            ImportProperties importProperties) {
+        return new Conll2012Parser(conllPartExecutor, importProperties.getConllParallelism());
+    }
+
+    @Bean
+    public BulkTokenWriter bulkTokenWriter(JdbcTemplate jdbcTemplate, ImportProperties importProperties) {
+        return new BulkTokenWriter(jdbcTemplate, importProperties.isCopyEnabled(), importProperties.getBatchSize());
+    }
 }
@@ -0,0 +1,124 @@
+package com.genesis.importexport.dto;
+
+import com.genesis.importexport.dto.ExportOptions.ExportFormat;
+import com.genesis.importexport.entity.ExportJobEntity;
+import com.genesis.importexport.entity.ExportJobStatus;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DTO for an asynchronous export job.
+ */
+public class ExportJobDto {
+
+    private UUID id;
+    private UUID workspaceId;
+    private ExportJobStatus status;
+    private ExportFormat exportFormat;
+    private String fileName;
+    private Long fileSize;
+    private String errorMessage;
+    private Instant createdAt;
+    private Instant completedAt;
+    private String downloadUrl; // Only set once the job has completed
+
+    public static ExportJobDto from(ExportJobEntity e, String downloadUrl) {
+        if (e == null) {
+            return null;
+        }
+        ExportJobDto dto = new ExportJobDto();
+        dto.id = e.getId();
+        dto.workspaceId = e.getWorkspaceId();
+        dto.status = e.getStatus();
+        dto.exportFormat = e.getExportFormat();
+        dto.fileName = e.getFileName();
+        dto.fileSize = e.getFileSize();
+        dto.errorMessage = e.getErrorMessage();
+        dto.createdAt = e.getCreatedAt();
+        dto.completedAt = e.getCompletedAt();
+        dto.downloadUrl = e.getStatus() == ExportJobStatus.COMPLETED ? downloadUrl : null;
+        return dto;
+    }
+
+    // Getters and Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(UUID workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    public ExportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ExportJobStatus status) {
+        this.status = status;
+    }
+
+    public ExportFormat getExportFormat() {
+        return exportFormat;
+    }
+
+    public void setExportFormat(ExportFormat exportFormat) {
+        this.exportFormat = exportFormat;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getDownloadUrl() {
+        return downloadUrl;
+    }
+
+    public void setDownloadUrl(String downloadUrl) {
+        this.downloadUrl = downloadUrl;
+    }
+}
@@ -92,6 +92,12 @@ public class ExportOptions {
         /**
          * Export each file as separate .conll AND a merged file in a ZIP archive.
          */
-        SEPARATE_FILES_ZIP_WITH_MERGED
+        SEPARATE_FILES_ZIP_WITH_MERGED,
+
+        /**
+         * Export all files as one binary columnar .gcol file for training
+         * pipelines; see {@code ColumnarExportWriter}.
+         */
+        COLUMNAR_BINARY
     }
 }
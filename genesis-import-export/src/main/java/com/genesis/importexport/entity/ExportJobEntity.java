@@ -0,0 +1,208 @@
+package com.genesis.importexport.entity;
+
+import com.genesis.common.entity.BaseEntity;
+import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.dto.ExportOptions.Column2Mode;
+import com.genesis.importexport.dto.ExportOptions.ExportFormat;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An asynchronous workspace export and, once completed, its stored archive.
+ *
+ * <p>
+ * A job is identified for reuse by its workspace, its {@link ExportOptions}
+ * (one column each) and the workspace data version it was requested at: an
+ * identical request made while the data is unchanged gets the same job back.
+ */
+@Entity
+@Table(name = "export_jobs", indexes = {
+        @Index(name = "idx_export_jobs_workspace", columnList = "workspace_id")
+})
+public class ExportJobEntity extends BaseEntity {
+
+    @Column(name = "workspace_id", nullable = false)
+    private UUID workspaceId;
+
+    /**
+     * User who submitted the job; notified when it completes.
+     */
+    @Column(name = "requested_by", nullable = false)
+    private UUID requestedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ExportJobStatus status = ExportJobStatus.QUEUED;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "column2_mode", nullable = false, length = 20)
+    private Column2Mode column2Mode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "export_format", nullable = false, length = 40)
+    private ExportFormat exportFormat;
+
+    @Column(name = "continue_sentence_numbers", nullable = false)
+    private boolean continueSentenceNumbers;
+
+    @Column(name = "default_part_number", nullable = false)
+    private int defaultPartNumber;
+
+    /**
+     * Fingerprint of the workspace data the export reads, taken at submission.
+     */
+    @Column(name = "data_version", nullable = false, length = 64)
+    private String dataVersion;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    /**
+     * The stored archive; set once the job has completed.
+     */
+    @Column(name = "stored_file_id")
+    private UUID storedFileId;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    /**
+     * The export options this job renders with.
+     */
+    public ExportOptions toOptions() {
+        ExportOptions options = new ExportOptions();
+        options.setColumn2Mode(column2Mode);
+        options.setExportFormat(exportFormat);
+        options.setContinueSentenceNumbers(continueSentenceNumbers);
+        options.setDefaultPartNumber(defaultPartNumber);
+        return options;
+    }
+
+    /**
+     * Copy the export options onto this job.
+     */
+    public void setOptions(ExportOptions options) {
+        this.column2Mode = options.getColumn2Mode();
+        this.exportFormat = options.getExportFormat();
+        this.continueSentenceNumbers = options.isContinueSentenceNumbers();
+        this.defaultPartNumber = options.getDefaultPartNumber();
+    }
+
+    // Getters and Setters
+
+    @Override
+    public UUID getId() {
+        return super.getId();
+    }
+
+    public UUID getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(UUID workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    public UUID getRequestedBy() {
+        return requestedBy;
+    }
+
+    public void setRequestedBy(UUID requestedBy) {
+        this.requestedBy = requestedBy;
+    }
+
+    public ExportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ExportJobStatus status) {
+        this.status = status;
+    }
+
+    public Column2Mode getColumn2Mode() {
+        return column2Mode;
+    }
+
+    public ExportFormat getExportFormat() {
+        return exportFormat;
+    }
+
+    public boolean isContinueSentenceNumbers() {
+        return continueSentenceNumbers;
+    }
+
+    public int getDefaultPartNumber() {
+        return defaultPartNumber;
+    }
+
+    public String getDataVersion() {
+        return dataVersion;
+    }
+
+    public void setDataVersion(String dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public UUID getStoredFileId() {
+        return storedFileId;
+    }
+
+    public void setStoredFileId(UUID storedFileId) {
+        this.storedFileId = storedFileId;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
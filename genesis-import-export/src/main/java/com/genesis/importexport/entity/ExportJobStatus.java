@@ -0,0 +1,17 @@
+package com.genesis.importexport.entity;
+
+/**
+ * Lifecycle of an asynchronous {@link ExportJobEntity}.
+ */
+public enum ExportJobStatus {
+    /** Accepted and waiting for a worker. */
+    QUEUED,
+    /** A worker is rendering the archive. */
+    RUNNING,
+    /** The archive is stored and can be downloaded. */
+    COMPLETED,
+    /** Rendering or storing failed, or the job was interrupted by a restart. */
+    FAILED,
+    /** Replaced by an export of newer data; the archive has been deleted. */
+    EXPIRED
+}
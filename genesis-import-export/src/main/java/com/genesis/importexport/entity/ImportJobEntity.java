@@ -0,0 +1,131 @@
+package com.genesis.importexport.entity;
+
+import com.genesis.common.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.util.UUID;
+
+/**
+ * Persisted progress of a plain-text document import.
+ *
+ * <p>
+ * The row is updated in the same transaction as each chunk of sentence and token
+ * rows, so the counters always describe exactly what is committed. After a
+ * restart the import skips {@link #getByteOffset()} bytes of the source and
+ * continues numbering from {@link #getSentencesCommitted()} /
+ * {@link #getTokensCommitted()} instead of re-tokenizing the whole document.
+ */
+@Entity
+@Table(name = "import_jobs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_import_jobs_document", columnNames = "document_id")
+})
+public class ImportJobEntity extends BaseEntity {
+
+    @Column(name = "document_id", nullable = false)
+    private UUID documentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ImportJobStatus status = ImportJobStatus.RUNNING;
+
+    /**
+     * Sentences committed so far; also the index of the next sentence.
+     */
+    @Column(name = "sentences_committed", nullable = false)
+    private int sentencesCommitted;
+
+    /**
+     * Tokens committed so far; also the global index of the next token.
+     */
+    @Column(name = "tokens_committed", nullable = false)
+    private int tokensCommitted;
+
+    /**
+     * Characters of the source consumed up to the checkpoint (always a line
+     * boundary); the start offset of the next line.
+     */
+    @Column(name = "char_offset", nullable = false)
+    private long charOffset;
+
+    /**
+     * UTF-8 bytes of the source consumed up to the checkpoint, or {@code -1}
+     * when the consumed text contained a replacement character and the byte
+     * position can no longer be derived from the decoded text. A job without a
+     * byte offset restarts from the beginning.
+     */
+    @Column(name = "byte_offset", nullable = false)
+    private long byteOffset;
+
+    /**
+     * Number of times the import has been started, including resumes.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // Getters and Setters
+
+    @Override
+    public UUID getId() {
+        return super.getId();
+    }
+
+    public UUID getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(UUID documentId) {
+        this.documentId = documentId;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportJobStatus status) {
+        this.status = status;
+    }
+
+    public int getSentencesCommitted() {
+        return sentencesCommitted;
+    }
+
+    public void setSentencesCommitted(int sentencesCommitted) {
+        this.sentencesCommitted = sentencesCommitted;
+    }
+
+    public int getTokensCommitted() {
+        return tokensCommitted;
+    }
+
+    public void setTokensCommitted(int tokensCommitted) {
+        this.tokensCommitted = tokensCommitted;
+    }
+
+    public long getCharOffset() {
+        return charOffset;
+    }
+
+    public void setCharOffset(long charOffset) {
+        this.charOffset = charOffset;
+    }
+
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    public void setByteOffset(long byteOffset) {
+        this.byteOffset = byteOffset;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+}
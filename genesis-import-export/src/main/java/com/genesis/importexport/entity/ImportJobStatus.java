@@ -0,0 +1,13 @@
+package com.genesis.importexport.entity;
+
+/**
+ * Lifecycle of a checkpointed {@link ImportJobEntity}.
+ */
+public enum ImportJobStatus {
+    /** Chunks are being committed; a restart resumes from the last checkpoint. */
+    RUNNING,
+    /** Every sentence of the source has been committed. */
+    COMPLETED,
+    /** The import threw; its committed rows were removed and nothing resumes. */
+    FAILED
+}
@@ -54,6 +54,14 @@ public class SentenceEntity extends BaseEntity {
     @Column(name = "token_count")
     private Integer tokenCount;
 
+    /**
+     * 64-bit hash of {@link #text}, used to find unchanged sentences when a
+     * document is re-imported. {@code null} on rows written before the column
+     * existed and on CoNLL-imported sentences.
+     */
+    @Column(name = "text_hash")
+    private Long textHash;
+
     // Getters and Setters
 
     @Override
@@ -108,4 +116,12 @@ public class SentenceEntity extends BaseEntity {
     public void setTokenCount(Integer tokenCount) {
         this.tokenCount = tokenCount;
     }
+
+    public Long getTextHash() {
+        return textHash;
+    }
+
+    public void setTextHash(Long textHash) {
+        this.textHash = textHash;
+    }
 }
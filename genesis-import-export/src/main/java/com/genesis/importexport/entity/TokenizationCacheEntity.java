@@ -0,0 +1,72 @@
+package com.genesis.importexport.entity;
+
+import com.genesis.common.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.util.UUID;
+
+/**
+ * A finished plain-text tokenization that identical uploads can copy.
+ *
+ * <p>
+ * The key combines the upload's content hash with the tokenizer and segmenter
+ * versions. The sentence and token grid itself is not duplicated here: it is
+ * the rows of {@link #getSourceDocumentId()}, which a duplicate upload copies
+ * in bulk SQL. The counts let a hit be checked against those rows before
+ * copying.
+ */
+@Entity
+@Table(name = "tokenization_cache", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_tokenization_cache_key", columnNames = "cache_key")
+}, indexes = {
+        @Index(name = "idx_tokenization_cache_source", columnList = "source_document_id")
+})
+public class TokenizationCacheEntity extends BaseEntity {
+
+    @Column(name = "cache_key", nullable = false, length = 64)
+    private String cacheKey;
+
+    @Column(name = "source_document_id", nullable = false)
+    private UUID sourceDocumentId;
+
+    @Column(name = "sentence_count", nullable = false)
+    private int sentenceCount;
+
+    @Column(name = "token_count", nullable = false)
+    private int tokenCount;
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    public UUID getSourceDocumentId() {
+        return sourceDocumentId;
+    }
+
+    public void setSourceDocumentId(UUID sourceDocumentId) {
+        this.sourceDocumentId = sourceDocumentId;
+    }
+
+    public int getSentenceCount() {
+        return sentenceCount;
+    }
+
+    public void setSentenceCount(int sentenceCount) {
+        this.sentenceCount = sentenceCount;
+    }
+
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    public void setTokenCount(int tokenCount) {
+        this.tokenCount = tokenCount;
+    }
+}
@@ -0,0 +1,32 @@
+package com.genesis.importexport.event;
+
+import java.util.UUID;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published inside the transaction of an incremental re-import, after the
+ * document's sentence and token rows have been rewritten, so modules that key
+ * annotations on token positions (genesis-ner spans, genesis-coref mentions)
+ * can move them in the same commit. Annotations keyed on token ids (POS, WSD)
+ * need nothing: retained tokens keep their rows, and removed tokens take their
+ * annotations with them through the {@code ON DELETE CASCADE} foreign keys.
+ */
+public class DocumentTokensRemappedEvent extends ApplicationEvent {
+
+    private final UUID documentId;
+    private final TokenRemap remap;
+
+    public DocumentTokensRemappedEvent(Object source, UUID documentId, TokenRemap remap) {
+        super(source);
+        this.documentId = documentId;
+        this.remap = remap;
+    }
+
+    public UUID getDocumentId() {
+        return documentId;
+    }
+
+    public TokenRemap getRemap() {
+        return remap;
+    }
+}
@@ -0,0 +1,22 @@
+package com.genesis.importexport.event;
+
+import java.util.UUID;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when an export job row is created; the job is handed to the
+ * export pool once the submitting transaction commits.
+ */
+public class ExportJobQueuedEvent extends ApplicationEvent {
+
+    private final UUID jobId;
+
+    public ExportJobQueuedEvent(Object source, UUID jobId) {
+        super(source);
+        this.jobId = jobId;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+}
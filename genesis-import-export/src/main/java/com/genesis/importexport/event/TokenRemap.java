@@ -0,0 +1,162 @@
+package com.genesis.importexport.event;
+
+import java.util.Arrays;
+
+/**
+ * How the tokens of a document moved during an incremental re-import.
+ *
+ * <p>
+ * The re-import rewrites one contiguous range of sentences, old
+ * {@code [firstChangedSentence, changedSentencesEnd)}, holding the old tokens
+ * {@code [firstChangedToken, changedTokensEnd)} (document global indices).
+ * Everything before the range is untouched; everything after it moves by
+ * {@link #getSentenceShift()} sentences and {@link #getTokenShift()} tokens.
+ * Inside the range, old tokens whose form survived the edit are matched to
+ * their new position; the others are gone.
+ *
+ * <p>
+ * Old positions are mapped to new ones with {@link #mapGlobalIndex(int)} /
+ * {@link #mapSpan(int, int)}; sentence-local positions inside the changed range
+ * are converted with {@link #oldGlobalIndex(int, int)},
+ * {@link #newSentenceIndex(int)} and {@link #newTokenIndex(int)}.
+ */
+public final class TokenRemap {
+
+    private final int firstChangedSentence;
+    private final int changedSentencesEnd;
+    private final int sentenceShift;
+    private final int firstChangedToken;
+    private final int tokenShift;
+    /** Global index of the first token of each old changed sentence, plus the end. */
+    private final int[] oldSentenceStarts;
+    /** Global index of the first token of each new changed sentence, plus the end. */
+    private final int[] newSentenceStarts;
+    /** New global index of each old changed token, or -1 if it was removed. */
+    private final int[] oldToNew;
+
+    /**
+     * @param firstChangedSentence first old (and new) sentence index of the changed range
+     * @param oldSentenceStarts    global index of the first token of each old
+     *                             changed sentence, followed by the old range end
+     * @param newSentenceStarts    global index of the first token of each new
+     *                             changed sentence, followed by the new range end
+     * @param oldToNew             new global index of each old changed token, or -1
+     */
+    public TokenRemap(int firstChangedSentence, int[] oldSentenceStarts, int[] newSentenceStarts, int[] oldToNew) {
+        this.firstChangedSentence = firstChangedSentence;
+        this.oldSentenceStarts = oldSentenceStarts;
+        this.newSentenceStarts = newSentenceStarts;
+        this.oldToNew = oldToNew;
+        this.changedSentencesEnd = firstChangedSentence + oldSentenceStarts.length - 1;
+        this.sentenceShift = newSentenceStarts.length - oldSentenceStarts.length;
+        this.firstChangedToken = oldSentenceStarts[0];
+        this.tokenShift = (newSentenceStarts[newSentenceStarts.length - 1] - newSentenceStarts[0])
+                - (oldSentenceStarts[oldSentenceStarts.length - 1] - oldSentenceStarts[0]);
+    }
+
+    /** First sentence index of the changed range (same in old and new numbering). */
+    public int getFirstChangedSentence() {
+        return firstChangedSentence;
+    }
+
+    /** Old sentence index just past the changed range. */
+    public int getChangedSentencesEnd() {
+        return changedSentencesEnd;
+    }
+
+    /** How far sentences after the changed range moved. */
+    public int getSentenceShift() {
+        return sentenceShift;
+    }
+
+    /** First global token index of the changed range (same in old and new numbering). */
+    public int getFirstChangedToken() {
+        return firstChangedToken;
+    }
+
+    /** Old global token index just past the changed range. */
+    public int getChangedTokensEnd() {
+        return firstChangedToken + oldToNew.length;
+    }
+
+    /** How far tokens after the changed range moved. */
+    public int getTokenShift() {
+        return tokenShift;
+    }
+
+    /** Old tokens of the changed range that have no new position. */
+    public int getRemovedTokenCount() {
+        return (int) Arrays.stream(oldToNew).filter(i -> i < 0).count();
+    }
+
+    /**
+     * @return the new global index of an old token, or -1 if the token was removed
+     */
+    public int mapGlobalIndex(int oldGlobalIndex) {
+        if (oldGlobalIndex < firstChangedToken) {
+            return oldGlobalIndex;
+        }
+        if (oldGlobalIndex >= getChangedTokensEnd()) {
+            return oldGlobalIndex + tokenShift;
+        }
+        return oldToNew[oldGlobalIndex - firstChangedToken];
+    }
+
+    /**
+     * Map an inclusive span of old global indices. The span survives only if
+     * every token in it survived and the tokens are still adjacent (nothing was
+     * inserted between them).
+     *
+     * @return the new start index (the new end is {@code start + oldEnd - oldStart}),
+     *         or -1 if the span did not survive the edit
+     */
+    public int mapSpan(int oldStart, int oldEnd) {
+        int start = mapGlobalIndex(oldStart);
+        if (start < 0 || oldEnd < firstChangedToken || oldStart >= getChangedTokensEnd()) {
+            return start;
+        }
+        for (int i = oldStart + 1; i <= oldEnd; i++) {
+            if (mapGlobalIndex(i) != start + (i - oldStart)) {
+                return -1;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Old global index of a sentence-local position inside the changed range.
+     *
+     * @return the global index, or -1 if the position is outside the changed range
+     */
+    public int oldGlobalIndex(int oldSentenceIndex, int tokenIndex) {
+        int s = oldSentenceIndex - firstChangedSentence;
+        if (s < 0 || s >= oldSentenceStarts.length - 1 || tokenIndex < 0) {
+            return -1;
+        }
+        int global = oldSentenceStarts[s] + tokenIndex;
+        return global < oldSentenceStarts[s + 1] ? global : -1;
+    }
+
+    /**
+     * Sentence holding a new global index inside the changed range.
+     */
+    public int newSentenceIndex(int newGlobalIndex) {
+        int i = Arrays.binarySearch(newSentenceStarts, 0, newSentenceStarts.length - 1, newGlobalIndex);
+        if (i < 0) {
+            i = -i - 2;
+        } else {
+            // Empty sentences share a start: the token belongs to the last of them.
+            while (i + 1 < newSentenceStarts.length - 1 && newSentenceStarts[i + 1] == newGlobalIndex) {
+                i++;
+            }
+        }
+        return firstChangedSentence + i;
+    }
+
+    /**
+     * Sentence-local index of a new global index inside the changed range.
+     */
+    public int newTokenIndex(int newGlobalIndex) {
+        return newGlobalIndex - newSentenceStarts[newSentenceIndex(newGlobalIndex) - firstChangedSentence];
+    }
+}
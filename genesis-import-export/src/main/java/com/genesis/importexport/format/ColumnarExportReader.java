@@ -0,0 +1,441 @@
+package com.genesis.importexport.format;
+
+import static com.genesis.importexport.format.ColumnarFormat.COLUMN2;
+import static com.genesis.importexport.format.ColumnarFormat.COLUMN_COUNT;
+import static com.genesis.importexport.format.ColumnarFormat.COREF_CLUSTER;
+import static com.genesis.importexport.format.ColumnarFormat.COREF_KIND;
+import static com.genesis.importexport.format.ColumnarFormat.COREF_ROW;
+import static com.genesis.importexport.format.ColumnarFormat.FORM;
+import static com.genesis.importexport.format.ColumnarFormat.LEMMA;
+import static com.genesis.importexport.format.ColumnarFormat.NER;
+import static com.genesis.importexport.format.ColumnarFormat.NONE;
+import static com.genesis.importexport.format.ColumnarFormat.POS;
+import static com.genesis.importexport.format.ColumnarFormat.SENTENCE;
+import static com.genesis.importexport.format.ColumnarFormat.TOKEN;
+
+import com.genesis.importexport.entity.TokenEntity;
+import com.genesis.importexport.format.Conll2012Parser.MentionSpan;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a file written by {@link ColumnarExportWriter}.
+ *
+ * <p>
+ * {@link #open(Path)} maps the file read-only; only the footer is decoded up
+ * front. Row groups decode one column at a time on request, straight from
+ * the mapping when the chunk is stored uncompressed. Dictionary ids index
+ * {@link #dictionary(Dictionary)}; {@code -1} means no value.
+ *
+ * <pre>{@code
+ * try (ColumnarExportReader reader = ColumnarExportReader.open(path)) {
+ *     List<String> forms = reader.dictionary(Dictionary.FORM);
+ *     for (int g = 0; g < reader.rowGroupCount(); g++) {
+ *         int[] formIds = reader.rowGroup(g).formIds();
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>
+ * Safe to read from several threads once open: decoding works on duplicates
+ * of the mapped buffer.
+ */
+public final class ColumnarExportReader implements Closeable {
+
+    /** Dictionary-encoded columns. */
+    public enum Dictionary {
+        FORM, LEMMA, POS, NER
+    }
+
+    /**
+     * One exported document: its sanitized CoNLL name and the contiguous row
+     * groups holding its tokens.
+     */
+    public record Document(String name, int firstRowGroup, int rowGroupCount, long tokenCount) {
+    }
+
+    private final ByteBuffer data;
+    private final FileChannel channel;
+    private final List<List<String>> dictionaries;
+    private final List<Document> documents;
+    private final int[] rowCounts;
+    private final int[] fragmentCounts;
+    private final long[] chunkOffsets;
+    private final int[] chunkStoredLengths;
+    private final int[] chunkRawLengths;
+
+    private ColumnarExportReader(ByteBuffer data, FileChannel channel) throws IOException {
+        this.data = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.channel = channel;
+        ByteBuffer footer = footer(this.data);
+        try {
+            int columns = footer.getInt();
+            if (columns != COLUMN_COUNT) {
+                throw new IOException("Unsupported column count " + columns);
+            }
+            List<List<String>> dicts = new ArrayList<>();
+            for (int d = 0; d < Dictionary.values().length; d++) {
+                int size = count(footer);
+                List<String> values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(string(footer));
+                }
+                dicts.add(List.copyOf(values));
+            }
+            this.dictionaries = List.copyOf(dicts);
+
+            int documentCount = count(footer);
+            List<Document> docs = new ArrayList<>(documentCount);
+            for (int i = 0; i < documentCount; i++) {
+                docs.add(new Document(string(footer), footer.getInt(), footer.getInt(), footer.getLong()));
+            }
+            this.documents = List.copyOf(docs);
+
+            int rowGroups = count(footer);
+            this.rowCounts = new int[rowGroups];
+            this.fragmentCounts = new int[rowGroups];
+            this.chunkOffsets = new long[rowGroups * COLUMN_COUNT];
+            this.chunkStoredLengths = new int[rowGroups * COLUMN_COUNT];
+            this.chunkRawLengths = new int[rowGroups * COLUMN_COUNT];
+            for (int g = 0; g < rowGroups; g++) {
+                rowCounts[g] = footer.getInt();
+                fragmentCounts[g] = footer.getInt();
+                for (int c = 0; c < COLUMN_COUNT; c++) {
+                    int chunk = g * COLUMN_COUNT + c;
+                    chunkOffsets[chunk] = footer.getLong();
+                    chunkStoredLengths[chunk] = footer.getInt();
+                    chunkRawLengths[chunk] = footer.getInt();
+                    if (chunkOffsets[chunk] < ColumnarFormat.HEADER_SIZE || chunkStoredLengths[chunk] < 0
+                            || chunkOffsets[chunk] + chunkStoredLengths[chunk] > this.data.limit()) {
+                        throw new IOException("Column chunk out of bounds in row group " + g);
+                    }
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated columnar export footer", e);
+        }
+        for (Document document : documents) {
+            if (document.firstRowGroup() < 0 || document.rowGroupCount() < 0
+                    || document.firstRowGroup() + document.rowGroupCount() > rowCounts.length) {
+                throw new IOException("Document " + document.name() + " refers to missing row groups");
+            }
+        }
+    }
+
+    /**
+     * Map a columnar export file. Files over 2 GiB are not supported.
+     */
+    public static ColumnarExportReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Columnar export larger than 2 GiB: " + file);
+            }
+            return new ColumnarExportReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read a columnar export held in memory, from position 0 to the limit.
+     */
+    public static ColumnarExportReader read(ByteBuffer data) throws IOException {
+        return new ColumnarExportReader(data.slice(0, data.limit()), null);
+    }
+
+    public List<Document> documents() {
+        return documents;
+    }
+
+    public List<String> dictionary(Dictionary dictionary) {
+        return dictionaries.get(dictionary.ordinal());
+    }
+
+    public int rowGroupCount() {
+        return rowCounts.length;
+    }
+
+    public RowGroup rowGroup(int index) {
+        if (index < 0 || index >= rowCounts.length) {
+            throw new IndexOutOfBoundsException("Row group " + index + " of " + rowCounts.length);
+        }
+        return new RowGroup(index);
+    }
+
+    /**
+     * Write every document as CoNLL-2012 text, byte for byte what the CoNLL
+     * export of the same workspace and options contains.
+     */
+    public void writeConll(OutputStream out) throws IOException {
+        ConllLineEncoder encoder = new ConllLineEncoder(out);
+        List<String> forms = dictionary(Dictionary.FORM);
+        List<String> lemmas = dictionary(Dictionary.LEMMA);
+        List<String> posTags = dictionary(Dictionary.POS);
+        List<String> nerTags = dictionary(Dictionary.NER);
+        for (Document document : documents) {
+            encoder.beginDocument(document.name());
+            for (int g = document.firstRowGroup(); g < document.firstRowGroup() + document.rowGroupCount(); g++) {
+                RowGroup group = rowGroup(g);
+                int[] column2 = group.column2Values();
+                int[] sentences = group.sentenceIndexes();
+                int[] tokenIndexes = group.tokenIndexes();
+                int[] formIds = group.formIds();
+                int[] lemmaIds = group.lemmaIds();
+                int[] posIds = group.posIds();
+                int[] nerIds = group.nerIds();
+                CorefAnnotations coref = group.corefAnnotations(sentences, tokenIndexes);
+
+                List<TokenEntity> sentence = new ArrayList<>();
+                for (int row = 0; row < group.rows(); row++) {
+                    if (row > 0 && sentences[row] != sentences[row - 1]) {
+                        encoder.sentence(column2[row - 1], sentence, coref, null);
+                        sentence.clear();
+                    }
+                    TokenEntity token = new TokenEntity();
+                    token.setSentenceIndex(sentences[row]);
+                    token.setTokenIndex(tokenIndexes[row]);
+                    token.setForm(forms.get(formIds[row]));
+                    token.setLemma(lookup(lemmas, lemmaIds[row]));
+                    token.setPos(lookup(posTags, posIds[row]));
+                    token.setNerTag(lookup(nerTags, nerIds[row]));
+                    sentence.add(token);
+                }
+                if (!sentence.isEmpty()) {
+                    encoder.sentence(column2[group.rows() - 1], sentence, coref, null);
+                }
+            }
+            encoder.endDocument();
+        }
+        encoder.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Columns of one row group. Each accessor decodes its chunk anew.
+     */
+    public final class RowGroup {
+
+        private final int index;
+
+        private RowGroup(int index) {
+            this.index = index;
+        }
+
+        /** Number of tokens. */
+        public int rows() {
+            return rowCounts[index];
+        }
+
+        /** Number of coref fragments. */
+        public int corefFragments() {
+            return fragmentCounts[index];
+        }
+
+        /** CoNLL column 2 of each token: part or offset sentence number. */
+        public int[] column2Values() {
+            return ints(COLUMN2, rows());
+        }
+
+        public int[] sentenceIndexes() {
+            return ints(SENTENCE, rows());
+        }
+
+        /** Index of each token in its sentence. */
+        public int[] tokenIndexes() {
+            return ints(TOKEN, rows());
+        }
+
+        public int[] formIds() {
+            return ints(FORM, rows());
+        }
+
+        public int[] lemmaIds() {
+            return ints(LEMMA, rows());
+        }
+
+        /** POS ids after the export's majority overrides. */
+        public int[] posIds() {
+            return ints(POS, rows());
+        }
+
+        public int[] nerIds() {
+            return ints(NER, rows());
+        }
+
+        /** Row of each coref fragment; fragments of a row are in column order. */
+        public int[] corefRows() {
+            return ints(COREF_ROW, corefFragments());
+        }
+
+        /**
+         * Kind of each coref fragment: {@link CorefAnnotations#OPEN},
+         * {@link CorefAnnotations#CLOSE} or {@link CorefAnnotations#SINGLE}.
+         */
+        public byte[] corefKinds() {
+            byte[] kinds = new byte[corefFragments()];
+            chunk(COREF_KIND, kinds.length).get(kinds);
+            return kinds;
+        }
+
+        public int[] corefClusters() {
+            return ints(COREF_CLUSTER, corefFragments());
+        }
+
+        /**
+         * Coref mentions of the row group, pairing each {@code (N} with the
+         * next {@code N)} of the same cluster as the CoNLL parser does.
+         * Unpaired fragments are skipped.
+         */
+        public List<MentionSpan> corefSpans() {
+            int[] sentences = sentenceIndexes();
+            int[] tokenIndexes = tokenIndexes();
+            int[] fragmentRows = corefRows();
+            byte[] kinds = corefKinds();
+            int[] clusters = corefClusters();
+            List<MentionSpan> spans = new ArrayList<>();
+            Map<Integer, Deque<Integer>> open = new HashMap<>();
+            for (int i = 0; i < kinds.length; i++) {
+                int row = fragmentRows[i];
+                if (kinds[i] == CorefAnnotations.SINGLE) {
+                    spans.add(new MentionSpan(sentences[row], tokenIndexes[row], tokenIndexes[row], clusters[i]));
+                } else if (kinds[i] == CorefAnnotations.OPEN) {
+                    open.computeIfAbsent(clusters[i], k -> new ArrayDeque<>()).push(row);
+                } else {
+                    Deque<Integer> starts = open.get(clusters[i]);
+                    if (starts != null && !starts.isEmpty()) {
+                        int start = starts.pop();
+                        spans.add(new MentionSpan(sentences[start], tokenIndexes[start], tokenIndexes[row],
+                                clusters[i]));
+                    }
+                }
+            }
+            return spans;
+        }
+
+        CorefAnnotations corefAnnotations(int[] sentences, int[] tokenIndexes) {
+            int[] fragmentRows = corefRows();
+            byte[] kinds = corefKinds();
+            int[] clusters = corefClusters();
+            CorefAnnotations coref = new CorefAnnotations(kinds.length);
+            for (int i = 0; i < kinds.length; i++) {
+                coref.add(sentences[fragmentRows[i]], tokenIndexes[fragmentRows[i]], kinds[i], clusters[i]);
+            }
+            return coref;
+        }
+
+        private int[] ints(int column, int count) {
+            int[] values = new int[count];
+            chunk(column, count * Integer.BYTES).asIntBuffer().get(values);
+            return values;
+        }
+
+        /**
+         * The raw bytes of a chunk: a view of the file when stored, otherwise
+         * inflated into a heap buffer.
+         */
+        private ByteBuffer chunk(int column, int expectedLength) {
+            int chunk = index * COLUMN_COUNT + column;
+            int rawLength = chunkRawLengths[chunk];
+            if (rawLength != expectedLength) {
+                throw new IllegalStateException("Corrupt columnar export: column " + column + " of row group "
+                        + index + " has " + rawLength + " bytes, expected " + expectedLength);
+            }
+            ByteBuffer stored = data.slice((int) chunkOffsets[chunk], chunkStoredLengths[chunk]);
+            if (chunkStoredLengths[chunk] == rawLength) {
+                return stored.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            byte[] inflated = new byte[rawLength];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(stored);
+                int length = 0;
+                while (length < rawLength && !inflater.finished()) {
+                    int n = inflater.inflate(inflated, length, rawLength - length);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    length += n;
+                }
+                if (length != rawLength) {
+                    throw new IllegalStateException("Corrupt columnar export: column " + column
+                            + " of row group " + index + " is truncated");
+                }
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Corrupt columnar export: column " + column + " of row group "
+                        + index, e);
+            } finally {
+                inflater.end();
+            }
+            return ByteBuffer.wrap(inflated).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private static ByteBuffer footer(ByteBuffer data) throws IOException {
+        int size = data.limit();
+        if (size < ColumnarFormat.HEADER_SIZE + ColumnarFormat.TRAILER_SIZE
+                || !hasMagic(data, 0) || !hasMagic(data, size - ColumnarFormat.MAGIC.length)) {
+            throw new IOException("Not a Genesis columnar export");
+        }
+        short version = data.getShort(ColumnarFormat.MAGIC.length);
+        if (version != ColumnarFormat.VERSION) {
+            throw new IOException("Unsupported columnar export version " + version);
+        }
+        int footerLength = data.getInt(size - ColumnarFormat.TRAILER_SIZE);
+        int footerStart = size - ColumnarFormat.TRAILER_SIZE - footerLength;
+        if (footerLength < 0 || footerStart < ColumnarFormat.HEADER_SIZE) {
+            throw new IOException("Corrupt columnar export footer length " + footerLength);
+        }
+        return data.slice(footerStart, footerLength).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static boolean hasMagic(ByteBuffer data, int at) {
+        byte[] magic = new byte[ColumnarFormat.MAGIC.length];
+        data.get(at, magic);
+        return Arrays.equals(magic, ColumnarFormat.MAGIC);
+    }
+
+    private static int count(ByteBuffer footer) throws IOException {
+        int count = footer.getInt();
+        if (count < 0 || count > footer.remaining()) {
+            throw new IOException("Corrupt columnar export footer count " + count);
+        }
+        return count;
+    }
+
+    private static String string(ByteBuffer footer) throws IOException {
+        int length = count(footer);
+        byte[] bytes = new byte[length];
+        footer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String lookup(List<String> dictionary, int id) {
+        return id == NONE ? null : dictionary.get(id);
+    }
+}
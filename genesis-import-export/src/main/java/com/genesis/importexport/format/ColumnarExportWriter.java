@@ -0,0 +1,358 @@
+package com.genesis.importexport.format;
+
+import static com.genesis.importexport.format.ColumnarFormat.COLUMN2;
+import static com.genesis.importexport.format.ColumnarFormat.COLUMN_COUNT;
+import static com.genesis.importexport.format.ColumnarFormat.COREF_CLUSTER;
+import static com.genesis.importexport.format.ColumnarFormat.COREF_KIND;
+import static com.genesis.importexport.format.ColumnarFormat.COREF_ROW;
+import static com.genesis.importexport.format.ColumnarFormat.FORM;
+import static com.genesis.importexport.format.ColumnarFormat.LEMMA;
+import static com.genesis.importexport.format.ColumnarFormat.NER;
+import static com.genesis.importexport.format.ColumnarFormat.NONE;
+import static com.genesis.importexport.format.ColumnarFormat.POS;
+import static com.genesis.importexport.format.ColumnarFormat.SENTENCE;
+import static com.genesis.importexport.format.ColumnarFormat.TOKEN;
+
+import com.genesis.importexport.entity.TokenEntity;
+import com.genesis.importexport.format.ColumnarExportReader.Dictionary;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a workspace export in the Genesis columnar format ({@code .gcol}), a
+ * binary alternative to CoNLL-2012 text for training pipelines. Read it back
+ * with {@link ColumnarExportReader}, which also renders the exact CoNLL text
+ * {@link ConllLineEncoder} writes for the same input.
+ *
+ * <p>
+ * Tokens are stored in row groups of whole sentences, at most
+ * {@value #DEFAULT_ROW_GROUP_SIZE} rows unless a single sentence is longer;
+ * a row group never spans documents. Each row group is a run of column
+ * chunks: int arrays of column 2, sentence index and token index, dictionary
+ * ids of form, lemma, POS and NER ({@code -1} for none), and the coref
+ * fragment table (row, kind, cluster) in column order. A chunk is deflated
+ * unless that does not shrink it, in which case it is stored as is and can be
+ * read straight from a mapped file.
+ *
+ * <pre>
+ * header   "GCOL", u16 version, u16 flags (0)
+ * chunks   column chunks of every row group
+ * footer   u32 column count
+ *          4 dictionaries (form, lemma, POS, NER): u32 size, then strings
+ *          u32 documents: string name, u32 first row group, u32 row groups, u64 tokens
+ *          u32 row groups: u32 rows, u32 fragments, then per column
+ *                          u64 offset, u32 stored length, u32 raw length
+ * trailer  u32 footer length, "GCOL"
+ * </pre>
+ *
+ * All integers are little-endian; strings are a u32 byte length followed by
+ * UTF-8. Document names are the sanitized CoNLL column 1 values.
+ *
+ * <p>
+ * Memory is bounded by one row group plus the dictionaries. Not
+ * thread-safe. {@link #finish()} writes the footer; the stream is never
+ * closed.
+ */
+public final class ColumnarExportWriter implements ExportDocumentWriter {
+
+    public static final String FILE_EXTENSION = ".gcol";
+    public static final String CONTENT_TYPE = "application/vnd.genesis.columnar";
+
+    static final int DEFAULT_ROW_GROUP_SIZE = 64 * 1024;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final OutputStream out;
+    private final int rowGroupSize;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Encoder[] dictionaries = new Encoder[Dictionary.values().length];
+
+    private long position;
+    private boolean started;
+    private boolean finished;
+
+    // Current row group
+    private int rows;
+    private int[][] tokenColumns = new int[COREF_ROW][INITIAL_CAPACITY];
+    private int fragments;
+    private int[] corefRows = new int[INITIAL_CAPACITY];
+    private byte[] corefKinds = new byte[INITIAL_CAPACITY];
+    private int[] corefClusters = new int[INITIAL_CAPACITY];
+    private byte[] raw = new byte[0];
+    private byte[] deflated = new byte[0];
+
+    // Footer tables
+    private final FooterBuffer rowGroupTable = new FooterBuffer();
+    private int rowGroupCount;
+    private final FooterBuffer documentTable = new FooterBuffer();
+    private int documentCount;
+
+    // Current document
+    private String documentName;
+    private int documentFirstRowGroup;
+    private long documentTokens;
+
+    public ColumnarExportWriter(OutputStream out) {
+        this(out, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    ColumnarExportWriter(OutputStream out, int rowGroupSize) {
+        this.out = out;
+        this.rowGroupSize = Math.max(1, rowGroupSize);
+        for (int i = 0; i < dictionaries.length; i++) {
+            dictionaries[i] = new Encoder();
+        }
+    }
+
+    @Override
+    public void beginDocument(String documentName) throws IOException {
+        if (this.documentName != null) {
+            throw new IllegalStateException("Document " + this.documentName + " is not ended");
+        }
+        ensureHeader();
+        this.documentName = Conll2012Exporter.sanitizeDocName(documentName);
+        this.documentFirstRowGroup = rowGroupCount;
+        this.documentTokens = 0;
+    }
+
+    /**
+     * Append one sentence's tokens. A sentence that would overflow the current
+     * row group starts a new one, so sentences are never split. The POS column
+     * takes the override of a token when there is one, as in the CoNLL
+     * output.
+     */
+    @Override
+    public void sentence(int column2Value, List<TokenEntity> tokens, CorefAnnotations coref,
+            Map<UUID, String> posOverrides) throws IOException {
+        if (tokens == null || tokens.isEmpty()) {
+            return;
+        }
+        if (documentName == null) {
+            throw new IllegalStateException("No document begun");
+        }
+        if (rows > 0 && rows + tokens.size() > rowGroupSize) {
+            flushRowGroup();
+        }
+        ensureRowCapacity(rows + tokens.size());
+        for (TokenEntity token : tokens) {
+            String pos;
+            if (posOverrides != null && posOverrides.containsKey(token.getId())) {
+                pos = posOverrides.get(token.getId());
+            } else {
+                pos = token.getPos();
+            }
+            int sentenceIndex = token.getSentenceIndex();
+            int tokenIndex = token.getTokenIndex();
+            tokenColumns[COLUMN2][rows] = column2Value;
+            tokenColumns[SENTENCE][rows] = sentenceIndex;
+            tokenColumns[TOKEN][rows] = tokenIndex;
+            tokenColumns[FORM][rows] = dictionaries[Dictionary.FORM.ordinal()].id(String.valueOf(token.getForm()));
+            tokenColumns[LEMMA][rows] = idOrNone(Dictionary.LEMMA, token.getLemma());
+            tokenColumns[POS][rows] = idOrNone(Dictionary.POS, pos);
+            tokenColumns[NER][rows] = idOrNone(Dictionary.NER, token.getNerTag());
+            int first = coref.firstFragment(sentenceIndex, tokenIndex);
+            if (first >= 0) {
+                for (int i = first; coref.sameToken(first, i); i++) {
+                    addFragment(rows, coref.kindAt(i), coref.clusterAt(i));
+                }
+            }
+            rows++;
+        }
+        documentTokens += tokens.size();
+    }
+
+    @Override
+    public void endDocument() throws IOException {
+        if (documentName == null) {
+            throw new IllegalStateException("No document begun");
+        }
+        flushRowGroup();
+        documentTable.putString(documentName);
+        documentTable.putInt(documentFirstRowGroup);
+        documentTable.putInt(rowGroupCount - documentFirstRowGroup);
+        documentTable.putLong(documentTokens);
+        documentCount++;
+        documentName = null;
+    }
+
+    /**
+     * Write the footer and flush. An export without documents is still a
+     * valid, empty file.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (documentName != null) {
+            throw new IllegalStateException("Document " + documentName + " is not ended");
+        }
+        ensureHeader();
+        FooterBuffer footer = new FooterBuffer();
+        footer.putInt(COLUMN_COUNT);
+        for (Encoder dictionary : dictionaries) {
+            footer.putInt(dictionary.values.size());
+            for (String value : dictionary.values) {
+                footer.putString(value);
+            }
+        }
+        footer.putInt(documentCount);
+        documentTable.writeTo(footer);
+        footer.putInt(rowGroupCount);
+        rowGroupTable.writeTo(footer);
+        footer.writeTo(out);
+
+        ByteBuffer trailer = ByteBuffer.allocate(ColumnarFormat.TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        trailer.putInt(footer.size()).put(ColumnarFormat.MAGIC);
+        out.write(trailer.array());
+        out.flush();
+        deflater.end();
+        finished = true;
+    }
+
+    private void ensureHeader() throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Export already finished");
+        }
+        if (started) {
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(ColumnarFormat.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(ColumnarFormat.MAGIC).putShort(ColumnarFormat.VERSION).putShort((short) 0);
+        out.write(header.array());
+        position = ColumnarFormat.HEADER_SIZE;
+        started = true;
+    }
+
+    private int idOrNone(Dictionary dictionary, String value) {
+        return value == null || value.isEmpty() ? NONE : dictionaries[dictionary.ordinal()].id(value);
+    }
+
+    private void addFragment(int row, byte kind, int cluster) {
+        if (fragments == corefRows.length) {
+            int capacity = fragments * 2;
+            corefRows = Arrays.copyOf(corefRows, capacity);
+            corefKinds = Arrays.copyOf(corefKinds, capacity);
+            corefClusters = Arrays.copyOf(corefClusters, capacity);
+        }
+        corefRows[fragments] = row;
+        corefKinds[fragments] = kind;
+        corefClusters[fragments] = cluster;
+        fragments++;
+    }
+
+    private void ensureRowCapacity(int capacity) {
+        if (capacity > tokenColumns[0].length) {
+            int grown = Math.max(capacity, tokenColumns[0].length * 2);
+            for (int i = 0; i < tokenColumns.length; i++) {
+                tokenColumns[i] = Arrays.copyOf(tokenColumns[i], grown);
+            }
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        rowGroupTable.putInt(rows);
+        rowGroupTable.putInt(fragments);
+        for (int column = 0; column < COREF_ROW; column++) {
+            writeChunk(tokenColumns[column], rows);
+        }
+        writeChunk(corefRows, fragments);
+        ensureRawCapacity(fragments);
+        System.arraycopy(corefKinds, 0, raw, 0, fragments);
+        writeChunk(fragments);
+        writeChunk(corefClusters, fragments);
+        rowGroupCount++;
+        rows = 0;
+        fragments = 0;
+    }
+
+    private void writeChunk(int[] values, int count) throws IOException {
+        ensureRawCapacity(count * Integer.BYTES);
+        ByteBuffer.wrap(raw).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(values, 0, count);
+        writeChunk(count * Integer.BYTES);
+    }
+
+    /**
+     * Write the first {@code length} bytes of {@link #raw} as one chunk,
+     * deflated when that makes it smaller.
+     */
+    private void writeChunk(int length) throws IOException {
+        if (deflated.length < length) {
+            deflated = new byte[raw.length];
+        }
+        deflater.reset();
+        deflater.setInput(raw, 0, length);
+        deflater.finish();
+        int stored = 0;
+        while (!deflater.finished() && stored < length) {
+            stored += deflater.deflate(deflated, stored, length - stored);
+        }
+        boolean compress = deflater.finished() && stored < length;
+        if (compress) {
+            out.write(deflated, 0, stored);
+        } else {
+            stored = length;
+            out.write(raw, 0, length);
+        }
+        rowGroupTable.putLong(position);
+        rowGroupTable.putInt(stored);
+        rowGroupTable.putInt(length);
+        position += stored;
+    }
+
+    private void ensureRawCapacity(int length) {
+        if (raw.length < length) {
+            raw = new byte[Math.max(length, raw.length * 2)];
+        }
+    }
+
+    /** Dictionary encoder: ids in first-seen order. */
+    private static final class Encoder {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int id(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+    }
+
+    /** Little-endian footer bytes. */
+    private static final class FooterBuffer extends ByteArrayOutputStream {
+        private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        void putInt(int value) {
+            scratch.clear();
+            write(scratch.putInt(value).array(), 0, Integer.BYTES);
+        }
+
+        void putLong(long value) {
+            scratch.clear();
+            write(scratch.putLong(value).array(), 0, Long.BYTES);
+        }
+
+        void putString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+}
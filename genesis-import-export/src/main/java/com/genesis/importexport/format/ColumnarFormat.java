@@ -0,0 +1,38 @@
+package com.genesis.importexport.format;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout constants shared by {@link ColumnarExportWriter} and
+ * {@link ColumnarExportReader}. See the writer for the file layout.
+ */
+final class ColumnarFormat {
+
+    static final byte[] MAGIC = "GCOL".getBytes(StandardCharsets.US_ASCII);
+    static final short VERSION = 1;
+
+    /** Magic, version and flags. */
+    static final int HEADER_SIZE = 8;
+    /** Footer length and magic. */
+    static final int TRAILER_SIZE = 8;
+
+    // Column chunks of a row group, in file order. Token columns hold one
+    // value per row, coref columns one per fragment.
+    static final int COLUMN2 = 0;
+    static final int SENTENCE = 1;
+    static final int TOKEN = 2;
+    static final int FORM = 3;
+    static final int LEMMA = 4;
+    static final int POS = 5;
+    static final int NER = 6;
+    static final int COREF_ROW = 7;
+    static final int COREF_KIND = 8;
+    static final int COREF_CLUSTER = 9;
+    static final int COLUMN_COUNT = 10;
+
+    /** Dictionary id of an absent lemma, POS or NER value. */
+    static final int NONE = -1;
+
+    private ColumnarFormat() {
+    }
+}
@@ -27,6 +27,11 @@ public class Conll2012Exporter {
     /**
      * Export a single document to CoNLL-2012 format.
      *
+     * <p>
+     * Callers that write bytes (rather than needing a {@code String}) should
+     * use {@link ConllLineEncoder}, which produces the same output without
+     * per-token allocation.
+     *
      * @param documentName     name of the document
      * @param sentences        list of sentences
      * @param tokensBySentence map of sentence index to tokens
@@ -58,37 +63,23 @@ public class Conll2012Exporter {
             ExportOptions options,
             int sentenceOffset) {
         StringBuilder sb = new StringBuilder();
+        String docId = sanitizeDocName(documentName);
 
         // Document header
-        sb.append("#begin document (").append(sanitizeDocName(documentName)).append("); part 000\n");
+        sb.append("#begin document (").append(docId).append("); part 000\n");
 
         for (SentenceEntity sentence : sentences) {
             List<TokenEntity> tokens = tokensBySentence.get(sentence.getSentenceIndex());
             if (tokens == null || tokens.isEmpty()) {
                 continue;
             }
-
-            // Calculate column 2 value based on mode
-            int column2Value;
-            if (options.getColumn2Mode() == Column2Mode.SENTENCE_NUMBER) {
-                column2Value = sentence.getSentenceIndex() + sentenceOffset;
-            } else {
-                column2Value = options.getDefaultPartNumber();
-            }
-
-            // Export each token
+            int column2Value = column2Value(sentence.getSentenceIndex(), options, sentenceOffset);
             for (TokenEntity token : tokens) {
-                String line = formatTokenLine(
-                        sanitizeDocName(documentName),
-                        column2Value,
-                        token,
-                        corefAnnotations,
-                        posOverrides);
-                sb.append(line).append("\n");
+                writeTokenLine(sb, docId, column2Value, token, corefAnnotations, posOverrides);
             }
 
             // Blank line between sentences
-            sb.append("\n");
+            sb.append('\n');
         }
 
         // Document footer
@@ -97,6 +88,17 @@ public class Conll2012Exporter {
         return sb.toString();
     }
 
+    /**
+     * Column 2 value of a sentence: its offset sentence number or the
+     * configured part number.
+     */
+    public int column2Value(int sentenceIndex, ExportOptions options, int sentenceOffset) {
+        if (options.getColumn2Mode() == Column2Mode.SENTENCE_NUMBER) {
+            return sentenceIndex + sentenceOffset;
+        }
+        return options.getDefaultPartNumber();
+    }
+
     /**
      * Export multiple documents merged into one CoNLL-2012 file.
      *
@@ -129,9 +131,9 @@ public class Conll2012Exporter {
     }
 
     /**
-     * Format a single token line.
+     * Write a single token line.
      */
-    private String formatTokenLine(String docName, int column2, TokenEntity token,
+    private void writeTokenLine(StringBuilder out, String docName, int column2, TokenEntity token,
             Map<String, String> corefAnnotations,
             Map<UUID, String> posOverrides) {
         // Get coreference annotation for this token
@@ -147,26 +149,24 @@ public class Conll2012Exporter {
             pos = emptyToPlaceholder(token.getPos());
         }
 
-        // Build 12-column line
-        // Columns: DocID, Part/Sent, WordNum, Word, POS, Parse, Lemma, Frame, Sense,
-        // Speaker, NER, Coref
-        return String.join("\t",
-                docName, // 1. Document ID
-                String.valueOf(column2), // 2. Part/Sentence number
-                String.valueOf(token.getTokenIndex()), // 3. Word number (0-based in sentence)
-                token.getForm(), // 4. Word
-                pos, // 5. POS tag
-                NER_PLACEHOLDER, // 6. Parse bit
-                emptyToPlaceholder(token.getLemma()), // 7. Predicate lemma
-                PLACEHOLDER, // 8. Predicate frameset
-                PLACEHOLDER, // 9. Word sense
-                PLACEHOLDER, // 10. Speaker
-                emptyToPlaceholder(token.getNerTag()), // 11. Named entity
-                coref // 12. Coreference
-        );
+        // 12 tab-separated columns: DocID, Part/Sent, WordNum, Word, POS, Parse,
+        // Lemma, Frame, Sense, Speaker, NER, Coref
+        out.append(docName).append('\t') // 1. Document ID
+                .append(column2).append('\t') // 2. Part/Sentence number
+                .append(token.getTokenIndex()).append('\t') // 3. Word number (0-based in sentence)
+                .append(token.getForm()).append('\t') // 4. Word
+                .append(pos).append('\t') // 5. POS tag
+                .append(NER_PLACEHOLDER).append('\t') // 6. Parse bit
+                .append(emptyToPlaceholder(token.getLemma())).append('\t') // 7. Predicate lemma
+                .append(PLACEHOLDER).append('\t') // 8. Predicate frameset
+                .append(PLACEHOLDER).append('\t') // 9. Word sense
+                .append(PLACEHOLDER).append('\t') // 10. Speaker
+                .append(emptyToPlaceholder(token.getNerTag())).append('\t') // 11. Named entity
+                .append(coref) // 12. Coreference
+                .append('\n');
     }
 
-    private String sanitizeDocName(String name) {
+    static String sanitizeDocName(String name) {
         if (name == null) {
             return "document";
         }
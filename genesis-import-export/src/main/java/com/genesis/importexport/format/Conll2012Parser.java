@@ -5,12 +5,22 @@ import com.genesis.importexport.entity.SentenceEntity;
 import com.genesis.importexport.entity.TokenEntity;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -20,11 +30,65 @@ import java.util.regex.Pattern;
  * <p>
  * Parses CoNLL-2012 formatted text into Token and Sentence entities.
  * Handles coreference annotations in the last column.
+ *
+ * <p>
+ * {@link #parse(Reader, UUID, SentenceConsumer)} streams: each sentence is
+ * handed to the consumer as soon as it is complete, so memory is bounded by the
+ * sentence (not the file) for single-part files. Columns are located by a
+ * hand-rolled scan of the line; integers and coref annotations are parsed in
+ * place, and repeated POS/NER tags share one {@code String}.
+ *
+ * <p>
+ * Files with several {@code #begin document ... part N} sections are decoded
+ * in parallel when the parser is given an executor: the first part is decoded
+ * on the reading thread while later parts are buffered one part at a time and
+ * decoded on the executor, at most {@code 2 * parallelism} parts in flight.
+ * Results are rebased (sentence index, global token index, offsets) and handed
+ * to the consumer in file order on the calling thread, so consumers need not be
+ * thread-safe and may use the caller's transaction.
+ *
+ * <p>
+ * A {@code #begin document} line always closes the current sentence and any
+ * mentions left open in it.
  */
 public class Conll2012Parser {
 
     private static final Pattern BEGIN_DOCUMENT = Pattern.compile("#begin document \\(([^)]+)\\);?\\s*part\\s+(\\d+)");
-    private static final Pattern END_DOCUMENT = Pattern.compile("#end document");
+    private static final String BEGIN_MARKER = "#begin document";
+    private static final String END_MARKER = "#end document";
+
+    private final ExecutorService partExecutor;
+    private final int parallelism;
+
+    /**
+     * Sequential parser: every part is decoded on the calling thread.
+     */
+    public Conll2012Parser() {
+        this(null, 1);
+    }
+
+    /**
+     * @param partExecutor pool used to decode the second and later document
+     *                     parts; {@code null} decodes everything inline
+     * @param parallelism  number of parts decoded concurrently
+     */
+    public Conll2012Parser(ExecutorService partExecutor, int parallelism) {
+        this.partExecutor = partExecutor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Receives parsed sentences in file order.
+     */
+    @FunctionalInterface
+    public interface SentenceConsumer {
+
+        /**
+         * @param sentence the sentence row
+         * @param tokens   its token rows, in order
+         */
+        void accept(SentenceEntity sentence, List<TokenEntity> tokens);
+    }
 
     /**
      * Result of parsing a CoNLL-2012 file.
@@ -60,6 +124,41 @@ public class Conll2012Parser {
         }
     }
 
+    /**
+     * Summary of a streaming parse. Sentences and tokens went to the consumer;
+     * only the (small) mention spans are kept.
+     */
+    public static class StreamResult {
+        private final String documentId;
+        private final int sentenceCount;
+        private final int tokenCount;
+        private final Map<Integer, List<MentionSpan>> coreferenceChains;
+
+        public StreamResult(String documentId, int sentenceCount, int tokenCount,
+                Map<Integer, List<MentionSpan>> coreferenceChains) {
+            this.documentId = documentId;
+            this.sentenceCount = sentenceCount;
+            this.tokenCount = tokenCount;
+            this.coreferenceChains = coreferenceChains;
+        }
+
+        public String getDocumentId() {
+            return documentId;
+        }
+
+        public int getSentenceCount() {
+            return sentenceCount;
+        }
+
+        public int getTokenCount() {
+            return tokenCount;
+        }
+
+        public Map<Integer, List<MentionSpan>> getCoreferenceChains() {
+            return coreferenceChains;
+        }
+    }
+
     /**
      * Represents a mention span from coreference annotation.
      */
@@ -94,7 +193,7 @@ public class Conll2012Parser {
     }
 
     /**
-     * Parse CoNLL-2012 formatted content.
+     * Parse CoNLL-2012 formatted content into memory.
      *
      * @param content          the CoNLL-2012 file content
      * @param targetDocumentId the UUID to assign to tokens
@@ -103,208 +202,406 @@ public class Conll2012Parser {
     public ParseResult parse(String content, UUID targetDocumentId) throws IOException {
         List<SentenceEntity> sentences = new ArrayList<>();
         List<TokenEntity> tokens = new ArrayList<>();
-        Map<Integer, List<MentionSpan>> coreferenceChains = new HashMap<>();
+        StreamResult result = parse(new StringReader(content), targetDocumentId, (sentence, sentenceTokens) -> {
+            sentences.add(sentence);
+            tokens.addAll(sentenceTokens);
+        });
+        return new ParseResult(result.getDocumentId(), sentences, tokens, result.getCoreferenceChains());
+    }
 
-        // Track open mentions (clusterID -> startTokenIndex in current sentence)
-        Map<Integer, Integer> openMentions = new HashMap<>();
+    /**
+     * Stream-parse UTF-8 CoNLL-2012 content. The stream is not closed.
+     *
+     * @see #parse(Reader, UUID, SentenceConsumer)
+     */
+    public StreamResult parse(InputStream in, UUID targetDocumentId, SentenceConsumer consumer) throws IOException {
+        return parse(new InputStreamReader(in, StandardCharsets.UTF_8), targetDocumentId, consumer);
+    }
 
+    /**
+     * Stream-parse CoNLL-2012 content, handing each sentence to
+     * {@code consumer} (on the calling thread, in file order) as soon as it and
+     * every sentence before it are decoded. The reader is not closed.
+     *
+     * @param source           the CoNLL-2012 content
+     * @param targetDocumentId the UUID to assign to tokens
+     * @param consumer         receives sentences and their tokens
+     * @return counts and the coreference chains
+     */
+    public StreamResult parse(Reader source, UUID targetDocumentId, SentenceConsumer consumer) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader b ? b : new BufferedReader(source);
+        Merger merger = new Merger(consumer);
+        boolean parallel = partExecutor != null && parallelism > 1;
+
+        // The first part is always decoded inline, straight into the consumer.
+        PartDecoder inline = new PartDecoder(targetDocumentId, merger::emitInline);
+        List<String> partLines = null;
+        int partFirstLine = 0;
+        boolean seenBegin = false;
         String documentId = "unknown";
-        int currentSentenceIndex = -1;
-        int globalTokenIndex = 0;
-        int currentCharOffset = 0;
 
-        List<TokenEntity> currentSentenceTokens = new ArrayList<>();
-        StringBuilder currentSentenceText = new StringBuilder();
-
-        int lineNumber = 0;
-        try (BufferedReader reader = new BufferedReader(new StringReader(content))) {
+        try {
             String line;
+            int lineNumber = 0;
             while ((line = reader.readLine()) != null) {
                 lineNumber++;
-                // Skip empty lines (sentence boundary) but process sentence
-                if (line.trim().isEmpty()) {
-                    if (!currentSentenceTokens.isEmpty()) {
-                        // Save current sentence
-                        SentenceEntity sentence = createSentence(
-                                targetDocumentId,
-                                currentSentenceIndex,
-                                currentSentenceText.toString().trim(),
-                                currentSentenceTokens);
-                        sentences.add(sentence);
-                        tokens.addAll(currentSentenceTokens);
-
-                        currentSentenceTokens = new ArrayList<>();
-                        currentSentenceText = new StringBuilder();
-                        openMentions.clear();
+                if (line.contains(BEGIN_MARKER)) {
+                    Matcher beginMatcher = BEGIN_DOCUMENT.matcher(line);
+                    if (beginMatcher.find()) {
+                        documentId = beginMatcher.group(1);
+                        if (!parallel || !seenBegin) {
+                            inline.closeSentence();
+                        } else {
+                            if (inline != null) {
+                                merger.finishInline(inline);
+                                inline = null;
+                            } else {
+                                merger.submit(partLines, partFirstLine, targetDocumentId);
+                            }
+                            partLines = new ArrayList<>();
+                            partFirstLine = lineNumber + 1;
+                        }
+                        seenBegin = true;
+                        continue;
                     }
-                    continue;
-                }
-
-                // Check for document markers
-                Matcher beginMatcher = BEGIN_DOCUMENT.matcher(line);
-                if (beginMatcher.find()) {
-                    documentId = beginMatcher.group(1);
-                    continue;
                 }
-                if (END_DOCUMENT.matcher(line).find()) {
-                    continue;
+                if (inline != null) {
+                    inline.line(line, lineNumber);
+                } else {
+                    partLines.add(line);
                 }
+            }
 
-                // Skip comments
-                if (line.startsWith("#")) {
-                    continue;
-                }
+            if (inline != null) {
+                merger.finishInline(inline);
+            } else {
+                merger.submit(partLines, partFirstLine, targetDocumentId);
+            }
+            merger.drain(0);
+        } catch (RuntimeException | IOException e) {
+            merger.cancel();
+            throw e;
+        }
 
-                // Parse token line
-                String[] columns = line.split("\\s+");
-                if (columns.length < 4) {
-                    continue; // Invalid line
-                }
+        return new StreamResult(documentId, merger.sentenceCount, merger.tokenCount, merger.chains);
+    }
+
+    /**
+     * Hands decoded parts to the consumer in order, rebasing their indices and
+     * offsets onto everything emitted before them.
+     */
+    private final class Merger {
+        private final SentenceConsumer consumer;
+        private final ArrayDeque<Future<PartDecoder>> inFlight = new ArrayDeque<>();
+        private final Map<Integer, List<MentionSpan>> chains = new HashMap<>();
+
+        /** Last sentence index handed out (-1 before the first sentence). */
+        private int lastSentenceIndex = -1;
+        private int tokenCount;
+        private int charOffset;
+        private int sentenceCount;
+
+        private Merger(SentenceConsumer consumer) {
+            this.consumer = consumer;
+        }
 
-                // Extract columns (partOrSentence in column[1] is intentionally not used as we
-                // detect sentence boundaries from tokenIndex == 0)
-                int tokenIndex;
-                try {
-                    Integer.parseInt(columns[1]); // validate format only
-                    tokenIndex = Integer.parseInt(columns[2]);
-                } catch (NumberFormatException nfe) {
-                    throw new ValidationException("Invalid CoNLL line " + lineNumber
-                            + ": expected integer columns 2-3, got '" + columns[1] + "' / '" + columns[2] + "'");
+        private void emitInline(SentenceEntity sentence, List<TokenEntity> tokens) {
+            sentenceCount++;
+            consumer.accept(sentence, tokens);
+        }
+
+        private void finishInline(PartDecoder decoder) {
+            decoder.closeSentence();
+            lastSentenceIndex = decoder.sentenceIndex;
+            tokenCount = decoder.globalTokenIndex;
+            charOffset = decoder.charOffset;
+            decoder.chains.forEach((id, spans) -> chains.computeIfAbsent(id, k -> new ArrayList<>()).addAll(spans));
+        }
+
+        private void submit(List<String> lines, int firstLine, UUID targetDocumentId) throws IOException {
+            drain(2 * parallelism - 1);
+            inFlight.add(partExecutor.submit(() -> {
+                List<DecodedSentence> decoded = new ArrayList<>();
+                PartDecoder decoder = new PartDecoder(targetDocumentId,
+                        (sentence, tokens) -> decoded.add(new DecodedSentence(sentence, tokens)));
+                for (int i = 0; i < lines.size(); i++) {
+                    decoder.line(lines.get(i), firstLine + i);
                 }
-                String word = columns[3];
-                String pos = columns.length > 4 ? columns[4] : "-";
-                // CoNLL-2012 column 10 (0-indexed) is "named entities" in nested-parens
-                // form: `*` (no entity), `(LABEL*` (open), `*)` (close), `(LABEL)`
-                // (single-token). We persist the raw string so the export round-trips
-                // exactly; a future genesis-ner listener interprets these into spans.
-                String ner = columns.length > 10 ? columns[10] : null;
-                String coref = columns[columns.length - 1]; // Last column
-
-                // Check if new sentence
-                if (tokenIndex == 0) {
-                    if (!currentSentenceTokens.isEmpty()) {
-                        // Save previous sentence
-                        SentenceEntity sentence = createSentence(
-                                targetDocumentId,
-                                currentSentenceIndex,
-                                currentSentenceText.toString().trim(),
-                                currentSentenceTokens);
-                        sentences.add(sentence);
-                        tokens.addAll(currentSentenceTokens);
-
-                        currentSentenceTokens = new ArrayList<>();
-                        currentSentenceText = new StringBuilder();
-                        openMentions.clear();
+                decoder.closeSentence();
+                decoder.decoded = decoded;
+                return decoder;
+            }));
+        }
+
+        /** Emit completed parts, oldest first, until at most {@code keep} remain in flight. */
+        private void drain(int keep) throws IOException {
+            while (inFlight.size() > keep) {
+                PartDecoder part = await(inFlight.poll());
+                int sentenceBase = lastSentenceIndex + 1;
+                for (DecodedSentence entry : part.decoded) {
+                    SentenceEntity sentence = entry.sentence();
+                    List<TokenEntity> tokens = entry.tokens();
+                    sentence.setSentenceIndex(sentence.getSentenceIndex() + sentenceBase);
+                    sentence.setStartOffset(sentence.getStartOffset() + charOffset);
+                    sentence.setEndOffset(sentence.getEndOffset() + charOffset);
+                    for (TokenEntity token : tokens) {
+                        token.setSentenceIndex(token.getSentenceIndex() + sentenceBase);
+                        token.setGlobalIndex(token.getGlobalIndex() + tokenCount);
+                        token.setStartOffset(token.getStartOffset() + charOffset);
+                        token.setEndOffset(token.getEndOffset() + charOffset);
                     }
-                    currentSentenceIndex++;
+                    sentenceCount++;
+                    consumer.accept(sentence, tokens);
                 }
+                part.chains.forEach((id, spans) -> {
+                    List<MentionSpan> target = chains.computeIfAbsent(id, k -> new ArrayList<>());
+                    for (MentionSpan span : spans) {
+                        target.add(new MentionSpan(span.getSentenceIndex() + sentenceBase,
+                                span.getStartTokenIndex(), span.getEndTokenIndex(), span.getClusterId()));
+                    }
+                });
+                lastSentenceIndex += part.sentenceIndex + 1;
+                tokenCount += part.globalTokenIndex;
+                charOffset += part.charOffset;
+            }
+        }
 
-                // Create token
-                TokenEntity token = new TokenEntity();
-                token.setDocumentId(targetDocumentId);
-                token.setSentenceIndex(currentSentenceIndex);
-                token.setTokenIndex(tokenIndex);
-                token.setGlobalIndex(globalTokenIndex);
-                token.setForm(word);
-                token.setPos("-".equals(pos) ? null : pos);
-                // Preserve the raw paren-NER column. `*` is the CoNLL placeholder
-                // meaning "no entity / continuation" and is kept verbatim so the
-                // exporter can emit it back unchanged.
-                if (ner != null && !"-".equals(ner)) {
-                    token.setNerTag(ner);
+        private PartDecoder await(Future<PartDecoder> future) throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while decoding CoNLL parts");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
                 }
+                throw new IllegalStateException("CoNLL part decoding failed", e.getCause());
+            }
+        }
 
-                // Calculate offsets in Unicode code points (Assamese / supplementary planes)
-                int wordCodePoints = word.codePointCount(0, word.length());
-                int startOffset = currentCharOffset;
-                int endOffset = currentCharOffset + wordCodePoints;
-                token.setStartOffset(startOffset);
-                token.setEndOffset(endOffset);
+        private void cancel() {
+            inFlight.forEach(future -> future.cancel(true));
+            inFlight.clear();
+        }
+    }
 
-                currentSentenceTokens.add(token);
+    /**
+     * Decodes the lines of one document part (or, sequentially, of a whole
+     * file). Indices and offsets start from zero; the {@link Merger} rebases
+     * parts decoded off-thread.
+     */
+    private static final class PartDecoder {
+        private final UUID targetDocumentId;
+        private final SentenceConsumer sink;
+        private final Map<Integer, List<MentionSpan>> chains = new HashMap<>();
 
-                // Build sentence text
-                if (currentSentenceText.length() > 0) {
-                    currentSentenceText.append(" ");
-                    currentCharOffset++; // Space
-                }
-                currentSentenceText.append(word);
-                currentCharOffset = endOffset;
+        // Track open mentions (clusterID -> startTokenIndex in current sentence)
+        private final Map<Integer, Integer> openMentions = new HashMap<>();
+        private final TagCache tags = new TagCache();
 
-                // Parse coreference
-                if (!"-".equals(coref) && !"*".equals(coref)) {
-                    parseCoreference(coref, currentSentenceIndex, tokenIndex,
-                            openMentions, coreferenceChains);
-                }
+        /** Column boundaries of the current line: start/end pairs. */
+        private int[] columns = new int[32];
 
-                globalTokenIndex++;
-            }
-        }
+        private int sentenceIndex = -1;
+        private int globalTokenIndex;
+        private int charOffset;
+        private List<TokenEntity> sentenceTokens = new ArrayList<>();
+        private final StringBuilder sentenceText = new StringBuilder();
 
-        // Save last sentence
-        if (!currentSentenceTokens.isEmpty()) {
-            SentenceEntity sentence = createSentence(
-                    targetDocumentId,
-                    currentSentenceIndex,
-                    currentSentenceText.toString().trim(),
-                    currentSentenceTokens);
-            sentences.add(sentence);
-            tokens.addAll(currentSentenceTokens);
+        /** Set on off-thread decoders: the buffered sentences, awaiting rebase. */
+        private List<DecodedSentence> decoded;
+
+        private PartDecoder(UUID targetDocumentId, SentenceConsumer sink) {
+            this.targetDocumentId = targetDocumentId;
+            this.sink = sink;
         }
 
-        return new ParseResult(documentId, sentences, tokens, coreferenceChains);
-    }
+        private void line(String line, int lineNumber) {
+            // Skip empty lines (sentence boundary) but process sentence
+            if (isBlank(line)) {
+                closeSentence();
+                return;
+            }
+            if (line.contains(END_MARKER)) {
+                return;
+            }
+
+            // Skip comments
+            if (line.startsWith("#")) {
+                return;
+            }
 
-    private SentenceEntity createSentence(UUID documentId, int sentenceIndex,
-            String text, List<TokenEntity> tokens) {
-        SentenceEntity sentence = new SentenceEntity();
-        sentence.setDocumentId(documentId);
-        sentence.setSentenceIndex(sentenceIndex);
-        sentence.setText(text);
-        sentence.setTokenCount(tokens.size());
+            // Parse token line
+            int columnCount = splitColumns(line);
+            if (columnCount < 4) {
+                return; // Invalid line
+            }
+
+            // Extract columns (partOrSentence in column[1] is intentionally not used as we
+            // detect sentence boundaries from tokenIndex == 0)
+            int tokenIndex;
+            try {
+                Integer.parseInt(line, start(1), end(1), 10); // validate format only
+                tokenIndex = Integer.parseInt(line, start(2), end(2), 10);
+            } catch (NumberFormatException nfe) {
+                throw new ValidationException("Invalid CoNLL line " + lineNumber
+                        + ": expected integer columns 2-3, got '" + column(line, 1) + "' / '"
+                        + column(line, 2) + "'");
+            }
+
+            // Check if new sentence
+            if (tokenIndex == 0) {
+                closeSentence();
+                sentenceIndex++;
+            }
 
-        if (!tokens.isEmpty()) {
+            String word = column(line, 3);
+
+            // Create token
+            TokenEntity token = new TokenEntity();
+            token.setDocumentId(targetDocumentId);
+            token.setSentenceIndex(sentenceIndex);
+            token.setTokenIndex(tokenIndex);
+            token.setGlobalIndex(globalTokenIndex);
+            token.setForm(word);
+            if (columnCount > 4 && !isDash(line, 4)) {
+                token.setPos(tags.get(line, start(4), end(4)));
+            }
+            // CoNLL-2012 column 10 (0-indexed) is "named entities" in nested-parens
+            // form: `*` (no entity), `(LABEL*` (open), `*)` (close), `(LABEL)`
+            // (single-token). The raw string is kept (including `*`) so the export
+            // round-trips exactly; a future genesis-ner listener interprets it.
+            if (columnCount > 10 && !isDash(line, 10)) {
+                token.setNerTag(tags.get(line, start(10), end(10)));
+            }
+
+            // Offsets are in Unicode code points (Assamese / supplementary planes)
+            int startOffset = charOffset;
+            int endOffset = startOffset + Character.codePointCount(line, start(3), end(3));
+            token.setStartOffset(startOffset);
+            token.setEndOffset(endOffset);
+            charOffset = endOffset;
+
+            sentenceTokens.add(token);
+
+            // Build sentence text
+            if (sentenceText.length() > 0) {
+                sentenceText.append(' ');
+            }
+            sentenceText.append(word);
+
+            // Parse coreference (last column)
+            int last = columnCount - 1;
+            int corefStart = start(last);
+            int corefEnd = end(last);
+            if (!isDash(line, last) && !(corefEnd - corefStart == 1 && line.charAt(corefStart) == '*')) {
+                parseCoreference(line, corefStart, corefEnd, tokenIndex);
+            }
+
+            globalTokenIndex++;
+        }
+
+        /** Emit the sentence in progress, if any. */
+        private void closeSentence() {
+            if (sentenceTokens.isEmpty()) {
+                return;
+            }
+            List<TokenEntity> tokens = sentenceTokens;
+            SentenceEntity sentence = new SentenceEntity();
+            sentence.setDocumentId(targetDocumentId);
+            sentence.setSentenceIndex(sentenceIndex);
+            sentence.setText(sentenceText.toString().trim());
+            sentence.setTokenCount(tokens.size());
             sentence.setStartOffset(tokens.get(0).getStartOffset());
             sentence.setEndOffset(tokens.get(tokens.size() - 1).getEndOffset());
-        } else {
-            sentence.setStartOffset(0);
-            sentence.setEndOffset(0);
+
+            sentenceTokens = new ArrayList<>();
+            sentenceText.setLength(0);
+            openMentions.clear();
+            sink.accept(sentence, tokens);
         }
 
-        return sentence;
-    }
+        /**
+         * Record column boundaries the way {@code line.split("\\s+")} would: a
+         * leading separator yields an empty first column, trailing ones nothing.
+         *
+         * @return number of columns
+         */
+        private int splitColumns(String line) {
+            int count = 0;
+            int length = line.length();
+            int i = 0;
+            if (length > 0 && isSeparator(line.charAt(0))) {
+                count = addColumn(count, 0, 0);
+                while (i < length && isSeparator(line.charAt(i))) {
+                    i++;
+                }
+            }
+            while (i < length) {
+                int columnStart = i;
+                while (i < length && !isSeparator(line.charAt(i))) {
+                    i++;
+                }
+                count = addColumn(count, columnStart, i);
+                while (i < length && isSeparator(line.charAt(i))) {
+                    i++;
+                }
+            }
+            return count;
+        }
 
-    /**
-     * Parse coreference annotation from the last column.
-     * Formats: (N), (N, N), (N|M), etc.
-     */
-    private void parseCoreference(String coref, int sentenceIndex, int tokenIndex,
-            Map<Integer, Integer> openMentions,
-            Map<Integer, List<MentionSpan>> chains) {
-        // Split by pipe for multiple annotations
-        String[] annotations = coref.split("\\|");
-
-        for (String annotation : annotations) {
-            annotation = annotation.trim();
-            if (annotation.isEmpty() || "-".equals(annotation)) {
-                continue;
+        private int addColumn(int count, int columnStart, int columnEnd) {
+            if (2 * count + 2 > columns.length) {
+                columns = Arrays.copyOf(columns, columns.length * 2);
             }
+            columns[2 * count] = columnStart;
+            columns[2 * count + 1] = columnEnd;
+            return count + 1;
+        }
 
-            // Check for opening bracket (start of mention)
-            if (annotation.startsWith("(")) {
-                String numPart = annotation.substring(1);
-                boolean closes = numPart.endsWith(")");
-                if (closes) {
-                    numPart = numPart.substring(0, numPart.length() - 1);
-                }
+        private int start(int column) {
+            return columns[2 * column];
+        }
 
-                int clusterId;
-                try {
-                    clusterId = Integer.parseInt(numPart);
-                } catch (NumberFormatException nfe) {
-                    throw new ValidationException("Invalid coref annotation '" + annotation
-                            + "': cluster id must be an integer");
+        private int end(int column) {
+            return columns[2 * column + 1];
+        }
+
+        private String column(String line, int column) {
+            return line.substring(start(column), end(column));
+        }
+
+        private boolean isDash(String line, int column) {
+            return end(column) - start(column) == 1 && line.charAt(start(column)) == '-';
+        }
+
+        /**
+         * Parse a coreference annotation in {@code line[from, to)}.
+         * Formats: (N), (N, N), (N|M), etc.
+         */
+        private void parseCoreference(String line, int from, int to, int tokenIndex) {
+            int annotationStart = from;
+            while (annotationStart <= to) {
+                // Split by pipe for multiple annotations
+                int annotationEnd = line.indexOf('|', annotationStart);
+                if (annotationEnd < 0 || annotationEnd > to) {
+                    annotationEnd = to;
                 }
+                parseAnnotation(line, annotationStart, annotationEnd, tokenIndex);
+                annotationStart = annotationEnd + 1;
+            }
+        }
+
+        private void parseAnnotation(String line, int s, int e, int tokenIndex) {
+            if (s == e || (e - s == 1 && line.charAt(s) == '-')) {
+                return;
+            }
+
+            // Check for opening bracket (start of mention)
+            if (line.charAt(s) == '(') {
+                boolean closes = e - s > 1 && line.charAt(e - 1) == ')';
+                int clusterId = parseClusterId(line, s + 1, closes ? e - 1 : e, s, e);
 
                 if (closes) {
                     // Single-token mention (N)
@@ -316,15 +613,8 @@ public class Conll2012Parser {
                 }
             }
             // Check for closing bracket (end of mention)
-            else if (annotation.endsWith(")")) {
-                String numPart = annotation.substring(0, annotation.length() - 1);
-                int clusterId;
-                try {
-                    clusterId = Integer.parseInt(numPart);
-                } catch (NumberFormatException nfe) {
-                    throw new ValidationException("Invalid coref annotation '" + annotation
-                            + "': cluster id must be an integer");
-                }
+            else if (line.charAt(e - 1) == ')') {
+                int clusterId = parseClusterId(line, s, e - 1, s, e);
 
                 Integer startIndex = openMentions.remove(clusterId);
                 if (startIndex != null) {
@@ -333,5 +623,57 @@ public class Conll2012Parser {
                 }
             }
         }
+
+        private static int parseClusterId(String line, int from, int to, int annotationStart, int annotationEnd) {
+            try {
+                return Integer.parseInt(line, from, to, 10);
+            } catch (NumberFormatException nfe) {
+                throw new ValidationException("Invalid coref annotation '"
+                        + line.substring(annotationStart, annotationEnd) + "': cluster id must be an integer");
+            }
+        }
+    }
+
+    private record DecodedSentence(SentenceEntity sentence, List<TokenEntity> tokens) {
+    }
+
+    /**
+     * Interns short tag strings (POS, NER) straight from a line region so the
+     * handful of distinct tags in a file are allocated once, not per token.
+     */
+    private static final class TagCache {
+        private static final int SIZE = 256;
+        private final String[] slots = new String[SIZE];
+
+        private String get(String line, int from, int to) {
+            int hash = 0;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + line.charAt(i);
+            }
+            int slot = (hash ^ (hash >>> 16)) & (SIZE - 1);
+            String cached = slots[slot];
+            int length = to - from;
+            if (cached != null && cached.length() == length && line.regionMatches(from, cached, 0, length)) {
+                return cached;
+            }
+            String tag = line.substring(from, to);
+            slots[slot] = tag;
+            return tag;
+        }
+    }
+
+    /** Equivalent of {@code line.trim().isEmpty()} without the copy. */
+    private static boolean isBlank(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The characters {@code \s} matches in {@code split("\\s+")}. */
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 }
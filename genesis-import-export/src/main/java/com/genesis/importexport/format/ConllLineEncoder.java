@@ -0,0 +1,257 @@
+package com.genesis.importexport.format;
+
+import com.genesis.importexport.entity.TokenEntity;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes CoNLL-2012 documents as UTF-8 straight into a reusable byte buffer,
+ * producing the same bytes as {@link Conll2012Exporter}.
+ *
+ * <p>
+ * Where {@link Conll2012Exporter#export} builds a {@code String} and looks up
+ * coref by a {@code "sent-token"} string key per token, this encodes column 1
+ * once per document, appends integers as digits without boxing or
+ * {@code String.valueOf}, and resolves the coref column by primitive key
+ * through {@link CorefAnnotations}, writing its fragments without building
+ * the column string. Steady-state encoding allocates nothing per
+ * token.
+ *
+ * <p>
+ * Not thread-safe. The buffer is written to the underlying stream when full
+ * and on {@link #flush()}; the stream is never closed.
+ */
+public final class ConllLineEncoder implements ExportDocumentWriter {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    /** Longest UTF-8 encoding of one {@code char} (or of a surrogate pair). */
+    private static final int MAX_CHAR_BYTES = 4;
+    /** Digits of {@link Integer#MIN_VALUE} plus its sign. */
+    private static final int MAX_INT_BYTES = 11;
+
+    private static final byte[] BEGIN_DOCUMENT = ascii("#begin document (");
+    private static final byte[] PART_000 = ascii("); part 000\n");
+    private static final byte[] END_DOCUMENT = ascii("#end document\n");
+    private static final byte[] PLACEHOLDER = ascii("-");
+    private static final byte[] NER_PLACEHOLDER = ascii("*");
+    private static final byte[] FRAME_SENSE_SPEAKER = ascii("-\t-\t-\t");
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+    private byte[] docId = PLACEHOLDER;
+
+    public ConllLineEncoder(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ConllLineEncoder(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, 64)];
+    }
+
+    /**
+     * Write the {@code #begin document} header and remember the sanitized
+     * document name for column 1 of every following token line.
+     */
+    @Override
+    public void beginDocument(String documentName) throws IOException {
+        docId = Conll2012Exporter.sanitizeDocName(documentName).getBytes(StandardCharsets.UTF_8);
+        writeBytes(BEGIN_DOCUMENT);
+        writeBytes(docId);
+        writeBytes(PART_000);
+    }
+
+    /**
+     * Write one sentence's token lines followed by a blank line. Writes
+     * nothing for a sentence without tokens.
+     *
+     * @param column2Value column 2 value, see {@link Conll2012Exporter#column2Value}
+     * @param coref        coref column of the document
+     * @param posOverrides per-token POS overrides, may be {@code null}
+     */
+    @Override
+    public void sentence(int column2Value, List<TokenEntity> tokens, CorefAnnotations coref,
+            Map<UUID, String> posOverrides) throws IOException {
+        if (tokens == null || tokens.isEmpty()) {
+            return;
+        }
+        for (TokenEntity token : tokens) {
+            token(column2Value, token, coref, posOverrides);
+        }
+        // Blank line between sentences
+        writeByte('\n');
+    }
+
+    /**
+     * Write the {@code #end document} footer.
+     */
+    @Override
+    public void endDocument() throws IOException {
+        writeBytes(END_DOCUMENT);
+    }
+
+    /**
+     * Write buffered bytes to the underlying stream and flush it.
+     */
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    private void token(int column2, TokenEntity token, CorefAnnotations coref,
+            Map<UUID, String> posOverrides) throws IOException {
+        String pos;
+        if (posOverrides != null && posOverrides.containsKey(token.getId())) {
+            pos = posOverrides.get(token.getId());
+        } else {
+            pos = token.getPos();
+        }
+        writeBytes(docId); // 1. Document ID
+        writeByte('\t');
+        writeInt(column2); // 2. Part/Sentence number
+        writeByte('\t');
+        writeInt(token.getTokenIndex()); // 3. Word number (0-based in sentence)
+        writeByte('\t');
+        writeString(String.valueOf(token.getForm())); // 4. Word
+        writeByte('\t');
+        writeOrPlaceholder(pos); // 5. POS tag
+        writeByte('\t');
+        writeBytes(NER_PLACEHOLDER); // 6. Parse bit
+        writeByte('\t');
+        writeOrPlaceholder(token.getLemma()); // 7. Predicate lemma
+        writeByte('\t');
+        writeBytes(FRAME_SENSE_SPEAKER); // 8-10. Frameset, word sense, speaker
+        writeOrPlaceholder(token.getNerTag()); // 11. Named entity
+        writeByte('\t');
+        writeCoref(coref, token.getSentenceIndex(), token.getTokenIndex()); // 12. Coreference
+        writeByte('\n');
+    }
+
+    private void writeCoref(CorefAnnotations coref, int sentenceIndex, int tokenIndex) throws IOException {
+        int first = coref.firstFragment(sentenceIndex, tokenIndex);
+        if (first < 0) {
+            writeBytes(PLACEHOLDER);
+            return;
+        }
+        for (int i = first; coref.sameToken(first, i); i++) {
+            if (i > first) {
+                writeByte('|');
+            }
+            byte kind = coref.kindAt(i);
+            if (kind != CorefAnnotations.CLOSE) {
+                writeByte('(');
+            }
+            writeInt(coref.clusterAt(i));
+            if (kind != CorefAnnotations.OPEN) {
+                writeByte(')');
+            }
+        }
+    }
+
+    private void writeOrPlaceholder(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            writeBytes(PLACEHOLDER);
+        } else {
+            writeString(value);
+        }
+    }
+
+    private void writeByte(char c) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (byte) c;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            drain();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeInt(int value) throws IOException {
+        if (buffer.length - position < MAX_INT_BYTES) {
+            drain();
+        }
+        if (value == Integer.MIN_VALUE) {
+            writeString(Integer.toString(value));
+            return;
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int end = position + digits(value);
+        int i = end;
+        do {
+            buffer[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        position = end;
+    }
+
+    private static int digits(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * UTF-8 encode {@code s} into the buffer. Unpaired surrogates become
+     * {@code '?'}, as {@link String#getBytes} does.
+     */
+    private void writeString(String s) throws IOException {
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.length - position < MAX_CHAR_BYTES) {
+                drain();
+            }
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buffer[position++] = (byte) (0xF0 | (cp >> 18));
+                    buffer[position++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    buffer[position++] = '?';
+                }
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,256 @@
+package com.genesis.importexport.format;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The CoNLL-2012 coreference column of one document, stored as primitive
+ * arrays instead of {@code "sentenceIndex-tokenIndex" -> "(3|4)"} strings.
+ *
+ * <p>
+ * Each {@code (N}, {@code N)} or {@code (N)} fragment is one entry of three
+ * parallel arrays: a packed {@code (sentenceIndex, tokenIndex)} key, the
+ * cluster number and the fragment kind. Entries are kept in insertion order
+ * per token, which is the order they are joined with {@code |} in the column.
+ * Lookups search the sorted keys; the arrays are sorted lazily after the last
+ * {@code add}.
+ *
+ * <p>
+ * Not thread-safe: lookups move a cursor, and the first lookup after an
+ * out-of-order {@code add} sorts in place. An empty instance is never written
+ * to and may be shared.
+ */
+public final class CorefAnnotations {
+
+    /** {@code (N} — the mention starts at this token. */
+    public static final byte OPEN = 1;
+    /** {@code N)} — the mention ends at this token. */
+    public static final byte CLOSE = 2;
+    /** {@code (N)} — single-token mention. */
+    public static final byte SINGLE = 3;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] clusters;
+    private byte[] kinds;
+    private int size;
+    private boolean sorted = true;
+    /** Lower bound of the previous lookup. */
+    private int cursor;
+
+    public CorefAnnotations() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public CorefAnnotations(int expectedFragments) {
+        int capacity = Math.max(1, expectedFragments);
+        this.keys = new long[capacity];
+        this.clusters = new int[capacity];
+        this.kinds = new byte[capacity];
+    }
+
+    /**
+     * Parse the legacy {@code "sentenceIndex-tokenIndex" -> "(1|2)"} form.
+     * Malformed keys and fragments are ignored. Exports build annotations with
+     * {@link #addMention}; this only feeds the string-based exporter's inputs
+     * to the encoders when comparing their output.
+     */
+    static CorefAnnotations fromStrings(Map<String, String> annotations) {
+        CorefAnnotations result = new CorefAnnotations(annotations == null ? 0 : annotations.size());
+        if (annotations == null) {
+            return result;
+        }
+        for (Map.Entry<String, String> entry : annotations.entrySet()) {
+            String key = entry.getKey();
+            int dash = key.indexOf('-', 1);
+            if (dash < 0 || entry.getValue() == null) {
+                continue;
+            }
+            int sentenceIndex;
+            int tokenIndex;
+            try {
+                sentenceIndex = Integer.parseInt(key, 0, dash, 10);
+                tokenIndex = Integer.parseInt(key, dash + 1, key.length(), 10);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            for (String fragment : entry.getValue().split("\\|")) {
+                result.addFragment(sentenceIndex, tokenIndex, fragment);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Record a mention of {@code clusterNumber} spanning
+     * {@code [startTokenIndex, endTokenIndex]} in one sentence.
+     */
+    public void addMention(int sentenceIndex, int startTokenIndex, int endTokenIndex, int clusterNumber) {
+        if (startTokenIndex == endTokenIndex) {
+            add(sentenceIndex, startTokenIndex, SINGLE, clusterNumber);
+        } else {
+            add(sentenceIndex, startTokenIndex, OPEN, clusterNumber);
+            add(sentenceIndex, endTokenIndex, CLOSE, clusterNumber);
+        }
+    }
+
+    public void add(int sentenceIndex, int tokenIndex, byte kind, int clusterNumber) {
+        if (kind != OPEN && kind != CLOSE && kind != SINGLE) {
+            throw new IllegalArgumentException("Unknown coref fragment kind: " + kind);
+        }
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            clusters = Arrays.copyOf(clusters, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+        }
+        long key = pack(sentenceIndex, tokenIndex);
+        if (size > 0 && key < keys[size - 1]) {
+            sorted = false;
+        }
+        keys[size] = key;
+        clusters[size] = clusterNumber;
+        kinds[size] = kind;
+        size++;
+    }
+
+    /** Number of fragments. */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Index of the first fragment on a token, or {@code -1} when it has none.
+     * Fragments of the same token follow it consecutively; see
+     * {@link #sameToken(int, int)}.
+     *
+     * <p>
+     * Lookups in ascending token order, as the exporter makes them, gallop
+     * forward from the previous lookup instead of searching all fragments.
+     */
+    public int firstFragment(int sentenceIndex, int tokenIndex) {
+        if (size == 0) {
+            return -1;
+        }
+        ensureSorted();
+        long key = pack(sentenceIndex, tokenIndex);
+        if (cursor > 0 && keys[cursor - 1] >= key) {
+            // Went backwards: everything from the cursor on is too large
+            cursor = lowerBound(key, 0, cursor);
+        } else {
+            // Everything before the cursor is smaller; gallop forward
+            int low = cursor;
+            int step = 1;
+            while (low + step < size && keys[low + step - 1] < key) {
+                low += step;
+                step <<= 1;
+            }
+            cursor = lowerBound(key, low, Math.min(low + step, size));
+        }
+        return cursor < size && keys[cursor] == key ? cursor : -1;
+    }
+
+    /** Whether fragment {@code other} is on the same token as {@code fragment}. */
+    public boolean sameToken(int fragment, int other) {
+        return other < size && keys[other] == keys[fragment];
+    }
+
+    public byte kindAt(int fragment) {
+        return kinds[fragment];
+    }
+
+    public int clusterAt(int fragment) {
+        return clusters[fragment];
+    }
+
+    /**
+     * The column value of a token, e.g. {@code "(3|4)"}, or {@code null} when
+     * it has none. Allocates; the export path reads fragments instead.
+     */
+    public String get(int sentenceIndex, int tokenIndex) {
+        int i = firstFragment(sentenceIndex, tokenIndex);
+        if (i < 0) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int j = i; sameToken(i, j); j++) {
+            if (j > i) {
+                sb.append('|');
+            }
+            if (kinds[j] != CLOSE) {
+                sb.append('(');
+            }
+            sb.append(clusters[j]);
+            if (kinds[j] != OPEN) {
+                sb.append(')');
+            }
+        }
+        return sb.toString();
+    }
+
+    private int lowerBound(long key, int low, int high) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static long pack(int sentenceIndex, int tokenIndex) {
+        return ((long) sentenceIndex << 32) | (tokenIndex & 0xFFFFFFFFL);
+    }
+
+    private void addFragment(int sentenceIndex, int tokenIndex, String fragment) {
+        boolean open = fragment.startsWith("(");
+        boolean close = fragment.endsWith(")");
+        int from = open ? 1 : 0;
+        int to = close ? fragment.length() - 1 : fragment.length();
+        if ((!open && !close) || from >= to) {
+            return;
+        }
+        try {
+            int cluster = Integer.parseInt(fragment, from, to, 10);
+            add(sentenceIndex, tokenIndex, open && close ? SINGLE : open ? OPEN : CLOSE, cluster);
+        } catch (NumberFormatException e) {
+            // ignored, like a malformed key
+        }
+    }
+
+    /**
+     * Stable sort by key (insertion order within a token is the column
+     * order). Mentions are mostly added in document order, so this is usually
+     * a no-op.
+     */
+    private void ensureSorted() {
+        if (sorted) {
+            return;
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        long[] k = keys;
+        Arrays.sort(order, (a, b) -> Long.compare(k[a], k[b]));
+        long[] sortedKeys = new long[size];
+        int[] sortedClusters = new int[size];
+        byte[] sortedKinds = new byte[size];
+        for (int i = 0; i < size; i++) {
+            sortedKeys[i] = keys[order[i]];
+            sortedClusters[i] = clusters[order[i]];
+            sortedKinds[i] = kinds[order[i]];
+        }
+        keys = sortedKeys;
+        clusters = sortedClusters;
+        kinds = sortedKinds;
+        sorted = true;
+    }
+}
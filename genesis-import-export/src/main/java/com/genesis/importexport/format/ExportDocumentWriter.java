@@ -0,0 +1,36 @@
+package com.genesis.importexport.format;
+
+import com.genesis.importexport.entity.TokenEntity;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Receives a workspace export one document and one sentence at a time, as
+ * {@code ExportService} pages tokens out of the database. Implemented by the
+ * CoNLL text encoder and the columnar binary writer.
+ */
+public interface ExportDocumentWriter {
+
+    /**
+     * Start a document; its tokens follow until {@link #endDocument()}.
+     */
+    void beginDocument(String documentName) throws IOException;
+
+    /**
+     * Write one sentence's tokens. Does nothing for a sentence without
+     * tokens.
+     *
+     * @param column2Value column 2 value, see {@link Conll2012Exporter#column2Value}
+     * @param coref        coref column of the document
+     * @param posOverrides per-token POS overrides, may be {@code null}
+     */
+    void sentence(int column2Value, List<TokenEntity> tokens, CorefAnnotations coref,
+            Map<UUID, String> posOverrides) throws IOException;
+
+    /**
+     * Finish the current document.
+     */
+    void endDocument() throws IOException;
+}
@@ -0,0 +1,134 @@
+package com.genesis.importexport.format;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Read-only token-id to count map for exports, e.g. one document's distinct
+ * annotators per token. Keys are sorted {@code long} pairs next to an
+ * {@code int[]} of counts; lookups binary search. Counts are small, so
+ * {@link #get} returns cached {@link Long} instances.
+ *
+ * <p>
+ * Immutable once built, and safe to read from several threads.
+ */
+public final class TokenCountMap extends AbstractMap<UUID, Long> {
+
+    private static final TokenCountMap EMPTY = new TokenCountMap(new long[0], new long[0], new int[0]);
+
+    private final long[] msb;
+    private final long[] lsb;
+    private final int[] counts;
+
+    private TokenCountMap(long[] msb, long[] lsb, int[] counts) {
+        this.msb = msb;
+        this.lsb = lsb;
+        this.counts = counts;
+    }
+
+    public static TokenCountMap empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public int size() {
+        return msb.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return TokenKeys.indexOf(msb, lsb, key) >= 0;
+    }
+
+    @Override
+    public Long get(Object key) {
+        int i = TokenKeys.indexOf(msb, lsb, key);
+        return i < 0 ? null : Long.valueOf(counts[i]);
+    }
+
+    @Override
+    public Set<Map.Entry<UUID, Long>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return msb.length;
+            }
+
+            @Override
+            public Iterator<Map.Entry<UUID, Long>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < msb.length;
+                    }
+
+                    @Override
+                    public Map.Entry<UUID, Long> next() {
+                        if (next >= msb.length) {
+                            throw new NoSuchElementException();
+                        }
+                        int i = next++;
+                        return new SimpleImmutableEntry<>(new UUID(msb[i], lsb[i]), Long.valueOf(counts[i]));
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Collects entries in any order; keys must be distinct. Not thread-safe.
+     */
+    public static final class Builder {
+
+        private long[] msb = new long[16];
+        private long[] lsb = new long[16];
+        private int[] counts = new int[16];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder put(UUID tokenId, int count) {
+            if (size == msb.length) {
+                int capacity = size * 2;
+                msb = Arrays.copyOf(msb, capacity);
+                lsb = Arrays.copyOf(lsb, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            msb[size] = tokenId.getMostSignificantBits();
+            lsb[size] = tokenId.getLeastSignificantBits();
+            counts[size] = count;
+            size++;
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public TokenCountMap build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            int[] order = TokenKeys.sortOrder(msb, lsb, size);
+            int[] sortedCounts = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedCounts[i] = counts[order == null ? i : order[i]];
+            }
+            return new TokenCountMap(TokenKeys.permute(msb, order, size), TokenKeys.permute(lsb, order, size),
+                    sortedCounts);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.genesis.importexport.format;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Sorted token-id keys of the compact token maps, stored as two
+ * {@code long[]} halves instead of {@link UUID} objects. Keys are ordered
+ * unsigned, most significant half first, which is how PostgreSQL and H2 order
+ * {@code uuid} columns: rows read in key order need no sort.
+ */
+final class TokenKeys {
+
+    private TokenKeys() {
+    }
+
+    static int compare(long msbA, long lsbA, long msbB, long lsbB) {
+        int c = Long.compareUnsigned(msbA, msbB);
+        return c != 0 ? c : Long.compareUnsigned(lsbA, lsbB);
+    }
+
+    /**
+     * Slot order that sorts the first {@code size} keys, or {@code null} when
+     * they are already sorted.
+     */
+    static int[] sortOrder(long[] msb, long[] lsb, int size) {
+        boolean sorted = true;
+        for (int i = 1; i < size && sorted; i++) {
+            sorted = compare(msb[i - 1], lsb[i - 1], msb[i], lsb[i]) <= 0;
+        }
+        if (sorted) {
+            return null;
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compare(msb[a], lsb[a], msb[b], lsb[b]));
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    /** Copy the first {@code size} entries of {@code values} in {@code order}. */
+    static long[] permute(long[] values, int[] order, int size) {
+        if (order == null) {
+            return Arrays.copyOf(values, size);
+        }
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    /** Slot of {@code key} in sorted keys, or {@code -1}. */
+    static int indexOf(long[] msb, long[] lsb, Object key) {
+        if (!(key instanceof UUID uuid)) {
+            return -1;
+        }
+        long keyMsb = uuid.getMostSignificantBits();
+        long keyLsb = uuid.getLeastSignificantBits();
+        int low = 0;
+        int high = msb.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = compare(msb[mid], lsb[mid], keyMsb, keyLsb);
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,151 @@
+package com.genesis.importexport.format;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Read-only token-id to POS tag map for exports, e.g. one document's majority
+ * POS. Keys are sorted {@code long} pairs and values index a shared tag
+ * dictionary, so an entry costs 18 bytes instead of a {@code LinkedHashMap}
+ * entry, a {@link UUID} and a boxed reference; lookups binary search.
+ *
+ * <p>
+ * Immutable once built, and safe to read from several threads.
+ */
+public final class TokenPosMap extends AbstractMap<UUID, String> {
+
+    private static final TokenPosMap EMPTY = new TokenPosMap(new long[0], new long[0], new short[0], new String[0]);
+
+    private final long[] msb;
+    private final long[] lsb;
+    private final short[] tags;
+    private final String[] dictionary;
+
+    private TokenPosMap(long[] msb, long[] lsb, short[] tags, String[] dictionary) {
+        this.msb = msb;
+        this.lsb = lsb;
+        this.tags = tags;
+        this.dictionary = dictionary;
+    }
+
+    public static TokenPosMap empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public int size() {
+        return msb.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return TokenKeys.indexOf(msb, lsb, key) >= 0;
+    }
+
+    @Override
+    public String get(Object key) {
+        int i = TokenKeys.indexOf(msb, lsb, key);
+        return i < 0 ? null : dictionary[tags[i]];
+    }
+
+    @Override
+    public Set<Map.Entry<UUID, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return msb.length;
+            }
+
+            @Override
+            public Iterator<Map.Entry<UUID, String>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < msb.length;
+                    }
+
+                    @Override
+                    public Map.Entry<UUID, String> next() {
+                        if (next >= msb.length) {
+                            throw new NoSuchElementException();
+                        }
+                        int i = next++;
+                        return new SimpleImmutableEntry<>(new UUID(msb[i], lsb[i]), dictionary[tags[i]]);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Collects entries in any order; keys must be distinct. Not thread-safe.
+     */
+    public static final class Builder {
+
+        private long[] msb = new long[16];
+        private long[] lsb = new long[16];
+        private short[] tags = new short[16];
+        private int size;
+        private final Map<String, Short> dictionary = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder put(UUID tokenId, String posTag) {
+            if (posTag == null) {
+                throw new IllegalArgumentException("POS tag must not be null");
+            }
+            if (size == msb.length) {
+                int capacity = size * 2;
+                msb = Arrays.copyOf(msb, capacity);
+                lsb = Arrays.copyOf(lsb, capacity);
+                tags = Arrays.copyOf(tags, capacity);
+            }
+            Short tag = dictionary.get(posTag);
+            if (tag == null) {
+                if (dictionary.size() > Short.MAX_VALUE) {
+                    throw new IllegalStateException("More than " + (Short.MAX_VALUE + 1) + " distinct POS tags");
+                }
+                tag = (short) dictionary.size();
+                dictionary.put(posTag, tag);
+            }
+            msb[size] = tokenId.getMostSignificantBits();
+            lsb[size] = tokenId.getLeastSignificantBits();
+            tags[size] = tag;
+            size++;
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public TokenPosMap build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            int[] order = TokenKeys.sortOrder(msb, lsb, size);
+            short[] sortedTags = new short[size];
+            for (int i = 0; i < size; i++) {
+                sortedTags[i] = tags[order == null ? i : order[i]];
+            }
+            String[] names = new String[dictionary.size()];
+            dictionary.forEach((name, index) -> names[index] = name);
+            return new TokenPosMap(TokenKeys.permute(msb, order, size), TokenKeys.permute(lsb, order, size),
+                    sortedTags, names);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.genesis.importexport.port;
+
+import com.genesis.importexport.format.CorefAnnotations;
+import com.genesis.importexport.service.ExportService.DocumentInfo;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Outbound port supplying what a background workspace export reads from other
+ * modules: the document list, coreference columns and POS consensus. Keeps
+ * {@code genesis-import-export} off the workspace, coref and pos modules; the
+ * adapter is wired in {@code genesis-api}, like {@code DocumentQueryPort}.
+ *
+ * <p>Both methods are called without a caller: access is checked when the job
+ * is submitted.
+ */
+public interface WorkspaceExportSource {
+
+    /**
+     * Opaque fingerprint of the workspace data an export reads. Changes
+     * whenever the workspace records activity or any of its documents
+     * changes, is added or removed.
+     *
+     * @param workspaceId the workspace id
+     * @return a version string of at most 64 characters
+     */
+    String dataVersion(UUID workspaceId);
+
+    /**
+     * Gather the inputs of a workspace export.
+     *
+     * @param workspaceId the workspace id
+     * @return documents in export order and their annotations
+     */
+    ExportInput load(UUID workspaceId);
+
+    /**
+     * Inputs of {@code ExportService.streamWorkspace}.
+     */
+    record ExportInput(
+            String workspaceName,
+            List<DocumentInfo> documents,
+            Map<UUID, CorefAnnotations> corefAnnotationsPerDoc,
+            Map<UUID, Map<UUID, String>> posOverridesPerDoc,
+            Map<UUID, Map<UUID, Long>> annotatorCountsPerDoc) {
+    }
+}
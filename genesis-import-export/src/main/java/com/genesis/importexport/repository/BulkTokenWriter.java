@@ -0,0 +1,348 @@
+package com.genesis.importexport.repository;
+
+import com.genesis.importexport.entity.SentenceEntity;
+import com.genesis.importexport.entity.TokenEntity;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Bulk writer for the {@code tokens} and {@code sentences} tables.
+ *
+ * <p>Import writes hundreds of thousands of rows that are never read back in the
+ * same unit of work, so going through {@link TokenRepository#saveAll} (one
+ * Hibernate insert plus dirty-checking per row) is pure overhead. This writer
+ * bypasses the persistence context:
+ * <ul>
+ *   <li>On PostgreSQL it streams rows through {@code COPY ... FROM STDIN} via the
+ *       pgjdbc copy API.</li>
+ *   <li>Elsewhere (H2 in tests), or when {@code copyEnabled} is off, it falls
+ *       back to JDBC batch inserts of {@code batchSize} rows.</li>
+ * </ul>
+ *
+ * <p>Both paths run on the connection bound to the caller's transaction (via
+ * {@link JdbcTemplate}), so a failed import still rolls back together with the
+ * preceding deletes. Rows get their id assigned here; the entities passed in are
+ * updated with it but never become managed. Audit columns are stamped
+ * {@code system}, matching what the auditor resolves to on the background
+ * import thread.
+ *
+ * <p>Registered in {@code ImportExportModuleConfig} from the
+ * {@code genesis.import.*} settings.
+ */
+public class BulkTokenWriter {
+
+    private static final String AUDITOR = "system";
+
+    private static final String TOKEN_COLUMNS = "id, created_at, created_by, updated_at, updated_by, version, "
+            + "document_id, sentence_index, token_index, global_index, form, pos, lemma, ner_tag, "
+            + "start_offset, end_offset";
+
+    private static final String SENTENCE_COLUMNS = "id, created_at, created_by, updated_at, updated_by, version, "
+            + "document_id, sentence_index, text, start_offset, end_offset, token_count, text_hash";
+
+    private static final String COPY_TOKENS = "COPY tokens (" + TOKEN_COLUMNS + ") FROM STDIN (FORMAT csv)";
+    private static final String COPY_SENTENCES = "COPY sentences (" + SENTENCE_COLUMNS + ") FROM STDIN (FORMAT csv)";
+
+    private static final String INSERT_TOKEN = "INSERT INTO tokens (" + TOKEN_COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SENTENCE = "INSERT INTO sentences (" + SENTENCE_COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Copy statements; {@code %s} is the database's random-UUID function. */
+    private static final String CLONE_TOKENS = "INSERT INTO tokens (" + TOKEN_COLUMNS + ") "
+            + "SELECT %s, ?, ?, ?, ?, 0, ?, sentence_index, token_index, global_index, form, pos, lemma, ner_tag, "
+            + "start_offset, end_offset FROM tokens WHERE document_id = ?";
+    private static final String CLONE_SENTENCES = "INSERT INTO sentences (" + SENTENCE_COLUMNS + ") "
+            + "SELECT %s, ?, ?, ?, ?, 0, ?, sentence_index, text, start_offset, end_offset, token_count, text_hash "
+            + "FROM sentences WHERE document_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean copyEnabled;
+    private final int batchSize;
+
+    /**
+     * @param copyEnabled use {@code COPY FROM STDIN} when the database is PostgreSQL
+     * @param batchSize   rows per {@code executeBatch} on the JDBC batch path
+     */
+    public BulkTokenWriter(JdbcTemplate jdbcTemplate, boolean copyEnabled, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.copyEnabled = copyEnabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Insert sentence rows.
+     *
+     * @return number of rows written
+     */
+    public int writeSentences(List<SentenceEntity> sentences) {
+        if (sentences.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        sentences.forEach(s -> assignId(s.getId(), s::setId));
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            if (useCopy(connection)) {
+                copy(connection, COPY_SENTENCES, out -> {
+                    for (SentenceEntity s : sentences) {
+                        auditColumns(out, s.getId(), now);
+                        out.write(s.getDocumentId().toString());
+                        out.write(',');
+                        out.write(Integer.toString(s.getSentenceIndex()));
+                        out.write(',');
+                        csvText(out, s.getText());
+                        out.write(',');
+                        out.write(Integer.toString(s.getStartOffset()));
+                        out.write(',');
+                        out.write(Integer.toString(s.getEndOffset()));
+                        out.write(',');
+                        csvInt(out, s.getTokenCount());
+                        out.write(',');
+                        csvLong(out, s.getTextHash());
+                        out.write('\n');
+                    }
+                });
+            } else {
+                batch(connection, INSERT_SENTENCE, sentences, (ps, s) -> {
+                    int i = auditParameters(ps, s.getId(), now);
+                    ps.setObject(i++, s.getDocumentId());
+                    ps.setInt(i++, s.getSentenceIndex());
+                    ps.setString(i++, s.getText());
+                    ps.setInt(i++, s.getStartOffset());
+                    ps.setInt(i++, s.getEndOffset());
+                    setNullableInt(ps, i++, s.getTokenCount());
+                    setNullableLong(ps, i, s.getTextHash());
+                });
+            }
+            return sentences.size();
+        });
+    }
+
+    /**
+     * Insert token rows.
+     *
+     * @return number of rows written
+     */
+    public int writeTokens(List<TokenEntity> tokens) {
+        if (tokens.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        tokens.forEach(t -> assignId(t.getId(), t::setId));
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            if (useCopy(connection)) {
+                copy(connection, COPY_TOKENS, out -> {
+                    for (TokenEntity t : tokens) {
+                        auditColumns(out, t.getId(), now);
+                        out.write(t.getDocumentId().toString());
+                        out.write(',');
+                        out.write(Integer.toString(t.getSentenceIndex()));
+                        out.write(',');
+                        out.write(Integer.toString(t.getTokenIndex()));
+                        out.write(',');
+                        out.write(Integer.toString(t.getGlobalIndex()));
+                        out.write(',');
+                        csvText(out, t.getForm());
+                        out.write(',');
+                        csvText(out, t.getPos());
+                        out.write(',');
+                        csvText(out, t.getLemma());
+                        out.write(',');
+                        csvText(out, t.getNerTag());
+                        out.write(',');
+                        out.write(Integer.toString(t.getStartOffset()));
+                        out.write(',');
+                        out.write(Integer.toString(t.getEndOffset()));
+                        out.write('\n');
+                    }
+                });
+            } else {
+                batch(connection, INSERT_TOKEN, tokens, (ps, t) -> {
+                    int i = auditParameters(ps, t.getId(), now);
+                    ps.setObject(i++, t.getDocumentId());
+                    ps.setInt(i++, t.getSentenceIndex());
+                    ps.setInt(i++, t.getTokenIndex());
+                    ps.setInt(i++, t.getGlobalIndex());
+                    ps.setString(i++, t.getForm());
+                    ps.setString(i++, t.getPos());
+                    ps.setString(i++, t.getLemma());
+                    ps.setString(i++, t.getNerTag());
+                    ps.setInt(i++, t.getStartOffset());
+                    ps.setInt(i, t.getEndOffset());
+                });
+            }
+            return tokens.size();
+        });
+    }
+
+    /**
+     * Copy every sentence and token row of {@code sourceDocumentId} to
+     * {@code targetDocumentId} with one {@code INSERT ... SELECT} per table, so
+     * the rows never leave the database. The target should have no rows yet.
+     *
+     * @return number of token rows written
+     */
+    public int cloneDocument(UUID sourceDocumentId, UUID targetDocumentId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            String uuid = connection.isWrapperFor(PGConnection.class) ? "gen_random_uuid()" : "RANDOM_UUID()";
+            clone(connection, CLONE_SENTENCES.formatted(uuid), sourceDocumentId, targetDocumentId, now);
+            return clone(connection, CLONE_TOKENS.formatted(uuid), sourceDocumentId, targetDocumentId, now);
+        });
+    }
+
+    private static int clone(Connection connection, String sql, UUID source, UUID target, Timestamp now)
+            throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setTimestamp(1, now);
+            ps.setString(2, AUDITOR);
+            ps.setTimestamp(3, now);
+            ps.setString(4, AUDITOR);
+            ps.setObject(5, target);
+            ps.setObject(6, source);
+            return ps.executeUpdate();
+        }
+    }
+
+    private boolean useCopy(Connection connection) throws SQLException {
+        return copyEnabled && connection.isWrapperFor(PGConnection.class);
+    }
+
+    private void copy(Connection connection, String sql, RowWriter rows) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pgConnection, sql), StandardCharsets.UTF_8), 64 * 1024)) {
+            rows.write(out);
+        } catch (IOException e) {
+            // PGCopyOutputStream wraps server-side COPY errors in IOException.
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> void batch(Connection connection, String sql, List<T> rows, RowBinder<T> binder)
+            throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (T row : rows) {
+                binder.bind(ps, row);
+                ps.addBatch();
+                if (++pending == batchSize) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    private static void assignId(UUID current, Consumer<UUID> setter) {
+        if (current == null) {
+            setter.accept(UUID.randomUUID());
+        }
+    }
+
+    private static void auditColumns(Writer out, UUID id, Instant now) throws IOException {
+        String ts = now.toString();
+        out.write(id.toString());
+        out.write(',');
+        out.write(ts);
+        out.write(',');
+        out.write(AUDITOR);
+        out.write(',');
+        out.write(ts);
+        out.write(',');
+        out.write(AUDITOR);
+        out.write(",0,");
+    }
+
+    private static int auditParameters(PreparedStatement ps, UUID id, Instant now) throws SQLException {
+        Timestamp ts = Timestamp.from(now);
+        ps.setObject(1, id);
+        ps.setTimestamp(2, ts);
+        ps.setString(3, AUDITOR);
+        ps.setTimestamp(4, ts);
+        ps.setString(5, AUDITOR);
+        ps.setLong(6, 0L);
+        return 7;
+    }
+
+    /**
+     * CSV-quote a text value. {@code null} is written as an unquoted empty field,
+     * which COPY's CSV format reads as NULL; an empty string stays quoted.
+     */
+    private static void csvText(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        out.write('"');
+        int from = 0;
+        int quote;
+        while ((quote = value.indexOf('"', from)) >= 0) {
+            out.write(value, from, quote - from + 1);
+            out.write('"');
+            from = quote + 1;
+        }
+        out.write(value, from, value.length() - from);
+        out.write('"');
+    }
+
+    private static void csvInt(Writer out, Integer value) throws IOException {
+        if (value != null) {
+            out.write(Integer.toString(value));
+        }
+    }
+
+    private static void csvLong(Writer out, Long value) throws IOException {
+        if (value != null) {
+            out.write(Long.toString(value));
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Writer out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+}
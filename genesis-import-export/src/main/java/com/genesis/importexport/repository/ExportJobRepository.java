@@ -0,0 +1,47 @@
+package com.genesis.importexport.repository;
+
+import com.genesis.importexport.dto.ExportOptions.Column2Mode;
+import com.genesis.importexport.dto.ExportOptions.ExportFormat;
+import com.genesis.importexport.entity.ExportJobEntity;
+import com.genesis.importexport.entity.ExportJobStatus;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for ExportJobEntity operations.
+ */
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJobEntity, UUID> {
+
+    /**
+     * Jobs of a workspace with exactly these export options, newest first.
+     */
+    @Query("SELECT j FROM ExportJobEntity j WHERE j.workspaceId = :workspaceId "
+            + "AND j.column2Mode = :column2Mode AND j.exportFormat = :exportFormat "
+            + "AND j.continueSentenceNumbers = :continueSentenceNumbers "
+            + "AND j.defaultPartNumber = :defaultPartNumber "
+            + "AND j.status IN :statuses ORDER BY j.createdAt DESC")
+    List<ExportJobEntity> findWithOptions(
+            @Param("workspaceId") UUID workspaceId,
+            @Param("column2Mode") Column2Mode column2Mode,
+            @Param("exportFormat") ExportFormat exportFormat,
+            @Param("continueSentenceNumbers") boolean continueSentenceNumbers,
+            @Param("defaultPartNumber") int defaultPartNumber,
+            @Param("statuses") Collection<ExportJobStatus> statuses);
+
+    /**
+     * Fail every job in one of the given statuses.
+     *
+     * @return number of jobs updated
+     */
+    @Modifying
+    @Query("UPDATE ExportJobEntity j SET j.status = com.genesis.importexport.entity.ExportJobStatus.FAILED, "
+            + "j.errorMessage = :error WHERE j.status IN :statuses")
+    int failAllIn(@Param("statuses") Collection<ExportJobStatus> statuses, @Param("error") String error);
+}
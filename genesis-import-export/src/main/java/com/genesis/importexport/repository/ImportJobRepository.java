@@ -0,0 +1,19 @@
+package com.genesis.importexport.repository;
+
+import com.genesis.importexport.entity.ImportJobEntity;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for ImportJobEntity operations.
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJobEntity, UUID> {
+
+    /**
+     * Find the import job of a document (there is at most one).
+     */
+    Optional<ImportJobEntity> findByDocumentId(UUID documentId);
+}
@@ -54,4 +54,55 @@ public interface SentenceRepository extends JpaRepository<SentenceEntity, UUID>
      * Check if document has sentences.
      */
     boolean existsByDocumentId(UUID documentId);
+
+    /**
+     * What an incremental re-import needs to know about a stored sentence. The
+     * text is only loaded for rows without a hash.
+     */
+    interface SentenceDigest {
+        Integer getSentenceIndex();
+
+        Integer getStartOffset();
+
+        Integer getEndOffset();
+
+        Integer getTokenCount();
+
+        Long getTextHash();
+
+        String getText();
+    }
+
+    /**
+     * Digests of all sentences of a document, ordered by sentence index.
+     */
+    @Query("SELECT s.sentenceIndex AS sentenceIndex, s.startOffset AS startOffset, s.endOffset AS endOffset, "
+            + "s.tokenCount AS tokenCount, s.textHash AS textHash, "
+            + "CASE WHEN s.textHash IS NULL THEN s.text ELSE NULL END AS text "
+            + "FROM SentenceEntity s WHERE s.documentId = :documentId ORDER BY s.sentenceIndex ASC")
+    List<SentenceDigest> findDigestsByDocumentId(@Param("documentId") UUID documentId);
+
+    /**
+     * Delete the sentences with index in [fromSentence, toSentence).
+     */
+    @Modifying
+    @Query("DELETE FROM SentenceEntity s WHERE s.documentId = :documentId "
+            + "AND s.sentenceIndex >= :fromSentence AND s.sentenceIndex < :toSentence")
+    int deleteSentenceRange(@Param("documentId") UUID documentId,
+            @Param("fromSentence") int fromSentence,
+            @Param("toSentence") int toSentence);
+
+    /**
+     * Move the sentences with index in [fromSentence, toSentence) by
+     * {@code sentenceShift} positions and {@code offsetShift} characters.
+     */
+    @Modifying
+    @Query("UPDATE SentenceEntity s SET s.sentenceIndex = s.sentenceIndex + :sentenceShift, "
+            + "s.startOffset = s.startOffset + :offsetShift, s.endOffset = s.endOffset + :offsetShift "
+            + "WHERE s.documentId = :documentId AND s.sentenceIndex >= :fromSentence AND s.sentenceIndex < :toSentence")
+    int shiftSentenceRange(@Param("documentId") UUID documentId,
+            @Param("fromSentence") int fromSentence,
+            @Param("toSentence") int toSentence,
+            @Param("sentenceShift") int sentenceShift,
+            @Param("offsetShift") int offsetShift);
 }
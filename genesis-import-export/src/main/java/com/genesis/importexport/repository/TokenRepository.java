@@ -3,6 +3,7 @@ package com.genesis.importexport.repository;
 import com.genesis.importexport.entity.TokenEntity;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -20,6 +21,13 @@ public interface TokenRepository extends JpaRepository<TokenEntity, UUID> {
      */
     List<TokenEntity> findByDocumentIdOrderByGlobalIndexAsc(UUID documentId);
 
+    /**
+     * Next chunk of a document's tokens after {@code afterGlobalIndex}, for
+     * keyset-paged reads that never load the whole document.
+     */
+    List<TokenEntity> findByDocumentIdAndGlobalIndexGreaterThanOrderByGlobalIndexAsc(
+            UUID documentId, Integer afterGlobalIndex, Pageable pageable);
+
     /**
      * Find all tokens for a document and sentence ordered by token index.
      */
@@ -76,4 +84,22 @@ public interface TokenRepository extends JpaRepository<TokenEntity, UUID> {
      * Check if document has tokens.
      */
     boolean existsByDocumentId(UUID documentId);
+
+    /**
+     * Move the tokens of sentences [fromSentence, toSentence) by
+     * {@code sentenceShift} sentences, {@code globalShift} global positions and
+     * {@code offsetShift} characters. Token ids, and the annotations keyed on
+     * them, are kept.
+     */
+    @Modifying
+    @Query("UPDATE TokenEntity t SET t.sentenceIndex = t.sentenceIndex + :sentenceShift, "
+            + "t.globalIndex = t.globalIndex + :globalShift, "
+            + "t.startOffset = t.startOffset + :offsetShift, t.endOffset = t.endOffset + :offsetShift "
+            + "WHERE t.documentId = :documentId AND t.sentenceIndex >= :fromSentence AND t.sentenceIndex < :toSentence")
+    int shiftSentenceRange(@Param("documentId") UUID documentId,
+            @Param("fromSentence") int fromSentence,
+            @Param("toSentence") int toSentence,
+            @Param("sentenceShift") int sentenceShift,
+            @Param("globalShift") int globalShift,
+            @Param("offsetShift") int offsetShift);
 }
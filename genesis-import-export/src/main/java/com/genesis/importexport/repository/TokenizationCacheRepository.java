@@ -0,0 +1,29 @@
+package com.genesis.importexport.repository;
+
+import com.genesis.importexport.entity.TokenizationCacheEntity;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for TokenizationCacheEntity operations.
+ */
+@Repository
+public interface TokenizationCacheRepository extends JpaRepository<TokenizationCacheEntity, UUID> {
+
+    /**
+     * Find the cache entry for a key (there is at most one).
+     */
+    Optional<TokenizationCacheEntity> findByCacheKey(String cacheKey);
+
+    /**
+     * Drop every entry served by a document, e.g. before its rows are rewritten.
+     */
+    @Modifying
+    @Query("DELETE FROM TokenizationCacheEntity c WHERE c.sourceDocumentId = :documentId")
+    int deleteBySourceDocumentId(@Param("documentId") UUID documentId);
+}
@@ -1,108 +1,222 @@
 package com.genesis.importexport.service;
 
+import com.genesis.infra.async.WorkspaceFairExecutor;
 import com.genesis.infra.storage.FileStorageService;
 import com.genesis.workspace.event.DocumentProcessingFailedEvent;
 import com.genesis.workspace.event.DocumentProcessingStartedEvent;
+import com.genesis.workspace.event.DocumentRequeuedEvent;
 import com.genesis.workspace.event.DocumentTokenizedEvent;
 import com.genesis.workspace.event.DocumentUploadedEvent;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Async processor for document operations. Handles background tokenization of
- * uploaded documents.
+ * uploaded documents on the workspace-fair {@code tokenizationExecutor}, so a
+ * large upload batch in one workspace does not delay the others.
  *
  * <p>Owns no workspace data: it signals progress through events
  * ({@link DocumentProcessingStartedEvent}, {@link DocumentTokenizedEvent},
  * {@link DocumentProcessingFailedEvent}) and {@code genesis-workspace} updates the
  * {@code Document} status from its own listener. This keeps {@code
  * genesis-import-export} off the workspace repository (ARCHITECTURE_AUDIT A-006).
+ *
+ * <p>Documents re-queued by the workspace startup sweep
+ * ({@link DocumentRequeuedEvent}) take the same path; a plain-text import
+ * interrupted by the restart resumes from its {@code import_jobs} checkpoint.
+ *
+ * <p>An upload whose bytes were already tokenized for another document is
+ * filled from the {@link TokenizationCacheService} without reading the file.
  */
 @Service
 public class AsyncDocumentProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(AsyncDocumentProcessor.class);
 
+    private static final String CONLL_SIGNATURE = "#begin document";
+
+    /** Upper bound on characters buffered while sniffing for a CoNLL header. */
+    private static final int SNIFF_LIMIT = 8192;
+
     private final FileStorageService fileStorageService;
     private final ImportService importService;
     private final ApplicationEventPublisher eventPublisher;
+    private final WorkspaceFairExecutor tokenizationExecutor;
+    private final TokenizationCacheService tokenizationCache;
 
     public AsyncDocumentProcessor(
             FileStorageService fileStorageService,
             ImportService importService,
-            ApplicationEventPublisher eventPublisher) {
+            ApplicationEventPublisher eventPublisher,
+            WorkspaceFairExecutor tokenizationExecutor,
+            TokenizationCacheService tokenizationCache) {
         this.fileStorageService = fileStorageService;
         this.importService = importService;
         this.eventPublisher = eventPublisher;
+        this.tokenizationExecutor = tokenizationExecutor;
+        this.tokenizationCache = tokenizationCache;
     }
 
     /**
-     * Handle document uploaded event - triggers async tokenization.
-     * Executes after the upload transaction commits.
+     * Handle document uploaded event - queues tokenization on the uploading
+     * workspace's lane. Executes after the upload transaction commits.
+     *
+     * <p>If the queue is full the document is marked FAILED straight away rather
+     * than left in PENDING with nothing scheduled to process it.
      */
-    @Async
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleDocumentUploaded(DocumentUploadedEvent event) {
-        log.info("Starting async tokenization for document: {}", event.getDocumentId());
+        submit(new TokenizationRequest(event.getDocumentId(), event.getWorkspaceId(),
+                event.getStoredFileUrl(), event.getFileName(), event.getContentHash()));
+    }
+
+    /**
+     * Handle a document re-queued after a restart. A plain-text import that had
+     * committed chunks before the restart resumes from its last checkpoint.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleDocumentRequeued(DocumentRequeuedEvent event) {
+        submit(new TokenizationRequest(event.getDocumentId(), event.getWorkspaceId(),
+                event.getStoredFileUrl(), event.getFileName(), event.getContentHash()));
+    }
+
+    /**
+     * What the tokenization task needs to know about a document.
+     */
+    private record TokenizationRequest(UUID documentId, UUID workspaceId, String storedFileUrl, String fileName,
+            String contentHash) {
+    }
+
+    private void submit(TokenizationRequest request) {
+        try {
+            tokenizationExecutor.submit(request.workspaceId(), () -> tokenize(request));
+        } catch (RejectedExecutionException e) {
+            log.warn("Tokenization of document {} rejected: {}", request.documentId(), e.getMessage());
+            eventPublisher.publishEvent(new DocumentProcessingFailedEvent(
+                    this, request.documentId(), "Tokenization queue is full; please re-upload the document later"));
+        }
+    }
+
+    private void tokenize(TokenizationRequest request) {
+        log.info("Starting async tokenization for document: {}", request.documentId());
 
         try {
             // Workspace moves the document to PROCESSING in response to this. Kept
             // inside the try so a failure here still routes to the FAILED event
             // rather than escaping uncaught and leaving the document in PENDING.
-            eventPublisher.publishEvent(new DocumentProcessingStartedEvent(this, event.getDocumentId()));
+            eventPublisher.publishEvent(new DocumentProcessingStartedEvent(this, request.documentId()));
 
-            processDocument(event);
+            ImportService.ImportResult result = processDocument(request);
 
             // Success: workspace marks COMPLETED and the notification module fires.
             // The document name is carried on the upload event (it is the original
             // filename), so we don't need to read the workspace entity here.
             eventPublisher.publishEvent(new DocumentTokenizedEvent(
                     this,
-                    event.getDocumentId(),
-                    event.getWorkspaceId(),
-                    event.getFileName()));
+                    request.documentId(),
+                    request.workspaceId(),
+                    request.fileName(),
+                    result.getTokenCount()));
 
-            log.info("Published DocumentTokenizedEvent for document: {}", event.getDocumentId());
+            log.info("Published DocumentTokenizedEvent for document: {}", request.documentId());
 
         } catch (Exception e) {
-            log.error("Error processing document {}: {}", event.getDocumentId(), e.getMessage(), e);
+            log.error("Error processing document {}: {}", request.documentId(), e.getMessage(), e);
             eventPublisher.publishEvent(new DocumentProcessingFailedEvent(
-                    this, event.getDocumentId(), truncateError(e.getMessage())));
+                    this, request.documentId(), truncateError(e.getMessage())));
         }
     }
 
     /**
-     * Download the document content and tokenize it. Throws on any failure so the
-     * caller can publish {@link DocumentProcessingFailedEvent}.
+     * Stream the document content from storage and tokenize it. Throws on any
+     * failure so the caller can publish {@link DocumentProcessingFailedEvent}.
+     *
+     * <p>Neither format is materialized as a whole: the content is read through a
+     * {@link Reader} and persisted in bounded chunks by
+     * {@link ImportService#importPlainTextCheckpointed(UUID, Reader, ImportService.Checkpoint)}
+     * or {@link ImportService#importConll2012(UUID, UUID, Reader)}. Plain text
+     * commits chunk by chunk, so when the document has a checkpoint the stream is
+     * opened past the committed bytes and the import carries on from there.
+     * CoNLL imports hold their mention spans until the end and always start over.
+     *
+     * <p>Without a checkpoint, a cached tokenization of the same bytes is copied
+     * instead and the source is not read at all; a finished plain-text import is
+     * offered to the cache in turn. The cache only ever holds plain-text grids,
+     * so files named as CoNLL skip it; content-sniffed CoNLL never reaches it
+     * because the same bytes always sniff the same way.
      */
-    private void processDocument(DocumentUploadedEvent event) {
-        // Download file content from storage
-        String content = fileStorageService.downloadAsString(event.getStoredFileUrl());
+    private ImportService.ImportResult processDocument(TokenizationRequest request) {
+        Optional<ImportService.Checkpoint> checkpoint = importService.findCheckpoint(request.documentId());
+        if (checkpoint.isEmpty() && !isConllFile(request.fileName(), null)) {
+            Optional<ImportService.ImportResult> cached =
+                    tokenizationCache.importFromCache(request.documentId(), request.contentHash());
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        ImportService.ImportResult result;
+        try (InputStream in = fileStorageService.openStream(request.storedFileUrl())) {
+            if (checkpoint.isPresent()) {
+                in.skipNBytes(checkpoint.get().byteOffset());
+                result = importService.importPlainTextCheckpointed(request.documentId(),
+                        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), checkpoint.get());
+                recordInCache(request, result);
+            } else {
+                result = importFromStart(request, new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            }
+        } catch (IOException ioe) {
+            throw new IllegalStateException("Failed to read document content: " + ioe.getMessage(), ioe);
+        }
+
+        log.info("Document {} tokenized successfully: {} sentences, {} tokens",
+                request.documentId(), result.getSentenceCount(), result.getTokenCount());
+        return result;
+    }
+
+    /**
+     * Offer a finished plain-text import to the tokenization cache. Failing to
+     * record (e.g. a duplicate processed concurrently won the insert) only costs
+     * a future cache hit, so it is logged rather than failing the document.
+     */
+    private void recordInCache(TokenizationRequest request, ImportService.ImportResult result) {
+        try {
+            tokenizationCache.record(request.documentId(), request.contentHash(), result);
+        } catch (DataAccessException e) {
+            log.warn("Could not record tokenization of document {} for reuse: {}",
+                    request.documentId(), e.getMessage());
+        }
+    }
 
-        // Tokenize the content (handles its own transactions internally).
+    private ImportService.ImportResult importFromStart(TokenizationRequest request, BufferedReader reader)
+            throws IOException {
         // CoNLL files preserve their existing token grid + coreference annotations;
         // plain text goes through the regular sentence/token segmentation path.
-        ImportService.ImportResult result;
-        if (isConllFile(event.getFileName(), content)) {
+        if (isConllFile(request.fileName(), null) || startsWithConllHeader(reader)) {
             log.info("Document {} detected as CoNLL-2012, importing with coref preservation",
-                    event.getDocumentId());
+                    request.documentId());
             try {
-                result = importService.importConll2012(
-                        event.getDocumentId(), event.getWorkspaceId(), content);
-            } catch (java.io.IOException ioe) {
+                return importService.importConll2012(request.documentId(), request.workspaceId(), reader);
+            } catch (IOException ioe) {
                 throw new IllegalStateException("Failed to parse CoNLL file: " + ioe.getMessage(), ioe);
             }
-        } else {
-            result = importService.importPlainText(event.getDocumentId(), content);
         }
-
-        log.info("Document {} tokenized successfully: {} sentences, {} tokens",
-                event.getDocumentId(), result.getSentenceCount(), result.getTokenCount());
+        ImportService.ImportResult result = importService.importPlainTextCheckpointed(request.documentId(), reader, null);
+        recordInCache(request, result);
+        return result;
     }
 
     private String truncateError(String error) {
@@ -112,6 +226,33 @@ public class AsyncDocumentProcessor {
         return error.length() > 900 ? error.substring(0, 900) + "..." : error;
     }
 
+    /**
+     * Content sniff on a stream: skip leading whitespace and check for the
+     * {@code #begin document} signature, then rewind so the caller reads the
+     * content from the start. Looks at most {@link #SNIFF_LIMIT} characters.
+     */
+    static boolean startsWithConllHeader(BufferedReader reader) throws IOException {
+        reader.mark(SNIFF_LIMIT);
+        try {
+            int read = 0;
+            int c;
+            do {
+                c = reader.read();
+                read++;
+            } while (c != -1 && Character.isWhitespace(c) && read < SNIFF_LIMIT - CONLL_SIGNATURE.length());
+            if (c == -1) {
+                return false;
+            }
+            StringBuilder head = new StringBuilder(CONLL_SIGNATURE.length()).append((char) c);
+            while (head.length() < CONLL_SIGNATURE.length() && (c = reader.read()) != -1) {
+                head.append((char) c);
+            }
+            return CONLL_SIGNATURE.contentEquals(head);
+        } finally {
+            reader.reset();
+        }
+    }
+
     /**
      * Detect a CoNLL-2012 file via filename extension or content signature.
      */
@@ -127,7 +268,7 @@ public class AsyncDocumentProcessor {
             int i = 0;
             int n = content.length();
             while (i < n && Character.isWhitespace(content.charAt(i))) i++;
-            if (i < n && content.startsWith("#begin document", i)) {
+            if (i < n && content.startsWith(CONLL_SIGNATURE, i)) {
                 return true;
             }
         }
@@ -3,7 +3,9 @@ package com.genesis.importexport.service;
 import com.genesis.workspace.dto.DocumentResponse;
 import com.genesis.workspace.service.DocumentService;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -158,6 +160,11 @@ public class ContinuousTokenizationService {
     /**
      * Update document token indices after tokenization.
      *
+     * <p>
+     * The counts are written to the workspace's token offset index in one
+     * update; each document's start and end indices are derived from it, so no
+     * document row is rewritten.
+     *
      * @param workspaceId the workspace ID
      * @param tokenCounts list of token counts per document (in order)
      */
@@ -170,17 +177,10 @@ public class ContinuousTokenizationService {
                     "Token counts must match document count");
         }
 
-        int currentIndex = 0;
+        Map<UUID, Integer> counts = new LinkedHashMap<>();
         for (int i = 0; i < documents.size(); i++) {
-            DocumentResponse doc = documents.get(i);
-            int tokenCount = tokenCounts.get(i);
-
-            documentService.updateTokenIndices(
-                    doc.getId(),
-                    currentIndex,
-                    currentIndex + tokenCount - 1);
-
-            currentIndex += tokenCount;
+            counts.put(documents.get(i).getId(), tokenCounts.get(i));
         }
+        documentService.updateTokenCounts(workspaceId, counts);
     }
 }
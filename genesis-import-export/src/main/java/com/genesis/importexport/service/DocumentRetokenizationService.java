@@ -0,0 +1,61 @@
+package com.genesis.importexport.service;
+
+import com.genesis.workspace.service.DocumentService;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.UUID;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Re-tokenizes a document on request, keeping its tokens, token count and
+ * stored source consistent with each other.
+ */
+@Service
+public class DocumentRetokenizationService {
+
+    private final ImportService importService;
+    private final DocumentService documentService;
+
+    public DocumentRetokenizationService(ImportService importService, DocumentService documentService) {
+        this.importService = importService;
+        this.documentService = documentService;
+    }
+
+    /**
+     * Tokenize {@code content} into the document and, when {@code file} is
+     * given, make that upload the document's stored source.
+     *
+     * <p>
+     * The import, the source swap and the token count update run in one
+     * transaction, so a failure in any of them leaves the previous tokens,
+     * source and content hash in place; the tokens never describe a different
+     * text than the stored source.
+     *
+     * @param documentId  the document UUID
+     * @param content     the text to tokenize; not closed
+     * @param file        the upload {@code content} was read from, to store as
+     *                    the new source, or {@code null} if {@code content} is
+     *                    the current source
+     * @param incremental rewrite only the changed sentences of an already
+     *                    tokenized document
+     * @param userId      the caller, a workspace member; required when
+     *                    {@code file} is given
+     * @return import result with counts
+     * @throws IOException if reading {@code content} fails
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public ImportService.ImportResult retokenize(@NonNull UUID documentId, @NonNull Reader content,
+            MultipartFile file, boolean incremental, UUID userId) throws IOException {
+        ImportService.ImportResult result = incremental
+                ? importService.reimportPlainText(documentId, content)
+                : importService.importPlainText(documentId, content);
+        if (file != null) {
+            documentService.replaceSource(documentId, file, userId);
+        }
+        documentService.updateTokenCount(documentId, result.getTokenCount());
+        return result;
+    }
+}
@@ -0,0 +1,334 @@
+package com.genesis.importexport.service;
+
+import com.genesis.common.event.WorkspaceActivityEvent;
+import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.port.WorkspaceExportSource;
+import com.genesis.importexport.port.WorkspaceExportSource.ExportInput;
+import com.genesis.workspace.event.DocumentTokenizedEvent;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Rendered workspace exports kept on local disk, so repeat downloads of an
+ * unchanged workspace skip the coref, POS and token queries altogether.
+ *
+ * <p>
+ * An export is keyed by its workspace, its {@link ExportOptions} and the
+ * workspace's data version ({@link WorkspaceExportSource#dataVersion}). The
+ * key doubles as the HTTP entity tag. A workspace's data version is read from
+ * the database once and then reused until workspace activity is committed, a
+ * document finishes tokenizing, or the configured TTL passes; a client holding
+ * the current entity tag is therefore answered without a query.
+ *
+ * <p>
+ * A miss renders into the response and a temporary file at the same time; the
+ * file is admitted once the export completes. Files beyond the size cap are
+ * deleted least recently used first. The index lives in memory, so the
+ * directory is emptied at startup.
+ */
+@Service
+public class ExportArtifactCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportArtifactCache.class);
+
+    private static final String ARTIFACT_SUFFIX = ".export";
+
+    private final WorkspaceExportSource exportSource;
+    private final ExportService exportService;
+    private final Path directory;
+    private final long maxBytes;
+    private final long versionTtlNanos;
+
+    /** Data version per workspace, or a bare generation once invalidated. */
+    private final ConcurrentHashMap<UUID, VersionMemo> versions = new ConcurrentHashMap<>();
+
+    /** Cached artifacts in access order; guarded by {@code this}. */
+    private final LinkedHashMap<String, Artifact> artifacts = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public ExportArtifactCache(WorkspaceExportSource exportSource,
+            ExportService exportService,
+            ExportProperties exportProperties) {
+        this.exportSource = exportSource;
+        this.exportService = exportService;
+        ExportProperties.Cache cache = exportProperties.getCache();
+        this.directory = Paths.get(cache.getDirectory()).toAbsolutePath().normalize();
+        this.maxBytes = cache.getMaxSize().toBytes();
+        this.versionTtlNanos = cache.getVersionTtl().toNanos();
+        clearDirectory();
+    }
+
+    /**
+     * A workspace export pinned to one data version.
+     *
+     * @param key hex digest of workspace, options and data version
+     */
+    public record Snapshot(UUID workspaceId, ExportOptions options, String key) {
+
+        /** Strong HTTP entity tag of the export. */
+        public String etag() {
+            return "\"" + key + "\"";
+        }
+    }
+
+    private record VersionMemo(long generation, String version, long expiresAt) {
+    }
+
+    private record Artifact(Path file, long size, String fileName, String contentType) {
+    }
+
+    /**
+     * Pin a workspace export to the workspace's current data version. Reads
+     * the database only when the version is not known.
+     */
+    public Snapshot snapshot(UUID workspaceId, ExportOptions options) {
+        return new Snapshot(workspaceId, options, key(workspaceId, options, dataVersion(workspaceId)));
+    }
+
+    /**
+     * The export of a snapshot: the cached file when there is one, otherwise
+     * a fresh render that is cached as it is written. The caller must already
+     * have been checked for access to the workspace.
+     */
+    public ExportService.StreamingExport export(Snapshot snapshot) {
+        Artifact cached = cachedArtifact(snapshot.key());
+        if (cached == null) {
+            return render(snapshot);
+        }
+        return new ExportService.StreamingExport(cached.contentType(), cached.fileName(), out -> {
+            InputStream in = openCached(snapshot.key());
+            if (in == null) {
+                // Evicted since the lookup; nothing has been written yet.
+                render(snapshot).writeTo(out);
+                return;
+            }
+            try (in) {
+                in.transferTo(out);
+            }
+        });
+    }
+
+    /**
+     * A fresh render of the snapshot, cached as it is written.
+     */
+    private ExportService.StreamingExport render(Snapshot snapshot) {
+        UUID workspaceId = snapshot.workspaceId();
+        ExportInput input = exportSource.load(workspaceId);
+        ExportService.StreamingExport export = exportService.streamWorkspace(input.documents(),
+                input.corefAnnotationsPerDoc(), input.posOverridesPerDoc(), input.annotatorCountsPerDoc(),
+                snapshot.options(), input.workspaceName());
+        if (maxBytes <= 0) {
+            return export;
+        }
+        return new ExportService.StreamingExport(export.getContentType(), export.getFilename(),
+                out -> writeAndAdmit(snapshot.key(), export, out));
+    }
+
+    /**
+     * Forget a workspace's data version once annotation activity has
+     * committed. Cached artifacts of the old version age out by LRU.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkspaceActivity(WorkspaceActivityEvent event) {
+        invalidate(event.getWorkspaceId());
+    }
+
+    /**
+     * Forget a workspace's data version once a document's tokens are written.
+     * Tokenization runs off the request path and records no workspace
+     * activity.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDocumentTokenized(DocumentTokenizedEvent event) {
+        invalidate(event.getWorkspaceId());
+    }
+
+    void invalidate(UUID workspaceId) {
+        if (workspaceId != null) {
+            versions.compute(workspaceId,
+                    (id, memo) -> new VersionMemo(memo == null ? 1 : memo.generation() + 1, null, 0));
+        }
+    }
+
+    /**
+     * Current data version of a workspace. A version read while an
+     * invalidation lands is returned but not remembered, so it can never
+     * outlive the activity that superseded it.
+     */
+    String dataVersion(UUID workspaceId) {
+        long now = System.nanoTime();
+        VersionMemo memo = versions.get(workspaceId);
+        if (memo != null && memo.version() != null && now - memo.expiresAt() < 0) {
+            return memo.version();
+        }
+        long generation = memo == null ? 0 : memo.generation();
+        String version = exportSource.dataVersion(workspaceId);
+        versions.compute(workspaceId, (id, current) -> {
+            long currentGeneration = current == null ? 0 : current.generation();
+            return currentGeneration == generation
+                    ? new VersionMemo(generation, version, now + versionTtlNanos)
+                    : current;
+        });
+        return version;
+    }
+
+    /** Total size of cached artifacts in bytes. */
+    synchronized long size() {
+        return totalBytes;
+    }
+
+    private synchronized Artifact cachedArtifact(String key) {
+        return artifacts.get(key);
+    }
+
+    /**
+     * Open a cached artifact once its body is written, so a response that is
+     * never written holds no file handle. The file is opened under the lock,
+     * so an eviction racing with the download cannot delete it first.
+     *
+     * @return the open artifact, or {@code null} when it is gone or unreadable
+     */
+    private synchronized InputStream openCached(String key) {
+        Artifact artifact = artifacts.get(key);
+        if (artifact == null) {
+            return null;
+        }
+        try {
+            return Files.newInputStream(artifact.file());
+        } catch (IOException e) {
+            log.warn("Dropping unreadable cached export {}: {}", artifact.file(), e.getMessage());
+            remove(key);
+            return null;
+        }
+    }
+
+    private void writeAndAdmit(String key, ExportService.StreamingExport export, OutputStream out)
+            throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        boolean written = false;
+        try {
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                export.writeTo(new TeeOutputStream(out, file));
+            }
+            written = true;
+            admit(key, temp, export.getFilename(), export.getContentType());
+        } finally {
+            if (!written) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Move a complete export into place and evict down to the size cap. A
+     * failure here only loses the cache entry; the response is already
+     * written.
+     */
+    private void admit(String key, Path temp, String fileName, String contentType) {
+        try {
+            long size = Files.size(temp);
+            if (size > maxBytes) {
+                Files.deleteIfExists(temp);
+                return;
+            }
+            Path target = directory.resolve(key + ARTIFACT_SUFFIX);
+            synchronized (this) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Artifact previous = artifacts.put(key, new Artifact(target, size, fileName, contentType));
+                if (previous != null) {
+                    totalBytes -= previous.size();
+                }
+                totalBytes += size;
+                evict();
+            }
+        } catch (IOException e) {
+            log.warn("Could not cache export {}: {}", key, e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Swept at the next startup
+            }
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Artifact>> eldest = artifacts.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Artifact artifact = eldest.next().getValue();
+            eldest.remove();
+            totalBytes -= artifact.size();
+            deleteQuietly(artifact.file());
+        }
+    }
+
+    private void remove(String key) {
+        Artifact artifact = artifacts.remove(key);
+        if (artifact != null) {
+            totalBytes -= artifact.size();
+            deleteQuietly(artifact.file());
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete cached export {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete artifacts and partial writes left by a previous process; the
+     * index did not survive it.
+     */
+    private void clearDirectory() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*{" + ARTIFACT_SUFFIX + ",.tmp}")) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        } catch (IOException e) {
+            log.warn("Could not clear export cache directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Hex SHA-256 over the workspace, every export option and the data
+     * version.
+     */
+    static String key(UUID workspaceId, ExportOptions options, String dataVersion) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String material = workspaceId + "\n" + options.getColumn2Mode() + "\n" + options.getExportFormat()
+                    + "\n" + options.isContinueSentenceNumbers() + "\n" + options.getDefaultPartNumber()
+                    + "\n" + dataVersion;
+            return HexFormat.of().formatHex(digest.digest(material.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
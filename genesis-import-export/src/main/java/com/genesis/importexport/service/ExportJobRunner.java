@@ -0,0 +1,147 @@
+package com.genesis.importexport.service;
+
+import com.genesis.importexport.entity.ExportJobEntity;
+import com.genesis.importexport.event.ExportGeneratedEvent;
+import com.genesis.importexport.event.ExportJobQueuedEvent;
+import com.genesis.importexport.port.WorkspaceExportSource;
+import com.genesis.importexport.port.WorkspaceExportSource.ExportInput;
+import com.genesis.importexport.service.ExportService.StreamingExport;
+import com.genesis.infra.storage.FileStorageService;
+import com.genesis.infra.storage.StoredFile;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Renders queued export jobs on the bounded {@code exportJobExecutor}, so a
+ * large workspace export holds neither a servlet thread nor its archive in
+ * memory.
+ *
+ * <p>The archive is written to a temporary file, uploaded through
+ * {@link FileStorageService} and recorded on the job; the requesting user is
+ * then notified through {@link ExportGeneratedEvent}. Jobs queued or running
+ * when the process stopped are failed at startup by
+ * {@link InterruptedExportJobSweeper}.
+ */
+@Service
+public class ExportJobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJobRunner.class);
+
+    private final ExportJobService exportJobService;
+    private final ExportService exportService;
+    private final WorkspaceExportSource exportSource;
+    private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor exportJobExecutor;
+
+    public ExportJobRunner(ExportJobService exportJobService,
+            ExportService exportService,
+            WorkspaceExportSource exportSource,
+            FileStorageService fileStorageService,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier("exportJobExecutor") Executor exportJobExecutor) {
+        this.exportJobService = exportJobService;
+        this.exportService = exportService;
+        this.exportSource = exportSource;
+        this.fileStorageService = fileStorageService;
+        this.eventPublisher = eventPublisher;
+        this.exportJobExecutor = exportJobExecutor;
+    }
+
+    /**
+     * Hand a new job to the export pool once its row has committed. If the
+     * queue is full the job is failed straight away rather than left QUEUED
+     * with nothing scheduled to run it.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleExportJobQueued(ExportJobQueuedEvent event) {
+        UUID jobId = event.getJobId();
+        try {
+            exportJobExecutor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            log.warn("Export job {} rejected: {}", jobId, e.getMessage());
+            exportJobService.fail(jobId, "Export queue is full; please try again later");
+        }
+    }
+
+    void run(UUID jobId) {
+        ExportJobEntity job = exportJobService.start(jobId);
+        if (job == null) {
+            log.debug("Export job {} is no longer queued; skipping", jobId);
+            return;
+        }
+        log.info("Starting export job {} for workspace {}", jobId, job.getWorkspaceId());
+
+        StoredFile archive = null;
+        List<UUID> expiredFiles;
+        Path temp = null;
+        try {
+            ExportInput input = exportSource.load(job.getWorkspaceId());
+            StreamingExport export = exportService.streamWorkspace(input.documents(),
+                    input.corefAnnotationsPerDoc(), input.posOverridesPerDoc(), input.annotatorCountsPerDoc(),
+                    job.toOptions(), input.workspaceName());
+
+            temp = Files.createTempFile("genesis-export-", ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                export.writeTo(out);
+            }
+            archive = fileStorageService.store(temp, export.getFilename(), export.getContentType(),
+                    "exports/" + job.getWorkspaceId());
+            expiredFiles = exportJobService.complete(jobId, archive);
+        } catch (Exception e) {
+            log.error("Export job {} failed: {}", jobId, e.getMessage(), e);
+            exportJobService.fail(jobId, truncateError(e.getMessage()));
+            if (archive != null) {
+                deleteQuietly(archive.getId());
+            }
+            return;
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.warn("Could not delete temporary export file {}: {}", temp, e.getMessage());
+                }
+            }
+        }
+
+        log.info("Export job {} completed: {} ({} bytes)", jobId, archive.getOriginalFilename(),
+                archive.getFileSize());
+        eventPublisher.publishEvent(new ExportGeneratedEvent(this, job.getRequestedBy(),
+                archive.getOriginalFilename(), ExportJobService.downloadUrl(jobId)));
+        expiredFiles.forEach(this::deleteQuietly);
+    }
+
+    /**
+     * Delete a stored archive. A failure only leaves an orphaned file, so it is
+     * logged rather than failing the job.
+     */
+    private void deleteQuietly(UUID storedFileId) {
+        try {
+            fileStorageService.delete(storedFileId);
+        } catch (RuntimeException e) {
+            log.warn("Could not delete export archive {}: {}", storedFileId, e.getMessage());
+        }
+    }
+
+    private String truncateError(String error) {
+        if (error == null) {
+            return "Unknown error";
+        }
+        return error.length() > 900 ? error.substring(0, 900) + "..." : error;
+    }
+}
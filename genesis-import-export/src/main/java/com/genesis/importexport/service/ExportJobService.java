@@ -0,0 +1,223 @@
+package com.genesis.importexport.service;
+
+import com.genesis.common.exception.ResourceNotFoundException;
+import com.genesis.common.exception.ValidationException;
+import com.genesis.importexport.dto.ExportJobDto;
+import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.entity.ExportJobEntity;
+import com.genesis.importexport.entity.ExportJobStatus;
+import com.genesis.importexport.event.ExportJobQueuedEvent;
+import com.genesis.importexport.port.WorkspaceExportSource;
+import com.genesis.importexport.repository.ExportJobRepository;
+import com.genesis.importexport.service.ExportService.StreamingExport;
+import com.genesis.infra.storage.FileStorageService;
+import com.genesis.infra.storage.StoredFile;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Bookkeeping of asynchronous workspace exports: submission, status and
+ * download of the stored archive. The export itself is rendered by
+ * {@link ExportJobRunner} on the export pool.
+ *
+ * <p>
+ * A submission whose workspace, options and data version match a queued,
+ * running or completed job returns that job instead of rendering the same
+ * archive again. When a newer archive completes, the older completed archives
+ * with the same options are expired and their files deleted.
+ */
+@Service
+@Transactional
+public class ExportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJobService.class);
+
+    /** Jobs whose archive is, or will be, reusable by an identical request. */
+    private static final Set<ExportJobStatus> REUSABLE = EnumSet.of(
+            ExportJobStatus.QUEUED, ExportJobStatus.RUNNING, ExportJobStatus.COMPLETED);
+
+    private final ExportJobRepository exportJobRepository;
+    private final WorkspaceExportSource exportSource;
+    private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ExportJobService(ExportJobRepository exportJobRepository,
+            WorkspaceExportSource exportSource,
+            FileStorageService fileStorageService,
+            ApplicationEventPublisher eventPublisher) {
+        this.exportJobRepository = exportJobRepository;
+        this.exportSource = exportSource;
+        this.fileStorageService = fileStorageService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Download path of a job's archive.
+     */
+    public static String downloadUrl(UUID jobId) {
+        return "/api/export/jobs/" + jobId + "/download";
+    }
+
+    /**
+     * Submit a workspace export. Returns at once; the job is handed to the
+     * export pool after this transaction commits. The caller must already
+     * have been checked for access to the workspace.
+     *
+     * @param workspaceId the workspace to export
+     * @param requestedBy user notified when the job completes
+     * @param options     export options
+     * @return the new job, or an existing one for the same request and data
+     */
+    public ExportJobDto submit(UUID workspaceId, UUID requestedBy, ExportOptions options) {
+        String dataVersion = exportSource.dataVersion(workspaceId);
+
+        List<ExportJobEntity> candidates = exportJobRepository.findWithOptions(workspaceId,
+                options.getColumn2Mode(), options.getExportFormat(), options.isContinueSentenceNumbers(),
+                options.getDefaultPartNumber(), REUSABLE);
+        for (ExportJobEntity candidate : candidates) {
+            if (dataVersion.equals(candidate.getDataVersion())) {
+                log.debug("Reusing export job {} for workspace {}", candidate.getId(), workspaceId);
+                return toDto(candidate);
+            }
+        }
+
+        ExportJobEntity job = new ExportJobEntity();
+        job.setWorkspaceId(workspaceId);
+        job.setRequestedBy(requestedBy);
+        job.setOptions(options);
+        job.setDataVersion(dataVersion);
+        ExportJobEntity saved = exportJobRepository.save(job);
+
+        eventPublisher.publishEvent(new ExportJobQueuedEvent(this, saved.getId()));
+        log.info("Queued export job {} for workspace {}", saved.getId(), workspaceId);
+        return toDto(saved);
+    }
+
+    /**
+     * Get an export job. The caller must be checked for access to its
+     * workspace.
+     *
+     * @throws ResourceNotFoundException if the job does not exist
+     */
+    @Transactional(readOnly = true)
+    public ExportJobDto getJob(UUID jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    /**
+     * Stream a completed job's archive from file storage. Nothing is read
+     * until {@link StreamingExport#writeTo} runs.
+     *
+     * @throws ResourceNotFoundException if the job does not exist
+     * @throws ValidationException       if the job has not completed, or its
+     *                                   archive has expired
+     */
+    @Transactional(readOnly = true)
+    public StreamingExport download(UUID jobId) {
+        ExportJobEntity job = findJob(jobId);
+        if (job.getStatus() != ExportJobStatus.COMPLETED || job.getStoredFileId() == null) {
+            throw new ValidationException("status", "Export job is " + job.getStatus() + ", not COMPLETED");
+        }
+        String fileReference = fileStorageService.getFile(job.getStoredFileId()).getUrl();
+        return new StreamingExport(job.getContentType(), job.getFileName(), out -> {
+            try (InputStream in = fileStorageService.openStream(fileReference)) {
+                in.transferTo(out);
+            }
+        });
+    }
+
+    /**
+     * Move a queued job to RUNNING.
+     *
+     * @return the job, or {@code null} when it is no longer queued (e.g. the
+     *         startup sweep failed it)
+     */
+    public ExportJobEntity start(UUID jobId) {
+        ExportJobEntity job = exportJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != ExportJobStatus.QUEUED) {
+            return null;
+        }
+        job.setStatus(ExportJobStatus.RUNNING);
+        return exportJobRepository.save(job);
+    }
+
+    /**
+     * Record a job's stored archive and expire the older completed archives of
+     * the same request.
+     *
+     * @return ids of the stored files of the expired jobs, to be deleted once
+     *         this transaction has committed
+     */
+    public List<UUID> complete(UUID jobId, StoredFile archive) {
+        ExportJobEntity job = findJob(jobId);
+        job.setStatus(ExportJobStatus.COMPLETED);
+        job.setStoredFileId(archive.getId());
+        job.setFileName(archive.getOriginalFilename());
+        job.setContentType(archive.getContentType());
+        job.setFileSize(archive.getFileSize());
+        job.setCompletedAt(Instant.now());
+        exportJobRepository.save(job);
+
+        List<UUID> expiredFiles = new ArrayList<>();
+        for (ExportJobEntity older : exportJobRepository.findWithOptions(job.getWorkspaceId(),
+                job.getColumn2Mode(), job.getExportFormat(), job.isContinueSentenceNumbers(),
+                job.getDefaultPartNumber(), EnumSet.of(ExportJobStatus.COMPLETED))) {
+            // A job submitted later may have finished first; its archive is newer
+            if (older.getId().equals(jobId) || !older.getCreatedAt().isBefore(job.getCreatedAt())) {
+                continue;
+            }
+            if (older.getStoredFileId() != null) {
+                expiredFiles.add(older.getStoredFileId());
+            }
+            older.setStatus(ExportJobStatus.EXPIRED);
+            older.setStoredFileId(null);
+            exportJobRepository.save(older);
+        }
+        return expiredFiles;
+    }
+
+    /**
+     * Mark a job FAILED. Runs in its own transaction so it also commits when
+     * called from an after-commit callback.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void fail(UUID jobId, String errorMessage) {
+        exportJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ExportJobStatus.FAILED);
+            job.setErrorMessage(errorMessage);
+            exportJobRepository.save(job);
+        });
+    }
+
+    /**
+     * Fail every queued or running job. Called at startup: the export pool is
+     * in-memory, so such jobs were lost with the previous process.
+     *
+     * @return number of jobs failed
+     */
+    public int failInterrupted() {
+        return exportJobRepository.failAllIn(
+                EnumSet.of(ExportJobStatus.QUEUED, ExportJobStatus.RUNNING),
+                "Interrupted by a restart; please export again");
+    }
+
+    private ExportJobEntity findJob(UUID jobId) {
+        return exportJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("ExportJob", jobId));
+    }
+
+    private static ExportJobDto toDto(ExportJobEntity job) {
+        return ExportJobDto.from(job, downloadUrl(job.getId()));
+    }
+}
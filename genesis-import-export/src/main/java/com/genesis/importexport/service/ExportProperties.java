@@ -0,0 +1,109 @@
+package com.genesis.importexport.service;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Tuning knobs for workspace export.
+ *
+ * <p>Prefixed with {@code genesis.export} and bound from
+ * {@code application.properties} / environment variables.
+ */
+@ConfigurationProperties(prefix = "genesis.export")
+public class ExportProperties {
+
+    /**
+     * Documents of one workspace export fetched and rendered concurrently.
+     * Rendered documents are spooled to temp files and assembled in workspace
+     * order, so at most this many are held outside the response at once.
+     * {@code 1} renders inline, straight into the response. Only the token
+     * queries are limited by {@link #renderConnections}; encoding and spooling
+     * run on all of them.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Render task token queries running at once, summed over every export in
+     * progress. Each holds a pooled connection of its own on top of the one
+     * held by the export that started it, so together with
+     * {@code genesis.async.export.threads} and
+     * {@code genesis.async.tokenization.threads} this must stay below
+     * {@code spring.datasource.hikari.maximum-pool-size}.
+     */
+    private int renderConnections = 1;
+
+    /**
+     * Rendered workspace exports kept for repeat downloads.
+     */
+    private final Cache cache = new Cache();
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getRenderConnections() {
+        return renderConnections;
+    }
+
+    public void setRenderConnections(int renderConnections) {
+        this.renderConnections = renderConnections;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    /**
+     * Export artifact cache settings, see {@link ExportArtifactCache}.
+     */
+    public static class Cache {
+
+        /**
+         * Directory holding cached exports. Emptied at startup; relative paths
+         * resolve against the application's working directory.
+         */
+        private String directory = "./data/export-cache";
+
+        /**
+         * Total size of cached exports; least recently used ones are deleted
+         * beyond it. {@code 0} disables the artifact cache.
+         */
+        private DataSize maxSize = DataSize.ofGigabytes(1);
+
+        /**
+         * How long a workspace's data version is trusted without re-reading
+         * it. Local annotation activity invalidates it at once; this bounds
+         * staleness for changes made by other instances.
+         */
+        private Duration versionTtl = Duration.ofMinutes(5);
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getVersionTtl() {
+            return versionTtl;
+        }
+
+        public void setVersionTtl(Duration versionTtl) {
+            this.versionTtl = versionTtl;
+        }
+    }
+}
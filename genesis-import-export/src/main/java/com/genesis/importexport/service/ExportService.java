@@ -1,23 +1,45 @@
 package com.genesis.importexport.service;
 
 import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.dto.ExportOptions.Column2Mode;
 import com.genesis.importexport.dto.ExportOptions.ExportFormat;
-import com.genesis.importexport.entity.SentenceEntity;
 import com.genesis.importexport.entity.TokenEntity;
+import com.genesis.importexport.format.ColumnarExportWriter;
 import com.genesis.importexport.format.Conll2012Exporter;
-import com.genesis.importexport.format.Conll2012Exporter.DocumentExportData;
+import com.genesis.importexport.format.ConllLineEncoder;
+import com.genesis.importexport.format.CorefAnnotations;
+import com.genesis.importexport.format.ExportDocumentWriter;
 import com.genesis.importexport.repository.SentenceRepository;
 import com.genesis.importexport.repository.TokenRepository;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,14 +50,35 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class ExportService {
 
+    /** Tokens read per query when streaming a document. */
+    static final int TOKEN_CHUNK_SIZE = 2000;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /** Shared empty column; never added to, so lookups never sort it. */
+    private static final CorefAnnotations NO_COREF = new CorefAnnotations(0);
+
     private final TokenRepository tokenRepository;
     private final SentenceRepository sentenceRepository;
+    private final EntityManager entityManager;
+    private final ExecutorService renderExecutor;
+    /** Documents rendered at once; {@code 1} renders inline. */
+    private final int parallelism;
+    /** Shared by all exports: a render task holds a permit while it queries tokens. */
+    private final Semaphore renderConnections;
     private final Conll2012Exporter exporter;
 
     public ExportService(TokenRepository tokenRepository,
-            SentenceRepository sentenceRepository) {
+            SentenceRepository sentenceRepository,
+            EntityManager entityManager,
+            @Qualifier("exportRenderExecutor") ExecutorService renderExecutor,
+            ExportProperties exportProperties) {
         this.tokenRepository = tokenRepository;
         this.sentenceRepository = sentenceRepository;
+        this.entityManager = entityManager;
+        this.renderExecutor = renderExecutor;
+        this.parallelism = Math.max(1, exportProperties.getParallelism());
+        this.renderConnections = new Semaphore(Math.max(1, exportProperties.getRenderConnections()));
         this.exporter = new Conll2012Exporter();
     }
 
@@ -66,18 +109,56 @@ public class ExportService {
         }
     }
 
+    /**
+     * Export whose content is produced only when {@link #writeTo} is called,
+     * so it can be streamed straight into an HTTP response. Documents are read
+     * in chunks of {@value #TOKEN_CHUNK_SIZE} tokens while writing, keeping
+     * memory flat regardless of workspace size.
+     */
+    public static class StreamingExport {
+        private final String contentType;
+        private final String filename;
+        private final ContentWriter writer;
+
+        StreamingExport(String contentType, String filename, ContentWriter writer) {
+            this.contentType = contentType;
+            this.filename = filename;
+            this.writer = writer;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFilename() {
+            return filename;
+        }
+
+        /**
+         * Write the export to {@code out}. The stream is flushed but not closed.
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            writer.writeTo(out);
+            out.flush();
+        }
+    }
+
+    @FunctionalInterface
+    interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
     /**
      * Export a single document to CoNLL-2012 format.
      *
      * @param documentId       the document UUID
      * @param documentName     the document name
-     * @param corefAnnotations coreference annotations (sentenceIndex-tokenIndex ->
-     *                         coref string)
+     * @param corefAnnotations coreference column of the document, may be null
      * @param options          export options
      * @return export result
      */
     public ExportResult exportDocument(UUID documentId, String documentName,
-            Map<String, String> corefAnnotations,
+            CorefAnnotations corefAnnotations,
             ExportOptions options) {
         return exportDocument(documentId, documentName, corefAnnotations, null, options);
     }
@@ -87,25 +168,27 @@ public class ExportService {
      * vote across annotators). Pass null to fall back to TokenEntity.pos.
      */
     public ExportResult exportDocument(UUID documentId, String documentName,
-            Map<String, String> corefAnnotations,
+            CorefAnnotations corefAnnotations,
             Map<UUID, String> posOverrides,
             ExportOptions options) {
-        List<SentenceEntity> sentences = sentenceRepository.findByDocumentIdOrderBySentenceIndexAsc(documentId);
-        Map<Integer, List<TokenEntity>> tokensBySentence = getTokensBySentence(documentId);
-
-        String content = exporter.export(
-                documentName,
-                sentences,
-                tokensBySentence,
-                corefAnnotations,
-                posOverrides,
-                options,
-                0 // No offset for single document
-        );
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try {
+            ConllLineEncoder encoder = new ConllLineEncoder(content);
+            writeDocument(encoder, new DocumentInfo(documentId, documentName),
+                    corefAnnotations != null ? Map.of(documentId, corefAnnotations) : null,
+                    posOverrides != null ? Map.of(documentId, posOverrides) : null,
+                    options,
+                    0, // No offset for single document
+                    false);
+            encoder.flush();
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws
+            throw new UncheckedIOException(e);
+        }
 
         String baseFilename = sanitizeFilename(documentName);
         return new ExportResult(
-                content.getBytes(StandardCharsets.UTF_8),
+                content.toByteArray(),
                 "text/plain; charset=UTF-8",
                 baseFilename + ".conll");
     }
@@ -120,7 +203,7 @@ public class ExportService {
      * @return export result (single file or ZIP depending on options)
      */
     public ExportResult exportWorkspace(List<DocumentInfo> documents,
-            Map<UUID, Map<String, String>> corefAnnotationsPerDoc,
+            Map<UUID, CorefAnnotations> corefAnnotationsPerDoc,
             ExportOptions options,
             String workspaceName) throws IOException {
         return exportWorkspace(documents, corefAnnotationsPerDoc, null, options, workspaceName);
@@ -130,7 +213,7 @@ public class ExportService {
      * Export a workspace, applying per-document POS overrides.
      */
     public ExportResult exportWorkspace(List<DocumentInfo> documents,
-            Map<UUID, Map<String, String>> corefAnnotationsPerDoc,
+            Map<UUID, CorefAnnotations> corefAnnotationsPerDoc,
             Map<UUID, Map<UUID, String>> posOverridesPerDoc,
             ExportOptions options,
             String workspaceName) throws IOException {
@@ -143,186 +226,425 @@ public class ExportService {
      * included in ZIP exports — MERGED_SINGLE_FILE returns plain text.
      */
     public ExportResult exportWorkspace(List<DocumentInfo> documents,
-            Map<UUID, Map<String, String>> corefAnnotationsPerDoc,
+            Map<UUID, CorefAnnotations> corefAnnotationsPerDoc,
             Map<UUID, Map<UUID, String>> posOverridesPerDoc,
             Map<UUID, Map<UUID, Long>> annotatorCountsPerDoc,
             ExportOptions options,
             String workspaceName) throws IOException {
+        StreamingExport export = streamWorkspace(documents, corefAnnotationsPerDoc, posOverridesPerDoc,
+                annotatorCountsPerDoc, options, workspaceName);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        export.writeTo(baos);
+        return new ExportResult(baos.toByteArray(), export.getContentType(), export.getFilename());
+    }
+
+    /**
+     * Streaming variant of
+     * {@link #exportWorkspace(List, Map, Map, Map, ExportOptions, String)}:
+     * nothing is read until {@link StreamingExport#writeTo} runs, which may
+     * happen after this transaction has ended (e.g. on the servlet's async
+     * thread). Each token chunk then runs in its own repository transaction.
+     */
+    public StreamingExport streamWorkspace(List<DocumentInfo> documents,
+            Map<UUID, CorefAnnotations> corefAnnotationsPerDoc,
+            Map<UUID, Map<UUID, String>> posOverridesPerDoc,
+            Map<UUID, Map<UUID, Long>> annotatorCountsPerDoc,
+            ExportOptions options,
+            String workspaceName) {
+        if (options.getExportFormat() == ExportFormat.COLUMNAR_BINARY) {
+            return new StreamingExport(
+                    ColumnarExportWriter.CONTENT_TYPE,
+                    sanitizeFilename(workspaceName) + ColumnarExportWriter.FILE_EXTENSION,
+                    out -> writeColumnar(out, documents, corefAnnotationsPerDoc, posOverridesPerDoc, options));
+        }
         if (documents.isEmpty()) {
-            return new ExportResult(
-                    new byte[0],
+            return new StreamingExport(
                     "text/plain",
-                    workspaceName + ".conll");
+                    workspaceName + ".conll",
+                    out -> {
+                    });
         }
 
         if (options.getExportFormat() == ExportFormat.MERGED_SINGLE_FILE) {
-            return exportMerged(documents, corefAnnotationsPerDoc, posOverridesPerDoc, options, workspaceName);
-        } else {
-            return exportAsZip(documents, corefAnnotationsPerDoc, posOverridesPerDoc,
-                    annotatorCountsPerDoc, options, workspaceName);
+            return new StreamingExport(
+                    "text/plain; charset=UTF-8",
+                    sanitizeFilename(workspaceName) + ".conll",
+                    out -> writeMerged(out, documents, corefAnnotationsPerDoc, posOverridesPerDoc, options));
         }
+        return new StreamingExport(
+                "application/zip",
+                sanitizeFilename(workspaceName) + ".zip",
+                out -> writeZip(out, documents, corefAnnotationsPerDoc, posOverridesPerDoc,
+                        annotatorCountsPerDoc, options, workspaceName));
     }
 
     /**
-     * Export all documents merged into a single CoNLL file.
+     * Write all documents as one CoNLL stream with continued sentence numbers.
      */
-    private ExportResult exportMerged(List<DocumentInfo> documents,
-            Map<UUID, Map<String, String>> corefAnnotationsPerDoc,
+    private void writeMerged(OutputStream out, List<DocumentInfo> documents,
+            Map<UUID, CorefAnnotations> corefAnnotationsPerDoc,
             Map<UUID, Map<UUID, String>> posOverridesPerDoc,
-            ExportOptions options,
-            String workspaceName) {
-        List<DocumentExportData> docDataList = new ArrayList<>();
-
-        for (DocumentInfo doc : documents) {
-            List<SentenceEntity> sentences = sentenceRepository
-                    .findByDocumentIdOrderBySentenceIndexAsc(doc.documentId);
-            Map<Integer, List<TokenEntity>> tokensBySentence = getTokensBySentence(doc.documentId);
-            Map<String, String> corefAnnotations = corefAnnotationsPerDoc != null
-                    ? corefAnnotationsPerDoc.getOrDefault(doc.documentId, new HashMap<>())
-                    : new HashMap<>();
-            Map<UUID, String> posOverrides = posOverridesPerDoc != null
-                    ? posOverridesPerDoc.getOrDefault(doc.documentId, new HashMap<>())
-                    : null;
-
-            docDataList.add(new DocumentExportData(
-                    doc.documentName,
-                    sentences,
-                    tokensBySentence,
-                    corefAnnotations,
-                    posOverrides));
-        }
-
-        String content = exporter.exportMerged(docDataList, options);
-        String filename = sanitizeFilename(workspaceName) + ".conll";
+            ExportOptions options) throws IOException {
+        renderDocuments(out, documents, corefAnnotationsPerDoc, posOverridesPerDoc, options,
+                new DocumentBoundary() {
+                });
+    }
 
-        return new ExportResult(
-                content.getBytes(StandardCharsets.UTF_8),
-                "text/plain; charset=UTF-8",
-                filename);
+    /**
+     * Write all documents into one columnar file. Documents are rendered in
+     * order on the calling thread: the file's dictionaries are shared across
+     * documents, so per-document spools cannot be concatenated.
+     */
+    private void writeColumnar(OutputStream out, List<DocumentInfo> documents,
+            Map<UUID, CorefAnnotations> corefAnnotationsPerDoc,
+            Map<UUID, Map<UUID, String>> posOverridesPerDoc,
+            ExportOptions options) throws IOException {
+        int[] offsets = sentenceOffsets(documents, options);
+        ColumnarExportWriter writer = new ColumnarExportWriter(new BufferedOutputStream(out, WRITE_BUFFER_SIZE));
+        for (int i = 0; i < documents.size(); i++) {
+            writeDocument(writer, documents.get(i), corefAnnotationsPerDoc, posOverridesPerDoc, options, offsets[i],
+                    false);
+        }
+        writer.finish();
     }
 
     /**
-     * Export each document as a separate CoNLL file in a ZIP archive.
+     * Write each document as a separate CoNLL entry of a ZIP archive. The
+     * archive is finished but {@code out} is left open.
+     *
+     * <p>
+     * For {@link ExportFormat#SEPARATE_FILES_ZIP_WITH_MERGED} every document is
+     * still rendered once: its encoded bytes are teed into a temp-file spool
+     * that becomes the {@code merged.conll} entry. The per-document entries
+     * already carry the merged file's sentence offsets, so the concatenation
+     * is exactly the merged export.
      */
-    private ExportResult exportAsZip(List<DocumentInfo> documents,
-            Map<UUID, Map<String, String>> corefAnnotationsPerDoc,
+    private void writeZip(OutputStream out, List<DocumentInfo> documents,
+            Map<UUID, CorefAnnotations> corefAnnotationsPerDoc,
             Map<UUID, Map<UUID, String>> posOverridesPerDoc,
             Map<UUID, Map<UUID, Long>> annotatorCountsPerDoc,
             ExportOptions options,
             String workspaceName) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        boolean withMerged = options.getExportFormat() == ExportFormat.SEPARATE_FILES_ZIP_WITH_MERGED;
+        Path spool = withMerged ? Files.createTempFile("genesis-export-", ".conll") : null;
+        try {
+            ZipOutputStream zos = new ZipOutputStream(out);
+            writeDocumentEntries(zos, spool, documents, corefAnnotationsPerDoc, posOverridesPerDoc, options);
 
-        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
-            int sentenceOffset = 0;
+            // 2. Add merged file if requested
+            if (spool != null) {
+                zos.putNextEntry(new ZipEntry("merged.conll"));
+                Files.copy(spool, zos);
+                zos.closeEntry();
+            }
+
+            // 3. Add sidecar CSV with annotator counts (consensus confidence).
+            if (hasAnnotatorCounts(documents, annotatorCountsPerDoc)) {
+                // Flushed before closeEntry(); never closed, as that would close out.
+                Writer writer = newWriter(zos);
+                zos.putNextEntry(new ZipEntry(sanitizeFilename(workspaceName) + "_annotators.csv"));
+                writeAnnotatorCountsCsv(writer, documents, annotatorCountsPerDoc);
+                writer.flush();
+                zos.closeEntry();
+            }
+
+            zos.finish();
+        } finally {
+            if (spool != null) {
+                Files.deleteIfExists(spool);
+            }
+        }
+    }
+
+    /**
+     * Write one ZIP entry per document, copying the same bytes to
+     * {@code spool} when it is non-null.
+     */
+    private void writeDocumentEntries(ZipOutputStream zos, Path spool, List<DocumentInfo> documents,
+            Map<UUID, CorefAnnotations> corefAnnotationsPerDoc,
+            Map<UUID, Map<UUID, String>> posOverridesPerDoc,
+            ExportOptions options) throws IOException {
+        try (OutputStream spoolOut = spool != null
+                ? new BufferedOutputStream(Files.newOutputStream(spool), WRITE_BUFFER_SIZE)
+                : OutputStream.nullOutputStream()) {
             // Track used filenames to avoid duplicates
             Map<String, Integer> usedFilenames = new HashMap<>();
 
             // 1. Add individual files
-            for (DocumentInfo doc : documents) {
-                List<SentenceEntity> sentences = sentenceRepository
-                        .findByDocumentIdOrderBySentenceIndexAsc(doc.documentId);
-                Map<Integer, List<TokenEntity>> tokensBySentence = getTokensBySentence(doc.documentId);
-                Map<String, String> corefAnnotations = corefAnnotationsPerDoc != null
-                        ? corefAnnotationsPerDoc.getOrDefault(doc.documentId, new HashMap<>())
-                        : new HashMap<>();
-                Map<UUID, String> posOverrides = posOverridesPerDoc != null
-                        ? posOverridesPerDoc.getOrDefault(doc.documentId, new HashMap<>())
-                        : null;
-
-                String content = exporter.export(
-                        doc.documentName,
-                        sentences,
-                        tokensBySentence,
-                        corefAnnotations,
-                        posOverrides,
-                        options,
-                        options.isContinueSentenceNumbers() ? sentenceOffset : 0);
-
-                // Generate unique filename to avoid duplicates
-                String baseFilename = sanitizeFilename(doc.documentName);
-                String entryName;
-                if (usedFilenames.containsKey(baseFilename)) {
-                    int count = usedFilenames.get(baseFilename) + 1;
-                    usedFilenames.put(baseFilename, count);
-                    entryName = baseFilename + "_" + count + ".conll";
-                } else {
-                    usedFilenames.put(baseFilename, 1);
-                    entryName = baseFilename + ".conll";
-                }
+            renderDocuments(new TeeOutputStream(zos, spoolOut), documents, corefAnnotationsPerDoc,
+                    posOverridesPerDoc, options, new DocumentBoundary() {
+                        @Override
+                        public void begin(DocumentInfo doc) throws IOException {
+                            // Generate unique filename to avoid duplicates
+                            String baseFilename = sanitizeFilename(doc.documentName);
+                            String entryName;
+                            if (usedFilenames.containsKey(baseFilename)) {
+                                int count = usedFilenames.get(baseFilename) + 1;
+                                usedFilenames.put(baseFilename, count);
+                                entryName = baseFilename + "_" + count + ".conll";
+                            } else {
+                                usedFilenames.put(baseFilename, 1);
+                                entryName = baseFilename + ".conll";
+                            }
+                            zos.putNextEntry(new ZipEntry(entryName));
+                        }
+
+                        @Override
+                        public void end() throws IOException {
+                            zos.closeEntry();
+                        }
+                    });
+        }
+    }
 
-                // Add to ZIP
-                ZipEntry entry = new ZipEntry(entryName);
-                zos.putNextEntry(entry);
-                zos.write(content.getBytes(StandardCharsets.UTF_8));
-                zos.closeEntry();
+    /**
+     * Called around each document's bytes as they are written, in workspace
+     * order.
+     */
+    private interface DocumentBoundary {
+
+        default void begin(DocumentInfo doc) throws IOException {
+        }
+
+        default void end() throws IOException {
+        }
+    }
 
-                // Update offset for next document
-                if (options.isContinueSentenceNumbers()) {
-                    sentenceOffset += sentences.size();
+    /**
+     * Render the documents to {@code target} in order. With a parallelism above
+     * one, up to that many documents are fetched and rendered concurrently on
+     * {@code renderExecutor}, each into its own temp file, and copied to
+     * {@code target} in order as the oldest one completes. Token queries of all
+     * exports' tasks together take at most {@code renderConnections} database
+     * connections; the rest wait for a permit, while encoding and spooling run
+     * without one.
+     */
+    private void renderDocuments(OutputStream target, List<DocumentInfo> documents,
+            Map<UUID, CorefAnnotations> corefAnnotationsPerDoc,
+            Map<UUID, Map<UUID, String>> posOverridesPerDoc,
+            ExportOptions options,
+            DocumentBoundary boundary) throws IOException {
+        int[] offsets = sentenceOffsets(documents, options);
+        if (parallelism == 1 || documents.size() == 1) {
+            ConllLineEncoder encoder = new ConllLineEncoder(target);
+            for (int i = 0; i < documents.size(); i++) {
+                boundary.begin(documents.get(i));
+                writeDocument(encoder, documents.get(i), corefAnnotationsPerDoc, posOverridesPerDoc,
+                        options, offsets[i], false);
+                encoder.flush();
+                boundary.end();
+            }
+            return;
+        }
+
+        Deque<Future<Path>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        try {
+            for (int i = 0; i < documents.size(); i++) {
+                if (inFlight.size() == parallelism) {
+                    assemble(documents.get(next++), inFlight.poll(), target, boundary);
                 }
+                DocumentInfo doc = documents.get(i);
+                int offset = offsets[i];
+                inFlight.add(renderExecutor.submit(() -> renderToSpool(doc, corefAnnotationsPerDoc,
+                        posOverridesPerDoc, options, offset)));
+            }
+            while (!inFlight.isEmpty()) {
+                assemble(documents.get(next++), inFlight.poll(), target, boundary);
             }
+        } finally {
+            // Only non-empty after a failure: let the rest finish and drop their spools.
+            for (Future<Path> abandoned : inFlight) {
+                discard(abandoned);
+            }
+        }
+    }
 
-            // 2. Add merged file if requested
-            if (options.getExportFormat() == ExportFormat.SEPARATE_FILES_ZIP_WITH_MERGED) {
-                ExportResult mergedResult = exportMerged(documents, corefAnnotationsPerDoc, posOverridesPerDoc, options, workspaceName);
-                ZipEntry entry = new ZipEntry("merged.conll");
-                zos.putNextEntry(entry);
-                zos.write(mergedResult.getContent());
-                zos.closeEntry();
+    private Path renderToSpool(DocumentInfo doc,
+            Map<UUID, CorefAnnotations> corefAnnotationsPerDoc,
+            Map<UUID, Map<UUID, String>> posOverridesPerDoc,
+            ExportOptions options,
+            int sentenceOffset) throws IOException {
+        Path spool = Files.createTempFile("genesis-export-doc-", ".conll");
+        try (OutputStream out = Files.newOutputStream(spool)) {
+            ConllLineEncoder encoder = new ConllLineEncoder(out);
+            writeDocument(encoder, doc, corefAnnotationsPerDoc, posOverridesPerDoc, options, sentenceOffset, true);
+            encoder.flush();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+        return spool;
+    }
+
+    private void assemble(DocumentInfo doc, Future<Path> rendered, OutputStream target,
+            DocumentBoundary boundary) throws IOException {
+        Path spool = await(rendered);
+        try {
+            boundary.begin(doc);
+            Files.copy(spool, target);
+            boundary.end();
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    private Path await(Future<Path> rendered) throws IOException {
+        try {
+            return rendered.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while rendering export documents");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
             }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Export document rendering failed", e.getCause());
+        }
+    }
 
-            // 3. Add sidecar CSV with annotator counts (consensus confidence).
-            if (annotatorCountsPerDoc != null && !annotatorCountsPerDoc.isEmpty()) {
-                String sidecar = buildAnnotatorCountsCsv(documents, annotatorCountsPerDoc);
-                if (!sidecar.isEmpty()) {
-                    String csvName = sanitizeFilename(workspaceName) + "_annotators.csv";
-                    ZipEntry entry = new ZipEntry(csvName);
-                    zos.putNextEntry(entry);
-                    zos.write(sidecar.getBytes(StandardCharsets.UTF_8));
-                    zos.closeEntry();
+    private void discard(Future<Path> rendered) {
+        try {
+            Files.deleteIfExists(await(rendered));
+        } catch (IOException | RuntimeException e) {
+            // The export already failed; a spool that failed to render was removed by its task.
+        }
+    }
+
+    /**
+     * Sentence number offset of each document. Only sentence-number column 2
+     * with continued numbering depends on the preceding documents, so the
+     * sentence counts are only queried then.
+     */
+    private int[] sentenceOffsets(List<DocumentInfo> documents, ExportOptions options) {
+        int[] offsets = new int[documents.size()];
+        if (!options.isContinueSentenceNumbers() || options.getColumn2Mode() != Column2Mode.SENTENCE_NUMBER) {
+            return offsets;
+        }
+        for (int i = 1; i < documents.size(); i++) {
+            offsets[i] = offsets[i - 1]
+                    + Math.toIntExact(sentenceRepository.countByDocumentId(documents.get(i - 1).documentId));
+        }
+        return offsets;
+    }
+
+    /**
+     * Stream one document, reading its tokens in keyset-paged chunks and
+     * detaching each chunk once written so the persistence context does not
+     * grow with the document.
+     *
+     * @param renderTask whether this runs as a render task, whose queries take
+     *                   a {@code renderConnections} permit
+     */
+    private void writeDocument(ExportDocumentWriter encoder, DocumentInfo doc,
+            Map<UUID, CorefAnnotations> corefAnnotationsPerDoc,
+            Map<UUID, Map<UUID, String>> posOverridesPerDoc,
+            ExportOptions options,
+            int sentenceOffset,
+            boolean renderTask) throws IOException {
+        CorefAnnotations coref = corefAnnotationsPerDoc != null
+                ? corefAnnotationsPerDoc.getOrDefault(doc.documentId, NO_COREF)
+                : NO_COREF;
+        Map<UUID, String> posOverrides = posOverridesPerDoc != null
+                ? posOverridesPerDoc.getOrDefault(doc.documentId, Map.of())
+                : null;
+
+        encoder.beginDocument(doc.documentName);
+        List<TokenEntity> sentence = new ArrayList<>();
+        int cursor = Integer.MIN_VALUE;
+        List<TokenEntity> chunk;
+        do {
+            chunk = renderTask ? fetchTokensWithPermit(doc.documentId, cursor) : fetchTokens(doc.documentId, cursor);
+            for (TokenEntity token : chunk) {
+                if (!sentence.isEmpty()
+                        && !Objects.equals(sentence.get(0).getSentenceIndex(), token.getSentenceIndex())) {
+                    writeSentence(encoder, sentence, coref, posOverrides, options, sentenceOffset);
+                    sentence.clear();
+                }
+                sentence.add(token);
+            }
+            if (!chunk.isEmpty()) {
+                cursor = chunk.get(chunk.size() - 1).getGlobalIndex();
+                // Only a bound persistence context (OSIV, a transaction) keeps
+                // the rows; without one every detach would open an EntityManager.
+                if (entityManager.contains(chunk.get(0))) {
+                    chunk.forEach(entityManager::detach);
                 }
             }
+        } while (chunk.size() == TOKEN_CHUNK_SIZE);
+        if (!sentence.isEmpty()) {
+            writeSentence(encoder, sentence, coref, posOverrides, options, sentenceOffset);
         }
+        encoder.endDocument();
+    }
 
-        String filename = sanitizeFilename(workspaceName) + ".zip";
-        return new ExportResult(
-                baos.toByteArray(),
-                "application/zip",
-                filename);
+    private List<TokenEntity> fetchTokens(UUID documentId, int cursor) {
+        return tokenRepository.findByDocumentIdAndGlobalIndexGreaterThanOrderByGlobalIndexAsc(
+                documentId, cursor, PageRequest.of(0, TOKEN_CHUNK_SIZE));
     }
 
     /**
-     * Get tokens grouped by sentence index.
+     * A render task borrows a pooled connection only for the query itself, so
+     * the permit is held around each page fetch rather than the whole render.
      */
-    private Map<Integer, List<TokenEntity>> getTokensBySentence(UUID documentId) {
-        List<TokenEntity> allTokens = tokenRepository.findByDocumentIdOrderByGlobalIndexAsc(documentId);
-        Map<Integer, List<TokenEntity>> map = new HashMap<>();
-
-        for (TokenEntity token : allTokens) {
-            map.computeIfAbsent(token.getSentenceIndex(), k -> new ArrayList<>()).add(token);
+    private List<TokenEntity> fetchTokensWithPermit(UUID documentId, int cursor) throws IOException {
+        try {
+            renderConnections.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to read export tokens");
+        }
+        try {
+            return fetchTokens(documentId, cursor);
+        } finally {
+            renderConnections.release();
         }
+    }
+
+    private void writeSentence(ExportDocumentWriter encoder, List<TokenEntity> tokens,
+            CorefAnnotations coref,
+            Map<UUID, String> posOverrides,
+            ExportOptions options,
+            int sentenceOffset) throws IOException {
+        int column2 = exporter.column2Value(tokens.get(0).getSentenceIndex(), options, sentenceOffset);
+        encoder.sentence(column2, tokens, coref, posOverrides);
+    }
 
-        return map;
+    private static Writer newWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
     }
 
-    private String buildAnnotatorCountsCsv(List<DocumentInfo> documents,
+    private boolean hasAnnotatorCounts(List<DocumentInfo> documents,
             Map<UUID, Map<UUID, Long>> annotatorCountsPerDoc) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("document_id,token_id,annotator_count\n");
-        boolean anyRow = false;
+        if (annotatorCountsPerDoc == null) {
+            return false;
+        }
+        for (DocumentInfo doc : documents) {
+            Map<UUID, Long> counts = annotatorCountsPerDoc.get(doc.documentId);
+            if (counts != null && !counts.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeAnnotatorCountsCsv(Writer writer, List<DocumentInfo> documents,
+            Map<UUID, Map<UUID, Long>> annotatorCountsPerDoc) throws IOException {
+        writer.write("document_id,token_id,annotator_count\n");
         for (DocumentInfo doc : documents) {
             Map<UUID, Long> counts = annotatorCountsPerDoc.get(doc.documentId);
             if (counts == null || counts.isEmpty()) {
                 continue;
             }
             for (Map.Entry<UUID, Long> entry : counts.entrySet()) {
-                sb.append(doc.documentId).append(',')
-                        .append(entry.getKey()).append(',')
-                        .append(entry.getValue()).append('\n');
-                anyRow = true;
+                writer.append(doc.documentId.toString()).append(',')
+                        .append(entry.getKey().toString()).append(',')
+                        .append(String.valueOf(entry.getValue())).append('\n');
             }
         }
-        return anyRow ? sb.toString() : "";
     }
 
     private String sanitizeFilename(String name) {
@@ -0,0 +1,86 @@
+package com.genesis.importexport.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning knobs for document import.
+ *
+ * <p>Prefixed with {@code genesis.import} and bound from
+ * {@code application.properties} / environment variables.
+ */
+@ConfigurationProperties(prefix = "genesis.import")
+public class ImportProperties {
+
+    /**
+     * Number of sentences buffered before their sentence and token rows are
+     * flushed to the database and detached from the persistence context. Peak
+     * heap during a plain-text import scales with this value, not with the size
+     * of the uploaded document.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Write sentence/token rows with PostgreSQL {@code COPY FROM STDIN}. When
+     * {@code false}, or when the database is not PostgreSQL, rows are written with
+     * JDBC batch inserts instead.
+     */
+    private boolean copyEnabled = true;
+
+    /**
+     * Rows per {@code executeBatch} on the JDBC batch path.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * CoNLL-2012 document parts decoded concurrently when a file has several
+     * {@code #begin document ... part N} sections. {@code 1} decodes inline.
+     */
+    private int conllParallelism = 4;
+
+    /**
+     * Reuse the sentence/token rows of an earlier upload with identical bytes
+     * (and the same tokenizer and segmenter versions) instead of tokenizing
+     * again.
+     */
+    private boolean tokenizationCacheEnabled = true;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public boolean isCopyEnabled() {
+        return copyEnabled;
+    }
+
+    public void setCopyEnabled(boolean copyEnabled) {
+        this.copyEnabled = copyEnabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getConllParallelism() {
+        return conllParallelism;
+    }
+
+    public void setConllParallelism(int conllParallelism) {
+        this.conllParallelism = conllParallelism;
+    }
+
+    public boolean isTokenizationCacheEnabled() {
+        return tokenizationCacheEnabled;
+    }
+
+    public void setTokenizationCacheEnabled(boolean tokenizationCacheEnabled) {
+        this.tokenizationCacheEnabled = tokenizationCacheEnabled;
+    }
+}
@@ -1,23 +1,40 @@
 package com.genesis.importexport.service;
 
+import com.genesis.common.exception.ResourceNotFoundException;
+import com.genesis.importexport.entity.ImportJobEntity;
+import com.genesis.importexport.entity.ImportJobStatus;
 import com.genesis.importexport.entity.SentenceEntity;
 import com.genesis.importexport.entity.TokenEntity;
 import com.genesis.importexport.event.ConllImportedEvent;
+import com.genesis.importexport.event.DocumentTokensRemappedEvent;
+import com.genesis.importexport.event.TokenRemap;
 import com.genesis.importexport.format.Conll2012Parser;
 import com.genesis.importexport.format.Conll2012Parser.MentionSpan;
+import com.genesis.importexport.repository.BulkTokenWriter;
+import com.genesis.importexport.repository.ImportJobRepository;
 import com.genesis.importexport.repository.SentenceRepository;
 import com.genesis.importexport.repository.TokenRepository;
+import com.genesis.importexport.repository.TokenizationCacheRepository;
 import com.genesis.importexport.tokenizer.SentenceSegmenter;
-import com.genesis.importexport.tokenizer.SentenceSegmenter.SentenceResult;
 import com.genesis.importexport.tokenizer.Tokenizer;
-import com.genesis.importexport.tokenizer.Tokenizer.TokenResult;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 /**
  * Service for importing documents and tokenizing their content.
@@ -25,24 +42,49 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class ImportService {
 
+    private static final Logger log = LoggerFactory.getLogger(ImportService.class);
+
+    /**
+     * Upper bound on the token LCS table of a re-import (rows x columns). Edits
+     * beyond it still re-import correctly; only the tokens past the common
+     * leading and trailing ones lose their ids.
+     */
+    static final long MAX_TOKEN_DIFF_CELLS = 4_000_000;
+
     private final TokenRepository tokenRepository;
     private final SentenceRepository sentenceRepository;
     private final Tokenizer tokenizer;
     private final SentenceSegmenter sentenceSegmenter;
     private final Conll2012Parser conll2012Parser;
     private final ApplicationEventPublisher eventPublisher;
+    private final BulkTokenWriter bulkWriter;
+    private final ImportProperties importProperties;
+    private final ImportJobRepository importJobRepository;
+    private final TransactionOperations transactionOperations;
+    private final TokenizationCacheRepository tokenizationCacheRepository;
 
     public ImportService(TokenRepository tokenRepository,
             SentenceRepository sentenceRepository,
             Tokenizer tokenizer,
             SentenceSegmenter sentenceSegmenter,
-            ApplicationEventPublisher eventPublisher) {
+            Conll2012Parser conll2012Parser,
+            ApplicationEventPublisher eventPublisher,
+            BulkTokenWriter bulkWriter,
+            ImportProperties importProperties,
+            ImportJobRepository importJobRepository,
+            TransactionOperations transactionOperations,
+            TokenizationCacheRepository tokenizationCacheRepository) {
         this.tokenRepository = tokenRepository;
         this.sentenceRepository = sentenceRepository;
         this.tokenizer = tokenizer;
         this.sentenceSegmenter = sentenceSegmenter;
-        this.conll2012Parser = new Conll2012Parser();
+        this.conll2012Parser = conll2012Parser;
         this.eventPublisher = eventPublisher;
+        this.bulkWriter = bulkWriter;
+        this.importProperties = importProperties;
+        this.importJobRepository = importJobRepository;
+        this.transactionOperations = transactionOperations;
+        this.tokenizationCacheRepository = tokenizationCacheRepository;
     }
 
     /**
@@ -66,6 +108,35 @@ public class ImportService {
         }
     }
 
+    /**
+     * Result of an incremental re-import.
+     */
+    public static class ReimportResult extends ImportResult {
+        private final int rewrittenSentences;
+        private final int removedTokens;
+
+        public ReimportResult(int sentenceCount, int tokenCount, int rewrittenSentences, int removedTokens) {
+            super(sentenceCount, tokenCount);
+            this.rewrittenSentences = rewrittenSentences;
+            this.removedTokens = removedTokens;
+        }
+
+        /**
+         * Sentences written anew; every other sentence kept its row.
+         */
+        public int getRewrittenSentences() {
+            return rewrittenSentences;
+        }
+
+        /**
+         * Previously stored tokens that no longer exist, together with any
+         * annotation on them.
+         */
+        public int getRemovedTokens() {
+            return removedTokens;
+        }
+    }
+
     /**
      * Import plain text content and tokenize it.
      *
@@ -75,62 +146,641 @@ public class ImportService {
      */
     @Transactional
     public ImportResult importPlainText(UUID documentId, String content) {
-        // Clear any existing tokens/sentences for this document
+        try {
+            return importPlainText(documentId, new StringReader(content == null ? "" : content));
+        } catch (IOException e) {
+            // StringReader never throws; kept for the checked signature.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Import plain text from a character stream, segmenting and tokenizing it
+     * line by line. Sentence and token rows are written through the
+     * {@link BulkTokenWriter} once at least {@link ImportProperties#getChunkSize()}
+     * sentences are buffered at the end of a line, so peak heap depends on the
+     * chunk size (and the longest line), not on the document size.
+     *
+     * <p>Offsets are character offsets into the stream exactly as read; both
+     * {@code \n} and {@code \r\n} line endings are accounted for. The reader is
+     * not closed.
+     *
+     * @param documentId the document UUID
+     * @param source     the text content to tokenize
+     * @return import result with counts
+     * @throws IOException if reading the source fails
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public ImportResult importPlainText(UUID documentId, Reader source) throws IOException {
+        clearDocument(documentId);
+
+        return streamPlainText(documentId, source, Checkpoint.START,
+                (sentences, tokens, reached, last) -> flushChunk(sentences, tokens));
+    }
+
+    /**
+     * Progress of a checkpointed plain-text import: everything before
+     * {@code charOffset} / {@code byteOffset} of the source (always a line
+     * boundary) is committed as {@code sentences} sentences and {@code tokens}
+     * tokens.
+     */
+    public record Checkpoint(int sentences, int tokens, long charOffset, long byteOffset) {
+        static final Checkpoint START = new Checkpoint(0, 0, 0, 0);
+    }
+
+    /**
+     * The checkpoint an interrupted import of this document can resume from.
+     *
+     * @param documentId the document UUID
+     * @return the last committed checkpoint, or empty if the import has to start
+     *         from the beginning (no job, already completed, nothing committed
+     *         yet, or no usable byte offset)
+     */
+    @Transactional(readOnly = true)
+    public Optional<Checkpoint> findCheckpoint(UUID documentId) {
+        return importJobRepository.findByDocumentId(documentId)
+                .filter(job -> job.getStatus() == ImportJobStatus.RUNNING && job.getByteOffset() > 0)
+                .map(job -> new Checkpoint(job.getSentencesCommitted(), job.getTokensCommitted(),
+                        job.getCharOffset(), job.getByteOffset()));
+    }
+
+    /**
+     * Import plain text as a resumable job. Unlike
+     * {@link #importPlainText(UUID, Reader)} this is not one transaction: every
+     * chunk of sentence and token rows commits on its own together with the
+     * document's {@link ImportJobEntity} checkpoint, so a JVM restart loses at
+     * most one chunk of work.
+     *
+     * <p>If the import throws instead, the rows committed so far are deleted and
+     * the job is marked {@link ImportJobStatus#FAILED} in a compensating
+     * transaction, so a failed document is left without partial tokens, as the
+     * single-transaction import would leave it.
+     *
+     * @param documentId the document UUID
+     * @param source     the text content, positioned at {@code from.byteOffset()}
+     *                   (or at the start when {@code from} is {@code null})
+     * @param from       checkpoint from {@link #findCheckpoint(UUID)} to resume
+     *                   from, or {@code null} to clear the document and start over
+     * @return import result with counts for the whole document
+     * @throws IOException if reading the source fails
+     */
+    public ImportResult importPlainTextCheckpointed(UUID documentId, Reader source, Checkpoint from)
+            throws IOException {
+        Checkpoint start = from == null ? Checkpoint.START : from;
+        UUID jobId = transactionOperations.execute(status -> beginJob(documentId, from));
+
+        try {
+            return streamPlainText(documentId, source, start,
+                    (sentences, tokens, reached, last) -> transactionOperations.execute(status -> {
+                        long nanos = flushChunk(sentences, tokens);
+                        ImportJobEntity job = findJob(jobId);
+                        job.setSentencesCommitted(reached.sentences());
+                        job.setTokensCommitted(reached.tokens());
+                        job.setCharOffset(reached.charOffset());
+                        job.setByteOffset(reached.byteOffset());
+                        if (last) {
+                            job.setStatus(ImportJobStatus.COMPLETED);
+                        }
+                        importJobRepository.save(job);
+                        return nanos;
+                    }));
+        } catch (IOException | RuntimeException e) {
+            try {
+                transactionOperations.executeWithoutResult(status -> failJob(documentId, jobId));
+            } catch (RuntimeException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+    }
+
+    private ImportJobEntity findJob(UUID jobId) {
+        return importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("ImportJob", jobId));
+    }
+
+    /**
+     * Undo the chunks a failed checkpointed import committed and mark its job
+     * {@link ImportJobStatus#FAILED} with no checkpoint left to resume from.
+     */
+    private void failJob(UUID documentId, UUID jobId) {
+        clearDocument(documentId);
+        ImportJobEntity job = findJob(jobId);
+        job.setStatus(ImportJobStatus.FAILED);
+        job.setSentencesCommitted(0);
+        job.setTokensCommitted(0);
+        job.setCharOffset(0);
+        job.setByteOffset(0);
+        importJobRepository.save(job);
+        log.warn("Import of document {} failed; removed its committed chunks", documentId);
+    }
+
+    /**
+     * Clear any existing tokens/sentences for the document, together with the
+     * tokenization cache entries that would copy them.
+     */
+    private void clearDocument(UUID documentId) {
         tokenRepository.deleteByDocumentId(documentId);
         sentenceRepository.deleteByDocumentId(documentId);
+        tokenizationCacheRepository.deleteBySourceDocumentId(documentId);
+    }
 
-        if (content == null || content.trim().isEmpty()) {
-            return new ImportResult(0, 0);
+    /**
+     * Create or reset the document's job row; when starting over, also clear any
+     * rows left by an earlier attempt.
+     *
+     * @return the job id
+     */
+    private UUID beginJob(UUID documentId, Checkpoint from) {
+        ImportJobEntity job = importJobRepository.findByDocumentId(documentId).orElseGet(() -> {
+            ImportJobEntity created = new ImportJobEntity();
+            created.setDocumentId(documentId);
+            return created;
+        });
+        if (from == null) {
+            clearDocument(documentId);
+            job.setSentencesCommitted(0);
+            job.setTokensCommitted(0);
+            job.setCharOffset(0);
+            job.setByteOffset(0);
+        } else {
+            log.info("Resuming import of document {} at sentence {} (byte {})",
+                    documentId, from.sentences(), from.byteOffset());
         }
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setAttempts(job.getAttempts() + 1);
+        return importJobRepository.save(job).getId();
+    }
 
-        // Segment into sentences
-        List<SentenceResult> sentenceResults = sentenceSegmenter.segment(content);
+    /**
+     * Commits a buffered chunk; {@code reached} is the progress including it.
+     */
+    @FunctionalInterface
+    private interface ChunkCommitter {
+        /**
+         * @return nanoseconds spent writing
+         */
+        long commit(List<SentenceEntity> sentences, List<TokenEntity> tokens, Checkpoint reached, boolean last);
+    }
 
-        List<SentenceEntity> sentences = new ArrayList<>();
+    /**
+     * The plain-text import loop shared by the single-transaction and the
+     * checkpointed paths. Chunks are only handed to {@code committer} at line
+     * boundaries, so every checkpoint is a position the import can restart from.
+     */
+    private ImportResult streamPlainText(UUID documentId, Reader source, Checkpoint start,
+            ChunkCommitter committer) throws IOException {
+        int chunkSize = Math.max(1, importProperties.getChunkSize());
+        List<SentenceEntity> sentences = new ArrayList<>(chunkSize);
         List<TokenEntity> tokens = new ArrayList<>();
-        int globalIndex = 0;
-
-        for (int sentenceIndex = 0; sentenceIndex < sentenceResults.size(); sentenceIndex++) {
-            SentenceResult sentenceResult = sentenceResults.get(sentenceIndex);
-
-            // Tokenize this sentence
-            List<TokenResult> tokenResults = tokenizer.tokenize(
-                    sentenceResult.getText(),
-                    sentenceResult.getStartOffset());
-
-            // Create sentence entity
-            SentenceEntity sentence = new SentenceEntity();
-            sentence.setDocumentId(documentId);
-            sentence.setSentenceIndex(sentenceIndex);
-            sentence.setText(sentenceResult.getText());
-            sentence.setStartOffset(sentenceResult.getStartOffset());
-            sentence.setEndOffset(sentenceResult.getEndOffset());
-            sentence.setTokenCount(tokenResults.size());
-            sentences.add(sentence);
-
-            // Create token entities
-            for (int tokenIndex = 0; tokenIndex < tokenResults.size(); tokenIndex++) {
-                TokenResult tokenResult = tokenResults.get(tokenIndex);
-
-                TokenEntity token = new TokenEntity();
-                token.setDocumentId(documentId);
-                token.setSentenceIndex(sentenceIndex);
-                token.setTokenIndex(tokenIndex);
-                token.setGlobalIndex(globalIndex);
-                token.setForm(tokenResult.getText());
-                token.setStartOffset(tokenResult.getStartOffset());
-                token.setEndOffset(tokenResult.getEndOffset());
-                tokens.add(token);
-
-                globalIndex++;
+        int sentenceCount = start.sentences();
+        int globalIndex = start.tokens();
+        long byteOffset = start.byteOffset();
+        long writeNanos = 0;
+
+        Reader reader = source instanceof BufferedReader ? source : new BufferedReader(source);
+        StringBuilder line = new StringBuilder();
+        SentenceBounds bounds = new SentenceBounds();
+        int lineStartOffset = Math.toIntExact(start.charOffset());
+        int consumed;
+
+        while ((consumed = readLine(reader, line)) >= 0) {
+            // Sentences never span a line break, so each line segments on its own.
+            bounds.clear();
+            sentenceSegmenter.segment(line, bounds);
+            for (int b = 0; b < bounds.size(); b++) {
+                SentenceEntity sentence = buildSentence(documentId, line.substring(bounds.start(b), bounds.end(b)),
+                        lineStartOffset + bounds.start(b), sentenceCount, globalIndex, tokens);
+                sentences.add(sentence);
+                globalIndex += sentence.getTokenCount();
+                sentenceCount++;
+            }
+            lineStartOffset += consumed;
+            if (byteOffset >= 0) {
+                // The line terminator is ASCII: one byte per character.
+                int lineBytes = utf8Length(line);
+                byteOffset = lineBytes < 0 ? -1 : byteOffset + lineBytes + (consumed - line.length());
+            }
+
+            if (sentences.size() >= chunkSize) {
+                writeNanos += committer.commit(sentences, tokens,
+                        new Checkpoint(sentenceCount, globalIndex, lineStartOffset, byteOffset), false);
             }
         }
+        writeNanos += committer.commit(sentences, tokens,
+                new Checkpoint(sentenceCount, globalIndex, lineStartOffset, byteOffset), true);
 
-        // Save all
-        sentenceRepository.saveAll(sentences);
-        tokenRepository.saveAll(tokens);
+        logWriteRate(documentId, (sentenceCount - start.sentences()) + (globalIndex - start.tokens()), writeNanos);
+        return new ImportResult(sentenceCount, globalIndex);
+    }
 
-        return new ImportResult(sentences.size(), tokens.size());
+    /**
+     * Tokenize one sentence straight into token entities appended to
+     * {@code tokens}, and build its sentence entity.
+     */
+    private SentenceEntity buildSentence(UUID documentId, String sentenceText, int startOffset, int sentenceIndex,
+            int firstGlobalIndex, List<TokenEntity> tokens) {
+        int firstToken = tokens.size();
+        int tokenCount = tokenizer.tokenize(sentenceText, startOffset, (tokenStart, tokenEnd) -> {
+            int tokenIndex = tokens.size() - firstToken;
+            TokenEntity token = new TokenEntity();
+            token.setDocumentId(documentId);
+            token.setSentenceIndex(sentenceIndex);
+            token.setTokenIndex(tokenIndex);
+            token.setGlobalIndex(firstGlobalIndex + tokenIndex);
+            token.setForm(sentenceText.substring(tokenStart - startOffset, tokenEnd - startOffset));
+            token.setStartOffset(tokenStart);
+            token.setEndOffset(tokenEnd);
+            tokens.add(token);
+        });
+
+        SentenceEntity sentence = new SentenceEntity();
+        sentence.setDocumentId(documentId);
+        sentence.setSentenceIndex(sentenceIndex);
+        sentence.setText(sentenceText);
+        sentence.setTextHash(textHash(sentenceText));
+        sentence.setStartOffset(startOffset);
+        sentence.setEndOffset(startOffset + sentenceText.length());
+        sentence.setTokenCount(tokenCount);
+        return sentence;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units of a sentence; stored as
+     * {@code sentences.text_hash}.
+     */
+    static long textHash(CharSequence text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * UTF-8 encoded length of decoded text, or -1 if it contains U+FFFD: a
+     * replacement character may stand for any number of malformed input bytes,
+     * so the source position can no longer be derived from the text.
+     */
+    static int utf8Length(CharSequence text) {
+        int bytes = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (c == '\uFFFD') {
+                return -1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Re-import plain text into an already tokenized document, rewriting only
+     * what changed.
+     *
+     * <p>The new text is segmented and lined up against the stored sentences by
+     * {@code (text_hash, length)}: the unchanged leading and trailing sentences
+     * keep their rows and are moved with a few bulk {@code UPDATE}s, and only the
+     * sentences in between are tokenized and written. Within that changed range,
+     * old tokens are matched to new ones by form, so a token whose text survived
+     * the edit keeps its id -- and with it the POS and WSD annotations keyed on
+     * it. A {@link DocumentTokensRemappedEvent} carries the position mapping to
+     * the modules that key annotations on token positions.
+     *
+     * <p>Falls back to {@link #importPlainText(UUID, Reader)} when the document
+     * has no sentences yet. Unlike the streaming import, the segmented text is
+     * held in memory for the duration of the diff. The reader is not closed.
+     *
+     * @param documentId the document UUID
+     * @param source     the full new text
+     * @return import result with counts for the whole document
+     * @throws IOException if reading the source fails
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public ReimportResult reimportPlainText(UUID documentId, Reader source) throws IOException {
+        List<SentenceRepository.SentenceDigest> stored = sentenceRepository.findDigestsByDocumentId(documentId);
+        if (stored.isEmpty() || stored.stream().anyMatch(d -> d.getTokenCount() == null)) {
+            ImportResult full = importPlainText(documentId, source);
+            return new ReimportResult(full.getSentenceCount(), full.getTokenCount(), full.getSentenceCount(), 0);
+        }
+        // The rows no longer match the bytes any cache entry was recorded for.
+        tokenizationCacheRepository.deleteBySourceDocumentId(documentId);
+        List<SegmentedSentence> fresh = segmentAll(source);
+        int oldCount = stored.size();
+        int newCount = fresh.size();
+
+        int prefix = 0;
+        while (prefix < oldCount && prefix < newCount && sameText(stored.get(prefix), fresh.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < oldCount - prefix && suffix < newCount - prefix
+                && sameText(stored.get(oldCount - 1 - suffix), fresh.get(newCount - 1 - suffix))) {
+            suffix++;
+        }
+        int oldEnd = oldCount - suffix;
+        int newEnd = newCount - suffix;
+
+        int firstChangedToken = 0;
+        for (int i = 0; i < prefix; i++) {
+            firstChangedToken += stored.get(i).getTokenCount();
+        }
+        int[] oldStarts = new int[oldEnd - prefix + 1];
+        oldStarts[0] = firstChangedToken;
+        for (int i = prefix; i < oldEnd; i++) {
+            oldStarts[i - prefix + 1] = oldStarts[i - prefix] + stored.get(i).getTokenCount();
+        }
+
+        // Tokenize only the changed sentences.
+        List<SentenceEntity> newSentences = new ArrayList<>(newEnd - prefix);
+        List<TokenEntity> newTokens = new ArrayList<>();
+        int[] newStarts = new int[newEnd - prefix + 1];
+        newStarts[0] = firstChangedToken;
+        for (int i = prefix; i < newEnd; i++) {
+            SegmentedSentence sentence = fresh.get(i);
+            SentenceEntity entity = buildSentence(documentId, sentence.text(), sentence.startOffset(), i,
+                    newStarts[i - prefix], newTokens);
+            newSentences.add(entity);
+            newStarts[i - prefix + 1] = newStarts[i - prefix] + entity.getTokenCount();
+        }
+
+        List<TokenEntity> oldTokens = oldEnd > prefix
+                ? tokenRepository.findByDocumentIdAndSentenceIndexRange(documentId, prefix, oldEnd - 1)
+                : List.of();
+        int[] match = matchTokens(oldTokens, newTokens);
+        int[] oldToNew = new int[oldTokens.size()];
+        List<UUID> removed = new ArrayList<>();
+        boolean[] reused = new boolean[newTokens.size()];
+        for (int i = 0; i < oldTokens.size(); i++) {
+            oldToNew[i] = match[i] < 0 ? -1 : firstChangedToken + match[i];
+            if (match[i] < 0) {
+                removed.add(oldTokens.get(i).getId());
+            } else {
+                reused[match[i]] = true;
+            }
+        }
+
+        // Order matters: the bulk statements select rows by their old sentence
+        // index, so the changed range is cleared before anything is moved, and the
+        // reused tokens are only renumbered once the shifts are done.
+        if (oldEnd > prefix) {
+            sentenceRepository.deleteSentenceRange(documentId, prefix, oldEnd);
+        }
+        if (!removed.isEmpty()) {
+            tokenRepository.deleteAllByIdInBatch(removed);
+        }
+        shiftRetained(documentId, stored, fresh, 0, prefix, 0, 0);
+        shiftRetained(documentId, stored, fresh, oldEnd, oldCount, newEnd - oldEnd,
+                (newStarts[newStarts.length - 1] - newStarts[0]) - (oldStarts[oldStarts.length - 1] - oldStarts[0]));
+        List<TokenEntity> inserted = new ArrayList<>(newTokens.size());
+        for (int i = 0; i < oldTokens.size(); i++) {
+            if (match[i] >= 0) {
+                TokenEntity kept = oldTokens.get(i);
+                TokenEntity moved = newTokens.get(match[i]);
+                kept.setSentenceIndex(moved.getSentenceIndex());
+                kept.setTokenIndex(moved.getTokenIndex());
+                kept.setGlobalIndex(moved.getGlobalIndex());
+                kept.setStartOffset(moved.getStartOffset());
+                kept.setEndOffset(moved.getEndOffset());
+            }
+        }
+        for (int j = 0; j < newTokens.size(); j++) {
+            if (!reused[j]) {
+                inserted.add(newTokens.get(j));
+            }
+        }
+        bulkWriter.writeSentences(newSentences);
+        bulkWriter.writeTokens(inserted);
+
+        if (oldEnd > prefix || newEnd > prefix) {
+            eventPublisher.publishEvent(new DocumentTokensRemappedEvent(this, documentId,
+                    new TokenRemap(prefix, oldStarts, newStarts, oldToNew)));
+        }
+
+        int tokenCount = firstChangedToken + (newStarts[newStarts.length - 1] - newStarts[0]);
+        for (int i = oldEnd; i < oldCount; i++) {
+            tokenCount += stored.get(i).getTokenCount();
+        }
+        log.info("Re-imported document {}: rewrote {} of {} sentences, kept {} of {} changed-range tokens",
+                documentId, newEnd - prefix, newCount, oldTokens.size() - removed.size(), oldTokens.size());
+        return new ReimportResult(newCount, tokenCount, newEnd - prefix, removed.size());
+    }
+
+    /**
+     * A segmented sentence of the new text during a re-import.
+     */
+    private record SegmentedSentence(String text, int startOffset, long hash) {
+    }
+
+    private List<SegmentedSentence> segmentAll(Reader source) throws IOException {
+        List<SegmentedSentence> sentences = new ArrayList<>();
+        Reader reader = source instanceof BufferedReader ? source : new BufferedReader(source);
+        StringBuilder line = new StringBuilder();
+        SentenceBounds bounds = new SentenceBounds();
+        int lineStartOffset = 0;
+        int consumed;
+        while ((consumed = readLine(reader, line)) >= 0) {
+            bounds.clear();
+            sentenceSegmenter.segment(line, bounds);
+            for (int b = 0; b < bounds.size(); b++) {
+                String text = line.substring(bounds.start(b), bounds.end(b));
+                sentences.add(new SegmentedSentence(text, lineStartOffset + bounds.start(b), textHash(text)));
+            }
+            lineStartOffset += consumed;
+        }
+        return sentences;
+    }
+
+    private static boolean sameText(SentenceRepository.SentenceDigest stored, SegmentedSentence fresh) {
+        if (stored.getTextHash() == null) {
+            return fresh.text().equals(stored.getText());
+        }
+        return stored.getTextHash() == fresh.hash()
+                && stored.getEndOffset() - stored.getStartOffset() == fresh.text().length();
+    }
+
+    /**
+     * Move the retained old sentences {@code [from, to)} (and their tokens) to
+     * their new positions: {@code sentenceShift} / {@code tokenShift} for the
+     * whole range, plus a per-sentence character shift. Consecutive sentences with
+     * the same character shift go out as one bulk statement per table. When moving
+     * up, runs are applied last-first so a moved run never lands in the old range
+     * of a run that has yet to move.
+     */
+    private void shiftRetained(UUID documentId, List<SentenceRepository.SentenceDigest> stored,
+            List<SegmentedSentence> fresh, int from, int to, int sentenceShift, int tokenShift) {
+        List<int[]> runs = new ArrayList<>();
+        int runStart = from;
+        for (int i = from; i < to; i++) {
+            int offsetShift = fresh.get(i + sentenceShift).startOffset() - stored.get(i).getStartOffset();
+            boolean lastOfRun = i + 1 == to || offsetShift
+                    != fresh.get(i + 1 + sentenceShift).startOffset() - stored.get(i + 1).getStartOffset();
+            if (lastOfRun) {
+                if (sentenceShift != 0 || tokenShift != 0 || offsetShift != 0) {
+                    runs.add(new int[] {runStart, i + 1, offsetShift});
+                }
+                runStart = i + 1;
+            }
+        }
+        if (sentenceShift > 0) {
+            Collections.reverse(runs);
+        }
+        for (int[] run : runs) {
+            sentenceRepository.shiftSentenceRange(documentId, run[0], run[1], sentenceShift, run[2]);
+            tokenRepository.shiftSentenceRange(documentId, run[0], run[1], sentenceShift, tokenShift, run[2]);
+        }
+    }
+
+    /**
+     * Pair old and new tokens of the changed range by form: common leading and
+     * trailing tokens first, then a longest common subsequence over the rest when
+     * it is small enough ({@link #MAX_TOKEN_DIFF_CELLS}).
+     *
+     * @return for each old token, the index of its new token, or -1
+     */
+    static int[] matchTokens(List<TokenEntity> oldTokens, List<TokenEntity> newTokens) {
+        int n = oldTokens.size();
+        int m = newTokens.size();
+        int[] match = new int[n];
+        Arrays.fill(match, -1);
+        int head = 0;
+        while (head < n && head < m && sameForm(oldTokens.get(head), newTokens.get(head))) {
+            match[head] = head;
+            head++;
+        }
+        int tail = 0;
+        while (tail < n - head && tail < m - head
+                && sameForm(oldTokens.get(n - 1 - tail), newTokens.get(m - 1 - tail))) {
+            match[n - 1 - tail] = m - 1 - tail;
+            tail++;
+        }
+        int rows = n - head - tail;
+        int cols = m - head - tail;
+        if (rows == 0 || cols == 0 || (long) rows * cols > MAX_TOKEN_DIFF_CELLS) {
+            return match;
+        }
+        // lcs[i][j]: LCS length of old[head+i..] and new[head+j..], flattened.
+        int width = cols + 1;
+        int[] lcs = new int[(rows + 1) * width];
+        for (int i = rows - 1; i >= 0; i--) {
+            for (int j = cols - 1; j >= 0; j--) {
+                lcs[i * width + j] = sameForm(oldTokens.get(head + i), newTokens.get(head + j))
+                        ? lcs[(i + 1) * width + j + 1] + 1
+                        : Math.max(lcs[(i + 1) * width + j], lcs[i * width + j + 1]);
+            }
+        }
+        for (int i = 0, j = 0; i < rows && j < cols;) {
+            if (sameForm(oldTokens.get(head + i), newTokens.get(head + j))) {
+                match[head + i] = head + j;
+                i++;
+                j++;
+            } else if (lcs[(i + 1) * width + j] >= lcs[i * width + j + 1]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return match;
+    }
+
+    private static boolean sameForm(TokenEntity a, TokenEntity b) {
+        return a.getForm().equals(b.getForm());
+    }
+
+    /**
+     * Reusable buffer of sentence {@code [start, end)} offsets for one line, so
+     * segmentation allocates nothing per sentence.
+     */
+    private static final class SentenceBounds implements SentenceSegmenter.SentenceSink {
+        private int[] offsets = new int[32];
+        private int size;
+
+        @Override
+        public void sentence(int startOffset, int endOffset) {
+            if (2 * size + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[2 * size] = startOffset;
+            offsets[2 * size + 1] = endOffset;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int start(int i) {
+            return offsets[2 * i];
+        }
+
+        int end(int i) {
+            return offsets[2 * i + 1];
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    /**
+     * Read one line into {@code line} (terminator stripped, a {@code \r} before
+     * {@code \n} included in the terminator).
+     *
+     * @return characters consumed including the terminator, or -1 at end of input
+     */
+    private static int readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int consumed = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            consumed++;
+            if (c == '\n') {
+                int last = line.length() - 1;
+                if (last >= 0 && line.charAt(last) == '\r') {
+                    line.setLength(last);
+                }
+                return consumed;
+            }
+            line.append((char) c);
+        }
+        return consumed == 0 ? -1 : consumed;
+    }
+
+    /**
+     * Bulk-write a buffered chunk and reset the buffers.
+     *
+     * @return nanoseconds spent writing
+     */
+    private long flushChunk(List<SentenceEntity> sentences, List<TokenEntity> tokens) {
+        if (sentences.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        bulkWriter.writeSentences(sentences);
+        bulkWriter.writeTokens(tokens);
+        long elapsed = System.nanoTime() - start;
+        sentences.clear();
+        tokens.clear();
+        return elapsed;
+    }
+
+    private void logWriteRate(UUID documentId, long rows, long nanos) {
+        if (rows == 0) {
+            return;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        long rowsPerSecond = nanos > 0 ? rows * TimeUnit.SECONDS.toNanos(1) / nanos : rows;
+        log.info("Bulk-wrote {} sentence/token rows for document {} in {} ms ({} rows/s)",
+                rows, documentId, millis, rowsPerSecond);
     }
 
     /**
@@ -143,22 +793,48 @@ public class ImportService {
      * @param content     the CoNLL-2012 content
      * @return import result with counts
      */
-    @Transactional
+    @Transactional(rollbackFor = IOException.class)
     public ImportResult importConll2012(UUID documentId, UUID workspaceId, String content) throws IOException {
-        // Clear any existing tokens/sentences for this document
-        tokenRepository.deleteByDocumentId(documentId);
-        sentenceRepository.deleteByDocumentId(documentId);
+        return importConll2012(documentId, workspaceId, new StringReader(content == null ? "" : content));
+    }
 
-        if (content == null || content.trim().isEmpty()) {
+    /**
+     * Import a CoNLL-2012 file from a character stream. Sentences are written
+     * through the {@link BulkTokenWriter} every
+     * {@link ImportProperties#getChunkSize()} sentences as the parser produces
+     * them; only the mention spans are held until the end, for the
+     * {@link ConllImportedEvent}. The reader is not closed.
+     *
+     * @param documentId  the document UUID
+     * @param workspaceId the workspace UUID (needed for cluster scoping)
+     * @param source      the CoNLL-2012 content
+     * @return import result with counts
+     * @throws IOException if reading the source fails
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public ImportResult importConll2012(UUID documentId, UUID workspaceId, Reader source) throws IOException {
+        clearDocument(documentId);
+
+        int chunkSize = Math.max(1, importProperties.getChunkSize());
+        List<SentenceEntity> sentences = new ArrayList<>(chunkSize);
+        List<TokenEntity> tokens = new ArrayList<>();
+        long[] writeNanos = new long[1];
+
+        Conll2012Parser.StreamResult parseResult = conll2012Parser.parse(source, documentId,
+                (sentence, sentenceTokens) -> {
+                    sentences.add(sentence);
+                    tokens.addAll(sentenceTokens);
+                    if (sentences.size() >= chunkSize) {
+                        writeNanos[0] += flushChunk(sentences, tokens);
+                    }
+                });
+        writeNanos[0] += flushChunk(sentences, tokens);
+        logWriteRate(documentId, parseResult.getSentenceCount() + parseResult.getTokenCount(), writeNanos[0]);
+
+        if (parseResult.getSentenceCount() == 0 && parseResult.getCoreferenceChains().isEmpty()) {
             return new ImportResult(0, 0);
         }
 
-        Conll2012Parser.ParseResult parseResult = conll2012Parser.parse(content, documentId);
-
-        // Save all
-        sentenceRepository.saveAll(parseResult.getSentences());
-        tokenRepository.saveAll(parseResult.getTokens());
-
         // Flatten chains map -> single mention list
         List<MentionSpan> mentionSpans = new ArrayList<>();
         parseResult.getCoreferenceChains().values().forEach(mentionSpans::addAll);
@@ -166,9 +842,7 @@ public class ImportService {
         // Publish for coref module to persist mentions + clusters
         eventPublisher.publishEvent(new ConllImportedEvent(this, documentId, workspaceId, mentionSpans));
 
-        return new ImportResult(
-                parseResult.getSentences().size(),
-                parseResult.getTokens().size());
+        return new ImportResult(parseResult.getSentenceCount(), parseResult.getTokenCount());
     }
 
     /**
@@ -0,0 +1,39 @@
+package com.genesis.importexport.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fails export jobs left {@code QUEUED} or {@code RUNNING} by the previous
+ * run. The export pool is in-memory, so such jobs were lost with the process
+ * that accepted them.
+ *
+ * <p>Assumes a single application instance runs exports: with several
+ * instances, one starting up would fail jobs another is still rendering.
+ * Disable with {@code genesis.export.fail-interrupted-on-startup=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "genesis.export.fail-interrupted-on-startup", havingValue = "true",
+        matchIfMissing = true)
+public class InterruptedExportJobSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(InterruptedExportJobSweeper.class);
+
+    private final ExportJobService exportJobService;
+
+    public InterruptedExportJobSweeper(ExportJobService exportJobService) {
+        this.exportJobService = exportJobService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        int failed = exportJobService.failInterrupted();
+        if (failed > 0) {
+            log.warn("Failed {} export job(s) interrupted by a restart", failed);
+        }
+    }
+}
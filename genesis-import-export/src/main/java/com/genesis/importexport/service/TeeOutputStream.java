@@ -0,0 +1,37 @@
+package com.genesis.importexport.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes every byte to a primary stream and a copy. Flushes reach the primary
+ * only, and closing it closes neither; the copy is flushed when its owner
+ * closes it.
+ */
+final class TeeOutputStream extends OutputStream {
+
+    private final OutputStream primary;
+    private final OutputStream copy;
+
+    TeeOutputStream(OutputStream primary, OutputStream copy) {
+        this.primary = primary;
+        this.copy = copy;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        primary.write(b);
+        copy.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        primary.write(b, off, len);
+        copy.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        primary.flush();
+    }
+}
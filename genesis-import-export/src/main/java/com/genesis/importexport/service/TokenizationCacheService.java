@@ -0,0 +1,156 @@
+package com.genesis.importexport.service;
+
+import com.genesis.importexport.entity.ImportJobStatus;
+import com.genesis.importexport.entity.TokenizationCacheEntity;
+import com.genesis.importexport.repository.BulkTokenWriter;
+import com.genesis.importexport.repository.ImportJobRepository;
+import com.genesis.importexport.repository.SentenceRepository;
+import com.genesis.importexport.repository.TokenRepository;
+import com.genesis.importexport.repository.TokenizationCacheRepository;
+import com.genesis.importexport.tokenizer.SentenceSegmenter;
+import com.genesis.importexport.tokenizer.Tokenizer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reuses finished plain-text tokenizations across identical uploads.
+ *
+ * <p>
+ * The same source file is often uploaded into several workspaces (splits,
+ * re-runs, per-annotator copies). Entries are keyed by the upload's content
+ * hash together with the tokenizer and segmenter {@code version()}, and point
+ * at a document whose rows are that tokenization. A hit copies those rows with
+ * {@link BulkTokenWriter#cloneDocument(UUID, UUID)} instead of downloading,
+ * segmenting and tokenizing the file again.
+ *
+ * <p>
+ * Before copying, the source's row counts are checked against the entry and a
+ * source whose import is still running is skipped; a stale entry is dropped
+ * and the caller tokenizes normally.
+ */
+@Service
+public class TokenizationCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenizationCacheService.class);
+
+    private final TokenizationCacheRepository cacheRepository;
+    private final TokenRepository tokenRepository;
+    private final SentenceRepository sentenceRepository;
+    private final ImportJobRepository importJobRepository;
+    private final BulkTokenWriter bulkTokenWriter;
+    private final ImportProperties importProperties;
+    private final String pipelineVersion;
+
+    public TokenizationCacheService(TokenizationCacheRepository cacheRepository,
+            TokenRepository tokenRepository,
+            SentenceRepository sentenceRepository,
+            ImportJobRepository importJobRepository,
+            BulkTokenWriter bulkTokenWriter,
+            ImportProperties importProperties,
+            Tokenizer tokenizer,
+            SentenceSegmenter sentenceSegmenter) {
+        this.cacheRepository = cacheRepository;
+        this.tokenRepository = tokenRepository;
+        this.sentenceRepository = sentenceRepository;
+        this.importJobRepository = importJobRepository;
+        this.bulkTokenWriter = bulkTokenWriter;
+        this.importProperties = importProperties;
+        this.pipelineVersion = tokenizer.version() + "\n" + sentenceSegmenter.version();
+    }
+
+    /**
+     * Tokenize a document by copying a cached tokenization of the same content.
+     * Any rows the document already has are replaced.
+     *
+     * @param documentId  the document to fill
+     * @param contentHash hex SHA-256 of the document's source bytes, or
+     *                    {@code null}
+     * @return the import result on a hit; empty when caching is off, the hash
+     *         is unknown or there is no usable entry
+     */
+    @Transactional
+    public Optional<ImportService.ImportResult> importFromCache(UUID documentId, String contentHash) {
+        if (!importProperties.isTokenizationCacheEnabled() || contentHash == null) {
+            return Optional.empty();
+        }
+        Optional<TokenizationCacheEntity> hit = cacheRepository.findByCacheKey(cacheKey(contentHash));
+        if (hit.isEmpty() || hit.get().getSourceDocumentId().equals(documentId)) {
+            return Optional.empty();
+        }
+        TokenizationCacheEntity entry = hit.get();
+        UUID source = entry.getSourceDocumentId();
+        if (!isIntact(entry)) {
+            log.info("Dropping stale tokenization cache entry for document {}", source);
+            cacheRepository.delete(entry);
+            return Optional.empty();
+        }
+
+        tokenRepository.deleteByDocumentId(documentId);
+        sentenceRepository.deleteByDocumentId(documentId);
+        cacheRepository.deleteBySourceDocumentId(documentId);
+        importJobRepository.findByDocumentId(documentId).ifPresent(importJobRepository::delete);
+        bulkTokenWriter.cloneDocument(source, documentId);
+        log.info("Document {} tokenized from cache (copied {} tokens of document {})",
+                documentId, entry.getTokenCount(), source);
+        return Optional.of(new ImportService.ImportResult(entry.getSentenceCount(), entry.getTokenCount()));
+    }
+
+    /**
+     * Offer a finished plain-text tokenization for reuse. Replaces any entry
+     * for the same key.
+     *
+     * @param documentId  the tokenized document
+     * @param contentHash hex SHA-256 of its source bytes, or {@code null}
+     * @param result      what the import wrote
+     */
+    @Transactional
+    public void record(UUID documentId, String contentHash, ImportService.ImportResult result) {
+        if (!importProperties.isTokenizationCacheEnabled() || contentHash == null) {
+            return;
+        }
+        String key = cacheKey(contentHash);
+        TokenizationCacheEntity entry = cacheRepository.findByCacheKey(key).orElseGet(() -> {
+            TokenizationCacheEntity created = new TokenizationCacheEntity();
+            created.setCacheKey(key);
+            return created;
+        });
+        entry.setSourceDocumentId(documentId);
+        entry.setSentenceCount(result.getSentenceCount());
+        entry.setTokenCount(result.getTokenCount());
+        cacheRepository.save(entry);
+    }
+
+    /**
+     * Hex SHA-256 over the content hash and the pipeline versions, so a new
+     * tokenizer or segmenter release never serves an old grid.
+     */
+    String cacheKey(String contentHash) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(contentHash.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(pipelineVersion.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private boolean isIntact(TokenizationCacheEntity entry) {
+        UUID source = entry.getSourceDocumentId();
+        boolean running = importJobRepository.findByDocumentId(source)
+                .filter(job -> job.getStatus() == ImportJobStatus.RUNNING)
+                .isPresent();
+        return !running
+                && tokenRepository.countByDocumentId(source) == entry.getTokenCount()
+                && sentenceRepository.countByDocumentId(source) == entry.getSentenceCount();
+    }
+}
@@ -3,8 +3,6 @@ package com.genesis.importexport.tokenizer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import org.springframework.stereotype.Component;
 
 /**
@@ -13,25 +11,26 @@ import org.springframework.stereotype.Component;
  * <p>
  * Segmentation strategy:
  * <ul>
- * <li>Line breaks (newlines) always indicate sentence boundaries</li>
- * <li>Sentence-ending punctuation: period (.), danda (।), question mark (?),
- * exclamation (!)</li>
- * <li>Empty lines are skipped</li>
+ * <li>Line breaks ({@code \n} or {@code \r\n}) always indicate sentence
+ * boundaries</li>
+ * <li>Sentence-ending punctuation: period (.), danda (।), double danda (॥),
+ * question mark (?), exclamation (!) — when followed by whitespace or the end
+ * of the line</li>
+ * <li>Leading/trailing whitespace is not part of a sentence; empty lines are
+ * skipped</li>
  * </ul>
  *
  * <p>
  * Supports Indian languages with danda (।) as sentence terminator.
+ *
+ * <p>
+ * The text is scanned once, left to right, with no splitting, regex or
+ * per-line copies; {@link #segment(CharSequence, SentenceSink)} reports offsets
+ * only, and {@link #segment(String)} allocates just the sentence strings.
  */
 @Component
 public class LineSentenceSegmenter implements SentenceSegmenter {
 
-    /**
-     * Pattern for sentence-ending punctuation.
-     * Matches: . ? ! । ॥ (followed by optional space or end)
-     */
-    private static final Pattern SENTENCE_END_PATTERN = Pattern.compile(
-            "([.?!।॥])(?:\\s|$)");
-
     /**
      * Supported language codes.
      */
@@ -46,104 +45,79 @@ public class LineSentenceSegmenter implements SentenceSegmenter {
             return sentences;
         }
 
-        // First, split by line breaks
-        String[] lines = text.split("\\r?\\n");
-        int currentOffset = 0;
-
-        for (String line : lines) {
-            // Skip empty lines
-            String trimmedLine = line.trim();
-            if (trimmedLine.isEmpty()) {
-                // Account for the newline character
-                currentOffset += line.length() + 1; // +1 for newline
-                continue;
-            }
-
-            // Find the actual start position (accounting for leading whitespace)
-            int lineStartInOriginal = text.indexOf(line, currentOffset);
-            if (lineStartInOriginal == -1) {
-                lineStartInOriginal = currentOffset;
-            }
+        segment(text, (start, end) -> sentences.add(new SentenceResult(text.substring(start, end), start, end)));
+        return sentences;
+    }
 
-            // Segment this line by sentence-ending punctuation
-            List<SentenceResult> lineSentences = segmentLine(line, lineStartInOriginal);
-            sentences.addAll(lineSentences);
+    @Override
+    public int segment(CharSequence text, SentenceSink sink) {
+        if (text == null) {
+            return 0;
+        }
 
-            // Move to next line
-            currentOffset = lineStartInOriginal + line.length() + 1; // +1 for newline
+        int count = 0;
+        int length = text.length();
+        int segmentStart = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                // Line break: always a boundary (a preceding \r is trimmed as whitespace)
+                count += emit(text, segmentStart, i, sink);
+                segmentStart = i + 1;
+            } else if (isSentenceEnd(c) && (i + 1 == length || isBoundarySpace(text.charAt(i + 1)))) {
+                count += emit(text, segmentStart, i + 1, sink);
+                segmentStart = i + 1;
+            }
         }
+        count += emit(text, segmentStart, length, sink);
 
-        return sentences;
+        return count;
     }
 
     /**
-     * Segment a single line into sentences based on punctuation.
+     * Report {@code [from, to)} with surrounding whitespace trimmed, unless
+     * nothing is left.
+     *
+     * @return 1 if a sentence was emitted, else 0
      */
-    private List<SentenceResult> segmentLine(String line, int lineStartOffset) {
-        List<SentenceResult> sentences = new ArrayList<>();
-
-        if (line.trim().isEmpty()) {
-            return sentences;
+    private static int emit(CharSequence text, int from, int to, SentenceSink sink) {
+        while (from < to && isTrimmable(text.charAt(from))) {
+            from++;
         }
-
-        Matcher matcher = SENTENCE_END_PATTERN.matcher(line);
-        int lastEnd = 0;
-
-        while (matcher.find()) {
-            int sentenceEnd = matcher.end();
-            String sentenceText = line.substring(lastEnd, sentenceEnd).trim();
-
-            if (!sentenceText.isEmpty()) {
-                // Find exact position of sentence start (skip leading whitespace)
-                int leadingSpaces = 0;
-                while (lastEnd + leadingSpaces < line.length() &&
-                        Character.isWhitespace(line.charAt(lastEnd + leadingSpaces))) {
-                    leadingSpaces++;
-                }
-
-                int startOffset = lineStartOffset + lastEnd + leadingSpaces;
-                int endOffset = lineStartOffset + sentenceEnd;
-
-                // Trim trailing whitespace from end offset
-                while (endOffset > startOffset &&
-                        Character.isWhitespace(line.charAt(endOffset - lineStartOffset - 1))) {
-                    endOffset--;
-                }
-
-                sentences.add(new SentenceResult(sentenceText, startOffset, endOffset));
-            }
-
-            lastEnd = sentenceEnd;
+        while (to > from && isTrimmable(text.charAt(to - 1))) {
+            to--;
         }
-
-        // Handle remaining text (no sentence-ending punctuation)
-        if (lastEnd < line.length()) {
-            String remaining = line.substring(lastEnd).trim();
-            if (!remaining.isEmpty()) {
-                int leadingSpaces = 0;
-                while (lastEnd + leadingSpaces < line.length() &&
-                        Character.isWhitespace(line.charAt(lastEnd + leadingSpaces))) {
-                    leadingSpaces++;
-                }
-
-                int startOffset = lineStartOffset + lastEnd + leadingSpaces;
-                int endOffset = lineStartOffset + line.length();
-
-                sentences.add(new SentenceResult(remaining, startOffset, endOffset));
-            }
+        if (from == to) {
+            return 0;
         }
+        sink.sentence(from, to);
+        return 1;
+    }
 
-        // If no sentences found, treat entire line as one sentence
-        if (sentences.isEmpty() && !line.trim().isEmpty()) {
-            String trimmed = line.trim();
-            int leadingSpaces = line.indexOf(trimmed.charAt(0));
-            sentences.add(new SentenceResult(
-                    trimmed,
-                    lineStartOffset + leadingSpaces,
-                    lineStartOffset + leadingSpaces + trimmed.length()));
-        }
+    /**
+     * Sentence-ending punctuation: . ? ! । ॥
+     */
+    private static boolean isSentenceEnd(char c) {
+        return c == '.' || c == '?' || c == '!' ||
+                c == '।' || // Danda
+                c == '॥'; // Double danda
+    }
 
-        return sentences;
+    /**
+     * Whitespace that lets a preceding terminator end a sentence. ASCII only, so
+     * e.g. a period followed by a no-break space does not split.
+     */
+    private static boolean isBoundarySpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Whitespace trimmed from sentence edges: everything {@link String#trim()}
+     * removes plus Unicode whitespace.
+     */
+    private static boolean isTrimmable(char c) {
+        return c <= ' ' || Character.isWhitespace(c);
     }
 
     @Override
@@ -153,4 +127,9 @@ public class LineSentenceSegmenter implements SentenceSegmenter {
         }
         return SUPPORTED_LANGUAGES.contains(languageCode.toLowerCase());
     }
+
+    @Override
+    public String version() {
+        return "line-1";
+    }
 }
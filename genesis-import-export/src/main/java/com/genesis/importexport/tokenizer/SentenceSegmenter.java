@@ -18,6 +18,26 @@ public interface SentenceSegmenter {
      */
     List<SentenceResult> segment(String text);
 
+    /**
+     * Segment without materializing sentences: each sentence is reported to
+     * {@code sink} as a {@code [start, end)} pair of offsets into {@code text},
+     * in order. The sentence text, when needed, is
+     * {@code text.subSequence(start, end)}.
+     *
+     * <p>The default implementation delegates to {@link #segment(String)}.
+     *
+     * @param text the text to segment
+     * @param sink receives one callback per sentence
+     * @return number of sentences emitted
+     */
+    default int segment(CharSequence text, SentenceSink sink) {
+        List<SentenceResult> sentences = segment(text == null ? null : text.toString());
+        for (SentenceResult sentence : sentences) {
+            sink.sentence(sentence.getStartOffset(), sentence.getEndOffset());
+        }
+        return sentences.size();
+    }
+
     /**
      * Check if this segmenter supports a specific language.
      *
@@ -27,6 +47,30 @@ public interface SentenceSegmenter {
      */
     boolean supportsLanguage(String languageCode);
 
+    /**
+     * Identifies the segmentation rules. Cached tokenization results are keyed
+     * by it, so implementations must change it whenever their output for the
+     * same input changes.
+     *
+     * @return a stable version string
+     */
+    default String version() {
+        return getClass().getName();
+    }
+
+    /**
+     * Receiver for {@link #segment(CharSequence, SentenceSink)}.
+     */
+    @FunctionalInterface
+    interface SentenceSink {
+
+        /**
+         * @param startOffset sentence start (inclusive)
+         * @param endOffset   sentence end (exclusive)
+         */
+        void sentence(int startOffset, int endOffset);
+    }
+
     /**
      * Result of segmenting a single sentence.
      */
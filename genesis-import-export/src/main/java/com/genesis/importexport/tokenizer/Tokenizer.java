@@ -21,6 +21,30 @@ public interface Tokenizer {
      */
     List<TokenResult> tokenize(String text, int startOffset);
 
+    /**
+     * Tokenize without materializing tokens: each token is reported to
+     * {@code sink} as a {@code [start, end)} pair of document offsets, in order.
+     * Callers that only need some tokens' text can take it from {@code text}
+     * themselves.
+     *
+     * <p>The default implementation delegates to {@link #tokenize(String, int)};
+     * implementations on the import hot path override it to avoid the per-token
+     * allocations.
+     *
+     * @param text        the sentence text to tokenize
+     * @param startOffset the character offset where this text starts in the
+     *                    original document
+     * @param sink        receives one callback per token
+     * @return number of tokens emitted
+     */
+    default int tokenize(CharSequence text, int startOffset, TokenSink sink) {
+        List<TokenResult> tokens = tokenize(text == null ? null : text.toString(), startOffset);
+        for (TokenResult token : tokens) {
+            sink.token(token.getStartOffset(), token.getEndOffset());
+        }
+        return tokens.size();
+    }
+
     /**
      * Check if this tokenizer supports a specific language.
      *
@@ -30,6 +54,30 @@ public interface Tokenizer {
      */
     boolean supportsLanguage(String languageCode);
 
+    /**
+     * Identifies the tokenization rules. Cached tokenization results are keyed
+     * by it, so implementations must change it whenever their output for the
+     * same input changes.
+     *
+     * @return a stable version string
+     */
+    default String version() {
+        return getClass().getName();
+    }
+
+    /**
+     * Receiver for {@link #tokenize(CharSequence, int, TokenSink)}.
+     */
+    @FunctionalInterface
+    interface TokenSink {
+
+        /**
+         * @param startOffset token start (inclusive), in document offsets
+         * @param endOffset   token end (exclusive), in document offsets
+         */
+        void token(int startOffset, int endOffset);
+    }
+
     /**
      * Result of tokenizing a single token.
      */
@@ -25,6 +25,15 @@ import org.springframework.stereotype.Component;
  * <li>Punctuation marks are separate tokens</li>
  * <li>Whitespace is used as delimiter (not included in tokens)</li>
  * </ul>
+ *
+ * <p>
+ * Text is scanned by code point, so a supplementary-plane letter (a surrogate
+ * pair) stays inside its word and a lone surrogate is skipped rather than split.
+ * Character classes for {@code U+0000..U+2FFF} (Latin, every Indic block, general
+ * punctuation and the ZWJ/ZWNJ connectors) are precomputed into
+ * {@link #CLASS_TABLE}; anything above is classified on the fly. The
+ * {@link #tokenize(CharSequence, int, TokenSink)} entry point allocates nothing
+ * per token.
  */
 @Component
 public class UnicodeTokenizer implements Tokenizer {
@@ -49,6 +58,24 @@ public class UnicodeTokenizer implements Tokenizer {
             "gu" // Gujarati
     );
 
+    /** Whitespace and characters that are neither word nor punctuation. */
+    private static final byte SKIP = 0;
+    /** Part of a word token. */
+    private static final byte WORD = 1;
+    /** A single-character punctuation token. */
+    private static final byte PUNCT = 2;
+
+    /** Code points below this are looked up in {@link #CLASS_TABLE}. */
+    private static final int TABLE_LIMIT = 0x3000;
+
+    private static final byte[] CLASS_TABLE = new byte[TABLE_LIMIT];
+
+    static {
+        for (int cp = 0; cp < TABLE_LIMIT; cp++) {
+            CLASS_TABLE[cp] = computeClass(cp);
+        }
+    }
+
     @Override
     public List<TokenResult> tokenize(String text, int startOffset) {
         List<TokenResult> tokens = new ArrayList<>();
@@ -57,48 +84,63 @@ public class UnicodeTokenizer implements Tokenizer {
             return tokens;
         }
 
+        tokenize(text, startOffset, (start, end) -> tokens.add(new TokenResult(
+                text.substring(start - startOffset, end - startOffset), start, end)));
+        return tokens;
+    }
+
+    @Override
+    public int tokenize(CharSequence text, int startOffset, TokenSink sink) {
+        if (text == null) {
+            return 0;
+        }
+
+        int count = 0;
         int currentPos = 0;
         int length = text.length();
 
         while (currentPos < length) {
             char c = text.charAt(currentPos);
-
-            // Skip whitespace
-            if (Character.isWhitespace(c)) {
-                currentPos++;
-                continue;
+            int width = 1;
+            byte cls;
+            if (c < TABLE_LIMIT) {
+                cls = CLASS_TABLE[c];
+            } else if (Character.isHighSurrogate(c) && currentPos + 1 < length
+                    && Character.isLowSurrogate(text.charAt(currentPos + 1))) {
+                cls = computeClass(Character.toCodePoint(c, text.charAt(currentPos + 1)));
+                width = 2;
+            } else {
+                // Includes lone surrogates, which Character.getType reports as SURROGATE.
+                cls = computeClass(c);
             }
 
-            // Check if it's a word character (letter or digit)
-            if (isWordCharacter(c)) {
+            if (cls == WORD) {
                 int tokenStart = currentPos;
-
-                // Collect all consecutive word characters
-                while (currentPos < length && isWordCharacter(text.charAt(currentPos))) {
-                    currentPos++;
+                currentPos += width;
+
+                // Collect all consecutive word code points
+                while (currentPos < length) {
+                    int next = wordWidthAt(text, currentPos, length);
+                    if (next == 0) {
+                        break;
+                    }
+                    currentPos += next;
                 }
 
-                String tokenText = text.substring(tokenStart, currentPos);
-                tokens.add(new TokenResult(
-                        tokenText,
-                        startOffset + tokenStart,
-                        startOffset + currentPos));
-            }
-            // Handle punctuation as separate tokens
-            else if (isPunctuation(c)) {
-                tokens.add(new TokenResult(
-                        String.valueOf(c),
-                        startOffset + currentPos,
-                        startOffset + currentPos + 1));
-                currentPos++;
-            }
-            // Skip unknown characters
-            else {
-                currentPos++;
+                sink.token(startOffset + tokenStart, startOffset + currentPos);
+                count++;
+            } else if (cls == PUNCT) {
+                // Handle punctuation as separate tokens
+                sink.token(startOffset + currentPos, startOffset + currentPos + width);
+                count++;
+                currentPos += width;
+            } else {
+                // Skip whitespace and unknown characters
+                currentPos += width;
             }
         }
 
-        return tokens;
+        return count;
     }
 
     @Override
@@ -109,24 +151,61 @@ public class UnicodeTokenizer implements Tokenizer {
         return SUPPORTED_LANGUAGES.contains(languageCode.toLowerCase());
     }
 
+    @Override
+    public String version() {
+        return "unicode-1";
+    }
+
+    /**
+     * Width in chars of the word code point at {@code pos}, or 0 if the code
+     * point there does not continue a word.
+     */
+    private static int wordWidthAt(CharSequence text, int pos, int length) {
+        char c = text.charAt(pos);
+        if (c < TABLE_LIMIT) {
+            return CLASS_TABLE[c] == WORD ? 1 : 0;
+        }
+        if (Character.isHighSurrogate(c) && pos + 1 < length && Character.isLowSurrogate(text.charAt(pos + 1))) {
+            return computeClass(Character.toCodePoint(c, text.charAt(pos + 1))) == WORD ? 2 : 0;
+        }
+        return computeClass(c) == WORD ? 1 : 0;
+    }
+
+    /**
+     * Classify a code point. Whitespace wins over everything else; then word
+     * characters; then punctuation.
+     */
+    private static byte computeClass(int cp) {
+        if (Character.isWhitespace(cp)) {
+            return SKIP;
+        }
+        if (isWordCharacter(cp)) {
+            return WORD;
+        }
+        if (isPunctuation(cp)) {
+            return PUNCT;
+        }
+        return SKIP;
+    }
+
     /**
      * Check if a character is a word character (part of a token).
      * Includes letters, digits, and combining marks.
      */
-    private boolean isWordCharacter(char c) {
-        int type = Character.getType(c);
-        return Character.isLetterOrDigit(c) ||
+    private static boolean isWordCharacter(int cp) {
+        int type = Character.getType(cp);
+        return Character.isLetterOrDigit(cp) ||
                 type == Character.NON_SPACING_MARK || // Combining diacritical marks
                 type == Character.COMBINING_SPACING_MARK || // Spacing combining marks
                 type == Character.ENCLOSING_MARK || // Enclosing marks
-                isIndianScriptConnector(c); // Script-specific connectors
+                isIndianScriptConnector(cp); // Script-specific connectors
     }
 
     /**
      * Check if character is a punctuation mark.
      */
-    private boolean isPunctuation(char c) {
-        int type = Character.getType(c);
+    private static boolean isPunctuation(int cp) {
+        int type = Character.getType(cp);
         return type == Character.START_PUNCTUATION ||
                 type == Character.END_PUNCTUATION ||
                 type == Character.CONNECTOR_PUNCTUATION ||
@@ -134,29 +213,29 @@ public class UnicodeTokenizer implements Tokenizer {
                 type == Character.INITIAL_QUOTE_PUNCTUATION ||
                 type == Character.FINAL_QUOTE_PUNCTUATION ||
                 type == Character.OTHER_PUNCTUATION ||
-                isIndianPunctuation(c);
+                isIndianPunctuation(cp);
     }
 
     /**
      * Check for Indian script-specific connectors that should be part of words.
      * Examples: Zero-width joiner, Zero-width non-joiner
      */
-    private boolean isIndianScriptConnector(char c) {
-        return c == '\u200C' || // Zero-width non-joiner (ZWNJ)
-                c == '\u200D'; // Zero-width joiner (ZWJ)
+    private static boolean isIndianScriptConnector(int cp) {
+        return cp == '\u200C' || // Zero-width non-joiner (ZWNJ)
+                cp == '\u200D'; // Zero-width joiner (ZWJ)
     }
 
     /**
      * Check for Indian script-specific punctuation.
      */
-    private boolean isIndianPunctuation(char c) {
-        return c == '\u0964' || // Devanagari/Bengali danda (full stop)
-                c == '\u0965' || // Double danda
-                c == '\u0970' || // Devanagari abbreviation sign
-                c == '\u09F7' || // Bengali section sign
-                c == '\u201C' || // Left double quotation mark
-                c == '\u201D' || // Right double quotation mark
-                c == '\u2018' || // Left single quotation mark
-                c == '\u2019'; // Right single quotation mark
+    private static boolean isIndianPunctuation(int cp) {
+        return cp == '\u0964' || // Devanagari/Bengali danda (full stop)
+                cp == '\u0965' || // Double danda
+                cp == '\u0970' || // Devanagari abbreviation sign
+                cp == '\u09F7' || // Bengali section sign
+                cp == '\u201C' || // Left double quotation mark
+                cp == '\u201D' || // Right double quotation mark
+                cp == '\u2018' || // Left single quotation mark
+                cp == '\u2019'; // Right single quotation mark
     }
 }
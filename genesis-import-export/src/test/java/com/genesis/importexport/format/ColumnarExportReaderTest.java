@@ -0,0 +1,206 @@
+package com.genesis.importexport.format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.genesis.importexport.entity.TokenEntity;
+import com.genesis.importexport.format.ColumnarExportReader.Dictionary;
+import com.genesis.importexport.format.ColumnarExportReader.RowGroup;
+import com.genesis.importexport.format.Conll2012Parser.MentionSpan;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link ColumnarExportWriter} and {@link ColumnarExportReader}:
+ * a columnar file must render back to the bytes {@link ConllLineEncoder}
+ * writes for the same input.
+ */
+class ColumnarExportReaderTest {
+
+    private static final String[] FORMS = { "আমি", "भात", "😀", "x\uD800y", "Hello", null, "ꯃꯅꯤ" };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Renders the same CoNLL bytes as the encoder across row groups and documents")
+    void roundTripsConll() throws IOException {
+        List<List<TokenEntity>> first = sentences(40);
+        List<List<TokenEntity>> second = sentences(3);
+        UUID overridden = first.get(0).get(3).getId();
+        Map<UUID, String> pos = Map.of(overridden, "VB");
+        CorefAnnotations coref = CorefAnnotations.fromStrings(
+                Map.of("0-0", "(1", "0-2", "1)", "12-4", "(7)", "39-6", "(2)|(3)"));
+        CorefAnnotations none = new CorefAnnotations(0);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ConllLineEncoder encoder = new ConllLineEncoder(expected);
+        write(encoder, "My Doc (v2).txt", first, coref, pos);
+        write(encoder, "empty", List.of(), none, null);
+        write(encoder, "second.txt", second, none, null);
+        encoder.flush();
+
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        ColumnarExportWriter writer = new ColumnarExportWriter(binary, 20);
+        write(writer, "My Doc (v2).txt", first, coref, pos);
+        write(writer, "empty", List.of(), none, null);
+        write(writer, "second.txt", second, none, null);
+        writer.finish();
+
+        ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+        try (ColumnarExportReader reader = ColumnarExportReader.read(ByteBuffer.wrap(binary.toByteArray()))) {
+            assertThat(reader.documents()).extracting(ColumnarExportReader.Document::name)
+                    .containsExactly("My_Doc__v2_", "empty", "second");
+            assertThat(reader.documents().get(1).rowGroupCount()).isZero();
+            // 7-token sentences and at most 20 rows: two sentences per row group
+            assertThat(reader.rowGroupCount()).isEqualTo(20 + 2);
+            reader.writeConll(rendered);
+        }
+        assertThat(rendered.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Columns decode from a mapped file with shared dictionaries")
+    void readsMappedFile() throws IOException {
+        List<List<TokenEntity>> sentences = sentences(2);
+        sentences.get(0).get(0).setPos("NOUN");
+        sentences.get(1).get(0).setPos("NOUN");
+        sentences.get(1).get(1).setNerTag("PER");
+        Path file = directory.resolve("ws.gcol");
+        try (var out = Files.newOutputStream(file)) {
+            ColumnarExportWriter writer = new ColumnarExportWriter(out);
+            write(writer, "doc", sentences, new CorefAnnotations(0), null);
+            writer.finish();
+        }
+
+        try (ColumnarExportReader reader = ColumnarExportReader.open(file)) {
+            assertThat(reader.rowGroupCount()).isEqualTo(1);
+            RowGroup group = reader.rowGroup(0);
+            assertThat(group.rows()).isEqualTo(14);
+            assertThat(group.sentenceIndexes()).startsWith(0, 0, 0, 0, 0, 0, 0, 1).endsWith(1);
+            assertThat(group.tokenIndexes()).startsWith(0, 1, 2, 3, 4, 5, 6, 0);
+            assertThat(reader.dictionary(Dictionary.POS)).containsExactly("NOUN");
+            assertThat(group.posIds()).startsWith(0, -1);
+            assertThat(group.posIds()[7]).isZero();
+            assertThat(reader.dictionary(Dictionary.NER)).containsExactly("PER");
+            assertThat(group.nerIds()[8]).isZero();
+            List<String> forms = reader.dictionary(Dictionary.FORM);
+            assertThat(forms).hasSize(FORMS.length).contains("null");
+            assertThat(forms.get(group.formIds()[7])).isEqualTo(FORMS[0]);
+            assertThat(group.corefFragments()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Coref fragments pair into mention spans per cluster")
+    void corefSpans() throws IOException {
+        CorefAnnotations coref = CorefAnnotations.fromStrings(
+                Map.of("0-0", "(1|(2", "0-1", "2)", "0-3", "1)", "1-2", "(3)", "1-4", "4)"));
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        ColumnarExportWriter writer = new ColumnarExportWriter(binary);
+        write(writer, "doc", sentences(2), coref, null);
+        writer.finish();
+
+        try (ColumnarExportReader reader = ColumnarExportReader.read(ByteBuffer.wrap(binary.toByteArray()))) {
+            RowGroup group = reader.rowGroup(0);
+            assertThat(group.corefRows()).containsExactly(0, 0, 1, 3, 9, 11);
+            assertThat(group.corefKinds()).containsExactly(CorefAnnotations.OPEN, CorefAnnotations.OPEN,
+                    CorefAnnotations.CLOSE, CorefAnnotations.CLOSE, CorefAnnotations.SINGLE,
+                    CorefAnnotations.CLOSE);
+            assertThat(group.corefSpans())
+                    .extracting(MentionSpan::getSentenceIndex, MentionSpan::getStartTokenIndex,
+                            MentionSpan::getEndTokenIndex, MentionSpan::getClusterId)
+                    .containsExactly(
+                            tuple(0, 0, 1, 2),
+                            tuple(0, 0, 3, 1),
+                            tuple(1, 2, 2, 3));
+        }
+    }
+
+    @Test
+    @DisplayName("An export without documents is a valid empty file")
+    void emptyExport() throws IOException {
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        new ColumnarExportWriter(binary).finish();
+
+        try (ColumnarExportReader reader = ColumnarExportReader.read(ByteBuffer.wrap(binary.toByteArray()))) {
+            assertThat(reader.documents()).isEmpty();
+            assertThat(reader.rowGroupCount()).isZero();
+            ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+            reader.writeConll(rendered);
+            assertThat(rendered.size()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Foreign and truncated files are rejected")
+    void rejectsCorruptFiles() throws IOException {
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        ColumnarExportWriter writer = new ColumnarExportWriter(binary);
+        write(writer, "doc", sentences(2), new CorefAnnotations(0), null);
+        writer.finish();
+        byte[] valid = binary.toByteArray();
+
+        byte[] conll = "#begin document (doc); part 000\n".getBytes(StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> ColumnarExportReader.read(ByteBuffer.wrap(conll)))
+                .isInstanceOf(IOException.class);
+        byte[] truncated = Arrays.copyOfRange(valid, 0, valid.length - 12);
+        assertThatThrownBy(() -> ColumnarExportReader.read(ByteBuffer.wrap(truncated)))
+                .isInstanceOf(IOException.class);
+        byte[] badFooterLength = valid.clone();
+        badFooterLength[valid.length - 5] = 0x7F;
+        assertThatThrownBy(() -> ColumnarExportReader.read(ByteBuffer.wrap(badFooterLength)))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Sentences outside a document and unfinished documents are rejected")
+    void enforcesDocumentBoundaries() throws IOException {
+        ColumnarExportWriter writer = new ColumnarExportWriter(new ByteArrayOutputStream());
+
+        assertThatThrownBy(() -> writer.sentence(0, sentences(1).get(0), new CorefAnnotations(0), null))
+                .isInstanceOf(IllegalStateException.class);
+        writer.beginDocument("doc");
+        assertThatThrownBy(writer::finish).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void write(ExportDocumentWriter writer, String name, List<List<TokenEntity>> sentences,
+            CorefAnnotations coref, Map<UUID, String> pos) throws IOException {
+        writer.beginDocument(name);
+        for (List<TokenEntity> sentence : sentences) {
+            writer.sentence(1000 + sentence.get(0).getSentenceIndex(), sentence, coref, pos);
+        }
+        writer.endDocument();
+    }
+
+    private static List<List<TokenEntity>> sentences(int count) {
+        List<List<TokenEntity>> sentences = new ArrayList<>();
+        for (int s = 0; s < count; s++) {
+            List<TokenEntity> tokens = new ArrayList<>();
+            for (int t = 0; t < FORMS.length; t++) {
+                TokenEntity token = new TokenEntity();
+                token.setId(UUID.randomUUID());
+                token.setSentenceIndex(s);
+                token.setTokenIndex(t);
+                token.setForm(FORMS[t]);
+                token.setLemma(t == 1 ? "ভাত" : null);
+                tokens.add(token);
+            }
+            sentences.add(tokens);
+        }
+        return sentences;
+    }
+}
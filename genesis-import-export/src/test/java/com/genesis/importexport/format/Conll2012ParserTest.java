@@ -6,12 +6,16 @@ import com.genesis.common.exception.ValidationException;
 import com.genesis.importexport.dto.ExportOptions;
 import com.genesis.importexport.entity.SentenceEntity;
 import com.genesis.importexport.entity.TokenEntity;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -365,4 +369,116 @@ class Conll2012ParserTest {
         assertEquals("*", rt.get(2).getNerTag());
         assertEquals("(GPE)", rt.get(3).getNerTag());
     }
+
+    /** Build a file of {@code parts} parts, each with two sentences and a cross-token mention. */
+    private static String multiPartFile(int parts) {
+        StringBuilder sb = new StringBuilder();
+        for (int p = 0; p < parts; p++) {
+            sb.append("#begin document (multi); part ").append(String.format("%03d", p)).append('\n');
+            for (int sent = 0; sent < 2; sent++) {
+                sb.append("multi\t").append(p).append("\t0\tপ্ৰথম").append(p).append("\tNN\t*\t-\t-\t-\t-\t*\t(")
+                        .append(p).append('\n');
+                sb.append("multi\t").append(p).append("\t1\tword\tVB\t*\t-\t-\t-\t-\t*\t")
+                        .append(p).append(")|(").append(100 + p).append(")\n\n");
+            }
+            sb.append("#end document\n");
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("Streaming parse hands sentences to the consumer in order and returns the counts")
+    void streamingParseFeedsConsumer() throws IOException {
+        String content = multiPartFile(2);
+        List<Integer> seen = new ArrayList<>();
+
+        Conll2012Parser.StreamResult result = parser.parse(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), testDocumentId,
+                (sentence, tokens) -> {
+                    seen.add(sentence.getSentenceIndex());
+                    assertEquals(sentence.getTokenCount(), tokens.size());
+                });
+
+        assertEquals(List.of(0, 1, 2, 3), seen);
+        assertEquals(4, result.getSentenceCount());
+        assertEquals(8, result.getTokenCount());
+        assertEquals("multi", result.getDocumentId());
+    }
+
+    @Test
+    @DisplayName("Parallel part decoding yields exactly what sequential decoding does")
+    void parallelPartsMatchSequential() throws IOException {
+        String content = multiPartFile(9);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Conll2012Parser.ParseResult sequential = parser.parse(content, testDocumentId);
+            Conll2012Parser.ParseResult parallel = new Conll2012Parser(executor, 3).parse(content, testDocumentId);
+
+            assertEquals(sequential.getSentences().size(), parallel.getSentences().size());
+            assertEquals(sequential.getTokens().size(), parallel.getTokens().size());
+            for (int i = 0; i < sequential.getSentences().size(); i++) {
+                SentenceEntity a = sequential.getSentences().get(i);
+                SentenceEntity b = parallel.getSentences().get(i);
+                assertEquals(a.getSentenceIndex(), b.getSentenceIndex());
+                assertEquals(a.getText(), b.getText());
+                assertEquals(a.getStartOffset(), b.getStartOffset());
+                assertEquals(a.getEndOffset(), b.getEndOffset());
+            }
+            for (int i = 0; i < sequential.getTokens().size(); i++) {
+                TokenEntity a = sequential.getTokens().get(i);
+                TokenEntity b = parallel.getTokens().get(i);
+                assertEquals(i, b.getGlobalIndex());
+                assertEquals(a.getSentenceIndex(), b.getSentenceIndex());
+                assertEquals(a.getForm(), b.getForm());
+                assertEquals(a.getStartOffset(), b.getStartOffset());
+                assertEquals(a.getEndOffset(), b.getEndOffset());
+            }
+            assertEquals(sequential.getCoreferenceChains().keySet(), parallel.getCoreferenceChains().keySet());
+            for (Integer clusterId : sequential.getCoreferenceChains().keySet()) {
+                List<Conll2012Parser.MentionSpan> a = sequential.getCoreferenceChains().get(clusterId);
+                List<Conll2012Parser.MentionSpan> b = parallel.getCoreferenceChains().get(clusterId);
+                assertEquals(a.size(), b.size());
+                for (int i = 0; i < a.size(); i++) {
+                    assertEquals(a.get(i).getSentenceIndex(), b.get(i).getSentenceIndex());
+                    assertEquals(a.get(i).getStartTokenIndex(), b.get(i).getStartTokenIndex());
+                    assertEquals(a.get(i).getEndTokenIndex(), b.get(i).getEndTokenIndex());
+                }
+            }
+            // Part 4's first sentence is sentence 8; its mention of cluster 4 spans tokens 0..1.
+            assertEquals(8, parallel.getCoreferenceChains().get(4).get(0).getSentenceIndex());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A bad line in a part decoded off-thread surfaces as ValidationException")
+    void parallelPartErrorSurfaces() {
+        String content = multiPartFile(3) + "#begin document (multi); part 003\nmulti\tX\t0\tbad\n";
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ValidationException ex = assertThrows(ValidationException.class,
+                    () -> new Conll2012Parser(executor, 2).parse(content, testDocumentId));
+            assertTrue(ex.getMessage().contains("Invalid CoNLL line"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A #begin document line closes the sentence in progress")
+    void beginDocumentClosesSentence() throws IOException {
+        String content = """
+                #begin document (a); part 000
+                a\t0\t0\tone\tNN\t*\t-\t-\t-\t-\t*\t-
+                #begin document (a); part 001
+                a\t1\t0\ttwo\tNN\t*\t-\t-\t-\t-\t*\t-
+                """;
+
+        Conll2012Parser.ParseResult result = parser.parse(content, testDocumentId);
+
+        assertEquals(2, result.getSentences().size());
+        assertEquals("one", result.getSentences().get(0).getText());
+        assertEquals("two", result.getSentences().get(1).getText());
+    }
 }
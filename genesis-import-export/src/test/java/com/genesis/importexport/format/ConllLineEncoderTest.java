@@ -0,0 +1,97 @@
+package com.genesis.importexport.format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.dto.ExportOptions.Column2Mode;
+import com.genesis.importexport.entity.SentenceEntity;
+import com.genesis.importexport.entity.TokenEntity;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ConllLineEncoder}: the byte encoder must reproduce
+ * {@link Conll2012Exporter} output exactly.
+ */
+class ConllLineEncoderTest {
+
+    private final Conll2012Exporter exporter = new Conll2012Exporter();
+
+    @Test
+    @DisplayName("Encodes the same bytes as the exporter, across buffer drains")
+    void matchesExporter() throws IOException {
+        UUID overridden = UUID.randomUUID();
+        List<TokenEntity> tokens = new ArrayList<>();
+        String[] forms = { "আমি", "भात", "😀", "x\uD800y", "Hello", null, "ꯃꯅꯤ" };
+        for (int s = 0; s < 40; s++) {
+            for (int t = 0; t < forms.length; t++) {
+                TokenEntity token = token(s, t, forms[t]);
+                token.setPos(t % 3 == 0 ? "NN" : "");
+                token.setLemma(t == 1 ? "ভাত" : null);
+                token.setNerTag(t == 4 ? "PER" : null);
+                tokens.add(token);
+            }
+        }
+        tokens.get(3).setId(overridden);
+        Map<String, String> coref = Map.of("0-0", "(1", "0-2", "1)", "12-4", "(7)", "39-6", "(2)|(3)");
+        CorefAnnotations corefAnnotations = CorefAnnotations.fromStrings(coref);
+        Map<UUID, String> pos = Map.of(overridden, "VB");
+        ExportOptions options = new ExportOptions();
+        options.setColumn2Mode(Column2Mode.SENTENCE_NUMBER);
+
+        Map<Integer, List<TokenEntity>> bySentence = tokens.stream()
+                .collect(Collectors.groupingBy(TokenEntity::getSentenceIndex));
+        List<SentenceEntity> sentences = new ArrayList<>();
+        for (int s = 0; s < 40; s++) {
+            SentenceEntity sentence = new SentenceEntity();
+            sentence.setSentenceIndex(s);
+            sentences.add(sentence);
+        }
+        String expected = exporter.export("My Doc (v2).txt", sentences, bySentence, coref, pos, options, 995);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConllLineEncoder encoder = new ConllLineEncoder(out, 64);
+        encoder.beginDocument("My Doc (v2).txt");
+        for (int s = 0; s < 40; s++) {
+            encoder.sentence(exporter.column2Value(s, options, 995), bySentence.get(s), corefAnnotations, pos);
+        }
+        encoder.sentence(0, List.of(), new CorefAnnotations(), null);
+        encoder.endDocument();
+        encoder.flush();
+
+        // Byte-level: the unpaired surrogate encodes to '?' exactly as String.getBytes does
+        assertThat(out.toByteArray()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Writes negative and multi-digit integers")
+    void encodesIntegers() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConllLineEncoder encoder = new ConllLineEncoder(out);
+        encoder.beginDocument(null);
+        encoder.sentence(-42, List.of(token(0, 1234567, "w")), new CorefAnnotations(), null);
+        encoder.flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("#begin document (document); part 000\n"
+                        + "document\t-42\t1234567\tw\t-\t*\t-\t-\t-\t-\t-\t-\n\n");
+    }
+
+    private static TokenEntity token(int sentence, int index, String form) {
+        TokenEntity token = new TokenEntity();
+        token.setId(UUID.randomUUID());
+        token.setSentenceIndex(sentence);
+        token.setTokenIndex(index);
+        token.setGlobalIndex(sentence * 100 + index);
+        token.setForm(form);
+        return token;
+    }
+}
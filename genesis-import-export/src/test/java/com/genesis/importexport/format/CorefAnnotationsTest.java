@@ -0,0 +1,111 @@
+package com.genesis.importexport.format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CorefAnnotations}.
+ */
+class CorefAnnotationsTest {
+
+    @Test
+    @DisplayName("Single- and multi-token mentions produce (N), (N and N) fragments")
+    void addMention() {
+        CorefAnnotations annotations = new CorefAnnotations();
+        annotations.addMention(0, 0, 2, 1);
+        annotations.addMention(0, 4, 4, 2);
+
+        assertThat(annotations.size()).isEqualTo(3);
+        assertThat(annotations.get(0, 0)).isEqualTo("(1");
+        assertThat(annotations.get(0, 1)).isNull();
+        assertThat(annotations.get(0, 2)).isEqualTo("1)");
+        assertThat(annotations.get(0, 4)).isEqualTo("(2)");
+    }
+
+    @Test
+    @DisplayName("Fragments on one token keep insertion order after out-of-order adds")
+    void outOfOrderAddsKeepTokenOrder() {
+        CorefAnnotations annotations = new CorefAnnotations(1);
+        annotations.addMention(5, 1, 3, 7);
+        annotations.addMention(2, 0, 0, 4);
+        annotations.addMention(5, 3, 3, 8);
+        annotations.addMention(5, 0, 3, 9);
+
+        assertThat(annotations.get(2, 0)).isEqualTo("(4)");
+        assertThat(annotations.get(5, 3)).isEqualTo("7)|(8)|9)");
+        assertThat(annotations.get(5, 0)).isEqualTo("(9");
+
+        int first = annotations.firstFragment(5, 3);
+        assertThat(annotations.kindAt(first)).isEqualTo(CorefAnnotations.CLOSE);
+        assertThat(annotations.clusterAt(first)).isEqualTo(7);
+        assertThat(annotations.sameToken(first, first + 2)).isTrue();
+        assertThat(annotations.sameToken(first, first + 3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Keys separate sentence and token indexes, including large ones")
+    void packedKeysDoNotCollide() {
+        CorefAnnotations annotations = new CorefAnnotations();
+        annotations.addMention(1, 23, 23, 1);
+        annotations.addMention(12, 3, 3, 2);
+        annotations.addMention(0, Integer.MAX_VALUE, Integer.MAX_VALUE, 3);
+
+        assertThat(annotations.get(1, 23)).isEqualTo("(1)");
+        assertThat(annotations.get(12, 3)).isEqualTo("(2)");
+        assertThat(annotations.get(0, Integer.MAX_VALUE)).isEqualTo("(3)");
+        assertThat(annotations.firstFragment(1, 0)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Lookups in any order agree with a string-keyed map")
+    void lookupsInAnyOrder() {
+        Random random = new Random(42);
+        CorefAnnotations annotations = new CorefAnnotations();
+        Map<String, String> expected = new HashMap<>();
+        for (int s = 0; s < 200; s++) {
+            for (int t = 0; t < 20; t++) {
+                if (random.nextInt(4) == 0) {
+                    annotations.addMention(s, t, t, s);
+                    expected.put(s + "-" + t, "(" + s + ")");
+                }
+            }
+        }
+
+        for (int s = 0; s < 200; s++) {
+            for (int t = 0; t < 20; t++) {
+                assertThat(annotations.get(s, t)).isEqualTo(expected.get(s + "-" + t));
+            }
+        }
+        for (int i = 0; i < 5000; i++) {
+            int s = random.nextInt(201);
+            int t = random.nextInt(21);
+            assertThat(annotations.get(s, t)).isEqualTo(expected.get(s + "-" + t));
+        }
+    }
+
+    @Test
+    @DisplayName("Parses the string-keyed form and skips malformed entries")
+    void fromStrings() {
+        CorefAnnotations annotations = CorefAnnotations.fromStrings(
+                Map.of("3-1", "(4|(5)", "3-10", "4)", "bad", "x", "1-", "(1)", "2-2", "x|()"));
+
+        assertThat(annotations.size()).isEqualTo(3);
+        assertThat(annotations.get(3, 1)).isEqualTo("(4|(5)");
+        assertThat(annotations.get(3, 10)).isEqualTo("4)");
+        assertThat(annotations.get(2, 2)).isNull();
+        assertThat(CorefAnnotations.fromStrings(null).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Rejects unknown fragment kinds")
+    void rejectsUnknownKind() {
+        assertThatThrownBy(() -> new CorefAnnotations().add(0, 0, (byte) 0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
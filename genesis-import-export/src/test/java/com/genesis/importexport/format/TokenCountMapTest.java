@@ -0,0 +1,43 @@
+package com.genesis.importexport.format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TokenCountMap}.
+ */
+class TokenCountMapTest {
+
+    @Test
+    @DisplayName("Random out-of-order puts read back like a HashMap of longs")
+    void matchesHashMap() {
+        Random random = new Random(7);
+        Map<UUID, Long> expected = new HashMap<>();
+        TokenCountMap.Builder builder = TokenCountMap.builder();
+        for (int i = 0; i < 1000; i++) {
+            UUID tokenId = new UUID(random.nextLong(), random.nextLong());
+            int count = 1 + random.nextInt(20);
+            expected.put(tokenId, (long) count);
+            builder.put(tokenId, count);
+        }
+
+        TokenCountMap map = builder.build();
+
+        assertThat(map).hasSize(1000).isEqualTo(expected);
+        expected.forEach((tokenId, count) -> assertThat(map.get(tokenId)).isEqualTo(count));
+        assertThat(map.get(UUID.randomUUID())).isNull();
+        assertThat(map.get("not a token")).isNull();
+    }
+
+    @Test
+    @DisplayName("An empty builder builds the shared empty map")
+    void emptyBuilder() {
+        assertThat(TokenCountMap.builder().build()).isSameAs(TokenCountMap.empty()).isEmpty();
+    }
+}
@@ -0,0 +1,88 @@
+package com.genesis.importexport.format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TokenPosMap}.
+ */
+class TokenPosMapTest {
+
+    private static final String[] TAGS = { "NOUN", "VERB", "ADJ", "ADP", "DET" };
+
+    @Test
+    @DisplayName("Random out-of-order puts read back like a HashMap")
+    void matchesHashMap() {
+        Random random = new Random(42);
+        Map<UUID, String> expected = new HashMap<>();
+        TokenPosMap.Builder builder = TokenPosMap.builder();
+        for (int i = 0; i < 1000; i++) {
+            UUID tokenId = new UUID(random.nextLong(), random.nextLong());
+            String tag = TAGS[random.nextInt(TAGS.length)];
+            expected.put(tokenId, tag);
+            builder.put(tokenId, tag);
+        }
+
+        TokenPosMap map = builder.build();
+
+        assertThat(map).hasSize(1000).isEqualTo(expected);
+        assertThat(expected).isEqualTo(map);
+        expected.forEach((tokenId, tag) -> assertThat(map.get(tokenId)).isEqualTo(tag));
+        assertThat(map.get(UUID.randomUUID())).isNull();
+    }
+
+    @Test
+    @DisplayName("Entries iterate in unsigned token-id order")
+    void entriesSortedByTokenId() {
+        UUID low = new UUID(1, 1);
+        UUID high = new UUID(-1, 0);
+        UUID middle = new UUID(1, 2);
+
+        TokenPosMap map = TokenPosMap.builder().put(high, "VERB").put(low, "NOUN").put(middle, "NOUN").build();
+
+        List<UUID> keys = new ArrayList<>(map.keySet());
+        assertThat(keys).containsExactly(low, middle, high);
+        assertThat(map.values()).containsExactly("NOUN", "NOUN", "VERB");
+    }
+
+    @Test
+    @DisplayName("Lookups of absent, null or non-UUID keys find nothing")
+    void foreignKeys() {
+        UUID tokenId = UUID.randomUUID();
+        TokenPosMap map = TokenPosMap.builder().put(tokenId, "NOUN").build();
+
+        assertThat(map.containsKey(tokenId)).isTrue();
+        assertThat(map.containsKey(tokenId.toString())).isFalse();
+        assertThat(map.get(null)).isNull();
+        assertThat(map.getOrDefault(UUID.randomUUID(), "X")).isEqualTo("X");
+    }
+
+    @Test
+    @DisplayName("An empty builder builds the shared empty map")
+    void emptyBuilder() {
+        TokenPosMap.Builder builder = TokenPosMap.builder();
+
+        assertThat(builder.isEmpty()).isTrue();
+        assertThat(builder.build()).isSameAs(TokenPosMap.empty()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("The map is read-only and rejects null tags")
+    void readOnly() {
+        TokenPosMap map = TokenPosMap.builder().put(UUID.randomUUID(), "NOUN").build();
+
+        assertThatThrownBy(() -> map.put(UUID.randomUUID(), "VERB"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> TokenPosMap.builder().put(UUID.randomUUID(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.genesis.importexport.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.genesis.importexport.entity.SentenceEntity;
+import com.genesis.importexport.entity.TokenEntity;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Exercises the JDBC-batch path of {@link BulkTokenWriter} against H2 (the COPY
+ * path needs a live PostgreSQL connection and is selected automatically there).
+ */
+class BulkTokenWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private BulkTokenWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:bulk-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE tokens (id uuid PRIMARY KEY, created_at timestamp with time zone NOT NULL, "
+                + "created_by varchar(255) NOT NULL, updated_at timestamp with time zone NOT NULL, "
+                + "updated_by varchar(255) NOT NULL, version bigint, document_id uuid NOT NULL, "
+                + "sentence_index int NOT NULL, token_index int NOT NULL, global_index int NOT NULL, "
+                + "form varchar(500) NOT NULL, pos varchar(20), lemma varchar(500), ner_tag varchar(100), "
+                + "start_offset int NOT NULL, end_offset int NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE sentences (id uuid PRIMARY KEY, created_at timestamp with time zone NOT NULL, "
+                + "created_by varchar(255) NOT NULL, updated_at timestamp with time zone NOT NULL, "
+                + "updated_by varchar(255) NOT NULL, version bigint, document_id uuid NOT NULL, "
+                + "sentence_index int NOT NULL, text text, start_offset int NOT NULL, end_offset int NOT NULL, "
+                + "token_count int, text_hash bigint)");
+        writer = new BulkTokenWriter(jdbcTemplate, true, 2);
+    }
+
+    private static TokenEntity token(UUID documentId, int index, String form, String pos) {
+        TokenEntity token = new TokenEntity();
+        token.setDocumentId(documentId);
+        token.setSentenceIndex(0);
+        token.setTokenIndex(index);
+        token.setGlobalIndex(index);
+        token.setForm(form);
+        token.setPos(pos);
+        token.setStartOffset(index * 2);
+        token.setEndOffset(index * 2 + 1);
+        return token;
+    }
+
+    @Test
+    @DisplayName("writes tokens in batches, assigns ids and stamps audit columns")
+    void writesTokens() {
+        UUID documentId = UUID.randomUUID();
+        List<TokenEntity> tokens = List.of(
+                token(documentId, 0, "\"quoted\"", "NN"),
+                token(documentId, 1, "অসমীয়া", null),
+                token(documentId, 2, ",", "PUNC"));
+
+        int written = writer.writeTokens(tokens);
+
+        assertThat(written).isEqualTo(3);
+        assertThat(tokens).allSatisfy(t -> assertThat(t.getId()).isNotNull());
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, form, pos, created_by, version FROM tokens ORDER BY global_index");
+        assertThat(rows).extracting(r -> r.get("FORM")).containsExactly("\"quoted\"", "অসমীয়া", ",");
+        assertThat(rows).extracting(r -> r.get("POS")).containsExactly("NN", null, "PUNC");
+        assertThat(rows).extracting(r -> r.get("ID")).containsExactly(
+                tokens.get(0).getId(), tokens.get(1).getId(), tokens.get(2).getId());
+        assertThat(rows).allSatisfy(r -> {
+            assertThat(r.get("CREATED_BY")).isEqualTo("system");
+            assertThat(r.get("VERSION")).isEqualTo(0L);
+        });
+    }
+
+    @Test
+    @DisplayName("writes sentences, keeping a null token count as NULL")
+    void writesSentences() {
+        SentenceEntity sentence = new SentenceEntity();
+        sentence.setDocumentId(UUID.randomUUID());
+        sentence.setSentenceIndex(0);
+        sentence.setText("হয়।");
+        sentence.setStartOffset(0);
+        sentence.setEndOffset(4);
+
+        assertThat(writer.writeSentences(List.of(sentence))).isEqualTo(1);
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT text, token_count FROM sentences");
+        assertThat(row.get("TEXT")).isEqualTo("হয়।");
+        assertThat(row.get("TOKEN_COUNT")).isNull();
+    }
+
+    @Test
+    @DisplayName("cloneDocument copies a document's rows under new ids")
+    void clonesDocument() {
+        UUID source = UUID.randomUUID();
+        UUID target = UUID.randomUUID();
+        SentenceEntity sentence = new SentenceEntity();
+        sentence.setDocumentId(source);
+        sentence.setSentenceIndex(0);
+        sentence.setText("a b");
+        sentence.setStartOffset(0);
+        sentence.setEndOffset(3);
+        sentence.setTokenCount(2);
+        sentence.setTextHash(42L);
+        writer.writeSentences(List.of(sentence));
+        writer.writeTokens(List.of(token(source, 0, "a", null), token(source, 1, "b", null)));
+
+        assertThat(writer.cloneDocument(source, target)).isEqualTo(2);
+
+        List<Map<String, Object>> tokens = jdbcTemplate.queryForList(
+                "SELECT id, form, global_index FROM tokens WHERE document_id = ? ORDER BY global_index", target);
+        assertThat(tokens).extracting(r -> r.get("FORM")).containsExactly("a", "b");
+        assertThat(tokens).extracting(r -> r.get("ID")).doesNotContainNull()
+                .doesNotContain(jdbcTemplate.queryForList("SELECT id FROM tokens WHERE document_id = ?",
+                        UUID.class, source).toArray());
+        Map<String, Object> copied = jdbcTemplate.queryForMap(
+                "SELECT text, token_count, text_hash, created_by FROM sentences WHERE document_id = ?", target);
+        assertThat(copied.get("TEXT")).isEqualTo("a b");
+        assertThat(copied.get("TOKEN_COUNT")).isEqualTo(2);
+        assertThat(copied.get("TEXT_HASH")).isEqualTo(42L);
+        assertThat(copied.get("CREATED_BY")).isEqualTo("system");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tokens WHERE document_id = ?",
+                Integer.class, source)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("empty input touches nothing")
+    void emptyInput() {
+        assertThat(writer.writeTokens(List.of())).isZero();
+        assertThat(writer.writeSentences(List.of())).isZero();
+    }
+}
@@ -1,17 +1,33 @@
 package com.genesis.importexport.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.genesis.infra.async.WorkspaceFairExecutor;
 import com.genesis.infra.storage.FileStorageService;
 import com.genesis.workspace.event.DocumentProcessingFailedEvent;
 import com.genesis.workspace.event.DocumentProcessingStartedEvent;
+import com.genesis.workspace.event.DocumentRequeuedEvent;
 import com.genesis.workspace.event.DocumentTokenizedEvent;
 import com.genesis.workspace.event.DocumentUploadedEvent;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,14 +55,33 @@ class AsyncDocumentProcessorTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private WorkspaceFairExecutor tokenizationExecutor;
+
+    @Mock
+    private TokenizationCacheService tokenizationCache;
+
     @InjectMocks
     private AsyncDocumentProcessor processor;
 
+    /** Run submitted tokenization inline so the tests stay synchronous. */
+    @BeforeEach
+    void runTasksInline() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(tokenizationExecutor).submit(any(), any());
+    }
+
     private DocumentUploadedEvent uploadEvent(String fileName) {
         return new DocumentUploadedEvent(
                 this, UUID.randomUUID(), UUID.randomUUID(), "https://files/" + fileName, UUID.randomUUID(), fileName);
     }
 
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
     private List<ApplicationEvent> capturePublished() {
         ArgumentCaptor<ApplicationEvent> captor = ArgumentCaptor.forClass(ApplicationEvent.class);
         verify(eventPublisher, times(2)).publishEvent(captor.capture());
@@ -55,10 +90,10 @@ class AsyncDocumentProcessorTest {
 
     @Test
     @DisplayName("success - publishes Started then Tokenized (carrying the filename)")
-    void success_publishesStartedThenTokenized() {
+    void success_publishesStartedThenTokenized() throws Exception {
         DocumentUploadedEvent event = uploadEvent("notes.txt");
-        when(fileStorageService.downloadAsString(event.getStoredFileUrl())).thenReturn("hello world");
-        when(importService.importPlainText(event.getDocumentId(), "hello world"))
+        when(fileStorageService.openStream(event.getStoredFileUrl())).thenReturn(stream("hello world"));
+        when(importService.importPlainTextCheckpointed(eq(event.getDocumentId()), any(Reader.class), isNull()))
                 .thenReturn(new ImportService.ImportResult(1, 2));
 
         processor.handleDocumentUploaded(event);
@@ -69,13 +104,47 @@ class AsyncDocumentProcessorTest {
         DocumentTokenizedEvent tokenized = (DocumentTokenizedEvent) published.get(1);
         assertThat(tokenized.getDocumentId()).isEqualTo(event.getDocumentId());
         assertThat(tokenized.getDocumentName()).isEqualTo("notes.txt");
+        assertThat(tokenized.getTokenCount()).isEqualTo(2);
+        verify(tokenizationCache).record(eq(event.getDocumentId()), isNull(), any(ImportService.ImportResult.class));
+    }
+
+    @Test
+    @DisplayName("duplicate upload - copies the cached tokenization without reading the file")
+    void cachedTokenization_skipsDownloadAndTokenizer() throws Exception {
+        DocumentUploadedEvent event = new DocumentUploadedEvent(this, UUID.randomUUID(), UUID.randomUUID(),
+                "https://files/copy.txt", UUID.randomUUID(), "copy.txt", "ab12");
+        when(tokenizationCache.importFromCache(event.getDocumentId(), "ab12"))
+                .thenReturn(Optional.of(new ImportService.ImportResult(3, 17)));
+
+        processor.handleDocumentUploaded(event);
+
+        verify(fileStorageService, never()).openStream(any());
+        verify(importService, never()).importPlainTextCheckpointed(any(), any(), any());
+        DocumentTokenizedEvent tokenized = (DocumentTokenizedEvent) capturePublished().get(1);
+        assertThat(tokenized.getTokenCount()).isEqualTo(17);
+    }
+
+    @Test
+    @DisplayName("CoNLL upload - never copies a cached plain-text grid of the same bytes")
+    void conllFile_bypassesTokenizationCache() throws Exception {
+        DocumentUploadedEvent event = new DocumentUploadedEvent(this, UUID.randomUUID(), UUID.randomUUID(),
+                "https://files/copy.conll", UUID.randomUUID(), "copy.conll", "ab12");
+        when(fileStorageService.openStream(event.getStoredFileUrl())).thenReturn(stream("#begin document"));
+        when(importService.importConll2012(eq(event.getDocumentId()), eq(event.getWorkspaceId()), any(Reader.class)))
+                .thenReturn(new ImportService.ImportResult(1, 1));
+
+        processor.handleDocumentUploaded(event);
+
+        verify(tokenizationCache, never()).importFromCache(any(), any());
+        verify(importService).importConll2012(eq(event.getDocumentId()), eq(event.getWorkspaceId()), any(Reader.class));
+        verify(tokenizationCache, never()).record(any(), any(), any());
     }
 
     @Test
     @DisplayName("failure - publishes Started then Failed (with the error)")
     void failure_publishesStartedThenFailed() {
         DocumentUploadedEvent event = uploadEvent("broken.txt");
-        when(fileStorageService.downloadAsString(event.getStoredFileUrl()))
+        when(fileStorageService.openStream(event.getStoredFileUrl()))
                 .thenThrow(new RuntimeException("storage down"));
 
         processor.handleDocumentUploaded(event);
@@ -92,8 +161,8 @@ class AsyncDocumentProcessorTest {
     @DisplayName("CoNLL file - routes through importConll2012 and publishes Tokenized")
     void conllFile_importedWithConllPath() throws Exception {
         DocumentUploadedEvent event = uploadEvent("doc.conll");
-        when(fileStorageService.downloadAsString(event.getStoredFileUrl())).thenReturn("#begin document");
-        when(importService.importConll2012(event.getDocumentId(), event.getWorkspaceId(), "#begin document"))
+        when(fileStorageService.openStream(event.getStoredFileUrl())).thenReturn(stream("#begin document"));
+        when(importService.importConll2012(eq(event.getDocumentId()), eq(event.getWorkspaceId()), any(Reader.class)))
                 .thenReturn(new ImportService.ImportResult(3, 9));
 
         processor.handleDocumentUploaded(event);
@@ -103,12 +172,32 @@ class AsyncDocumentProcessorTest {
         assertThat(published.get(1)).isInstanceOf(DocumentTokenizedEvent.class);
     }
 
+    @Test
+    @DisplayName("CoNLL content under a .txt name - sniffed from the stream and routed to importConll2012")
+    void conllContentSniffedFromStream() throws Exception {
+        DocumentUploadedEvent event = uploadEvent("upload.txt");
+        String content = "\n  #begin document (d); part 000\nd 0 0 w - - - - - - * -\n";
+        when(fileStorageService.openStream(event.getStoredFileUrl())).thenReturn(stream(content));
+        StringWriter received = new StringWriter();
+        when(importService.importConll2012(eq(event.getDocumentId()), eq(event.getWorkspaceId()), any(Reader.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<Reader>getArgument(2).transferTo(received);
+                    return new ImportService.ImportResult(1, 1);
+                });
+
+        processor.handleDocumentUploaded(event);
+
+        // The sniff rewinds: the importer sees the content from the very start.
+        assertThat(received.toString()).isEqualTo(content);
+        assertThat(capturePublished().get(1)).isInstanceOf(DocumentTokenizedEvent.class);
+    }
+
     @Test
     @DisplayName("CoNLL parse error - IOException is wrapped and surfaces as Failed")
     void conllParseError_publishesFailed() throws Exception {
         DocumentUploadedEvent event = uploadEvent("doc.conll");
-        when(fileStorageService.downloadAsString(event.getStoredFileUrl())).thenReturn("#begin document");
-        when(importService.importConll2012(event.getDocumentId(), event.getWorkspaceId(), "#begin document"))
+        when(fileStorageService.openStream(event.getStoredFileUrl())).thenReturn(stream("#begin document"));
+        when(importService.importConll2012(eq(event.getDocumentId()), eq(event.getWorkspaceId()), any(Reader.class)))
                 .thenThrow(new java.io.IOException("bad grid"));
 
         processor.handleDocumentUploaded(event);
@@ -124,7 +213,7 @@ class AsyncDocumentProcessorTest {
     void failure_truncatesAndDefaultsErrorMessage() {
         // Over-long message → truncated to 900 chars + ellipsis.
         DocumentUploadedEvent longErr = uploadEvent("a.txt");
-        when(fileStorageService.downloadAsString(longErr.getStoredFileUrl()))
+        when(fileStorageService.openStream(longErr.getStoredFileUrl()))
                 .thenThrow(new RuntimeException("x".repeat(1000)));
         processor.handleDocumentUploaded(longErr);
         DocumentProcessingFailedEvent failedLong = (DocumentProcessingFailedEvent) capturePublished().get(1);
@@ -133,10 +222,63 @@ class AsyncDocumentProcessorTest {
         // Null message → "Unknown error".
         org.mockito.Mockito.reset(eventPublisher);
         DocumentUploadedEvent nullErr = uploadEvent("b.txt");
-        when(fileStorageService.downloadAsString(nullErr.getStoredFileUrl()))
+        when(fileStorageService.openStream(nullErr.getStoredFileUrl()))
                 .thenThrow(new RuntimeException());
         processor.handleDocumentUploaded(nullErr);
         DocumentProcessingFailedEvent failedNull = (DocumentProcessingFailedEvent) capturePublished().get(1);
         assertThat(failedNull.getErrorMessage()).isEqualTo("Unknown error");
     }
+
+    @Test
+    @DisplayName("submits tokenization on the uploading workspace's lane")
+    void submitsOnWorkspaceLane() {
+        DocumentUploadedEvent event = uploadEvent("notes.txt");
+        when(fileStorageService.openStream(event.getStoredFileUrl())).thenThrow(new RuntimeException("x"));
+
+        processor.handleDocumentUploaded(event);
+
+        verify(tokenizationExecutor).submit(eq(event.getWorkspaceId()), any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("queue full - publishes Failed without Started and never reads the file")
+    void queueFull_publishesFailed() {
+        DocumentUploadedEvent event = uploadEvent("notes.txt");
+        doThrow(new RejectedExecutionException("full")).when(tokenizationExecutor).submit(any(), any());
+
+        processor.handleDocumentUploaded(event);
+
+        ArgumentCaptor<ApplicationEvent> captor = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue()).isInstanceOf(DocumentProcessingFailedEvent.class);
+        assertThat(((DocumentProcessingFailedEvent) captor.getValue()).getErrorMessage())
+                .contains("queue is full");
+        verify(fileStorageService, never()).openStream(any());
+    }
+
+    @Test
+    @DisplayName("re-queued document with a checkpoint - skips the committed bytes and resumes the plain-text import")
+    void requeuedWithCheckpoint_resumesPastCommittedBytes() throws Exception {
+        DocumentRequeuedEvent event = new DocumentRequeuedEvent(
+                this, UUID.randomUUID(), UUID.randomUUID(), "https://files/big.txt", "big.txt", "ab12");
+        String committed = "ক খ।\n";
+        String content = committed + "rest of it\n";
+        ImportService.Checkpoint checkpoint = new ImportService.Checkpoint(
+                1, 3, committed.length(), committed.getBytes(StandardCharsets.UTF_8).length);
+        when(importService.findCheckpoint(event.getDocumentId())).thenReturn(Optional.of(checkpoint));
+        when(fileStorageService.openStream(event.getStoredFileUrl())).thenReturn(stream(content));
+        StringWriter received = new StringWriter();
+        when(importService.importPlainTextCheckpointed(eq(event.getDocumentId()), any(Reader.class), eq(checkpoint)))
+                .thenAnswer(invocation -> {
+                    invocation.<Reader>getArgument(1).transferTo(received);
+                    return new ImportService.ImportResult(2, 6);
+                });
+
+        processor.handleDocumentRequeued(event);
+
+        assertThat(received.toString()).isEqualTo("rest of it\n");
+        verify(tokenizationCache, never()).importFromCache(any(), any());
+        verify(tokenizationExecutor).submit(eq(event.getWorkspaceId()), any(Runnable.class));
+        assertThat(capturePublished().get(1)).isInstanceOf(DocumentTokenizedEvent.class);
+    }
 }
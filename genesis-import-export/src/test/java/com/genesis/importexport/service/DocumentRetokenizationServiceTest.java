@@ -0,0 +1,94 @@
+package com.genesis.importexport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.genesis.workspace.service.DocumentService;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Unit tests for {@link DocumentRetokenizationService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class DocumentRetokenizationServiceTest {
+
+    @Mock
+    private ImportService importService;
+
+    @Mock
+    private DocumentService documentService;
+
+    @InjectMocks
+    private DocumentRetokenizationService retokenizationService;
+
+    private final UUID documentId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private final MockMultipartFile file = new MockMultipartFile("file", "doc.txt", "text/plain",
+            "Alpha beta.\n".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    @DisplayName("re-import swaps the source and records the new token count")
+    void reimportSwapsSourceAfterImport() throws IOException {
+        Reader content = new StringReader("Alpha beta.\n");
+        when(importService.reimportPlainText(documentId, content))
+                .thenReturn(new ImportService.ReimportResult(1, 3, 1, 0));
+
+        ImportService.ImportResult result = retokenizationService.retokenize(documentId, content, file, true, userId);
+
+        assertThat(result.getTokenCount()).isEqualTo(3);
+        InOrder order = inOrder(importService, documentService);
+        order.verify(importService).reimportPlainText(documentId, content);
+        order.verify(documentService).replaceSource(documentId, file, userId);
+        order.verify(documentService).updateTokenCount(documentId, 3);
+    }
+
+    @Test
+    @DisplayName("without an upload the stored source is kept")
+    void importWithoutFileKeepsSource() throws IOException {
+        Reader content = new StringReader("Alpha beta.\n");
+        when(importService.importPlainText(documentId, content)).thenReturn(new ImportService.ImportResult(1, 3));
+
+        retokenizationService.retokenize(documentId, content, null, false, userId);
+
+        verify(documentService, never()).replaceSource(any(), any(), any());
+        verify(documentService).updateTokenCount(documentId, 3);
+    }
+
+    @Test
+    @DisplayName("a failed re-import rolls back and never swaps the source")
+    void failedReimportDoesNotSwapSource() throws Exception {
+        Reader content = new StringReader("Alpha beta.\n");
+        when(importService.reimportPlainText(documentId, content)).thenThrow(new IOException("upload cut off"));
+
+        assertThatThrownBy(() -> retokenizationService.retokenize(documentId, content, file, true, userId))
+                .isInstanceOf(IOException.class)
+                .hasMessage("upload cut off");
+
+        verify(documentService, never()).replaceSource(any(), any(), any());
+        verify(documentService, never()).updateTokenCount(any(), anyInt());
+        Method retokenize = DocumentRetokenizationService.class.getMethod("retokenize",
+                UUID.class, Reader.class, MultipartFile.class, boolean.class, UUID.class);
+        assertThat(retokenize.getAnnotation(Transactional.class).rollbackFor()).contains(IOException.class);
+    }
+}
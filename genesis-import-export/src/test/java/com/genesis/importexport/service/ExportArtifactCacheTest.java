@@ -0,0 +1,260 @@
+package com.genesis.importexport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.genesis.common.event.WorkspaceActivityEvent;
+import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.dto.ExportOptions.ExportFormat;
+import com.genesis.importexport.port.WorkspaceExportSource;
+import com.genesis.importexport.port.WorkspaceExportSource.ExportInput;
+import com.genesis.importexport.service.ExportArtifactCache.Snapshot;
+import com.genesis.importexport.service.ExportService.StreamingExport;
+import com.genesis.workspace.event.DocumentTokenizedEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Unit tests for {@link ExportArtifactCache}: version memoization and its
+ * invalidation, artifact reuse and LRU eviction under the size cap.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportArtifactCacheTest {
+
+    @Mock
+    private WorkspaceExportSource exportSource;
+
+    @Mock
+    private ExportService exportService;
+
+    @TempDir
+    Path directory;
+
+    private ExportProperties properties;
+    private UUID workspaceId;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExportProperties();
+        properties.getCache().setDirectory(directory.toString());
+        workspaceId = UUID.randomUUID();
+        lenient().when(exportSource.load(any()))
+                .thenAnswer(inv -> new ExportInput("ws", List.of(), Map.of(), Map.of(), Map.of()));
+    }
+
+    private ExportArtifactCache cache() {
+        return new ExportArtifactCache(exportSource, exportService, properties);
+    }
+
+    /** Renders {@code content} for every export of the workspace. */
+    private void stubRender(String content) {
+        when(exportService.streamWorkspace(any(), any(), any(), any(), any(), eq("ws")))
+                .thenAnswer(inv -> new StreamingExport("text/plain", "ws.conll",
+                        out -> out.write(content.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static String read(StreamingExport export) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private long artifactFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    @DisplayName("The data version is read once until workspace activity invalidates it")
+    void versionMemoizedUntilActivity() {
+        when(exportSource.dataVersion(workspaceId)).thenReturn("v1", "v2");
+        ExportArtifactCache cache = cache();
+
+        Snapshot first = cache.snapshot(workspaceId, new ExportOptions());
+        Snapshot second = cache.snapshot(workspaceId, new ExportOptions());
+        assertThat(second.etag()).isEqualTo(first.etag());
+        verify(exportSource, times(1)).dataVersion(workspaceId);
+
+        cache.onWorkspaceActivity(new WorkspaceActivityEvent(this, workspaceId));
+
+        Snapshot third = cache.snapshot(workspaceId, new ExportOptions());
+        assertThat(third.etag()).isNotEqualTo(first.etag());
+        verify(exportSource, times(2)).dataVersion(workspaceId);
+    }
+
+    @Test
+    @DisplayName("A finished tokenization invalidates the data version")
+    void tokenizationInvalidatesVersion() {
+        when(exportSource.dataVersion(workspaceId)).thenReturn("v1");
+        ExportArtifactCache cache = cache();
+
+        cache.snapshot(workspaceId, new ExportOptions());
+        cache.onDocumentTokenized(new DocumentTokenizedEvent(this, UUID.randomUUID(), workspaceId, "doc", 3));
+        cache.snapshot(workspaceId, new ExportOptions());
+
+        verify(exportSource, times(2)).dataVersion(workspaceId);
+    }
+
+    @Test
+    @DisplayName("A zero TTL reads the data version every time")
+    void zeroTtlDisablesMemo() {
+        properties.getCache().setVersionTtl(Duration.ZERO);
+        when(exportSource.dataVersion(workspaceId)).thenReturn("v1");
+        ExportArtifactCache cache = cache();
+
+        cache.snapshot(workspaceId, new ExportOptions());
+        cache.snapshot(workspaceId, new ExportOptions());
+
+        verify(exportSource, times(2)).dataVersion(workspaceId);
+    }
+
+    @Test
+    @DisplayName("Different options of the same version have different keys")
+    void keyCoversOptions() {
+        ExportOptions merged = new ExportOptions();
+        merged.setExportFormat(ExportFormat.MERGED_SINGLE_FILE);
+
+        assertThat(ExportArtifactCache.key(workspaceId, new ExportOptions(), "v1"))
+                .isNotEqualTo(ExportArtifactCache.key(workspaceId, merged, "v1"))
+                .isNotEqualTo(ExportArtifactCache.key(workspaceId, new ExportOptions(), "v2"))
+                .isEqualTo(ExportArtifactCache.key(workspaceId, new ExportOptions(), "v1"));
+    }
+
+    @Test
+    @DisplayName("A second export of the same snapshot is served from disk")
+    void secondExportServedFromCache() throws IOException {
+        when(exportSource.dataVersion(workspaceId)).thenReturn("v1");
+        stubRender("content");
+        ExportArtifactCache cache = cache();
+        Snapshot snapshot = cache.snapshot(workspaceId, new ExportOptions());
+
+        assertThat(read(cache.export(snapshot))).isEqualTo("content");
+        StreamingExport cached = cache.export(snapshot);
+
+        assertThat(read(cached)).isEqualTo("content");
+        assertThat(cached.getFilename()).isEqualTo("ws.conll");
+        assertThat(cached.getContentType()).isEqualTo("text/plain");
+        verify(exportSource, times(1)).load(workspaceId);
+        assertThat(cache.size()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("A cached export opens its file only when written and re-renders if it was evicted meanwhile")
+    void cachedExportOpenedWhenWritten() throws IOException {
+        properties.getCache().setMaxSize(DataSize.ofBytes(7));
+        ExportOptions merged = new ExportOptions();
+        merged.setExportFormat(ExportFormat.MERGED_SINGLE_FILE);
+        when(exportSource.dataVersion(workspaceId)).thenReturn("v1");
+        stubRender("content");
+        ExportArtifactCache cache = cache();
+        Snapshot snapshot = cache.snapshot(workspaceId, new ExportOptions());
+        read(cache.export(snapshot));
+
+        StreamingExport pending = cache.export(snapshot);
+        read(cache.export(cache.snapshot(workspaceId, merged))); // evicts the first artifact
+
+        assertThat(read(pending)).isEqualTo("content");
+        verify(exportSource, times(3)).load(workspaceId);
+    }
+
+    @Test
+    @DisplayName("A failed render caches nothing and leaves no file behind")
+    void failedRenderNotCached() throws IOException {
+        when(exportSource.dataVersion(workspaceId)).thenReturn("v1");
+        when(exportService.streamWorkspace(any(), any(), any(), any(), any(), eq("ws")))
+                .thenReturn(new StreamingExport("text/plain", "ws.conll", out -> {
+                    out.write('x');
+                    throw new IOException("client gone");
+                }));
+        ExportArtifactCache cache = cache();
+        Snapshot snapshot = cache.snapshot(workspaceId, new ExportOptions());
+
+        assertThatThrownBy(() -> read(cache.export(snapshot))).isInstanceOf(IOException.class);
+
+        assertThat(cache.size()).isZero();
+        assertThat(artifactFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("Least recently used exports are evicted beyond the size cap")
+    void evictsLeastRecentlyUsed() throws IOException {
+        properties.getCache().setMaxSize(DataSize.ofBytes(10));
+        ExportOptions zip = new ExportOptions();
+        ExportOptions merged = new ExportOptions();
+        merged.setExportFormat(ExportFormat.MERGED_SINGLE_FILE);
+        ExportOptions renumbered = new ExportOptions();
+        renumbered.setContinueSentenceNumbers(false);
+        when(exportSource.dataVersion(workspaceId)).thenReturn("v1");
+        stubRender("12345");
+        ExportArtifactCache cache = cache();
+
+        Snapshot a = cache.snapshot(workspaceId, zip);
+        Snapshot b = cache.snapshot(workspaceId, merged);
+        Snapshot c = cache.snapshot(workspaceId, renumbered);
+        read(cache.export(a));
+        read(cache.export(b));
+        read(cache.export(a)); // a is now more recent than b
+        read(cache.export(c));
+
+        assertThat(cache.size()).isEqualTo(10);
+        assertThat(artifactFiles()).isEqualTo(2);
+        verify(exportSource, times(3)).load(workspaceId);
+        read(cache.export(a));
+        verify(exportSource, times(3)).load(workspaceId);
+        read(cache.export(b));
+        verify(exportSource, times(4)).load(workspaceId);
+    }
+
+    @Test
+    @DisplayName("A zero size cap streams without caching")
+    void zeroSizeDisablesArtifacts() throws IOException {
+        properties.getCache().setMaxSize(DataSize.ofBytes(0));
+        when(exportSource.dataVersion(workspaceId)).thenReturn("v1");
+        stubRender("content");
+        ExportArtifactCache cache = cache();
+        Snapshot snapshot = cache.snapshot(workspaceId, new ExportOptions());
+
+        read(cache.export(snapshot));
+        read(cache.export(snapshot));
+
+        verify(exportSource, times(2)).load(workspaceId);
+        assertThat(Files.exists(directory) ? artifactFiles() : 0).isZero();
+    }
+
+    @Test
+    @DisplayName("Leftover artifacts are deleted at startup")
+    void clearsDirectoryAtStartup() throws IOException {
+        Files.writeString(directory.resolve("stale.export"), "old");
+        Files.writeString(directory.resolve("partial.tmp"), "old");
+        Files.writeString(directory.resolve("keep.txt"), "unrelated");
+
+        cache();
+
+        assertThat(directory.resolve("stale.export")).doesNotExist();
+        assertThat(directory.resolve("partial.tmp")).doesNotExist();
+        assertThat(directory.resolve("keep.txt")).exists();
+    }
+}
@@ -0,0 +1,177 @@
+package com.genesis.importexport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.entity.ExportJobEntity;
+import com.genesis.importexport.entity.ExportJobStatus;
+import com.genesis.importexport.event.ExportGeneratedEvent;
+import com.genesis.importexport.event.ExportJobQueuedEvent;
+import com.genesis.importexport.port.WorkspaceExportSource;
+import com.genesis.importexport.port.WorkspaceExportSource.ExportInput;
+import com.genesis.importexport.service.ExportService.StreamingExport;
+import com.genesis.infra.storage.FileStorageService;
+import com.genesis.infra.storage.StoredFile;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Unit tests for {@link ExportJobRunner}. Jobs run inline: the executor is
+ * {@code Runnable::run} unless a test rejects them.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportJobRunnerTest {
+
+    @Mock
+    private ExportJobService exportJobService;
+
+    @Mock
+    private ExportService exportService;
+
+    @Mock
+    private WorkspaceExportSource exportSource;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ExportJobEntity job;
+    private ExportInput input;
+
+    @BeforeEach
+    void setUp() {
+        job = new ExportJobEntity();
+        job.setId(UUID.randomUUID());
+        job.setWorkspaceId(UUID.randomUUID());
+        job.setRequestedBy(UUID.randomUUID());
+        job.setOptions(new ExportOptions());
+        job.setStatus(ExportJobStatus.RUNNING);
+        input = new ExportInput("ws", List.of(), Map.of(), Map.of(), Map.of());
+    }
+
+    private ExportJobRunner runner(Executor executor) {
+        return new ExportJobRunner(exportJobService, exportService, exportSource, fileStorageService,
+                eventPublisher, executor);
+    }
+
+    private StoredFile storedFile() {
+        StoredFile stored = new StoredFile();
+        stored.setId(UUID.randomUUID());
+        stored.setOriginalFilename("ws.zip");
+        stored.setFileSize(7L);
+        return stored;
+    }
+
+    private void stubExport(ExportService.ContentWriter writer) {
+        when(exportJobService.start(job.getId())).thenReturn(job);
+        when(exportSource.load(job.getWorkspaceId())).thenReturn(input);
+        when(exportService.streamWorkspace(any(), any(), any(), any(), any(), eq("ws")))
+                .thenReturn(new StreamingExport("application/zip", "ws.zip", writer));
+    }
+
+    @Test
+    @DisplayName("Completed job stores the archive, notifies the requester and deletes expired archives")
+    void runStoresArchiveAndNotifies() {
+        stubExport(out -> out.write("archive".getBytes(StandardCharsets.UTF_8)));
+        StoredFile stored = storedFile();
+        AtomicReference<Path> uploaded = new AtomicReference<>();
+        when(fileStorageService.store(any(Path.class), eq("ws.zip"), eq("application/zip"),
+                eq("exports/" + job.getWorkspaceId()))).thenAnswer(inv -> {
+                    Path temp = inv.getArgument(0);
+                    assertThat(Files.readString(temp)).isEqualTo("archive");
+                    uploaded.set(temp);
+                    return stored;
+                });
+        UUID expired = UUID.randomUUID();
+        when(exportJobService.complete(job.getId(), stored)).thenReturn(List.of(expired));
+
+        runner(Runnable::run).handleExportJobQueued(new ExportJobQueuedEvent(this, job.getId()));
+
+        assertThat(uploaded.get()).doesNotExist();
+        ArgumentCaptor<ExportGeneratedEvent> event = ArgumentCaptor.forClass(ExportGeneratedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getUserId()).isEqualTo(job.getRequestedBy());
+        assertThat(event.getValue().getFileName()).isEqualTo("ws.zip");
+        assertThat(event.getValue().getDownloadUrl()).isEqualTo(ExportJobService.downloadUrl(job.getId()));
+        verify(fileStorageService).delete(expired);
+        verify(exportJobService, never()).fail(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("A failing render fails the job without storing anything")
+    void renderFailureFailsJob() {
+        stubExport(out -> {
+            throw new IOException("disk full");
+        });
+
+        runner(Runnable::run).handleExportJobQueued(new ExportJobQueuedEvent(this, job.getId()));
+
+        verify(exportJobService).fail(job.getId(), "disk full");
+        verify(fileStorageService, never()).store(any(Path.class), anyString(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("A failure after upload deletes the stored archive")
+    void completeFailureDeletesArchive() {
+        stubExport(out -> out.write('x'));
+        StoredFile stored = storedFile();
+        when(fileStorageService.store(any(Path.class), anyString(), any(), any())).thenReturn(stored);
+        doThrow(new IllegalStateException("db down")).when(exportJobService).complete(job.getId(), stored);
+
+        runner(Runnable::run).handleExportJobQueued(new ExportJobQueuedEvent(this, job.getId()));
+
+        verify(exportJobService).fail(job.getId(), "db down");
+        verify(fileStorageService).delete(stored.getId());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("A job that is no longer queued is skipped")
+    void skipsJobNoLongerQueued() {
+        when(exportJobService.start(job.getId())).thenReturn(null);
+
+        runner(Runnable::run).handleExportJobQueued(new ExportJobQueuedEvent(this, job.getId()));
+
+        verifyNoInteractions(exportSource, exportService, fileStorageService, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("A job rejected by a full queue is failed straight away")
+    void rejectedJobFails() {
+        Executor full = task -> {
+            throw new RejectedExecutionException("queue full");
+        };
+
+        runner(full).handleExportJobQueued(new ExportJobQueuedEvent(this, job.getId()));
+
+        verify(exportJobService).fail(eq(job.getId()), anyString());
+        verify(exportJobService, never()).start(any());
+    }
+}
@@ -0,0 +1,255 @@
+package com.genesis.importexport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.genesis.common.exception.ResourceNotFoundException;
+import com.genesis.common.exception.ValidationException;
+import com.genesis.importexport.dto.ExportJobDto;
+import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.dto.ExportOptions.ExportFormat;
+import com.genesis.importexport.entity.ExportJobEntity;
+import com.genesis.importexport.entity.ExportJobStatus;
+import com.genesis.importexport.event.ExportJobQueuedEvent;
+import com.genesis.importexport.port.WorkspaceExportSource;
+import com.genesis.importexport.repository.ExportJobRepository;
+import com.genesis.importexport.service.ExportService.StreamingExport;
+import com.genesis.infra.storage.FileStorageService;
+import com.genesis.infra.storage.StoredFile;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Unit tests for {@link ExportJobService}: reuse of identical requests, the
+ * job lifecycle and expiry of superseded archives.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceTest {
+
+    @Mock
+    private ExportJobRepository exportJobRepository;
+
+    @Mock
+    private WorkspaceExportSource exportSource;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ExportJobService service;
+
+    private UUID workspaceId;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        workspaceId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+    }
+
+    private ExportJobEntity job(ExportJobStatus status, String dataVersion, Instant createdAt) {
+        ExportJobEntity job = new ExportJobEntity();
+        job.setId(UUID.randomUUID());
+        job.setWorkspaceId(workspaceId);
+        job.setRequestedBy(userId);
+        job.setOptions(new ExportOptions());
+        job.setStatus(status);
+        job.setDataVersion(dataVersion);
+        job.setCreatedAt(createdAt);
+        return job;
+    }
+
+    private void stubFindWithOptions(List<ExportJobEntity> jobs) {
+        when(exportJobRepository.findWithOptions(eq(workspaceId), any(), any(), anyBoolean(), anyInt(),
+                anyCollection())).thenReturn(jobs);
+    }
+
+    @Test
+    @DisplayName("submit queues a new job and publishes ExportJobQueuedEvent")
+    void submitQueuesNewJob() {
+        when(exportSource.dataVersion(workspaceId)).thenReturn("v1");
+        stubFindWithOptions(List.of());
+        when(exportJobRepository.save(any(ExportJobEntity.class))).thenAnswer(inv -> {
+            ExportJobEntity saved = inv.getArgument(0);
+            saved.setId(UUID.randomUUID());
+            return saved;
+        });
+        ExportOptions options = new ExportOptions();
+        options.setExportFormat(ExportFormat.MERGED_SINGLE_FILE);
+
+        ExportJobDto dto = service.submit(workspaceId, userId, options);
+
+        ArgumentCaptor<ExportJobEntity> captor = ArgumentCaptor.forClass(ExportJobEntity.class);
+        verify(exportJobRepository).save(captor.capture());
+        ExportJobEntity saved = captor.getValue();
+        assertThat(saved.getStatus()).isEqualTo(ExportJobStatus.QUEUED);
+        assertThat(saved.getDataVersion()).isEqualTo("v1");
+        assertThat(saved.getRequestedBy()).isEqualTo(userId);
+        assertThat(saved.getExportFormat()).isEqualTo(ExportFormat.MERGED_SINGLE_FILE);
+
+        assertThat(dto.getId()).isEqualTo(saved.getId());
+        assertThat(dto.getStatus()).isEqualTo(ExportJobStatus.QUEUED);
+        assertThat(dto.getDownloadUrl()).isNull();
+
+        ArgumentCaptor<ExportJobQueuedEvent> event = ArgumentCaptor.forClass(ExportJobQueuedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getJobId()).isEqualTo(saved.getId());
+    }
+
+    @Test
+    @DisplayName("submit returns the existing job when options and data version match")
+    void submitReusesJobAtSameDataVersion() {
+        ExportJobEntity stale = job(ExportJobStatus.COMPLETED, "v0", Instant.parse("2024-01-01T00:00:00Z"));
+        ExportJobEntity current = job(ExportJobStatus.COMPLETED, "v1", Instant.parse("2024-01-02T00:00:00Z"));
+        when(exportSource.dataVersion(workspaceId)).thenReturn("v1");
+        stubFindWithOptions(List.of(current, stale));
+
+        ExportJobDto dto = service.submit(workspaceId, UUID.randomUUID(), new ExportOptions());
+
+        assertThat(dto.getId()).isEqualTo(current.getId());
+        assertThat(dto.getDownloadUrl()).isEqualTo("/api/export/jobs/" + current.getId() + "/download");
+        verify(exportJobRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("submit queues a new job once the data version has changed")
+    void submitQueuesWhenDataChanged() {
+        when(exportSource.dataVersion(workspaceId)).thenReturn("v2");
+        stubFindWithOptions(List.of(job(ExportJobStatus.COMPLETED, "v1", Instant.now())));
+        when(exportJobRepository.save(any(ExportJobEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.submit(workspaceId, userId, new ExportOptions());
+
+        verify(exportJobRepository).save(any(ExportJobEntity.class));
+        verify(eventPublisher).publishEvent(any(ExportJobQueuedEvent.class));
+    }
+
+    @Test
+    @DisplayName("start moves a queued job to RUNNING and skips any other")
+    void startOnlyQueuedJobs() {
+        ExportJobEntity queued = job(ExportJobStatus.QUEUED, "v1", Instant.now());
+        ExportJobEntity failed = job(ExportJobStatus.FAILED, "v1", Instant.now());
+        when(exportJobRepository.findById(queued.getId())).thenReturn(Optional.of(queued));
+        when(exportJobRepository.findById(failed.getId())).thenReturn(Optional.of(failed));
+        when(exportJobRepository.save(queued)).thenReturn(queued);
+
+        assertThat(service.start(queued.getId())).isSameAs(queued);
+        assertThat(queued.getStatus()).isEqualTo(ExportJobStatus.RUNNING);
+        assertThat(service.start(failed.getId())).isNull();
+        verify(exportJobRepository, never()).save(failed);
+    }
+
+    @Test
+    @DisplayName("complete records the archive and expires older archives of the same request")
+    void completeExpiresOlderArchives() {
+        Instant now = Instant.parse("2024-01-02T00:00:00Z");
+        ExportJobEntity running = job(ExportJobStatus.RUNNING, "v2", now);
+        ExportJobEntity older = job(ExportJobStatus.COMPLETED, "v1", now.minusSeconds(60));
+        UUID olderFile = UUID.randomUUID();
+        older.setStoredFileId(olderFile);
+        ExportJobEntity newer = job(ExportJobStatus.COMPLETED, "v3", now.plusSeconds(60));
+        newer.setStoredFileId(UUID.randomUUID());
+        when(exportJobRepository.findById(running.getId())).thenReturn(Optional.of(running));
+        stubFindWithOptions(List.of(newer, running, older));
+
+        StoredFile archive = new StoredFile();
+        archive.setId(UUID.randomUUID());
+        archive.setOriginalFilename("ws.zip");
+        archive.setContentType("application/zip");
+        archive.setFileSize(42L);
+
+        List<UUID> expired = service.complete(running.getId(), archive);
+
+        assertThat(running.getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+        assertThat(running.getStoredFileId()).isEqualTo(archive.getId());
+        assertThat(running.getFileName()).isEqualTo("ws.zip");
+        assertThat(running.getFileSize()).isEqualTo(42L);
+        assertThat(running.getCompletedAt()).isNotNull();
+
+        assertThat(expired).containsExactly(olderFile);
+        assertThat(older.getStatus()).isEqualTo(ExportJobStatus.EXPIRED);
+        assertThat(older.getStoredFileId()).isNull();
+        assertThat(newer.getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("download streams the stored archive of a completed job")
+    void downloadStreamsArchive() throws Exception {
+        ExportJobEntity completed = job(ExportJobStatus.COMPLETED, "v1", Instant.now());
+        completed.setStoredFileId(UUID.randomUUID());
+        completed.setFileName("ws.conll");
+        completed.setContentType("text/plain; charset=UTF-8");
+        StoredFile stored = new StoredFile();
+        stored.setUrl("local://exports/ws.conll");
+        when(exportJobRepository.findById(completed.getId())).thenReturn(Optional.of(completed));
+        when(fileStorageService.getFile(completed.getStoredFileId())).thenReturn(stored);
+        when(fileStorageService.openStream("local://exports/ws.conll"))
+                .thenReturn(new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8)));
+
+        StreamingExport export = service.download(completed.getId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.writeTo(out);
+
+        assertThat(export.getFilename()).isEqualTo("ws.conll");
+        assertThat(export.getContentType()).isEqualTo("text/plain; charset=UTF-8");
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("content");
+    }
+
+    @Test
+    @DisplayName("download of an unfinished job is rejected")
+    void downloadRejectsUnfinishedJob() {
+        ExportJobEntity running = job(ExportJobStatus.RUNNING, "v1", Instant.now());
+        when(exportJobRepository.findById(running.getId())).thenReturn(Optional.of(running));
+
+        assertThatThrownBy(() -> service.download(running.getId()))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("getJob of an unknown id throws ResourceNotFoundException")
+    void getJobUnknown() {
+        UUID jobId = UUID.randomUUID();
+        when(exportJobRepository.findById(jobId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getJob(jobId)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("fail records the error on the job")
+    void failRecordsError() {
+        ExportJobEntity running = job(ExportJobStatus.RUNNING, "v1", Instant.now());
+        when(exportJobRepository.findById(running.getId())).thenReturn(Optional.of(running));
+
+        service.fail(running.getId(), "boom");
+
+        assertThat(running.getStatus()).isEqualTo(ExportJobStatus.FAILED);
+        assertThat(running.getErrorMessage()).isEqualTo("boom");
+        verify(exportJobRepository).save(running);
+    }
+}
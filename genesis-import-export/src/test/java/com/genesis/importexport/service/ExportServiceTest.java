@@ -0,0 +1,443 @@
+package com.genesis.importexport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.genesis.importexport.dto.ExportOptions;
+import com.genesis.importexport.dto.ExportOptions.Column2Mode;
+import com.genesis.importexport.dto.ExportOptions.ExportFormat;
+import com.genesis.importexport.entity.SentenceEntity;
+import com.genesis.importexport.entity.TokenEntity;
+import com.genesis.importexport.format.ColumnarExportReader;
+import com.genesis.importexport.format.Conll2012Exporter;
+import com.genesis.importexport.format.CorefAnnotations;
+import com.genesis.importexport.repository.SentenceRepository;
+import com.genesis.importexport.repository.TokenRepository;
+import com.genesis.importexport.service.ExportService.DocumentInfo;
+import com.genesis.importexport.service.ExportService.ExportResult;
+import com.genesis.importexport.service.ExportService.StreamingExport;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Unit tests for {@link ExportService}: streamed exports page through tokens
+ * and produce the same CoNLL as the in-memory exporter.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @Mock
+    private SentenceRepository sentenceRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ExecutorService renderExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private ExportService exportService;
+    private final Map<UUID, List<TokenEntity>> tokensByDocument = new HashMap<>();
+    private final Map<UUID, List<SentenceEntity>> sentencesByDocument = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        exportService = newExportService(4);
+        lenient().when(tokenRepository.findByDocumentIdAndGlobalIndexGreaterThanOrderByGlobalIndexAsc(
+                any(), anyInt(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    UUID documentId = invocation.getArgument(0);
+                    int after = invocation.getArgument(1);
+                    Pageable page = invocation.getArgument(2);
+                    return tokensByDocument.getOrDefault(documentId, List.of()).stream()
+                            .filter(t -> t.getGlobalIndex() > after)
+                            .limit(page.getPageSize())
+                            .collect(Collectors.toList());
+                });
+        lenient().when(sentenceRepository.countByDocumentId(any()))
+                .thenAnswer(invocation -> (long) sentencesOf(invocation.getArgument(0)).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        renderExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("ZIP entries match the in-memory exporter across token chunks")
+    void zipEntriesMatchInMemoryExport() throws IOException {
+        UUID first = document(3, 1500);
+        UUID second = document(2, 4);
+        ExportOptions options = new ExportOptions();
+        options.setColumn2Mode(Column2Mode.SENTENCE_NUMBER);
+
+        Map<String, String> entries = unzip(stream(List.of(
+                new DocumentInfo(first, "a.txt"), new DocumentInfo(second, "b.txt")), options));
+
+        Conll2012Exporter exporter = new Conll2012Exporter();
+        assertThat(entries.keySet()).containsExactly("a.conll", "b.conll");
+        assertThat(entries.get("a.conll"))
+                .isEqualTo(exporter.export("a.txt", sentencesOf(first), bySentence(first), Map.of(), options, 0));
+        assertThat(entries.get("b.conll"))
+                .isEqualTo(exporter.export("b.txt", sentencesOf(second), bySentence(second), Map.of(), options, 3));
+        verify(tokenRepository).findByDocumentIdAndGlobalIndexGreaterThanOrderByGlobalIndexAsc(
+                eq(first), eq(ExportService.TOKEN_CHUNK_SIZE - 1), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Merged entry and annotator sidecar are streamed into the ZIP")
+    void zipWithMergedAndSidecar() throws IOException {
+        UUID first = document(2, 3);
+        UUID second = document(1, 2);
+        UUID tokenId = UUID.randomUUID();
+        ExportOptions options = new ExportOptions();
+        options.setExportFormat(ExportFormat.SEPARATE_FILES_ZIP_WITH_MERGED);
+
+        StreamingExport export = exportService.streamWorkspace(
+                List.of(new DocumentInfo(first, "same.txt"), new DocumentInfo(second, "same.txt")),
+                null, null, Map.of(first, Map.of(tokenId, 2L)), options, "ws");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.writeTo(out);
+        Map<String, String> entries = unzip(out.toByteArray());
+
+        assertThat(export.getFilename()).isEqualTo("ws.zip");
+        assertThat(entries.keySet())
+                .containsExactly("same.conll", "same_2.conll", "merged.conll", "ws_annotators.csv");
+        assertThat(entries.get("merged.conll")).isEqualTo(entries.get("same.conll") + entries.get("same_2.conll"));
+        assertThat(entries.get("ws_annotators.csv"))
+                .isEqualTo("document_id,token_id,annotator_count\n" + first + "," + tokenId + ",2\n");
+    }
+
+    @Test
+    @DisplayName("Merged entry reuses the rendered documents instead of re-reading them")
+    void mergedEntryReadsEachDocumentOnce() throws IOException {
+        UUID first = document(2, 3);
+        UUID second = document(3, 2);
+        ExportOptions options = new ExportOptions();
+        options.setExportFormat(ExportFormat.SEPARATE_FILES_ZIP_WITH_MERGED);
+        options.setColumn2Mode(Column2Mode.SENTENCE_NUMBER);
+        List<DocumentInfo> documents = List.of(new DocumentInfo(first, "a"), new DocumentInfo(second, "b"));
+
+        Map<String, String> entries = unzip(stream(documents, options));
+
+        verify(tokenRepository, times(1)).findByDocumentIdAndGlobalIndexGreaterThanOrderByGlobalIndexAsc(
+                eq(first), anyInt(), any(Pageable.class));
+        verify(sentenceRepository, times(1)).countByDocumentId(first);
+        ExportOptions merged = new ExportOptions();
+        merged.setExportFormat(ExportFormat.MERGED_SINGLE_FILE);
+        merged.setColumn2Mode(Column2Mode.SENTENCE_NUMBER);
+        assertThat(entries.get("merged.conll"))
+                .isEqualTo(new String(stream(documents, merged), StandardCharsets.UTF_8))
+                .contains("b\t2\t0\t");
+    }
+
+    @Test
+    @DisplayName("Merged single file continues sentence numbers and matches the byte[] export")
+    void mergedSingleFile() throws IOException {
+        UUID first = document(2, 2);
+        UUID second = document(2, 2);
+        ExportOptions options = new ExportOptions();
+        options.setExportFormat(ExportFormat.MERGED_SINGLE_FILE);
+        options.setColumn2Mode(Column2Mode.SENTENCE_NUMBER);
+        List<DocumentInfo> documents = List.of(new DocumentInfo(first, "a"), new DocumentInfo(second, "b"));
+
+        ExportResult result = exportService.exportWorkspace(documents, null, options, "ws");
+        String content = new String(result.getContent(), StandardCharsets.UTF_8);
+
+        assertThat(result.getContentType()).isEqualTo("text/plain; charset=UTF-8");
+        assertThat(result.getFilename()).isEqualTo("ws.conll");
+        assertThat(content).contains("b\t3\t0\t");
+        assertThat(stream(documents, options)).isEqualTo(result.getContent());
+    }
+
+    @Test
+    @DisplayName("Parallel rendering keeps workspace order and matches inline rendering")
+    void parallelRenderingMatchesInline() throws IOException {
+        List<DocumentInfo> documents = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            documents.add(new DocumentInfo(document(1 + i % 3, 3 + i), "doc" + i));
+        }
+        ExportOptions options = new ExportOptions();
+        options.setExportFormat(ExportFormat.SEPARATE_FILES_ZIP_WITH_MERGED);
+        options.setColumn2Mode(Column2Mode.SENTENCE_NUMBER);
+
+        byte[] parallel = stream(documents, options);
+        exportService = newExportService(1);
+        byte[] inline = stream(documents, options);
+
+        Map<String, String> entries = unzip(parallel);
+        assertThat(entries).isEqualTo(unzip(inline));
+        assertThat(entries.keySet()).startsWith("doc0.conll", "doc1.conll", "doc2.conll");
+    }
+
+    @Test
+    @DisplayName("Render tasks never hold more database connections than render-connections allows")
+    void parallelRenderingBoundedByRenderConnections() throws IOException {
+        ExportProperties properties = new ExportProperties();
+        properties.setParallelism(4);
+        properties.setRenderConnections(1);
+        exportService = new ExportService(tokenRepository, sentenceRepository, entityManager, renderExecutor,
+                properties);
+        AtomicInteger reading = new AtomicInteger();
+        AtomicInteger maxReading = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxReading.accumulateAndGet(reading.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+                UUID documentId = invocation.getArgument(0);
+                int after = invocation.getArgument(1);
+                return tokensByDocument.getOrDefault(documentId, List.of()).stream()
+                        .filter(t -> t.getGlobalIndex() > after)
+                        .collect(Collectors.toList());
+            } finally {
+                reading.decrementAndGet();
+            }
+        }).when(tokenRepository).findByDocumentIdAndGlobalIndexGreaterThanOrderByGlobalIndexAsc(
+                any(), anyInt(), any(Pageable.class));
+        List<DocumentInfo> documents = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            documents.add(new DocumentInfo(document(1, 2), "doc" + i));
+        }
+
+        assertThat(unzip(stream(documents, new ExportOptions()))).hasSize(8);
+        assertThat(maxReading.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("With one render connection, documents still render concurrently")
+    void singleRenderConnectionRendersConcurrently() throws IOException {
+        ExportProperties properties = new ExportProperties();
+        properties.setParallelism(4);
+        properties.setRenderConnections(1);
+        exportService = new ExportService(tokenRepository, sentenceRepository, entityManager, renderExecutor,
+                properties);
+        // Each render looks up its POS overrides before querying tokens; every
+        // lookup waits until both documents are rendering at once.
+        CountDownLatch bothRendering = new CountDownLatch(2);
+        AtomicBoolean overlapped = new AtomicBoolean(true);
+        Map<UUID, Map<UUID, String>> posOverrides = new HashMap<>() {
+            @Override
+            public Map<UUID, String> getOrDefault(Object key, Map<UUID, String> defaultValue) {
+                bothRendering.countDown();
+                try {
+                    if (!bothRendering.await(5, TimeUnit.SECONDS)) {
+                        overlapped.set(false);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return defaultValue;
+            }
+        };
+        List<DocumentInfo> documents = List.of(
+                new DocumentInfo(document(1, 2), "a"), new DocumentInfo(document(2, 1), "b"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.streamWorkspace(documents, null, posOverrides, null, new ExportOptions(), "ws").writeTo(out);
+
+        assertThat(unzip(out.toByteArray())).hasSize(2);
+        assertThat(overlapped).isTrue();
+    }
+
+    @Test
+    @DisplayName("A document that fails to render fails the whole export")
+    void parallelRenderingPropagatesFailure() {
+        UUID broken = UUID.randomUUID();
+        when(tokenRepository.findByDocumentIdAndGlobalIndexGreaterThanOrderByGlobalIndexAsc(
+                eq(broken), anyInt(), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("boom"));
+        List<DocumentInfo> documents = List.of(
+                new DocumentInfo(document(1, 2), "a"), new DocumentInfo(broken, "b"),
+                new DocumentInfo(document(1, 2), "c"));
+
+        assertThatThrownBy(() -> stream(documents, new ExportOptions()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+
+    @Test
+    @DisplayName("Single-document export applies coref and POS overrides")
+    void exportDocumentWithAnnotations() {
+        UUID documentId = document(2, 2);
+        TokenEntity first = tokensByDocument.get(documentId).get(0);
+
+        CorefAnnotations coref = new CorefAnnotations();
+        coref.addMention(1, 1, 1, 3);
+
+        ExportResult result = exportService.exportDocument(documentId, "doc.txt",
+                coref, Map.of(first.getId(), "VB"), new ExportOptions());
+
+        assertThat(result.getFilename()).isEqualTo("doc.conll");
+        assertThat(new String(result.getContent(), StandardCharsets.UTF_8))
+                .startsWith("#begin document (doc); part 000\ndoc\t0\t0\tw0_0\tVB\t")
+                .contains("\tw1_1\t-\t*\t-\t-\t-\t-\t-\t(3)\n")
+                .endsWith("#end document\n");
+    }
+
+    @Test
+    @DisplayName("Streamed tokens are detached from the persistence context")
+    void detachesStreamedTokens() throws IOException {
+        UUID documentId = document(1, 5);
+        when(entityManager.contains(any(TokenEntity.class))).thenReturn(true);
+
+        stream(List.of(new DocumentInfo(documentId, "a")), new ExportOptions());
+
+        verify(entityManager, atLeast(5)).detach(any(TokenEntity.class));
+    }
+
+    @Test
+    @DisplayName("Without a bound persistence context tokens are not detached one by one")
+    void skipsDetachWithoutPersistenceContext() throws IOException {
+        UUID documentId = document(1, 5);
+
+        stream(List.of(new DocumentInfo(documentId, "a")), new ExportOptions());
+
+        verify(entityManager, never()).detach(any());
+    }
+
+    @Test
+    @DisplayName("Columnar export renders back to the merged CoNLL export")
+    void columnarRoundTripsMergedConll() throws IOException {
+        UUID first = document(3, 1500);
+        UUID second = document(2, 3);
+        TokenEntity overridden = tokensByDocument.get(second).get(1);
+        CorefAnnotations coref = new CorefAnnotations();
+        coref.addMention(0, 0, 2, 4);
+        coref.addMention(1, 1, 1, 5);
+        Map<UUID, CorefAnnotations> corefPerDoc = Map.of(second, coref);
+        Map<UUID, Map<UUID, String>> posPerDoc = Map.of(second, Map.of(overridden.getId(), "NOUN"));
+        List<DocumentInfo> documents = List.of(new DocumentInfo(first, "a.txt"), new DocumentInfo(second, "b.txt"));
+        ExportOptions columnar = new ExportOptions();
+        columnar.setExportFormat(ExportFormat.COLUMNAR_BINARY);
+        columnar.setColumn2Mode(Column2Mode.SENTENCE_NUMBER);
+        ExportOptions merged = new ExportOptions();
+        merged.setExportFormat(ExportFormat.MERGED_SINGLE_FILE);
+        merged.setColumn2Mode(Column2Mode.SENTENCE_NUMBER);
+
+        StreamingExport export = exportService.streamWorkspace(documents, corefPerDoc, posPerDoc, null,
+                columnar, "ws");
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        export.writeTo(binary);
+        ByteArrayOutputStream conll = new ByteArrayOutputStream();
+        exportService.streamWorkspace(documents, corefPerDoc, posPerDoc, null, merged, "ws").writeTo(conll);
+
+        assertThat(export.getFilename()).isEqualTo("ws.gcol");
+        ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+        try (ColumnarExportReader reader = ColumnarExportReader.read(ByteBuffer.wrap(binary.toByteArray()))) {
+            assertThat(reader.documents()).extracting(ColumnarExportReader.Document::tokenCount)
+                    .containsExactly(4500L, 6L);
+            reader.writeConll(rendered);
+        }
+        assertThat(rendered.toString(StandardCharsets.UTF_8))
+                .isEqualTo(conll.toString(StandardCharsets.UTF_8))
+                .contains("b\t3\t1\tw0_1\tNOUN\t");
+    }
+
+    @Test
+    @DisplayName("Columnar export of an empty workspace is a valid empty file")
+    void columnarEmptyWorkspace() throws IOException {
+        ExportOptions options = new ExportOptions();
+        options.setExportFormat(ExportFormat.COLUMNAR_BINARY);
+
+        try (ColumnarExportReader reader = ColumnarExportReader.read(ByteBuffer.wrap(stream(List.of(), options)))) {
+            assertThat(reader.documents()).isEmpty();
+            assertThat(reader.rowGroupCount()).isZero();
+        }
+    }
+
+    private ExportService newExportService(int parallelism) {
+        ExportProperties properties = new ExportProperties();
+        properties.setParallelism(parallelism);
+        return new ExportService(tokenRepository, sentenceRepository, entityManager, renderExecutor, properties);
+    }
+
+    private byte[] stream(List<DocumentInfo> documents, ExportOptions options) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.streamWorkspace(documents, null, null, null, options, "ws").writeTo(out);
+        return out.toByteArray();
+    }
+
+    /** Register a document with the given number of sentences of equal length. */
+    private UUID document(int sentences, int tokensPerSentence) {
+        UUID documentId = UUID.randomUUID();
+        List<SentenceEntity> sentenceList = new ArrayList<>();
+        List<TokenEntity> tokens = new ArrayList<>();
+        int global = 0;
+        for (int s = 0; s < sentences; s++) {
+            SentenceEntity sentence = new SentenceEntity();
+            sentence.setDocumentId(documentId);
+            sentence.setSentenceIndex(s);
+            sentenceList.add(sentence);
+            for (int t = 0; t < tokensPerSentence; t++) {
+                TokenEntity token = new TokenEntity();
+                token.setId(UUID.randomUUID());
+                token.setDocumentId(documentId);
+                token.setSentenceIndex(s);
+                token.setTokenIndex(t);
+                token.setGlobalIndex(global++);
+                token.setForm("w" + s + "_" + t);
+                tokens.add(token);
+            }
+        }
+        sentencesByDocument.put(documentId, sentenceList);
+        tokensByDocument.put(documentId, tokens);
+        return documentId;
+    }
+
+    private List<SentenceEntity> sentencesOf(UUID documentId) {
+        return sentencesByDocument.getOrDefault(documentId, List.of());
+    }
+
+    private Map<Integer, List<TokenEntity>> bySentence(UUID documentId) {
+        return tokensByDocument.get(documentId).stream()
+                .collect(Collectors.groupingBy(TokenEntity::getSentenceIndex));
+    }
+
+    private static Map<String, String> unzip(byte[] zip) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,382 @@
+package com.genesis.importexport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.genesis.importexport.entity.ImportJobEntity;
+import com.genesis.importexport.entity.ImportJobStatus;
+import com.genesis.importexport.entity.SentenceEntity;
+import com.genesis.importexport.entity.TokenEntity;
+import com.genesis.importexport.event.ConllImportedEvent;
+import com.genesis.importexport.event.DocumentTokensRemappedEvent;
+import com.genesis.importexport.event.TokenRemap;
+import com.genesis.importexport.format.Conll2012Parser;
+import com.genesis.importexport.repository.BulkTokenWriter;
+import com.genesis.importexport.repository.ImportJobRepository;
+import com.genesis.importexport.repository.SentenceRepository;
+import com.genesis.importexport.repository.SentenceRepository.SentenceDigest;
+import com.genesis.importexport.repository.TokenRepository;
+import com.genesis.importexport.repository.TokenizationCacheRepository;
+import com.genesis.importexport.tokenizer.LineSentenceSegmenter;
+import com.genesis.importexport.tokenizer.UnicodeTokenizer;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Unit tests for the streaming plain-text path of {@link ImportService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ImportServiceTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @Mock
+    private SentenceRepository sentenceRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BulkTokenWriter bulkWriter;
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private TokenizationCacheRepository tokenizationCacheRepository;
+
+    private ImportService importService;
+
+    /** Snapshot of each written chunk at call time (the service reuses its buffers). */
+    private final List<List<SentenceEntity>> sentenceChunks = new ArrayList<>();
+    private final List<List<TokenEntity>> tokenChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ImportProperties properties = new ImportProperties();
+        properties.setChunkSize(2);
+        importService = new ImportService(tokenRepository, sentenceRepository,
+                new UnicodeTokenizer(), new LineSentenceSegmenter(), new Conll2012Parser(), eventPublisher, bulkWriter,
+                properties, importJobRepository, TransactionOperations.withoutTransaction(),
+                tokenizationCacheRepository);
+    }
+
+    private void recordChunks() {
+        doAnswer(invocation -> {
+            List<SentenceEntity> chunk = new ArrayList<>(invocation.<List<SentenceEntity>>getArgument(0));
+            sentenceChunks.add(chunk);
+            return chunk.size();
+        }).when(bulkWriter).writeSentences(any());
+        doAnswer(invocation -> {
+            List<TokenEntity> chunk = new ArrayList<>(invocation.<List<TokenEntity>>getArgument(0));
+            tokenChunks.add(chunk);
+            return chunk.size();
+        }).when(bulkWriter).writeTokens(any());
+    }
+
+    @Test
+    @DisplayName("streaming import flushes every chunkSize sentences and keeps global numbering")
+    void streamingImport_flushesInChunks() throws Exception {
+        recordChunks();
+        UUID documentId = UUID.randomUUID();
+        String text = "one. two.\r\nthree\n\n  four five\n";
+
+        ImportService.ImportResult result = importService.importPlainText(documentId, new StringReader(text));
+
+        assertThat(result.getSentenceCount()).isEqualTo(4);
+        assertThat(result.getTokenCount()).isEqualTo(7);
+        assertThat(sentenceChunks).extracting(List::size).containsExactly(2, 2);
+        assertThat(tokenChunks).extracting(List::size).containsExactly(4, 3);
+
+        List<TokenEntity> tokens = tokenChunks.stream().flatMap(List::stream).toList();
+        assertThat(tokens).extracting(TokenEntity::getGlobalIndex).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(tokens).extracting(TokenEntity::getForm)
+                .containsExactly("one", ".", "two", ".", "three", "four", "five");
+        // "three" starts after the CRLF: offsets are positions in the stream as read.
+        assertThat(tokens.get(4).getStartOffset()).isEqualTo(11);
+        assertThat(text.substring(tokens.get(6).getStartOffset(), tokens.get(6).getEndOffset())).isEqualTo("five");
+
+        verify(tokenRepository).deleteByDocumentId(documentId);
+        verify(sentenceRepository).deleteByDocumentId(documentId);
+    }
+
+    @Test
+    @DisplayName("streaming import produces the same sentence offsets as segmenting the whole text")
+    void streamingImport_matchesWholeTextSegmentation() throws Exception {
+        recordChunks();
+        String text = "প্ৰথম বাক্য। দ্বিতীয়!\n\n   तीसरा वाक्य\nlast line";
+
+        importService.importPlainText(UUID.randomUUID(), new StringReader(text));
+
+        List<SentenceEntity> streamed = sentenceChunks.stream().flatMap(List::stream).toList();
+        var expected = new LineSentenceSegmenter().segment(text);
+        assertThat(streamed).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(streamed.get(i).getSentenceIndex()).isEqualTo(i);
+            assertThat(streamed.get(i).getText()).isEqualTo(expected.get(i).getText());
+            assertThat(streamed.get(i).getStartOffset()).isEqualTo(expected.get(i).getStartOffset());
+            assertThat(streamed.get(i).getEndOffset()).isEqualTo(expected.get(i).getEndOffset());
+        }
+    }
+
+    @Test
+    @DisplayName("blank content clears the document and writes nothing")
+    void blankContent_writesNothing() {
+        UUID documentId = UUID.randomUUID();
+
+        ImportService.ImportResult result = importService.importPlainText(documentId, "  \n\n ");
+
+        assertThat(result.getSentenceCount()).isZero();
+        assertThat(result.getTokenCount()).isZero();
+        verify(tokenRepository).deleteByDocumentId(documentId);
+        verify(tokenizationCacheRepository).deleteBySourceDocumentId(documentId);
+        verify(bulkWriter, never()).writeSentences(any());
+        verify(bulkWriter, never()).writeTokens(any());
+    }
+
+    @Test
+    @DisplayName("CoNLL import writes sentences in chunks as they are parsed and publishes the mentions")
+    void conllImport_flushesInChunks() throws Exception {
+        recordChunks();
+        UUID documentId = UUID.randomUUID();
+        StringBuilder content = new StringBuilder("#begin document (d); part 000\n");
+        for (int i = 0; i < 5; i++) {
+            content.append("d\t0\t0\tw").append(i).append("\tNN\t*\t-\t-\t-\t-\t*\t(").append(i).append(")\n\n");
+        }
+        content.append("#end document\n");
+
+        ImportService.ImportResult result = importService.importConll2012(
+                documentId, UUID.randomUUID(), new StringReader(content.toString()));
+
+        assertThat(result.getSentenceCount()).isEqualTo(5);
+        assertThat(result.getTokenCount()).isEqualTo(5);
+        assertThat(sentenceChunks).extracting(List::size).containsExactly(2, 2, 1);
+        ArgumentCaptor<ConllImportedEvent> event = ArgumentCaptor.forClass(ConllImportedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getMentionSpans()).hasSize(5);
+    }
+
+    /** Back the job repository with a single in-memory row. */
+    private ImportJobEntity stubJobRow() {
+        ImportJobEntity job = new ImportJobEntity();
+        job.setId(UUID.randomUUID());
+        when(importJobRepository.findByDocumentId(any())).thenAnswer(invocation -> Optional.of(job));
+        when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(importJobRepository.save(job)).thenReturn(job);
+        return job;
+    }
+
+    @Test
+    @DisplayName("checkpointed import records a line-aligned checkpoint with every chunk and completes the job")
+    void checkpointedImport_recordsCheckpoints() throws Exception {
+        recordChunks();
+        ImportJobEntity job = stubJobRow();
+        UUID documentId = UUID.randomUUID();
+        String text = "এক। দুই।\r\nthree\n";
+
+        ImportService.ImportResult result = importService.importPlainTextCheckpointed(
+                documentId, new StringReader(text), null);
+
+        assertThat(result.getSentenceCount()).isEqualTo(3);
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getSentencesCommitted()).isEqualTo(3);
+        assertThat(job.getTokensCommitted()).isEqualTo(result.getTokenCount());
+        assertThat(job.getCharOffset()).isEqualTo(text.length());
+        assertThat(job.getByteOffset()).isEqualTo(text.getBytes(StandardCharsets.UTF_8).length);
+        verify(tokenRepository).deleteByDocumentId(documentId);
+    }
+
+    @Test
+    @DisplayName("resuming from a checkpoint yields the same rows as one uninterrupted import")
+    void resumedImport_matchesUninterruptedImport() throws Exception {
+        recordChunks();
+        String head = "first one. second!\nলাইন দুই।\n";
+        String tail = "third line\n\nfourth. fifth\n";
+        importService.importPlainText(UUID.randomUUID(), new StringReader(head + tail));
+        List<SentenceEntity> expectedSentences = sentenceChunks.stream().flatMap(List::stream).toList();
+        List<TokenEntity> expectedTokens = tokenChunks.stream().flatMap(List::stream).toList();
+        sentenceChunks.clear();
+        tokenChunks.clear();
+
+        // An earlier attempt committed the head, then the JVM went away.
+        ImportJobEntity job = stubJobRow();
+        UUID documentId = UUID.randomUUID();
+        importService.importPlainTextCheckpointed(documentId, new StringReader(head), null);
+        job.setStatus(ImportJobStatus.RUNNING);
+        Optional<ImportService.Checkpoint> checkpoint = importService.findCheckpoint(documentId);
+        assertThat(checkpoint).isPresent();
+        assertThat(checkpoint.get().byteOffset()).isEqualTo(head.getBytes(StandardCharsets.UTF_8).length);
+
+        importService.importPlainTextCheckpointed(documentId, new StringReader(tail), checkpoint.get());
+
+        List<SentenceEntity> sentences = sentenceChunks.stream().flatMap(List::stream).toList();
+        List<TokenEntity> tokens = tokenChunks.stream().flatMap(List::stream).toList();
+        assertThat(sentences).extracting(SentenceEntity::getSentenceIndex, SentenceEntity::getText,
+                SentenceEntity::getStartOffset, SentenceEntity::getEndOffset)
+                .containsExactlyElementsOf(expectedSentences.stream()
+                        .map(s -> tuple(s.getSentenceIndex(), s.getText(),
+                                s.getStartOffset(), s.getEndOffset()))
+                        .toList());
+        assertThat(tokens).extracting(TokenEntity::getGlobalIndex, TokenEntity::getForm, TokenEntity::getStartOffset)
+                .containsExactlyElementsOf(expectedTokens.stream()
+                        .map(t -> tuple(t.getGlobalIndex(), t.getForm(),
+                                t.getStartOffset()))
+                        .toList());
+        assertThat(job.getAttempts()).isEqualTo(2);
+        // The resumed attempt must not wipe what the first one committed.
+        verify(tokenRepository).deleteByDocumentId(documentId);
+    }
+
+    @Test
+    @DisplayName("text with a replacement character gets no byte offset and therefore no resumable checkpoint")
+    void replacementCharacter_disablesByteCheckpoint() throws Exception {
+        ImportJobEntity job = stubJobRow();
+        UUID documentId = UUID.randomUUID();
+
+        importService.importPlainTextCheckpointed(documentId, new StringReader("bad \uFFFD byte.\nmore\n"), null);
+        job.setStatus(ImportJobStatus.RUNNING);
+
+        assertThat(job.getByteOffset()).isEqualTo(-1);
+        assertThat(importService.findCheckpoint(documentId)).isEmpty();
+        assertThat(ImportService.utf8Length("a\u00E9\u0995\uD83D\uDE00")).isEqualTo(1 + 2 + 3 + 4);
+    }
+
+    @Test
+    @DisplayName("a chunk that throws halfway through removes the committed chunks and fails the job")
+    void failedChunk_clearsCommittedRowsAndFailsJob() {
+        ImportJobEntity job = stubJobRow();
+        UUID documentId = UUID.randomUUID();
+        int[] writes = {0};
+        doAnswer(invocation -> {
+            if (++writes[0] == 2) {
+                throw new IllegalStateException("connection lost");
+            }
+            return invocation.<List<SentenceEntity>>getArgument(0).size();
+        }).when(bulkWriter).writeSentences(any());
+
+        assertThatThrownBy(() -> importService.importPlainTextCheckpointed(documentId,
+                new StringReader("one. two.\nthree. four.\nfive.\n"), null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("connection lost");
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.getSentencesCommitted()).isZero();
+        assertThat(job.getByteOffset()).isZero();
+        assertThat(importService.findCheckpoint(documentId)).isEmpty();
+        // Once when starting over, once more to undo the first, committed chunk.
+        verify(tokenRepository, times(2)).deleteByDocumentId(documentId);
+        verify(sentenceRepository, times(2)).deleteByDocumentId(documentId);
+    }
+
+    /** A stored sentence as the digest query returns it. */
+    private record Digest(Integer getSentenceIndex, Integer getStartOffset, Integer getEndOffset,
+            Integer getTokenCount, Long getTextHash, String getText) implements SentenceDigest {
+        static Digest of(SentenceEntity s) {
+            return new Digest(s.getSentenceIndex(), s.getStartOffset(), s.getEndOffset(), s.getTokenCount(),
+                    s.getTextHash(), null);
+        }
+    }
+
+    @Test
+    @DisplayName("re-import rewrites only the edited sentence and keeps the ids of its surviving tokens")
+    void reimport_rewritesOnlyTheEditedSentence() throws Exception {
+        recordChunks();
+        UUID documentId = UUID.randomUUID();
+        importService.importPlainText(documentId, new StringReader("Alpha beta. Gamma delta.\nEpsilon zeta.\n"));
+        List<SentenceEntity> oldSentences = sentenceChunks.stream().flatMap(List::stream).toList();
+        List<TokenEntity> oldEdited = tokenChunks.stream().flatMap(List::stream)
+                .filter(t -> t.getSentenceIndex() == 1).toList();
+        oldEdited.forEach(t -> t.setId(UUID.randomUUID()));
+        sentenceChunks.clear();
+        tokenChunks.clear();
+        when(sentenceRepository.findDigestsByDocumentId(documentId))
+                .thenReturn(oldSentences.stream().<SentenceDigest>map(Digest::of).toList());
+        when(tokenRepository.findByDocumentIdAndSentenceIndexRange(documentId, 1, 1)).thenReturn(oldEdited);
+
+        ImportService.ReimportResult result = importService.reimportPlainText(
+                documentId, new StringReader("Alpha beta. Gamma big delta.\nEpsilon zeta.\n"));
+
+        assertThat(result.getSentenceCount()).isEqualTo(3);
+        assertThat(result.getTokenCount()).isEqualTo(10);
+        assertThat(result.getRewrittenSentences()).isEqualTo(1);
+        assertThat(result.getRemovedTokens()).isZero();
+        verify(sentenceRepository).deleteSentenceRange(documentId, 1, 2);
+        verify(tokenRepository, never()).deleteAllByIdInBatch(anyList());
+        // Once for the initial import, once because the edited rows no longer match a cached upload.
+        verify(tokenizationCacheRepository, times(2)).deleteBySourceDocumentId(documentId);
+        // The trailing sentence moves by one token and four characters, in bulk.
+        verify(sentenceRepository).shiftSentenceRange(documentId, 2, 3, 0, 4);
+        verify(tokenRepository).shiftSentenceRange(documentId, 2, 3, 0, 1, 4);
+        assertThat(sentenceChunks).singleElement().satisfies(chunk -> assertThat(chunk)
+                .extracting(SentenceEntity::getSentenceIndex, SentenceEntity::getText)
+                .containsExactly(tuple(1, "Gamma big delta.")));
+        assertThat(tokenChunks).singleElement().satisfies(chunk -> assertThat(chunk)
+                .extracting(TokenEntity::getForm, TokenEntity::getGlobalIndex)
+                .containsExactly(tuple("big", 4)));
+        assertThat(oldEdited).extracting(TokenEntity::getForm, TokenEntity::getGlobalIndex, TokenEntity::getTokenIndex)
+                .containsExactly(tuple("Gamma", 3, 0), tuple("delta", 5, 2), tuple(".", 6, 3));
+
+        ArgumentCaptor<DocumentTokensRemappedEvent> event = ArgumentCaptor.forClass(DocumentTokensRemappedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        TokenRemap remap = event.getValue().getRemap();
+        assertThat(remap.getTokenShift()).isEqualTo(1);
+        assertThat(remap.mapGlobalIndex(4)).isEqualTo(5);
+        assertThat(remap.mapGlobalIndex(7)).isEqualTo(8);
+        assertThat(remap.mapSpan(3, 4)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("re-import of an unchanged text touches nothing")
+    void reimport_unchangedText_isANoOp() throws Exception {
+        recordChunks();
+        UUID documentId = UUID.randomUUID();
+        String text = "One. Two.\nThree.\n";
+        importService.importPlainText(documentId, new StringReader(text));
+        List<SentenceEntity> oldSentences = sentenceChunks.stream().flatMap(List::stream).toList();
+        when(sentenceRepository.findDigestsByDocumentId(documentId))
+                .thenReturn(oldSentences.stream().<SentenceDigest>map(Digest::of).toList());
+
+        ImportService.ReimportResult result = importService.reimportPlainText(documentId, new StringReader(text));
+
+        assertThat(result.getRewrittenSentences()).isZero();
+        verify(sentenceRepository, never()).deleteSentenceRange(any(), anyInt(), anyInt());
+        verify(sentenceRepository, never()).shiftSentenceRange(any(), anyInt(), anyInt(), anyInt(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("re-import of a document without sentences falls back to a full import")
+    void reimport_withoutStoredSentences_importsInFull() throws Exception {
+        UUID documentId = UUID.randomUUID();
+
+        ImportService.ReimportResult result = importService.reimportPlainText(documentId, new StringReader("A b.\n"));
+
+        assertThat(result.getSentenceCount()).isEqualTo(1);
+        assertThat(result.getRewrittenSentences()).isEqualTo(1);
+        verify(tokenRepository).deleteByDocumentId(documentId);
+    }
+}
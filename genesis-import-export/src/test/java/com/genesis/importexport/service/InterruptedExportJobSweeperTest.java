@@ -0,0 +1,34 @@
+package com.genesis.importexport.service;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link InterruptedExportJobSweeper}.
+ */
+@ExtendWith(MockitoExtension.class)
+class InterruptedExportJobSweeperTest {
+
+    @Mock
+    private ExportJobService exportJobService;
+
+    @InjectMocks
+    private InterruptedExportJobSweeper sweeper;
+
+    @Test
+    @DisplayName("Should fail the jobs the previous run left queued or running")
+    void failsInterruptedJobs() {
+        when(exportJobService.failInterrupted()).thenReturn(2);
+
+        sweeper.failInterruptedJobs();
+
+        verify(exportJobService).failInterrupted();
+    }
+}
@@ -0,0 +1,151 @@
+package com.genesis.importexport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.genesis.importexport.entity.ImportJobEntity;
+import com.genesis.importexport.entity.ImportJobStatus;
+import com.genesis.importexport.entity.TokenizationCacheEntity;
+import com.genesis.importexport.repository.BulkTokenWriter;
+import com.genesis.importexport.repository.ImportJobRepository;
+import com.genesis.importexport.repository.SentenceRepository;
+import com.genesis.importexport.repository.TokenRepository;
+import com.genesis.importexport.repository.TokenizationCacheRepository;
+import com.genesis.importexport.tokenizer.LineSentenceSegmenter;
+import com.genesis.importexport.tokenizer.Tokenizer;
+import com.genesis.importexport.tokenizer.UnicodeTokenizer;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link TokenizationCacheService}: hits copy the source
+ * document's rows, stale entries are dropped, and keys follow the pipeline
+ * versions.
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenizationCacheServiceTest {
+
+    private static final String HASH = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
+
+    @Mock
+    private TokenizationCacheRepository cacheRepository;
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @Mock
+    private SentenceRepository sentenceRepository;
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private BulkTokenWriter bulkTokenWriter;
+
+    private ImportProperties importProperties;
+    private TokenizationCacheService cache;
+
+    @BeforeEach
+    void setUp() {
+        importProperties = new ImportProperties();
+        cache = newCache(new UnicodeTokenizer());
+    }
+
+    private TokenizationCacheService newCache(Tokenizer tokenizer) {
+        return new TokenizationCacheService(cacheRepository, tokenRepository, sentenceRepository,
+                importJobRepository, bulkTokenWriter, importProperties, tokenizer, new LineSentenceSegmenter());
+    }
+
+    private TokenizationCacheEntity entry(UUID source, int sentences, int tokens) {
+        TokenizationCacheEntity entry = new TokenizationCacheEntity();
+        entry.setCacheKey(cache.cacheKey(HASH));
+        entry.setSourceDocumentId(source);
+        entry.setSentenceCount(sentences);
+        entry.setTokenCount(tokens);
+        return entry;
+    }
+
+    @Test
+    @DisplayName("hit - replaces the document's rows with a copy of the source's")
+    void hit_clonesSourceRows() {
+        UUID source = UUID.randomUUID();
+        UUID target = UUID.randomUUID();
+        when(cacheRepository.findByCacheKey(cache.cacheKey(HASH))).thenReturn(Optional.of(entry(source, 2, 9)));
+        when(tokenRepository.countByDocumentId(source)).thenReturn(9L);
+        when(sentenceRepository.countByDocumentId(source)).thenReturn(2L);
+
+        Optional<ImportService.ImportResult> result = cache.importFromCache(target, HASH);
+
+        assertThat(result).get().satisfies(r -> {
+            assertThat(r.getSentenceCount()).isEqualTo(2);
+            assertThat(r.getTokenCount()).isEqualTo(9);
+        });
+        verify(tokenRepository).deleteByDocumentId(target);
+        verify(sentenceRepository).deleteByDocumentId(target);
+        verify(bulkTokenWriter).cloneDocument(source, target);
+    }
+
+    @Test
+    @DisplayName("source rows changed or still importing - entry dropped, nothing copied")
+    void staleEntry_isDropped() {
+        UUID source = UUID.randomUUID();
+        TokenizationCacheEntity stale = entry(source, 2, 9);
+        ImportJobEntity running = new ImportJobEntity();
+        running.setStatus(ImportJobStatus.RUNNING);
+        when(cacheRepository.findByCacheKey(cache.cacheKey(HASH))).thenReturn(Optional.of(stale));
+        when(importJobRepository.findByDocumentId(source)).thenReturn(Optional.of(running));
+
+        assertThat(cache.importFromCache(UUID.randomUUID(), HASH)).isEmpty();
+
+        verify(cacheRepository).delete(stale);
+        verify(bulkTokenWriter, never()).cloneDocument(any(), any());
+    }
+
+    @Test
+    @DisplayName("no hash, disabled cache or the document's own entry - no lookup result")
+    void misses() {
+        UUID source = UUID.randomUUID();
+        when(cacheRepository.findByCacheKey(cache.cacheKey(HASH))).thenReturn(Optional.of(entry(source, 1, 1)));
+
+        assertThat(cache.importFromCache(source, HASH)).isEmpty();
+        assertThat(cache.importFromCache(UUID.randomUUID(), null)).isEmpty();
+        importProperties.setTokenizationCacheEnabled(false);
+        assertThat(cache.importFromCache(UUID.randomUUID(), HASH)).isEmpty();
+        verify(bulkTokenWriter, never()).cloneDocument(any(), any());
+    }
+
+    @Test
+    @DisplayName("record - stores the document as the source for its key")
+    void record_savesEntry() {
+        UUID documentId = UUID.randomUUID();
+        when(cacheRepository.findByCacheKey(cache.cacheKey(HASH))).thenReturn(Optional.empty());
+
+        cache.record(documentId, HASH, new ImportService.ImportResult(4, 30));
+
+        ArgumentCaptor<TokenizationCacheEntity> saved = ArgumentCaptor.forClass(TokenizationCacheEntity.class);
+        verify(cacheRepository).save(saved.capture());
+        assertThat(saved.getValue().getCacheKey()).isEqualTo(cache.cacheKey(HASH));
+        assertThat(saved.getValue().getSourceDocumentId()).isEqualTo(documentId);
+        assertThat(saved.getValue().getTokenCount()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("the key changes with the tokenizer version")
+    void keyIncludesPipelineVersion() {
+        Tokenizer newer = mock(Tokenizer.class);
+        when(newer.version()).thenReturn("unicode-2");
+
+        assertThat(newCache(newer).cacheKey(HASH)).isNotEqualTo(cache.cacheKey(HASH)).hasSize(64);
+    }
+}
@@ -2,6 +2,7 @@ package com.genesis.importexport.tokenizer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -127,4 +128,47 @@ class LineSentenceSegmenterTest {
     void supportsEnglish() {
         assertTrue(segmenter.supportsLanguage("en"));
     }
+
+    @Test
+    @DisplayName("Should report exact offsets across CRLF, blank and indented lines")
+    void exactOffsetsAcrossLineEndings() {
+        String text = "  one. two!\r\n\r\n\tthree  \nfour";
+        List<SentenceSegmenter.SentenceResult> sentences = segmenter.segment(text);
+
+        assertEquals(4, sentences.size());
+        assertEquals(List.of("one.", "two!", "three", "four"),
+                sentences.stream().map(SentenceSegmenter.SentenceResult::getText).toList());
+        for (SentenceSegmenter.SentenceResult sentence : sentences) {
+            assertEquals(sentence.getText(), text.substring(sentence.getStartOffset(), sentence.getEndOffset()));
+        }
+        assertEquals(2, sentences.get(0).getStartOffset());
+        assertEquals(16, sentences.get(2).getStartOffset());
+        assertEquals(21, sentences.get(2).getEndOffset());
+    }
+
+    @Test
+    @DisplayName("Should split on danda and double danda, but not inside numbers or before non-space")
+    void dandaAndNonBoundaryTerminators() {
+        String text = "মই ভাত খাওঁ। দাম 3.50 টকা॥ আৰু...শেষ।";
+        List<SentenceSegmenter.SentenceResult> sentences = segmenter.segment(text);
+
+        assertEquals(List.of("মই ভাত খাওঁ।", "দাম 3.50 টকা॥", "আৰু...শেষ।"),
+                sentences.stream().map(SentenceSegmenter.SentenceResult::getText).toList());
+    }
+
+    @Test
+    @DisplayName("Sink API should report the same offsets as the list API")
+    void sinkMatchesListApi() {
+        String text = "प्रथम वाक्य। दूसरा?\n\n  तीसरा वाक्य\nlast line  ";
+        List<SentenceSegmenter.SentenceResult> expected = segmenter.segment(text);
+        List<int[]> offsets = new ArrayList<>();
+
+        int count = segmenter.segment(new StringBuilder(text), (start, end) -> offsets.add(new int[] { start, end }));
+
+        assertEquals(expected.size(), count);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getStartOffset(), offsets.get(i)[0]);
+            assertEquals(expected.get(i).getEndOffset(), offsets.get(i)[1]);
+        }
+    }
 }
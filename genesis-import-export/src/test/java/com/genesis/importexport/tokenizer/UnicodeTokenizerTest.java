@@ -2,6 +2,7 @@ package com.genesis.importexport.tokenizer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -157,4 +158,74 @@ class UnicodeTokenizerTest {
     void supportsNullLanguage() {
         assertTrue(tokenizer.supportsLanguage(null));
     }
+
+    @Test
+    @DisplayName("Sink API should report the same offsets as the list API")
+    void sinkMatchesListApi() {
+        String text = "“মই” ভাত খাওঁ। मैं खाना खाता हूँ॥ Hello, world-wide (test) ২০২৪!";
+        List<Tokenizer.TokenResult> expected = tokenizer.tokenize(text, 7);
+        List<int[]> offsets = new ArrayList<>();
+
+        int count = tokenizer.tokenize(text, 7, (start, end) -> offsets.add(new int[] { start, end }));
+
+        assertEquals(expected.size(), count);
+        assertEquals(expected.size(), offsets.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getStartOffset(), offsets.get(i)[0]);
+            assertEquals(expected.get(i).getEndOffset(), offsets.get(i)[1]);
+            assertEquals(expected.get(i).getText(), text.substring(offsets.get(i)[0] - 7, offsets.get(i)[1] - 7));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep ZWJ/ZWNJ inside words")
+    void keepsJoinersInWords() {
+        String text = "ক্\u200Dষ র\u200C্য";
+        List<Tokenizer.TokenResult> tokens = tokenizer.tokenize(text, 0);
+
+        assertEquals(2, tokens.size());
+        assertEquals("ক্\u200Dষ", tokens.get(0).getText());
+        assertEquals("র\u200C্য", tokens.get(1).getText());
+    }
+
+    @Test
+    @DisplayName("Should keep supplementary-plane letters (surrogate pairs) inside words")
+    void surrogatePairLettersStayInWord() {
+        // U+1D400 MATHEMATICAL BOLD CAPITAL A is a letter outside the BMP.
+        String text = "x\uD835\uDC00y z";
+        List<Tokenizer.TokenResult> tokens = tokenizer.tokenize(text, 0);
+
+        assertEquals(2, tokens.size());
+        assertEquals("x\uD835\uDC00y", tokens.get(0).getText());
+        assertEquals(0, tokens.get(0).getStartOffset());
+        assertEquals(4, tokens.get(0).getEndOffset());
+        assertEquals("z", tokens.get(1).getText());
+    }
+
+    @Test
+    @DisplayName("Should skip emoji and lone surrogates without splitting a pair")
+    void skipsSymbolsAndLoneSurrogates() {
+        // U+1F600 is a symbol (skipped whole); the lone high surrogate is skipped too.
+        String text = "ab\uD83D\uDE00cd \uD83D ef";
+        List<Tokenizer.TokenResult> tokens = tokenizer.tokenize(text, 0);
+
+        assertEquals(3, tokens.size());
+        assertEquals("ab", tokens.get(0).getText());
+        assertEquals("cd", tokens.get(1).getText());
+        assertEquals(4, tokens.get(1).getStartOffset());
+        assertEquals("ef", tokens.get(2).getText());
+    }
+
+    @Test
+    @DisplayName("Should emit supplementary-plane punctuation as one two-char token")
+    void supplementaryPunctuation() {
+        // U+1144B NEWA DANDA is OTHER_PUNCTUATION outside the BMP.
+        String text = "ab\uD805\uDC4B";
+        List<Tokenizer.TokenResult> tokens = tokenizer.tokenize(text, 0);
+
+        assertEquals(2, tokens.size());
+        assertEquals("\uD805\uDC4B", tokens.get(1).getText());
+        assertEquals(2, tokens.get(1).getStartOffset());
+        assertEquals(4, tokens.get(1).getEndOffset());
+    }
 }
@@ -5,6 +5,7 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import com.genesis.common.CommonModuleConfig;
+import com.genesis.infra.async.AsyncProperties;
 import com.genesis.infra.security.SecurityProperties;
 import com.genesis.infra.storage.CloudinaryProperties;
 import com.genesis.infra.storage.StorageProperties;
@@ -12,7 +13,7 @@ import com.genesis.infra.storage.StorageProperties;
 @Configuration
 @ComponentScan(basePackages = "com.genesis.infra")
 @Import({ CommonModuleConfig.class })
-@EnableConfigurationProperties({ SecurityProperties.class, CloudinaryProperties.class, StorageProperties.class })
+@EnableConfigurationProperties({ AsyncProperties.class, SecurityProperties.class, CloudinaryProperties.class, StorageProperties.class })
 public class InfraModuleConfig {
     // Infra module specific beans and configurations
 }
@@ -3,6 +3,7 @@ package com.genesis.infra.async;
 import java.util.concurrent.Executor;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -10,25 +11,77 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * Configuration for async task execution.
- * Provides a thread pool for background processing of documents.
+ *
+ * <p>Plain {@code @Async} methods (the notification listeners) run on
+ * {@link #notificationExecutor}. Document tokenization does not use
+ * {@code @Async}: it is submitted to {@link #tokenizationExecutor}, which
+ * schedules round-robin across workspaces so one large upload batch cannot
+ * starve other workspaces or delay notifications. Workspace export jobs run on
+ * {@link #exportJobExecutor}. All pools are sized from {@link AsyncProperties}.
  */
 @Configuration
 @EnableAsync
 public class AsyncConfig implements AsyncConfigurer {
 
-    @Override
-    public Executor getAsyncExecutor() {
+    private static final int AWAIT_TERMINATION_SECONDS = 30;
+
+    private final AsyncProperties asyncProperties;
+
+    public AsyncConfig(AsyncProperties asyncProperties) {
+        this.asyncProperties = asyncProperties;
+    }
+
+    /**
+     * Default {@code @Async} pool. Registered as a bean so Actuator publishes its
+     * {@code executor.*} metrics (tagged {@code name=notificationExecutor}).
+     */
+    @Bean
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        AsyncProperties.Notification props = asyncProperties.getNotification();
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
+        executor.setCorePoolSize(props.getCorePoolSize());
+        executor.setMaxPoolSize(props.getMaxPoolSize());
+        executor.setQueueCapacity(props.getQueueCapacity());
         executor.setThreadNamePrefix("genesis-async-");
         executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(30);
-        executor.initialize();
+        executor.setAwaitTerminationSeconds(AWAIT_TERMINATION_SECONDS);
+        return executor;
+    }
+
+    /**
+     * Workspace-fair pool for document tokenization.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public WorkspaceFairExecutor tokenizationExecutor() {
+        AsyncProperties.Tokenization props = asyncProperties.getTokenization();
+        WorkspaceFairExecutor executor = new WorkspaceFairExecutor("tokenization",
+                props.getThreads(), props.getPerWorkspace(), props.getQueueCapacity());
+        executor.setAwaitTerminationSeconds(AWAIT_TERMINATION_SECONDS);
         return executor;
     }
 
+    /**
+     * Bounded pool for export jobs; a full queue rejects the submission.
+     * Registered as a bean so Actuator publishes its {@code executor.*}
+     * metrics (tagged {@code name=exportJobExecutor}).
+     */
+    @Bean
+    public ThreadPoolTaskExecutor exportJobExecutor() {
+        AsyncProperties.Export props = asyncProperties.getExport();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.getThreads());
+        executor.setMaxPoolSize(props.getThreads());
+        executor.setQueueCapacity(props.getQueueCapacity());
+        executor.setThreadNamePrefix("genesis-export-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return notificationExecutor();
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
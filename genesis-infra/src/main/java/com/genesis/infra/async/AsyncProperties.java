@@ -0,0 +1,164 @@
+package com.genesis.infra.async;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Background execution configuration.
+ *
+ * <p>
+ * Three independent pools:
+ * <ul>
+ *   <li>{@link #notification} — the default {@code @Async} executor, used by the
+ *       notification listeners. Short tasks; kept separate so a burst of uploads
+ *       can never delay them.</li>
+ *   <li>{@link #tokenization} — the {@link WorkspaceFairExecutor} that runs
+ *       document tokenization, round-robin across workspaces.</li>
+ *   <li>{@link #export} — the bounded pool that runs asynchronous workspace
+ *       export jobs.</li>
+ * </ul>
+ *
+ * <p>Prefixed with {@code genesis.async} and bound from
+ * {@code application.properties} / environment variables.
+ */
+@ConfigurationProperties(prefix = "genesis.async")
+public class AsyncProperties {
+
+    private final Notification notification = new Notification();
+
+    private final Tokenization tokenization = new Tokenization();
+
+    private final Export export = new Export();
+
+    public Notification getNotification() {
+        return notification;
+    }
+
+    public Tokenization getTokenization() {
+        return tokenization;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    /**
+     * Pool backing plain {@code @Async} methods.
+     */
+    public static class Notification {
+
+        private int corePoolSize = 2;
+
+        private int maxPoolSize = 4;
+
+        private int queueCapacity = 500;
+
+        public int getCorePoolSize() {
+            return corePoolSize;
+        }
+
+        public void setCorePoolSize(int corePoolSize) {
+            this.corePoolSize = corePoolSize;
+        }
+
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        public void setMaxPoolSize(int maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Workspace-fair tokenization scheduler.
+     */
+    public static class Tokenization {
+
+        /**
+         * Documents tokenized concurrently across all workspaces. Each one holds a
+         * database connection for the length of its import, so together with
+         * the export pool and its render connections this must stay below the
+         * Hikari pool size.
+         */
+        private int threads = 3;
+
+        /**
+         * Documents of a single workspace tokenized concurrently. With this below
+         * {@link #threads}, one workspace's backlog always leaves room for others.
+         */
+        private int perWorkspace = 2;
+
+        /**
+         * Documents waiting across all workspaces before new uploads are rejected
+         * (and marked FAILED).
+         */
+        private int queueCapacity = 1000;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getPerWorkspace() {
+            return perWorkspace;
+        }
+
+        public void setPerWorkspace(int perWorkspace) {
+            this.perWorkspace = perWorkspace;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Pool running export jobs.
+     */
+    public static class Export {
+
+        /**
+         * Export jobs rendered concurrently. Each one reads its whole workspace,
+         * holding a database connection of its own while its documents draw on
+         * the shared {@code genesis.export.render-connections}.
+         */
+        private int threads = 1;
+
+        /**
+         * Export jobs waiting before new submissions are rejected (and the job
+         * marked FAILED).
+         */
+        private int queueCapacity = 100;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.genesis.infra.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Executor that schedules tasks fairly across workspaces.
+ *
+ * <p>Each workspace gets its own FIFO lane. Whenever a worker is free, the next
+ * task is taken from the next lane in round-robin order, skipping lanes that
+ * already have {@code perWorkspace} tasks running. A workspace that queues 80
+ * documents therefore occupies at most {@code perWorkspace} of the
+ * {@code threads} workers, and a single upload from another workspace starts as
+ * soon as any worker frees up instead of waiting behind the whole backlog.
+ *
+ * <p>Tasks are only handed to the underlying pool when a worker is idle, so its
+ * own queue never grows; waiting happens in the lanes. The total number of
+ * waiting tasks is capped at {@code queueCapacity}, beyond which
+ * {@link #submit} throws {@link RejectedExecutionException}.
+ *
+ * <p>Exposes {@code genesis.tokenization.*} gauges (queued, active, workspaces),
+ * a rejection counter and a queue wait-time timer through {@link MeterBinder};
+ * Spring Boot binds it to the Actuator registry automatically.
+ */
+public class WorkspaceFairExecutor implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkspaceFairExecutor.class);
+
+    private final String name;
+    private final int threads;
+    private final int perWorkspace;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor workers;
+
+    private final Object lock = new Object();
+    private final Map<UUID, Lane> lanes = new HashMap<>();
+    /** Lanes with waiting tasks and spare per-workspace capacity, in round-robin order. */
+    private final ArrayDeque<Lane> ready = new ArrayDeque<>();
+    private int queued;
+    private int active;
+    private boolean shutdown;
+
+    private long awaitTerminationSeconds;
+
+    private volatile Timer waitTimer;
+    private volatile Counter rejectedCounter;
+
+    public WorkspaceFairExecutor(String name, int threads, int perWorkspace, int queueCapacity) {
+        if (threads < 1 || perWorkspace < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("threads and perWorkspace must be >= 1, queueCapacity >= 0");
+        }
+        this.name = name;
+        this.threads = threads;
+        this.perWorkspace = perWorkspace;
+        this.queueCapacity = queueCapacity;
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("genesis-" + name + "-"));
+    }
+
+    /**
+     * Queue {@code task} on {@code workspaceId}'s lane.
+     *
+     * @throws RejectedExecutionException when the executor is shut down or
+     *                                    {@code queueCapacity} tasks are already waiting
+     */
+    public void submit(UUID workspaceId, Runnable task) {
+        synchronized (lock) {
+            if (shutdown) {
+                reject("executor is shut down");
+            }
+            if (queued >= queueCapacity) {
+                reject("queue is full (" + queueCapacity + " waiting)");
+            }
+            Lane lane = lanes.computeIfAbsent(workspaceId, Lane::new);
+            lane.tasks.add(new QueuedTask(task, System.nanoTime()));
+            queued++;
+            markReadyIfEligible(lane);
+            dispatch();
+        }
+    }
+
+    private void reject(String reason) {
+        Counter counter = rejectedCounter;
+        if (counter != null) {
+            counter.increment();
+        }
+        throw new RejectedExecutionException("Executor '" + name + "' rejected task: " + reason);
+    }
+
+    /** Hand waiting tasks to idle workers. Caller holds {@link #lock}. */
+    private void dispatch() {
+        while (active < threads && !ready.isEmpty()) {
+            Lane lane = ready.poll();
+            QueuedTask task = lane.tasks.poll();
+            queued--;
+            lane.running++;
+            active++;
+            lane.ready = false;
+            markReadyIfEligible(lane);
+            workers.execute(() -> run(lane, task));
+        }
+    }
+
+    private void markReadyIfEligible(Lane lane) {
+        if (!lane.ready && !lane.tasks.isEmpty() && lane.running < perWorkspace) {
+            lane.ready = true;
+            ready.add(lane);
+        }
+    }
+
+    private void run(Lane lane, QueuedTask task) {
+        Timer timer = waitTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - task.enqueuedNanos, TimeUnit.NANOSECONDS);
+        }
+        try {
+            task.runnable.run();
+        } catch (Throwable t) {
+            log.error("Task for workspace {} on executor '{}' failed", lane.workspaceId, name, t);
+        } finally {
+            synchronized (lock) {
+                lane.running--;
+                active--;
+                if (lane.running == 0 && lane.tasks.isEmpty()) {
+                    lanes.remove(lane.workspaceId);
+                } else {
+                    markReadyIfEligible(lane);
+                }
+                dispatch();
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * How long {@link #shutdown()} waits for queued and running tasks to finish.
+     * Defaults to 0 (do not wait).
+     */
+    public void setAwaitTerminationSeconds(long awaitTerminationSeconds) {
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+    }
+
+    /**
+     * Stop accepting tasks, let everything already queued run for up to the
+     * configured await-termination period, then stop the workers.
+     */
+    public void shutdown() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(awaitTerminationSeconds);
+        synchronized (lock) {
+            shutdown = true;
+            try {
+                long remaining;
+                while ((queued > 0 || active > 0) && (remaining = deadline - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (queued > 0) {
+                log.warn("Executor '{}' shut down with {} tasks still queued", name, queued);
+            }
+        }
+        workers.shutdown();
+    }
+
+    public int getQueuedCount() {
+        synchronized (lock) {
+            return queued;
+        }
+    }
+
+    public int getActiveCount() {
+        synchronized (lock) {
+            return active;
+        }
+    }
+
+    public int getWorkspaceCount() {
+        synchronized (lock) {
+            return lanes.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        String prefix = "genesis." + name;
+        Gauge.builder(prefix + ".queued", this, WorkspaceFairExecutor::getQueuedCount)
+                .description("Tasks waiting for a worker, across all workspaces")
+                .register(registry);
+        Gauge.builder(prefix + ".active", this, WorkspaceFairExecutor::getActiveCount)
+                .description("Tasks currently running")
+                .register(registry);
+        Gauge.builder(prefix + ".workspaces", this, WorkspaceFairExecutor::getWorkspaceCount)
+                .description("Workspaces with queued or running tasks")
+                .register(registry);
+        rejectedCounter = Counter.builder(prefix + ".rejected")
+                .description("Tasks rejected because the queue was full or the executor was shut down")
+                .register(registry);
+        waitTimer = Timer.builder(prefix + ".wait")
+                .description("Time a task spent queued before a worker picked it up")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static final class Lane {
+        private final UUID workspaceId;
+        private final ArrayDeque<QueuedTask> tasks = new ArrayDeque<>();
+        private int running;
+        private boolean ready;
+
+        private Lane(UUID workspaceId) {
+            this.workspaceId = workspaceId;
+        }
+    }
+
+    private record QueuedTask(Runnable runnable, long enqueuedNanos) {
+    }
+}
@@ -10,6 +10,7 @@ import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -106,6 +107,29 @@ public class CloudinaryService implements FileStorageBackend {
         }
     }
 
+    /**
+     * Open previously uploaded content as a stream over its Cloudinary secure URL.
+     * The HTTP body is read lazily by the caller.
+     *
+     * @param fileUrl the stored secure URL
+     * @return the response body stream
+     * @throws GenesisException if the connection cannot be opened
+     */
+    @Override
+    public InputStream openStream(@NonNull String fileUrl) {
+        try {
+            URL url = new URL(fileUrl);
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("GET");
+            connection.setConnectTimeout(5000);
+            connection.setReadTimeout(10000);
+            return connection.getInputStream();
+        } catch (Exception e) {
+            logger.error("Failed to open stream for URL: {}", fileUrl, e);
+            throw new GenesisException("Failed to open file content: " + e.getMessage());
+        }
+    }
+
     /**
      * Upload a file to Cloudinary.
      *
@@ -141,6 +165,39 @@ public class CloudinaryService implements FileStorageBackend {
         }
     }
 
+    /**
+     * Upload a local file to Cloudinary. The SDK streams it from disk.
+     *
+     * @param file     the local file to upload
+     * @param fileName original file name
+     * @param folder   optional folder path in Cloudinary
+     * @return upload result containing URL and metadata
+     * @throws GenesisException if upload fails or Cloudinary is not configured
+     */
+    public CloudinaryUploadResult uploadFile(@NonNull Path file, @NonNull String fileName, String folder) {
+        ensureConfigured();
+
+        try {
+            Map<String, Object> options = ObjectUtils.asMap(
+                    "resource_type", "auto",
+                    "use_filename", true,
+                    "unique_filename", true);
+
+            if (folder != null && !folder.isBlank()) {
+                options.put("folder", folder);
+            }
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> result = cloudinary.uploader().upload(file.toFile(), options);
+
+            return mapToUploadResult(result, fileName);
+
+        } catch (IOException e) {
+            logger.error("Failed to upload file to Cloudinary: {}", fileName, e);
+            throw new GenesisException("Failed to upload file to Cloudinary: " + e.getMessage());
+        }
+    }
+
     /**
      * Upload a MultipartFile to Cloudinary.
      *
@@ -1,5 +1,7 @@
 package com.genesis.infra.storage;
 
+import java.io.InputStream;
+import java.nio.file.Path;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -38,6 +40,17 @@ public interface FileStorageBackend {
      */
     CloudinaryUploadResult uploadFile(byte[] fileData, String fileName, String folder);
 
+    /**
+     * Store the content of a local file without reading it into memory, for
+     * generated artifacts that can be larger than the heap should hold.
+     *
+     * @param file     the local file to store; left in place
+     * @param fileName original file name
+     * @param folder   optional logical folder/prefix
+     * @return upload result containing the stored reference and metadata
+     */
+    CloudinaryUploadResult uploadFile(Path file, String fileName, String folder);
+
     /**
      * Store a multipart file and return its public reference + metadata.
      *
@@ -56,6 +69,18 @@ public interface FileStorageBackend {
      */
     String downloadAsString(String reference);
 
+    /**
+     * Open previously stored content as a raw byte stream. Unlike
+     * {@link #downloadAsString(String)} nothing is buffered up front, so callers
+     * that process the content incrementally keep memory independent of file
+     * size. The caller owns the returned stream and must close it.
+     *
+     * @param reference the stored reference (URL or storage key) persisted as the
+     *                  file's URL at upload time
+     * @return an open stream over the stored bytes
+     */
+    InputStream openStream(String reference);
+
     /**
      * Remove a stored object by its storage key (the value persisted as
      * {@code publicId}).
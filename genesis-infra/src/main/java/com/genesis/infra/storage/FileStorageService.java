@@ -2,6 +2,8 @@ package com.genesis.infra.storage;
 
 import com.genesis.common.exception.GenesisException;
 import com.genesis.common.exception.ResourceNotFoundException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -105,6 +107,38 @@ public class FileStorageService {
         return saved;
     }
 
+    /**
+     * Store the content of a local file and save metadata to database. The
+     * file is streamed to the backend, never read into memory as a whole.
+     *
+     * @param file        the local file; left in place for the caller to delete
+     * @param fileName    file name to record
+     * @param contentType MIME content type
+     * @param folder      optional folder path
+     * @return the stored file entity with URL
+     * @throws GenesisException if storage fails
+     */
+    @Transactional
+    public StoredFile store(@NonNull Path file, @NonNull String fileName,
+            String contentType, String folder) {
+        CloudinaryUploadResult uploadResult = storageBackend.uploadFile(file, fileName, folder);
+
+        StoredFile storedFile = new StoredFile();
+        storedFile.setPublicId(uploadResult.getPublicId());
+        storedFile.setUrl(uploadResult.getSecureUrl());
+        storedFile.setOriginalFilename(fileName);
+        storedFile.setContentType(contentType);
+        storedFile.setFileSize(uploadResult.getBytes());
+        storedFile.setFolder(folder);
+        storedFile.setResourceType(uploadResult.getResourceType());
+        storedFile.setFormat(uploadResult.getFormat());
+
+        StoredFile saved = storedFileRepository.save(storedFile);
+        logger.info("Stored file with ID: {} and URL: {}", saved.getId(), saved.getUrl());
+
+        return saved;
+    }
+
     /**
      * Get a stored file by its ID.
      *
@@ -142,6 +176,18 @@ public class FileStorageService {
         return storageBackend.downloadAsString(fileReference);
     }
 
+    /**
+     * Open file content as a byte stream from its stored reference, for callers
+     * that process large files incrementally instead of holding them in memory.
+     *
+     * @param fileReference the stored reference (URL or storage key)
+     * @return an open stream the caller must close
+     * @throws GenesisException if the stream cannot be opened
+     */
+    public InputStream openStream(@NonNull String fileReference) {
+        return storageBackend.openStream(fileReference);
+    }
+
     /**
      * Delete a file from Cloudinary and database.
      *
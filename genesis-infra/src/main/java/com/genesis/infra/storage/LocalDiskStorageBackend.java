@@ -2,6 +2,7 @@ package com.genesis.infra.storage;
 
 import com.genesis.common.exception.GenesisException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -71,6 +72,22 @@ public class LocalDiskStorageBackend implements FileStorageBackend {
         return toResult(storageKey, fileName, fileData.length);
     }
 
+    @Override
+    public CloudinaryUploadResult uploadFile(@NonNull Path file, @NonNull String fileName, String folder) {
+        String storageKey = buildStorageKey(fileName, folder);
+        Path target = resolve(storageKey);
+        long bytes;
+        try {
+            Files.createDirectories(target.getParent());
+            Files.copy(file, target);
+            bytes = Files.size(target);
+        } catch (IOException e) {
+            throw new GenesisException("Failed to write file to local storage: " + e.getMessage());
+        }
+        logger.info("Stored file on local disk: {}", storageKey);
+        return toResult(storageKey, fileName, bytes);
+    }
+
     @Override
     public CloudinaryUploadResult uploadFile(@NonNull MultipartFile file, String folder) {
         try {
@@ -94,6 +111,16 @@ public class LocalDiskStorageBackend implements FileStorageBackend {
         }
     }
 
+    @Override
+    public InputStream openStream(@NonNull String reference) {
+        Path source = resolve(stripScheme(reference));
+        try {
+            return Files.newInputStream(source);
+        } catch (IOException e) {
+            throw new GenesisException("Failed to open file from local storage: " + e.getMessage());
+        }
+    }
+
     @Override
     public boolean deleteFile(@NonNull String storageKey) {
         Path target = resolve(stripScheme(storageKey));
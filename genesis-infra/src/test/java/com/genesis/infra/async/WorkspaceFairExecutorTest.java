@@ -0,0 +1,166 @@
+package com.genesis.infra.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link WorkspaceFairExecutor} scheduling.
+ */
+class WorkspaceFairExecutorTest {
+
+    private WorkspaceFairExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.setAwaitTerminationSeconds(5);
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("single worker alternates between workspaces instead of draining one backlog first")
+    void roundRobinAcrossWorkspaces() throws Exception {
+        executor = new WorkspaceFairExecutor("test", 1, 1, 100);
+        UUID big = UUID.randomUUID();
+        UUID small = UUID.randomUUID();
+        CountDownLatch gate = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(7);
+
+        // Block the only worker so everything below queues up.
+        executor.submit(big, () -> await(gate));
+        for (int i = 0; i < 4; i++) {
+            int n = i;
+            executor.submit(big, () -> { order.add("big-" + n); done.countDown(); });
+        }
+        for (int i = 0; i < 2; i++) {
+            int n = i;
+            executor.submit(small, () -> { order.add("small-" + n); done.countDown(); });
+        }
+        executor.submit(big, () -> { order.add("big-4"); done.countDown(); });
+        assertThat(executor.getQueuedCount()).isEqualTo(7);
+        assertThat(executor.getWorkspaceCount()).isEqualTo(2);
+
+        gate.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(order).containsExactly("small-0", "big-0", "small-1", "big-1", "big-2", "big-3", "big-4");
+    }
+
+    @Test
+    @DisplayName("a workspace never runs more than perWorkspace tasks at once")
+    void perWorkspaceConcurrencyIsBounded() throws Exception {
+        executor = new WorkspaceFairExecutor("test", 4, 2, 100);
+        UUID workspace = UUID.randomUUID();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(10);
+
+        for (int i = 0; i < 10; i++) {
+            executor.submit(workspace, () -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(20);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(peak.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("another workspace gets a free worker while the first is at its limit")
+    void otherWorkspaceUsesSpareWorkers() throws Exception {
+        executor = new WorkspaceFairExecutor("test", 2, 1, 100);
+        CountDownLatch gate = new CountDownLatch(1);
+        UUID busy = UUID.randomUUID();
+        executor.submit(busy, () -> await(gate));
+        executor.submit(busy, () -> await(gate));
+
+        CountDownLatch otherRan = new CountDownLatch(1);
+        executor.submit(UUID.randomUUID(), otherRan::countDown);
+
+        assertThat(otherRan.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getQueuedCount()).isEqualTo(1);
+        gate.countDown();
+    }
+
+    @Test
+    @DisplayName("rejects once queueCapacity tasks are waiting, and counts the rejection")
+    void rejectsWhenQueueFull() {
+        executor = new WorkspaceFairExecutor("test", 1, 1, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.bindTo(registry);
+        CountDownLatch gate = new CountDownLatch(1);
+        UUID workspace = UUID.randomUUID();
+        executor.submit(workspace, () -> await(gate));
+        executor.submit(workspace, () -> { });
+
+        assertThatThrownBy(() -> executor.submit(UUID.randomUUID(), () -> { }))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("queue is full");
+        assertThat(registry.get("genesis.test.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("genesis.test.queued").gauge().value()).isEqualTo(1.0);
+        gate.countDown();
+    }
+
+    @Test
+    @DisplayName("a failing task does not kill its worker or stall its lane")
+    void failingTaskDoesNotStallLane() throws Exception {
+        executor = new WorkspaceFairExecutor("test", 1, 1, 10);
+        UUID workspace = UUID.randomUUID();
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.submit(workspace, () -> { throw new IllegalStateException("boom"); });
+        executor.submit(workspace, ran::countDown);
+
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("shutdown drains queued tasks, then rejects new ones")
+    void shutdownDrainsThenRejects() {
+        executor = new WorkspaceFairExecutor("test", 1, 1, 10);
+        AtomicInteger ran = new AtomicInteger();
+        UUID workspace = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            executor.submit(workspace, () -> { sleep(10); ran.incrementAndGet(); });
+        }
+
+        executor.setAwaitTerminationSeconds(5);
+        executor.shutdown();
+
+        assertThat(ran.get()).isEqualTo(3);
+        assertThatThrownBy(() -> executor.submit(workspace, () -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.genesis.common.exception.ResourceNotFoundException;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -129,6 +130,37 @@ class FileStorageServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("store(Path)")
+    class StorePath {
+
+        @Test
+        @DisplayName("uploads the file from disk and saves to database")
+        void uploadsAndSaves() {
+            Path file = Path.of("export.zip");
+
+            CloudinaryUploadResult uploadResult = new CloudinaryUploadResult();
+            uploadResult.setPublicId("exports/export.zip");
+            uploadResult.setSecureUrl("local:exports/export.zip");
+            uploadResult.setBytes(4096L);
+            uploadResult.setResourceType("raw");
+            uploadResult.setFormat("zip");
+
+            when(storageBackend.uploadFile(file, "corpus.zip", "exports"))
+                    .thenReturn(uploadResult);
+            when(storedFileRepository.save(any(StoredFile.class)))
+                    .thenAnswer(inv -> inv.getArgument(0));
+
+            StoredFile result = fileStorageService.store(file, "corpus.zip", "application/zip", "exports");
+
+            assertEquals("exports/export.zip", result.getPublicId());
+            assertEquals("local:exports/export.zip", result.getUrl());
+            assertEquals("corpus.zip", result.getOriginalFilename());
+            assertEquals("application/zip", result.getContentType());
+            assertEquals(4096L, result.getFileSize());
+        }
+    }
+
     @Nested
     @DisplayName("getFile")
     class GetFile {
@@ -3,6 +3,7 @@ package com.genesis.infra.storage;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.genesis.common.exception.GenesisException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -67,6 +68,21 @@ class LocalDiskStorageBackendTest {
         assertEquals("#begin document", backend.downloadAsString(result.getUrl()));
     }
 
+    @Test
+    @DisplayName("uploadFile(Path) copies the file and leaves the source in place")
+    void uploadPathRoundTrip() throws Exception {
+        Path source = Files.createTempFile(tempDir, "export-", ".zip");
+        Files.writeString(source, "archive bytes");
+
+        CloudinaryUploadResult result = backend.uploadFile(source, "corpus.zip", "exports/ws-1");
+
+        assertTrue(result.getPublicId().startsWith("exports/ws-1/"));
+        assertEquals("zip", result.getFormat());
+        assertEquals(13, result.getBytes());
+        assertEquals("archive bytes", backend.downloadAsString(result.getUrl()));
+        assertTrue(Files.exists(source));
+    }
+
     @Test
     @DisplayName("uploadFile with no folder stores at the base directory root")
     void uploadWithoutFolder() {
@@ -101,6 +117,19 @@ class LocalDiskStorageBackendTest {
                 () -> backend.downloadAsString(LocalDiskStorageBackend.LOCAL_SCHEME + "missing.txt"));
     }
 
+    @Test
+    @DisplayName("openStream returns the stored bytes and throws for a missing file")
+    void openStreamRoundTrip() throws Exception {
+        CloudinaryUploadResult result = backend.uploadFile(
+                "অসমীয়া text".getBytes(StandardCharsets.UTF_8), "s.txt", "f");
+
+        try (InputStream in = backend.openStream(result.getUrl())) {
+            assertEquals("অসমীয়া text", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertThrows(GenesisException.class,
+                () -> backend.openStream(LocalDiskStorageBackend.LOCAL_SCHEME + "missing.txt"));
+    }
+
     @Test
     @DisplayName("path traversal outside the base directory is rejected")
     void rejectsPathTraversal() {
@@ -1,9 +1,11 @@
 package com.genesis.logging.listener;
 
+import com.genesis.common.event.AnnotationLogBatchEvent;
 import com.genesis.common.event.AnnotationLogEvent;
 import com.genesis.logging.entity.AnnotationLogEntity;
 import com.genesis.logging.repository.AnnotationLogRepository;
 import java.time.Instant;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -50,4 +52,30 @@ public class AnnotationAuditListener {
                     event.getEntityId(), event.getActionType(), ex.getMessage(), ex);
         }
     }
+
+    /**
+     * Persist every entry of a batch in one {@code saveAll}. Same isolation as
+     * {@link #onAnnotationLog}; a failure drops the whole batch's rows.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAnnotationLogBatch(AnnotationLogBatchEvent event) {
+        try {
+            Instant timestamp = Instant.ofEpochMilli(event.getTimestamp());
+            List<AnnotationLogEntity> entities = event.getEntries().stream().map(entry -> {
+                AnnotationLogEntity entity = new AnnotationLogEntity();
+                entity.setWorkspaceId(event.getWorkspaceId());
+                entity.setUserId(event.getUserId());
+                entity.setActionType(entry.actionType());
+                entity.setEntityId(entry.entityId());
+                entity.setTimestamp(timestamp);
+                entity.setPayloadJson(entry.payloadJson());
+                return entity;
+            }).toList();
+            repository.saveAll(entities);
+        } catch (Exception ex) {
+            log.warn("Audit log failed for a batch of {} entries in workspace {}: {}",
+                    event.getEntries().size(), event.getWorkspaceId(), ex.getMessage(), ex);
+        }
+    }
 }
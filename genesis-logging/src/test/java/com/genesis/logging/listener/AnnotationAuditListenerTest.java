@@ -4,14 +4,17 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.genesis.common.event.ActionType;
+import com.genesis.common.event.AnnotationLogBatchEvent;
 import com.genesis.common.event.AnnotationLogEvent;
 import com.genesis.logging.entity.AnnotationLogEntity;
 import com.genesis.logging.repository.AnnotationLogRepository;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -80,4 +83,38 @@ class AnnotationAuditListenerTest {
         assertEquals(e.getPayloadJson(), saved.getPayloadJson());
         assertNotNull(saved.getTimestamp());
     }
+
+    @Test
+    @DisplayName("batch entries are saved together, one row each")
+    @SuppressWarnings("unchecked")
+    void batchSavesEveryEntry() {
+        UUID workspaceId = UUID.randomUUID();
+        UUID created = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        AnnotationLogBatchEvent batch = new AnnotationLogBatchEvent(this, workspaceId, "alice", List.of(
+                new AnnotationLogBatchEvent.Entry(ActionType.MENTION_CREATED, created, "{}"),
+                new AnnotationLogBatchEvent.Entry(ActionType.MENTION_DELETED, deleted, null)));
+
+        listener.onAnnotationLogBatch(batch);
+
+        ArgumentCaptor<List<AnnotationLogEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).saveAll(captor.capture());
+        List<AnnotationLogEntity> saved = captor.getValue();
+        assertEquals(2, saved.size());
+        assertEquals(created, saved.get(0).getEntityId());
+        assertEquals(ActionType.MENTION_DELETED, saved.get(1).getActionType());
+        assertEquals(workspaceId, saved.get(1).getWorkspaceId());
+        assertEquals("alice", saved.get(1).getUserId());
+        assertEquals(saved.get(0).getTimestamp(), saved.get(1).getTimestamp());
+    }
+
+    @Test
+    @DisplayName("batch save failure is swallowed")
+    void batchSaveFailureIsSwallowed() {
+        when(repository.saveAll(anyList())).thenThrow(new RuntimeException("simulated DB outage"));
+        AnnotationLogBatchEvent batch = new AnnotationLogBatchEvent(this, UUID.randomUUID(), "alice",
+                List.of(new AnnotationLogBatchEvent.Entry(ActionType.MENTION_CREATED, UUID.randomUUID(), null)));
+
+        assertDoesNotThrow(() -> listener.onAnnotationLogBatch(batch));
+    }
 }
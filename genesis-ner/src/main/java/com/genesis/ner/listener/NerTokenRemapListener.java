@@ -0,0 +1,67 @@
+package com.genesis.ner.listener;
+
+import com.genesis.importexport.event.DocumentTokensRemappedEvent;
+import com.genesis.importexport.event.TokenRemap;
+import com.genesis.ner.entity.NerAnnotationEntity;
+import com.genesis.ner.repository.NerAnnotationRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps NER spans on their tokens when a document is incrementally re-imported.
+ *
+ * <p>Spans after the edited range move with one bulk update. Spans touching it
+ * are mapped token by token: a span whose tokens all survived, still adjacent,
+ * is moved; any other span no longer describes real tokens and is deleted.
+ * Runs in the re-import's transaction.
+ */
+@Component
+public class NerTokenRemapListener {
+
+    private static final Logger log = LoggerFactory.getLogger(NerTokenRemapListener.class);
+
+    private final NerAnnotationRepository annotationRepository;
+
+    public NerTokenRemapListener(NerAnnotationRepository annotationRepository) {
+        this.annotationRepository = annotationRepository;
+    }
+
+    @EventListener
+    @Transactional
+    public void onTokensRemapped(DocumentTokensRemappedEvent event) {
+        UUID documentId = event.getDocumentId();
+        TokenRemap remap = event.getRemap();
+
+        // Load before the bulk shift: the shifted rows may land in this range.
+        List<NerAnnotationEntity> affected = annotationRepository.findOverlapping(
+                documentId, remap.getFirstChangedToken(), remap.getChangedTokensEnd());
+        if (remap.getTokenShift() != 0) {
+            annotationRepository.shiftFrom(documentId, remap.getChangedTokensEnd(), remap.getTokenShift());
+        }
+
+        List<NerAnnotationEntity> dropped = new ArrayList<>();
+        for (NerAnnotationEntity annotation : affected) {
+            int start = annotation.getStartTokenIndex();
+            int end = annotation.getEndTokenIndex();
+            int newStart = remap.mapSpan(start, end);
+            if (newStart < 0) {
+                dropped.add(annotation);
+            } else {
+                annotation.setStartTokenIndex(newStart);
+                annotation.setEndTokenIndex(newStart + (end - start));
+            }
+        }
+        annotationRepository.deleteAll(dropped);
+
+        if (!affected.isEmpty()) {
+            log.info("Re-import of document {}: kept {} and dropped {} NER spans on edited tokens",
+                    documentId, affected.size() - dropped.size(), dropped.size());
+        }
+    }
+}
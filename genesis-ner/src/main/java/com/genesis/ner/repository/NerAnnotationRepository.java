@@ -4,6 +4,9 @@ import com.genesis.ner.entity.NerAnnotationEntity;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -14,4 +17,24 @@ public interface NerAnnotationRepository extends JpaRepository<NerAnnotationEnti
     List<NerAnnotationEntity> findByDocumentIdAndAnnotatorId(UUID documentId, String annotatorId);
 
     void deleteByDocumentId(UUID documentId);
+
+    /**
+     * Spans that touch the token range [fromIndex, toIndex).
+     */
+    @Query("SELECT a FROM NerAnnotationEntity a WHERE a.documentId = :documentId "
+            + "AND a.startTokenIndex < :toIndex AND a.endTokenIndex >= :fromIndex")
+    List<NerAnnotationEntity> findOverlapping(@Param("documentId") UUID documentId,
+            @Param("fromIndex") int fromIndex,
+            @Param("toIndex") int toIndex);
+
+    /**
+     * Move every span starting at or after {@code fromIndex} by {@code shift} tokens.
+     */
+    @Modifying
+    @Query("UPDATE NerAnnotationEntity a SET a.startTokenIndex = a.startTokenIndex + :shift, "
+            + "a.endTokenIndex = a.endTokenIndex + :shift "
+            + "WHERE a.documentId = :documentId AND a.startTokenIndex >= :fromIndex")
+    int shiftFrom(@Param("documentId") UUID documentId,
+            @Param("fromIndex") int fromIndex,
+            @Param("shift") int shift);
 }
@@ -0,0 +1,59 @@
+package com.genesis.ner.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.genesis.importexport.event.DocumentTokensRemappedEvent;
+import com.genesis.importexport.event.TokenRemap;
+import com.genesis.ner.entity.NerAnnotationEntity;
+import com.genesis.ner.repository.NerAnnotationRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link NerTokenRemapListener}.
+ */
+@ExtendWith(MockitoExtension.class)
+class NerTokenRemapListenerTest {
+
+    @Mock
+    private NerAnnotationRepository annotationRepository;
+
+    @InjectMocks
+    private NerTokenRemapListener listener;
+
+    private static NerAnnotationEntity span(int start, int end) {
+        NerAnnotationEntity annotation = new NerAnnotationEntity();
+        annotation.setStartTokenIndex(start);
+        annotation.setEndTokenIndex(end);
+        return annotation;
+    }
+
+    @Test
+    @DisplayName("moves spans whose tokens survived, drops spans split by an insertion, shifts the rest in bulk")
+    void remapsSpansOnEditedTokens() {
+        UUID documentId = UUID.randomUUID();
+        // Sentence 1 "Gamma delta ." (tokens 3..5) became "Gamma big delta ." (3..6).
+        TokenRemap remap = new TokenRemap(1, new int[] {3, 6}, new int[] {3, 7}, new int[] {3, 5, 6});
+        NerAnnotationEntity gamma = span(3, 3);
+        NerAnnotationEntity gammaDelta = span(3, 4);
+        NerAnnotationEntity deltaDot = span(4, 5);
+        when(annotationRepository.findOverlapping(documentId, 3, 6)).thenReturn(List.of(gamma, gammaDelta, deltaDot));
+
+        listener.onTokensRemapped(new DocumentTokensRemappedEvent(this, documentId, remap));
+
+        verify(annotationRepository).shiftFrom(documentId, 6, 1);
+        verify(annotationRepository).deleteAll(List.of(gammaDelta));
+        assertThat(gamma.getStartTokenIndex()).isEqualTo(3);
+        assertThat(gamma.getEndTokenIndex()).isEqualTo(3);
+        assertThat(deltaDot.getStartTokenIndex()).isEqualTo(5);
+        assertThat(deltaDot.getEndTokenIndex()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,16 @@
+package com.genesis.pos.dto;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of how many distinct annotators tagged a token.
+ *
+ * @param documentId the token's document
+ * @param tokenId    the token
+ * @param annotators distinct annotator count
+ */
+public record TokenAnnotatorCount(
+        UUID documentId,
+        UUID tokenId,
+        long annotators) {
+}
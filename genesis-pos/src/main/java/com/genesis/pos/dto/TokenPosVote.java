@@ -0,0 +1,17 @@
+package com.genesis.pos.dto;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of one POS tag voted for a token. The vote count is
+ * not selected: the rows of a token arrive most voted first.
+ *
+ * @param documentId the token's document
+ * @param tokenId    the token
+ * @param posTag     the tag voted for
+ */
+public record TokenPosVote(
+        UUID documentId,
+        UUID tokenId,
+        String posTag) {
+}
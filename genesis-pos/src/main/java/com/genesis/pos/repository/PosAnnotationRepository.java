@@ -1,17 +1,27 @@
 package com.genesis.pos.repository;
 
+import com.genesis.pos.dto.TokenAnnotatorCount;
+import com.genesis.pos.dto.TokenPosVote;
 import com.genesis.pos.entity.PosAnnotationEntity;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PosAnnotationRepository extends JpaRepository<PosAnnotationEntity, UUID> {
 
+    /** JDBC fetch size of the export streams. */
+    String EXPORT_FETCH_SIZE = "1000";
+
     Optional<PosAnnotationEntity> findByTokenIdAndAnnotatorId(UUID tokenId, String annotatorId);
 
     List<PosAnnotationEntity> findByTokenId(UUID tokenId);
@@ -42,4 +52,33 @@ public interface PosAnnotationRepository extends JpaRepository<PosAnnotationEnti
             + "WHERE p.documentId = :documentId "
             + "GROUP BY p.tokenId")
     List<Object[]> findAnnotatorCountsByDocumentId(@Param("documentId") UUID documentId);
+
+    /**
+     * {@link #findPosCountsByDocumentId} for several documents in one query:
+     * grouped by document, then token, and the first row per token is the
+     * majority winner. The stream must be consumed inside a transaction and
+     * closed.
+     */
+    @Query("SELECT new com.genesis.pos.dto.TokenPosVote(p.documentId, p.tokenId, p.posTag) "
+            + "FROM PosAnnotationEntity p "
+            + "WHERE p.documentId IN :documentIds "
+            + "GROUP BY p.documentId, p.tokenId, p.posTag "
+            + "ORDER BY p.documentId ASC, p.tokenId ASC, COUNT(p) DESC, MAX(p.timestamp) DESC")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    Stream<TokenPosVote> streamPosCountsByDocumentIds(@Param("documentIds") Collection<UUID> documentIds);
+
+    /**
+     * {@link #findAnnotatorCountsByDocumentId} for several documents in one
+     * query, grouped by document and ordered by token. The stream must be
+     * consumed inside a transaction and closed.
+     */
+    @Query("SELECT new com.genesis.pos.dto.TokenAnnotatorCount(p.documentId, p.tokenId, "
+            + "COUNT(DISTINCT p.annotatorId)) "
+            + "FROM PosAnnotationEntity p "
+            + "WHERE p.documentId IN :documentIds "
+            + "GROUP BY p.documentId, p.tokenId "
+            + "ORDER BY p.documentId ASC, p.tokenId ASC")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    Stream<TokenAnnotatorCount> streamAnnotatorCountsByDocumentIds(
+            @Param("documentIds") Collection<UUID> documentIds);
 }
@@ -2,23 +2,33 @@ package com.genesis.pos.service;
 
 import com.genesis.common.event.ActionType;
 import com.genesis.common.event.AnnotationLogEvent;
+import com.genesis.common.event.WorkspaceActivityEvent;
 import com.genesis.common.exception.ValidationException;
 import com.genesis.common.port.DocumentQueryPort;
 import com.genesis.common.port.TokenQueryPort;
+import com.genesis.importexport.format.TokenCountMap;
+import com.genesis.importexport.format.TokenPosMap;
 import com.genesis.pos.dto.BatchUpdatePosRequest;
 import com.genesis.pos.dto.PosAnnotationDto;
+import com.genesis.pos.dto.TokenAnnotatorCount;
+import com.genesis.pos.dto.TokenPosVote;
 import com.genesis.pos.entity.PosAnnotationEntity;
 import com.genesis.pos.repository.PosAnnotationRepository;
 import com.genesis.workspace.service.WorkspaceAccessControl;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +37,9 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class PosTaggingService {
 
+    /** Document ids bound to one {@code IN} list by the multi-document queries. */
+    static final int DOCUMENT_BATCH_SIZE = 1000;
+
     public static final Set<String> UNIVERSAL_POS_TAGS = Set.of(
             "NOUN", "PROPN", "VERB", "ADJ", "ADV", "PRON", "DET", "ADP",
             "CONJ", "SCONJ", "AUX", "NUM", "PART", "INTJ", "SYM", "PUNCT", "X");
@@ -68,6 +81,7 @@ public class PosTaggingService {
 
         if (posTag == null) {
             posRepository.deleteByTokenIdAndAnnotatorId(tokenId, annotatorId);
+            eventPublisher.publishEvent(new WorkspaceActivityEvent(this, workspaceId));
             return null;
         }
 
@@ -84,6 +98,8 @@ public class PosTaggingService {
 
         PosAnnotationEntity saved = posRepository.save(entity);
 
+        // Exports read POS consensus, so a tag change is workspace activity
+        eventPublisher.publishEvent(new WorkspaceActivityEvent(this, workspaceId));
         eventPublisher.publishEvent(new AnnotationLogEvent(this,
                 workspaceId,
                 annotatorId,
@@ -212,6 +228,95 @@ public class PosTaggingService {
         return counts;
     }
 
+    /**
+     * Majority POS of several documents, e.g. all documents of a workspace
+     * export, in one streamed query per {@value #DOCUMENT_BATCH_SIZE}
+     * documents instead of one per document. Same winner rule as
+     * {@link #getMajorityPosByDocument}.
+     *
+     * <p>Internal variant — no authorization check. See
+     * {@link #getMajorityPosByDocumentInternal(UUID)}.
+     *
+     * @return document id to a compact {@link TokenPosMap}; documents without
+     *         POS annotations are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, Map<UUID, String>> getMajorityPosByDocumentsInternal(Collection<UUID> documentIds) {
+        Map<UUID, Map<UUID, String>> result = new HashMap<>();
+        for (List<UUID> batch : batches(documentIds)) {
+            try (Stream<TokenPosVote> rows = posRepository.streamPosCountsByDocumentIds(batch)) {
+                UUID documentId = null;
+                UUID tokenId = null;
+                TokenPosMap.Builder majority = null;
+                for (Iterator<TokenPosVote> it = rows.iterator(); it.hasNext();) {
+                    TokenPosVote row = it.next();
+                    if (!row.documentId().equals(documentId)) {
+                        if (majority != null) {
+                            result.put(documentId, majority.build());
+                        }
+                        documentId = row.documentId();
+                        tokenId = null;
+                        majority = TokenPosMap.builder();
+                    }
+                    // Rows of a token are adjacent and the first is its majority tag
+                    if (!row.tokenId().equals(tokenId)) {
+                        tokenId = row.tokenId();
+                        majority.put(tokenId, row.posTag());
+                    }
+                }
+                if (majority != null) {
+                    result.put(documentId, majority.build());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Distinct annotator counts of several documents in one streamed query per
+     * {@value #DOCUMENT_BATCH_SIZE} documents.
+     *
+     * <p>Internal variant — no authorization check. See
+     * {@link #getMajorityPosByDocumentInternal(UUID)}.
+     *
+     * @return document id to a compact {@link TokenCountMap}; documents
+     *         without POS annotations are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, Map<UUID, Long>> getAnnotatorCountsByDocumentsInternal(Collection<UUID> documentIds) {
+        Map<UUID, Map<UUID, Long>> result = new HashMap<>();
+        for (List<UUID> batch : batches(documentIds)) {
+            try (Stream<TokenAnnotatorCount> rows = posRepository.streamAnnotatorCountsByDocumentIds(batch)) {
+                UUID documentId = null;
+                TokenCountMap.Builder counts = null;
+                for (Iterator<TokenAnnotatorCount> it = rows.iterator(); it.hasNext();) {
+                    TokenAnnotatorCount row = it.next();
+                    if (!row.documentId().equals(documentId)) {
+                        if (counts != null) {
+                            result.put(documentId, counts.build());
+                        }
+                        documentId = row.documentId();
+                        counts = TokenCountMap.builder();
+                    }
+                    counts.put(row.tokenId(), (int) row.annotators());
+                }
+                if (counts != null) {
+                    result.put(documentId, counts.build());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<List<UUID>> batches(Collection<UUID> documentIds) {
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(documentIds));
+        List<List<UUID>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += DOCUMENT_BATCH_SIZE) {
+            batches.add(ids.subList(from, Math.min(from + DOCUMENT_BATCH_SIZE, ids.size())));
+        }
+        return batches;
+    }
+
     private UUID workspaceIdForDocument(UUID documentId) {
         UUID workspaceId = documentQuery.workspaceIdForDocument(documentId);
         if (workspaceId == null) {
@@ -3,9 +3,12 @@ package com.genesis.pos.repository;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.genesis.pos.config.PosTestConfiguration;
+import com.genesis.pos.dto.TokenAnnotatorCount;
+import com.genesis.pos.dto.TokenPosVote;
 import com.genesis.pos.entity.PosAnnotationEntity;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -38,6 +41,10 @@ class PosAnnotationRepositoryTest {
     }
 
     private void save(UUID tokenId, String annotatorId, String posTag) {
+        save(documentId, tokenId, annotatorId, posTag);
+    }
+
+    private void save(UUID documentId, UUID tokenId, String annotatorId, String posTag) {
         PosAnnotationEntity e = new PosAnnotationEntity();
         e.setTokenId(tokenId);
         e.setDocumentId(documentId);
@@ -100,6 +107,60 @@ class PosAnnotationRepositoryTest {
         }
     }
 
+    @Test
+    @DisplayName("streamed POS counts of several documents: rows grouped by document and token, majority first")
+    void streamPosCountsByDocumentIds() {
+        UUID otherDocument = UUID.randomUUID();
+        UUID otherToken = UUID.randomUUID();
+        save(tokenA, "alice", "VERB");
+        save(tokenA, "bob", "NOUN");
+        save(tokenA, "carol", "NOUN");
+        save(otherDocument, otherToken, "alice", "ADJ");
+        save(UUID.randomUUID(), UUID.randomUUID(), "alice", "ADV");
+
+        List<TokenPosVote> rows;
+        try (Stream<TokenPosVote> stream =
+                repository.streamPosCountsByDocumentIds(List.of(documentId, otherDocument))) {
+            rows = stream.toList();
+        }
+
+        assertEquals(3, rows.size());
+        TokenPosVote first = rows.stream().filter(r -> r.tokenId().equals(tokenA)).findFirst().orElseThrow();
+        assertEquals(documentId, first.documentId());
+        assertEquals("NOUN", first.posTag());
+        assertTrue(rows.stream().anyMatch(r -> r.documentId().equals(otherDocument)
+                && r.tokenId().equals(otherToken) && r.posTag().equals("ADJ")));
+        long documentRuns = 1;
+        for (int i = 1; i < rows.size(); i++) {
+            if (!rows.get(i).documentId().equals(rows.get(i - 1).documentId())) {
+                documentRuns++;
+            }
+        }
+        assertEquals(2, documentRuns, "rows of one document must be adjacent");
+    }
+
+    @Test
+    @DisplayName("streamed annotator counts of several documents count distinct annotators")
+    void streamAnnotatorCountsByDocumentIds() {
+        UUID otherDocument = UUID.randomUUID();
+        save(tokenA, "alice", "NOUN");
+        save(tokenA, "bob", "VERB");
+        save(tokenB, "alice", "ADJ");
+        save(otherDocument, UUID.randomUUID(), "carol", "ADV");
+
+        List<TokenAnnotatorCount> rows;
+        try (Stream<TokenAnnotatorCount> stream =
+                repository.streamAnnotatorCountsByDocumentIds(List.of(documentId, otherDocument))) {
+            rows = stream.toList();
+        }
+
+        assertEquals(3, rows.size());
+        for (TokenAnnotatorCount row : rows) {
+            long expected = row.tokenId().equals(tokenA) ? 2L : 1L;
+            assertEquals(expected, row.annotators());
+        }
+    }
+
     @Test
     @DisplayName("unique (token_id, annotator_id) blocks duplicate inserts")
     void uniqueIndexPreventsDuplicateAnnotatorRow() {
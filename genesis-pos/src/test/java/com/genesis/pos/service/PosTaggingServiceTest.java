@@ -4,10 +4,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.genesis.common.event.WorkspaceActivityEvent;
 import com.genesis.common.exception.ValidationException;
 import com.genesis.common.port.DocumentQueryPort;
 import com.genesis.common.port.TokenQueryPort;
 import com.genesis.pos.dto.PosAnnotationDto;
+import com.genesis.pos.dto.TokenAnnotatorCount;
+import com.genesis.pos.dto.TokenPosVote;
 import com.genesis.pos.entity.PosAnnotationEntity;
 import com.genesis.pos.repository.PosAnnotationRepository;
 import java.time.Instant;
@@ -18,6 +21,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -90,6 +95,7 @@ class PosTaggingServiceTest {
         ArgumentCaptor<PosAnnotationEntity> captor = ArgumentCaptor.forClass(PosAnnotationEntity.class);
         verify(posRepository).save(captor.capture());
         assertEquals(documentId, captor.getValue().getDocumentId());
+        verify(eventPublisher).publishEvent(any(WorkspaceActivityEvent.class));
     }
 
     @Test
@@ -153,6 +159,7 @@ class PosTaggingServiceTest {
         assertNull(dto);
         verify(posRepository).deleteByTokenIdAndAnnotatorId(tokenId, ANNOTATOR);
         verify(posRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(any(WorkspaceActivityEvent.class));
     }
 
     @Test
@@ -208,4 +215,46 @@ class PosTaggingServiceTest {
 
         assertEquals("VERB", majority.get(t1));
     }
+
+    @Test
+    @DisplayName("getMajorityPosByDocumentsInternal: first row per token wins, grouped per document")
+    void majorityBatch_firstRowPerTokenWins() {
+        UUID otherDocument = UUID.randomUUID();
+        UUID t1 = UUID.randomUUID();
+        UUID t2 = UUID.randomUUID();
+        UUID t3 = UUID.randomUUID();
+        AtomicBoolean closed = new AtomicBoolean();
+        when(posRepository.streamPosCountsByDocumentIds(List.of(documentId, otherDocument)))
+                .thenReturn(Stream.of(
+                        new TokenPosVote(documentId, t1, "NOUN"),
+                        new TokenPosVote(documentId, t1, "VERB"),
+                        new TokenPosVote(documentId, t2, "ADJ"),
+                        new TokenPosVote(otherDocument, t3, "DET")).onClose(() -> closed.set(true)));
+
+        Map<UUID, Map<UUID, String>> majority =
+                service.getMajorityPosByDocumentsInternal(List.of(documentId, otherDocument));
+
+        assertEquals(Map.of(t1, "NOUN", t2, "ADJ"), majority.get(documentId));
+        assertEquals(Map.of(t3, "DET"), majority.get(otherDocument));
+        assertTrue(closed.get(), "result stream must be closed");
+        verifyNoInteractions(accessControl);
+    }
+
+    @Test
+    @DisplayName("getAnnotatorCountsByDocumentsInternal: counts grouped per document, empty input queries nothing")
+    void annotatorCountsBatch_groupedPerDocument() {
+        UUID t1 = UUID.randomUUID();
+        UUID t2 = UUID.randomUUID();
+        when(posRepository.streamAnnotatorCountsByDocumentIds(List.of(documentId)))
+                .thenReturn(Stream.of(
+                        new TokenAnnotatorCount(documentId, t1, 3L),
+                        new TokenAnnotatorCount(documentId, t2, 1L)));
+
+        Map<UUID, Map<UUID, Long>> counts =
+                service.getAnnotatorCountsByDocumentsInternal(List.of(documentId, documentId));
+
+        assertEquals(Map.of(documentId, Map.of(t1, 3L, t2, 1L)), counts);
+        assertTrue(service.getAnnotatorCountsByDocumentsInternal(List.of()).isEmpty());
+        verify(posRepository, times(1)).streamAnnotatorCountsByDocumentIds(any());
+    }
 }
@@ -58,16 +58,11 @@ public class Document extends BaseEntity {
     private StoredFile storedFile;
 
     /**
-     * First token index in this document (for continuous tokenization).
+     * Hex SHA-256 of the uploaded bytes, recorded at upload. Identical uploads
+     * share it, which lets tokenization reuse an earlier document's result.
      */
-    @Column(name = "token_start_index")
-    private Integer tokenStartIndex;
-
-    /**
-     * Last token index in this document (for continuous tokenization).
-     */
-    @Column(name = "token_end_index")
-    private Integer tokenEndIndex;
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
 
     /**
      * Processing status for async tokenization.
@@ -136,22 +131,6 @@ public class Document extends BaseEntity {
         this.storedFile = storedFile;
     }
 
-    public Integer getTokenStartIndex() {
-        return tokenStartIndex;
-    }
-
-    public void setTokenStartIndex(Integer tokenStartIndex) {
-        this.tokenStartIndex = tokenStartIndex;
-    }
-
-    public Integer getTokenEndIndex() {
-        return tokenEndIndex;
-    }
-
-    public void setTokenEndIndex(Integer tokenEndIndex) {
-        this.tokenEndIndex = tokenEndIndex;
-    }
-
     public ProcessingStatus getProcessingStatus() {
         return processingStatus;
     }
@@ -175,4 +154,12 @@ public class Document extends BaseEntity {
     public void setFileSize(Long fileSize) {
         this.fileSize = fileSize;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
 }
@@ -0,0 +1,51 @@
+package com.genesis.workspace.entity;
+
+import com.genesis.common.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.util.UUID;
+
+/**
+ * Per-workspace document order and token counts, stored as one encoded
+ * {@code TokenOffsetIndex} instead of a start/end index on every document.
+ *
+ * <p>
+ * Appending, removing or re-counting one document rewrites this single row
+ * (20 bytes per document); before it, the pipeline rewrote the per-document
+ * {@code token_start_index}/{@code token_end_index} columns (dropped in V14) on
+ * every document that followed.
+ */
+@Entity
+@Table(name = "workspace_token_offsets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_workspace_token_offsets_workspace", columnNames = "workspace_id")
+})
+public class WorkspaceTokenOffsets extends BaseEntity {
+
+    @Column(name = "workspace_id", nullable = false)
+    private UUID workspaceId;
+
+    /**
+     * {@code TokenOffsetIndex.encode()} output: the documents in order with
+     * their token counts.
+     */
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
+
+    public UUID getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(UUID workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,49 @@
+package com.genesis.workspace.event;
+
+import java.util.UUID;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when a document whose tokenization was cut short by a restart is put
+ * back on the tokenization queue. Carries what {@link DocumentUploadedEvent}
+ * carries for the processor, but is a separate type so upload side effects
+ * (such as the "document uploaded" notification) do not fire a second time.
+ */
+public class DocumentRequeuedEvent extends ApplicationEvent {
+
+    private final UUID documentId;
+    private final UUID workspaceId;
+    private final String storedFileUrl;
+    private final String fileName;
+    private final String contentHash;
+
+    public DocumentRequeuedEvent(Object source, UUID documentId, UUID workspaceId, String storedFileUrl,
+            String fileName, String contentHash) {
+        super(source);
+        this.documentId = documentId;
+        this.workspaceId = workspaceId;
+        this.storedFileUrl = storedFileUrl;
+        this.fileName = fileName;
+        this.contentHash = contentHash;
+    }
+
+    public UUID getDocumentId() {
+        return documentId;
+    }
+
+    public UUID getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public String getStoredFileUrl() {
+        return storedFileUrl;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+}
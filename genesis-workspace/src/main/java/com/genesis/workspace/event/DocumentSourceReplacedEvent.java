@@ -0,0 +1,34 @@
+package com.genesis.workspace.event;
+
+import org.springframework.context.ApplicationEvent;
+import java.util.UUID;
+
+/**
+ * A document now points at a new source upload; {@code previousStoredFileId}
+ * is the source it replaced, to be deleted once the swap has committed.
+ */
+public class DocumentSourceReplacedEvent extends ApplicationEvent {
+    private final UUID documentId;
+    private final UUID workspaceId;
+    private final UUID previousStoredFileId;
+
+    public DocumentSourceReplacedEvent(Object source, UUID documentId, UUID workspaceId,
+            UUID previousStoredFileId) {
+        super(source);
+        this.documentId = documentId;
+        this.workspaceId = workspaceId;
+        this.previousStoredFileId = previousStoredFileId;
+    }
+
+    public UUID getDocumentId() {
+        return documentId;
+    }
+
+    public UUID getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public UUID getPreviousStoredFileId() {
+        return previousStoredFileId;
+    }
+}
@@ -7,12 +7,23 @@ public class DocumentTokenizedEvent extends ApplicationEvent {
     private final UUID documentId;
     private final UUID workspaceId;
     private final String documentName;
+    private final Integer tokenCount;
 
     public DocumentTokenizedEvent(Object source, UUID documentId, UUID workspaceId, String documentName) {
+        this(source, documentId, workspaceId, documentName, null);
+    }
+
+    /**
+     * @param tokenCount tokens now stored for the document, or {@code null} if
+     *                   unknown; workspace folds it into the token offset index
+     */
+    public DocumentTokenizedEvent(Object source, UUID documentId, UUID workspaceId, String documentName,
+            Integer tokenCount) {
         super(source);
         this.documentId = documentId;
         this.workspaceId = workspaceId;
         this.documentName = documentName;
+        this.tokenCount = tokenCount;
     }
 
     public UUID getDocumentId() {
@@ -26,4 +37,8 @@ public class DocumentTokenizedEvent extends ApplicationEvent {
     public String getDocumentName() {
         return documentName;
     }
+
+    public Integer getTokenCount() {
+        return tokenCount;
+    }
 }
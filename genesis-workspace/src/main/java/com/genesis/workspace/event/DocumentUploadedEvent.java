@@ -14,15 +14,26 @@ public class DocumentUploadedEvent extends ApplicationEvent {
     private final String storedFileUrl;
     private final UUID userId;
     private final String fileName;
+    private final String contentHash;
 
     public DocumentUploadedEvent(Object source, UUID documentId, UUID workspaceId, String storedFileUrl, UUID userId,
             String fileName) {
+        this(source, documentId, workspaceId, storedFileUrl, userId, fileName, null);
+    }
+
+    /**
+     * @param contentHash hex SHA-256 of the uploaded bytes, or {@code null} if
+     *                    it could not be computed
+     */
+    public DocumentUploadedEvent(Object source, UUID documentId, UUID workspaceId, String storedFileUrl, UUID userId,
+            String fileName, String contentHash) {
         super(source);
         this.documentId = documentId;
         this.workspaceId = workspaceId;
         this.storedFileUrl = storedFileUrl;
         this.userId = userId;
         this.fileName = fileName;
+        this.contentHash = contentHash;
     }
 
     public UUID getDocumentId() {
@@ -44,4 +55,8 @@ public class DocumentUploadedEvent extends ApplicationEvent {
     public String getFileName() {
         return fileName;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
 }
@@ -5,6 +5,7 @@ import com.genesis.workspace.event.DocumentProcessingFailedEvent;
 import com.genesis.workspace.event.DocumentProcessingStartedEvent;
 import com.genesis.workspace.event.DocumentTokenizedEvent;
 import com.genesis.workspace.repository.DocumentRepository;
+import com.genesis.workspace.service.TokenOffsetService;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,9 +32,12 @@ public class DocumentProcessingStatusListener {
             LoggerFactory.getLogger(DocumentProcessingStatusListener.class);
 
     private final DocumentRepository documentRepository;
+    private final TokenOffsetService tokenOffsetService;
 
-    public DocumentProcessingStatusListener(DocumentRepository documentRepository) {
+    public DocumentProcessingStatusListener(DocumentRepository documentRepository,
+            TokenOffsetService tokenOffsetService) {
         this.documentRepository = documentRepository;
+        this.tokenOffsetService = tokenOffsetService;
     }
 
     @EventListener
@@ -52,6 +56,10 @@ public class DocumentProcessingStatusListener {
         documentRepository.findById(event.getDocumentId()).ifPresent(document -> {
             document.setProcessingStatus(ProcessingStatus.COMPLETED);
             documentRepository.save(document);
+            if (event.getTokenCount() != null) {
+                tokenOffsetService.setTokenCount(document.getWorkspace().getId(), document.getId(),
+                        event.getTokenCount());
+            }
         });
     }
 
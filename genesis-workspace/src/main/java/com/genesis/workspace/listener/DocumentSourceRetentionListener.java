@@ -2,12 +2,18 @@ package com.genesis.workspace.listener;
 
 import com.genesis.infra.storage.FileStorageService;
 import com.genesis.infra.storage.StorageProperties;
+import com.genesis.workspace.event.DocumentSourceReplacedEvent;
 import com.genesis.workspace.event.DocumentTokenizedEvent;
 import com.genesis.workspace.service.DocumentSourceReclaimer;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Reclaims a document's raw source file once it has been tokenized, when the
@@ -19,6 +25,11 @@ import org.springframework.stereotype.Component;
  * work is split across two committed transactions: {@link DocumentSourceReclaimer}
  * clears the FK first, then the physical file is deleted. Any failure here is
  * logged and swallowed so it never disrupts the tokenization-complete flow.
+ *
+ * <p>
+ * Also deletes the source a re-upload replaced ({@link DocumentSourceReplacedEvent}),
+ * after the swap commits, so a rolled-back swap never loses the file the
+ * document still points at.
  */
 @Component
 public class DocumentSourceRetentionListener {
@@ -59,4 +70,17 @@ public class DocumentSourceRetentionListener {
                     event.getDocumentId(), ex.getMessage());
         }
     }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onSourceReplaced(DocumentSourceReplacedEvent event) {
+        UUID storedFileId = event.getPreviousStoredFileId();
+        try {
+            fileStorageService.delete(storedFileId);
+            logger.info("Deleted replaced source file {} of document {}", storedFileId, event.getDocumentId());
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to delete replaced source file {} for document {}: {}",
+                    storedFileId, event.getDocumentId(), ex.getMessage());
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package com.genesis.workspace.listener;
+
+import com.genesis.infra.storage.StoredFile;
+import com.genesis.workspace.entity.Document;
+import com.genesis.workspace.entity.ProcessingStatus;
+import com.genesis.workspace.event.DocumentRequeuedEvent;
+import com.genesis.workspace.repository.DocumentRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Re-queues documents whose tokenization did not finish before the previous
+ * shutdown. The tokenization queue lives in memory, so after a restart nothing
+ * would ever pick up a document left in {@code PENDING} or {@code PROCESSING}.
+ *
+ * <p>Each such document is reset to {@code PENDING} and announced with a
+ * {@link DocumentRequeuedEvent} once this transaction commits; the import
+ * resumes from its last committed checkpoint. A document whose source file is
+ * already gone cannot be re-read and is marked {@code FAILED} instead. The
+ * lookup is served by the partial index on in-flight processing statuses
+ * (V4).
+ *
+ * <p>Assumes a single application instance owns the queue: with several
+ * instances, one starting up would re-queue documents another is still
+ * processing. Disable with {@code genesis.workspace.requeue-on-startup=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "genesis.workspace.requeue-on-startup", havingValue = "true", matchIfMissing = true)
+public class StuckDocumentSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(StuckDocumentSweeper.class);
+
+    static final String SOURCE_GONE_ERROR = "Processing was interrupted and the source file is no longer available; "
+            + "please re-upload the document";
+
+    private final DocumentRepository documentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StuckDocumentSweeper(DocumentRepository documentRepository, ApplicationEventPublisher eventPublisher) {
+        this.documentRepository = documentRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void requeueStuckDocuments() {
+        List<Document> stuck = documentRepository.findByProcessingStatusInFetchSource(
+                List.of(ProcessingStatus.PENDING, ProcessingStatus.PROCESSING));
+        int requeued = 0;
+        for (Document document : stuck) {
+            StoredFile source = document.getStoredFile();
+            if (source == null) {
+                ProcessingStatus leftIn = document.getProcessingStatus();
+                document.setProcessingStatus(ProcessingStatus.FAILED);
+                document.setProcessingError(SOURCE_GONE_ERROR);
+                logger.warn("Document {} was left {} without a source file; marked FAILED",
+                        document.getId(), leftIn);
+                continue;
+            }
+            document.setProcessingStatus(ProcessingStatus.PENDING);
+            eventPublisher.publishEvent(new DocumentRequeuedEvent(
+                    this, document.getId(), document.getWorkspace().getId(), source.getUrl(), document.getName(),
+                    document.getContentHash()));
+            requeued++;
+        }
+        if (!stuck.isEmpty()) {
+            logger.info("Re-queued {} of {} documents left in flight by the previous run",
+                    requeued, stuck.size());
+        }
+    }
+}
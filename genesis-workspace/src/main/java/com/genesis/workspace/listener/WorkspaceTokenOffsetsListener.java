@@ -0,0 +1,29 @@
+package com.genesis.workspace.listener;
+
+import com.genesis.workspace.event.WorkspaceCreatedEvent;
+import com.genesis.workspace.service.TokenOffsetService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Creates a workspace's (empty) token offset index together with the
+ * workspace, so the first uploads lock an existing row instead of racing to
+ * insert it.
+ */
+@Component
+public class WorkspaceTokenOffsetsListener {
+
+    private final TokenOffsetService tokenOffsetService;
+
+    public WorkspaceTokenOffsetsListener(TokenOffsetService tokenOffsetService) {
+        this.tokenOffsetService = tokenOffsetService;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void onWorkspaceCreated(WorkspaceCreatedEvent event) {
+        tokenOffsetService.initialize(event.getWorkspaceId());
+    }
+}
@@ -2,6 +2,8 @@ package com.genesis.workspace.repository;
 
 import com.genesis.workspace.entity.Document;
 import com.genesis.workspace.entity.DocumentStatus;
+import com.genesis.workspace.entity.ProcessingStatus;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -97,4 +99,16 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
     List<WorkspaceDocumentCounts> countsByWorkspaceIds(
             @Param("workspaceIds") List<UUID> workspaceIds,
             @Param("completedStatus") DocumentStatus completedStatus);
+
+    /**
+     * Find documents in the given processing statuses together with their stored
+     * source file. Used at startup to re-queue in-flight documents; with the
+     * pre-terminal statuses this is served by the partial index
+     * {@code idx_documents_processing_status_active} (V4).
+     *
+     * @param statuses the processing statuses to match
+     * @return matching documents with {@code storedFile} initialized
+     */
+    @Query("SELECT d FROM Document d LEFT JOIN FETCH d.storedFile WHERE d.processingStatus IN :statuses")
+    List<Document> findByProcessingStatusInFetchSource(@Param("statuses") Collection<ProcessingStatus> statuses);
 }
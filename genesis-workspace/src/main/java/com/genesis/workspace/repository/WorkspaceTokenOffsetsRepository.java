@@ -0,0 +1,38 @@
+package com.genesis.workspace.repository;
+
+import com.genesis.workspace.entity.WorkspaceTokenOffsets;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for WorkspaceTokenOffsets operations.
+ */
+@Repository
+public interface WorkspaceTokenOffsetsRepository extends JpaRepository<WorkspaceTokenOffsets, UUID> {
+
+    /**
+     * Find the token offsets of a workspace (there is at most one row).
+     */
+    Optional<WorkspaceTokenOffsets> findByWorkspaceId(UUID workspaceId);
+
+    /**
+     * Find and row-lock the token offsets of a workspace, serializing
+     * concurrent uploads, deletes and tokenizations in the same workspace.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM WorkspaceTokenOffsets o WHERE o.workspaceId = :workspaceId")
+    Optional<WorkspaceTokenOffsets> findForUpdateByWorkspaceId(@Param("workspaceId") UUID workspaceId);
+
+    /**
+     * Current row version, used to validate a cached decoded index without
+     * loading the payload.
+     */
+    @Query("SELECT o.version FROM WorkspaceTokenOffsets o WHERE o.workspaceId = :workspaceId")
+    Optional<Long> findVersionByWorkspaceId(@Param("workspaceId") UUID workspaceId);
+}
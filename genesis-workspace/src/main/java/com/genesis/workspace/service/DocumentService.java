@@ -9,12 +9,21 @@ import com.genesis.workspace.entity.DocumentStatus;
 import com.genesis.workspace.entity.ProcessingStatus;
 import com.genesis.workspace.entity.Workspace;
 import com.genesis.common.event.WorkspaceActivityEvent;
+import com.genesis.workspace.event.DocumentSourceReplacedEvent;
 import com.genesis.workspace.event.DocumentUploadedEvent;
 import com.genesis.workspace.repository.DocumentRepository;
 import com.genesis.workspace.repository.WorkspaceRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
@@ -27,22 +36,27 @@ import org.springframework.web.multipart.MultipartFile;
 @Service
 public class DocumentService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DocumentService.class);
+
     private final DocumentRepository documentRepository;
     private final WorkspaceRepository workspaceRepository;
     private final FileStorageService fileStorageService;
     private final WorkspaceAccessControl accessControl;
     private final ApplicationEventPublisher eventPublisher;
+    private final TokenOffsetService tokenOffsetService;
 
     public DocumentService(DocumentRepository documentRepository,
             WorkspaceRepository workspaceRepository,
             FileStorageService fileStorageService,
             WorkspaceAccessControl accessControl,
-            ApplicationEventPublisher eventPublisher) {
+            ApplicationEventPublisher eventPublisher,
+            TokenOffsetService tokenOffsetService) {
         this.documentRepository = documentRepository;
         this.workspaceRepository = workspaceRepository;
         this.fileStorageService = fileStorageService;
         this.accessControl = accessControl;
         this.eventPublisher = eventPublisher;
+        this.tokenOffsetService = tokenOffsetService;
     }
 
     /**
@@ -58,6 +72,7 @@ public class DocumentService {
                 .map(max -> max + 1)
                 .orElse(0);
 
+        String contentHash = contentHash(file);
         String folder = "workspaces/" + workspaceId + "/documents";
         StoredFile storedFile = fileStorageService.store(file, folder);
 
@@ -65,12 +80,14 @@ public class DocumentService {
         document.setName(file.getOriginalFilename());
         document.setOrderIndex(nextOrderIndex);
         document.setFileSize(file.getSize());
+        document.setContentHash(contentHash);
         document.setStatus(DocumentStatus.UPLOADED);
         document.setProcessingStatus(ProcessingStatus.PENDING);
         document.setWorkspace(workspace);
         document.setStoredFile(storedFile);
 
         Document saved = documentRepository.save(document);
+        tokenOffsetService.append(workspaceId, saved.getId());
 
         eventPublisher.publishEvent(new DocumentUploadedEvent(
                 this,
@@ -78,13 +95,47 @@ public class DocumentService {
                 workspaceId,
                 storedFile.getUrl(),
                 userId,
-                saved.getName()));
+                saved.getName(),
+                contentHash));
 
         eventPublisher.publishEvent(new WorkspaceActivityEvent(this, workspaceId));
 
         return mapToResponse(saved);
     }
 
+    /**
+     * Replace a document's stored source with a new upload, e.g. an edited text
+     * to re-import incrementally. Caller must be a workspace member.
+     *
+     * <p>
+     * The document keeps its id, name and position; its size and content hash
+     * follow the new file. The previous source (if it was not reclaimed
+     * already) is deleted only after the swap commits, through
+     * {@link DocumentSourceReplacedEvent}. Tokens are not touched here.
+     */
+    @Transactional
+    public DocumentResponse replaceSource(@NonNull UUID documentId, @NonNull MultipartFile file,
+            @NonNull UUID userId) {
+        Document document = findDocumentById(documentId);
+        UUID workspaceId = document.getWorkspace().getId();
+        accessControl.requireMember(workspaceId, userId);
+
+        String contentHash = contentHash(file);
+        StoredFile previous = document.getStoredFile();
+        StoredFile storedFile = fileStorageService.store(file, "workspaces/" + workspaceId + "/documents");
+        document.setStoredFile(storedFile);
+        document.setFileSize(file.getSize());
+        document.setContentHash(contentHash);
+        Document saved = documentRepository.save(document);
+
+        if (previous != null) {
+            eventPublisher.publishEvent(new DocumentSourceReplacedEvent(this, documentId, workspaceId,
+                    previous.getId()));
+        }
+        eventPublisher.publishEvent(new WorkspaceActivityEvent(this, workspaceId));
+        return mapToResponse(saved);
+    }
+
     /**
      * Get all documents for a workspace. Caller must be a workspace member.
      */
@@ -103,8 +154,12 @@ public class DocumentService {
             throw new ResourceNotFoundException("Workspace", workspaceId);
         }
 
-        return documentRepository.findByWorkspaceIdOrderByOrderIndexAsc(workspaceId).stream()
-                .map(this::mapToResponse)
+        List<Document> documents = documentRepository.findByWorkspaceIdOrderByOrderIndexAsc(workspaceId);
+        Map<UUID, TokenOffsetService.TokenRange> ranges = documents.isEmpty()
+                ? Map.of()
+                : tokenOffsetService.getTokenRanges(workspaceId);
+        return documents.stream()
+                .map(document -> mapToResponse(document, ranges.get(document.getId())))
                 .collect(Collectors.toList());
     }
 
@@ -166,18 +221,31 @@ public class DocumentService {
     }
 
     /**
-     * Update token indices for a document (server-internal — called by the
+     * Record a document's token count (server-internal — called by the
      * tokenization pipeline). No authorization check.
+     *
+     * <p>
+     * Only the workspace's token offset index is written; the global start and
+     * end indices of this and every later document are derived from it, so no
+     * other document row changes.
      */
     @Transactional
-    public DocumentResponse updateTokenIndices(@NonNull UUID documentId,
-            int tokenStartIndex, int tokenEndIndex) {
+    public DocumentResponse updateTokenCount(@NonNull UUID documentId, int tokenCount) {
         Document document = findDocumentById(documentId);
-        document.setTokenStartIndex(tokenStartIndex);
-        document.setTokenEndIndex(tokenEndIndex);
-        Document saved = documentRepository.save(document);
-        eventPublisher.publishEvent(new WorkspaceActivityEvent(this, document.getWorkspace().getId()));
-        return mapToResponse(saved);
+        UUID workspaceId = document.getWorkspace().getId();
+        tokenOffsetService.setTokenCount(workspaceId, documentId, tokenCount);
+        eventPublisher.publishEvent(new WorkspaceActivityEvent(this, workspaceId));
+        return mapToResponse(document);
+    }
+
+    /**
+     * Record the token counts of several documents of one workspace with a
+     * single index write (server-internal). No authorization check.
+     */
+    @Transactional
+    public void updateTokenCounts(@NonNull UUID workspaceId, @NonNull Map<UUID, Integer> tokenCounts) {
+        tokenOffsetService.setTokenCounts(workspaceId, tokenCounts);
+        eventPublisher.publishEvent(new WorkspaceActivityEvent(this, workspaceId));
     }
 
     /**
@@ -212,6 +280,7 @@ public class DocumentService {
 
         String documentName = document.getName();
         documentRepository.delete(document);
+        tokenOffsetService.remove(workspaceId, documentId);
         eventPublisher.publishEvent(new WorkspaceActivityEvent(this, workspaceId));
         eventPublisher.publishEvent(
                 new com.genesis.workspace.event.DocumentDeletedEvent(this, documentId, workspaceId, documentName,
@@ -233,12 +302,44 @@ public class DocumentService {
         return documentRepository.countByWorkspaceId(workspaceId);
     }
 
+    /**
+     * Hex SHA-256 of the uploaded bytes. The hash only lets tokenization reuse
+     * an identical earlier upload, so an unreadable upload yields {@code null}
+     * rather than failing here; storing it reports the real error.
+     */
+    static String contentHash(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            logger.warn("Could not hash upload {}: {}", file.getOriginalFilename(), e.getMessage());
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     private Document findDocumentById(UUID documentId) {
         return documentRepository.findById(documentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Document", documentId));
     }
 
     private DocumentResponse mapToResponse(Document document) {
+        return mapToResponse(document, tokenOffsetService
+                .findTokenRange(document.getWorkspace().getId(), document.getId())
+                .orElse(null));
+    }
+
+    /**
+     * @param range the document's span in the workspace token numbering, or
+     *              {@code null} when the document is not indexed
+     */
+    private DocumentResponse mapToResponse(Document document, TokenOffsetService.TokenRange range) {
         DocumentResponse response = new DocumentResponse();
         response.setId(document.getId());
         response.setName(document.getName());
@@ -248,8 +349,11 @@ public class DocumentService {
         response.setProcessingStatus(document.getProcessingStatus());
         response.setProcessingError(document.getProcessingError());
         response.setWorkspaceId(document.getWorkspace().getId());
-        response.setTokenStartIndex(document.getTokenStartIndex());
-        response.setTokenEndIndex(document.getTokenEndIndex());
+        // No tokens yet reads as "not tokenized".
+        if (range != null && range.tokenCount() > 0) {
+            response.setTokenStartIndex(range.start());
+            response.setTokenEndIndex(range.end());
+        }
         response.setCreatedAt(document.getCreatedAt());
         response.setUpdatedAt(document.getUpdatedAt());
         response.setFileSize(document.getFileSize());
@@ -0,0 +1,246 @@
+package com.genesis.workspace.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ordered per-workspace document token counts backed by a Fenwick (binary
+ * indexed) tree, answering "global offset of document X" without summing every
+ * preceding document.
+ *
+ * <p>
+ * Each document occupies a slot in append order; {@link #remove} frees its
+ * slot, so the tree is indexed by slot rather than by position.
+ * {@link #append}, {@link #remove}, {@link #setCount} and {@link #offsetOf}
+ * touch O(log N) tree nodes; growing past the capacity repacks the live slots
+ * in O(N).
+ *
+ * <p>
+ * Not thread-safe. {@link #encode()} writes only the live documents in order,
+ * so free slots never reach the database.
+ */
+public final class TokenOffsetIndex {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int ENTRY_BYTES = 2 * Long.BYTES + Integer.BYTES;
+
+    /** Document per slot; {@code null} marks a free slot. */
+    private UUID[] documents;
+    /** Token count per slot. */
+    private int[] counts;
+    /** 1-based Fenwick tree over {@link #counts}. */
+    private long[] tree;
+    /** Slots {@code [0, used)} have been handed out; the rest are spare capacity. */
+    private int used;
+    private final Map<UUID, Integer> slots;
+
+    public TokenOffsetIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    private TokenOffsetIndex(int capacity) {
+        this.documents = new UUID[capacity];
+        this.counts = new int[capacity];
+        this.tree = new long[capacity + 1];
+        this.slots = new HashMap<>();
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public boolean contains(UUID documentId) {
+        return slots.containsKey(documentId);
+    }
+
+    /**
+     * Add a document after every existing one.
+     */
+    public void append(UUID documentId, int tokenCount) {
+        requireAbsent(documentId);
+        if (used == documents.length) {
+            repack();
+        }
+        place(used++, documentId, tokenCount);
+    }
+
+    /**
+     * Remove a document, freeing its slot.
+     *
+     * @return the document's token count
+     */
+    public int remove(UUID documentId) {
+        int slot = slotOf(documentId);
+        int tokenCount = counts[slot];
+        add(slot, -tokenCount);
+        counts[slot] = 0;
+        documents[slot] = null;
+        slots.remove(documentId);
+        return tokenCount;
+    }
+
+    public void setCount(UUID documentId, int tokenCount) {
+        requireNonNegative(tokenCount);
+        int slot = slotOf(documentId);
+        add(slot, (long) tokenCount - counts[slot]);
+        counts[slot] = tokenCount;
+    }
+
+    public int countOf(UUID documentId) {
+        return counts[slotOf(documentId)];
+    }
+
+    /**
+     * Global index of the document's first token: the sum of the token counts
+     * of every document ordered before it.
+     */
+    public int offsetOf(UUID documentId) {
+        return Math.toIntExact(prefix(slotOf(documentId)));
+    }
+
+    public int totalTokens() {
+        return Math.toIntExact(prefix(used));
+    }
+
+    /**
+     * Documents in order.
+     */
+    public List<UUID> documentIds() {
+        List<UUID> ids = new ArrayList<>(slots.size());
+        for (int slot = 0; slot < used; slot++) {
+            if (documents[slot] != null) {
+                ids.add(documents[slot]);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Serialize the live documents in order as fixed-width
+     * {@code (uuid, tokenCount)} entries.
+     */
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + slots.size() * ENTRY_BYTES);
+        buffer.putInt(slots.size());
+        for (int slot = 0; slot < used; slot++) {
+            UUID id = documents[slot];
+            if (id != null) {
+                buffer.putLong(id.getMostSignificantBits());
+                buffer.putLong(id.getLeastSignificantBits());
+                buffer.putInt(counts[slot]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Rebuild an index from {@link #encode()} output in O(N).
+     */
+    public static TokenOffsetIndex decode(byte[] encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        int size = buffer.getInt();
+        if (size < 0 || buffer.remaining() != (long) size * ENTRY_BYTES) {
+            throw new IllegalArgumentException("Corrupt token offset payload");
+        }
+        TokenOffsetIndex index = new TokenOffsetIndex(Math.max(MIN_CAPACITY, size + size / 2));
+        for (int slot = 0; slot < size; slot++) {
+            UUID id = new UUID(buffer.getLong(), buffer.getLong());
+            int tokenCount = buffer.getInt();
+            requireNonNegative(tokenCount);
+            if (index.slots.putIfAbsent(id, slot) != null) {
+                throw new IllegalArgumentException("Corrupt token offset payload");
+            }
+            index.documents[slot] = id;
+            index.counts[slot] = tokenCount;
+        }
+        index.used = size;
+        index.rebuildTree();
+        return index;
+    }
+
+    private void place(int slot, UUID documentId, int tokenCount) {
+        requireNonNegative(tokenCount);
+        documents[slot] = documentId;
+        counts[slot] = tokenCount;
+        slots.put(documentId, slot);
+        add(slot, tokenCount);
+    }
+
+    /**
+     * Pack the live documents into fresh arrays with room to grow and rebuild
+     * the tree.
+     */
+    private void repack() {
+        int capacity = Math.max(MIN_CAPACITY, slots.size() * 2);
+        UUID[] oldDocuments = documents;
+        int[] oldCounts = counts;
+        int oldUsed = used;
+
+        documents = new UUID[capacity];
+        counts = new int[capacity];
+        tree = new long[capacity + 1];
+        int next = 0;
+        for (int slot = 0; slot < oldUsed; slot++) {
+            UUID id = oldDocuments[slot];
+            if (id != null) {
+                documents[next] = id;
+                counts[next] = oldCounts[slot];
+                slots.put(id, next);
+                next++;
+            }
+        }
+        used = next;
+        rebuildTree();
+    }
+
+    private void rebuildTree() {
+        Arrays.fill(tree, 0L);
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += counts[i - 1];
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private void add(int slot, long delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /** Sum of the counts in slots {@code [0, slot)}. */
+    private long prefix(int slot) {
+        long sum = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private int slotOf(UUID documentId) {
+        Integer slot = slots.get(documentId);
+        if (slot == null) {
+            throw new IllegalArgumentException("Document not in token offset index: " + documentId);
+        }
+        return slot;
+    }
+
+    private void requireAbsent(UUID documentId) {
+        if (slots.containsKey(documentId)) {
+            throw new IllegalArgumentException("Document already in token offset index: " + documentId);
+        }
+    }
+
+    private static void requireNonNegative(int tokenCount) {
+        if (tokenCount < 0) {
+            throw new IllegalArgumentException("Token count must not be negative: " + tokenCount);
+        }
+    }
+}
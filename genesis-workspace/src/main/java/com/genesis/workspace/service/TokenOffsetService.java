@@ -0,0 +1,221 @@
+package com.genesis.workspace.service;
+
+import com.genesis.workspace.entity.Document;
+import com.genesis.workspace.entity.WorkspaceTokenOffsets;
+import com.genesis.workspace.repository.DocumentRepository;
+import com.genesis.workspace.repository.WorkspaceTokenOffsetsRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maintains the workspace-level global token numbering: each document's tokens
+ * continue where the previous document's end.
+ *
+ * <p>
+ * The per-workspace {@link TokenOffsetIndex} is persisted as a single
+ * {@link WorkspaceTokenOffsets} row. Adding, removing or re-counting a
+ * document decodes that row, updates the index and re-encodes it, so every
+ * write is still O(N): N * 20 bytes in one row rather than an UPDATE of every
+ * following document. Only the reads are O(log N): they reuse a decoded index
+ * for as long as the row version is unchanged, so an offset lookup costs one
+ * version query and a prefix sum. Documents are only ever appended, so there
+ * is no middle insert or reorder.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TokenOffsetService {
+
+    /** Decoded indexes kept at most; the cache is cleared once exceeded. */
+    private static final int MAX_CACHED_WORKSPACES = 1024;
+
+    private final WorkspaceTokenOffsetsRepository offsetsRepository;
+    private final DocumentRepository documentRepository;
+    private final Map<UUID, CachedIndex> cache = new ConcurrentHashMap<>();
+
+    public TokenOffsetService(WorkspaceTokenOffsetsRepository offsetsRepository,
+            DocumentRepository documentRepository) {
+        this.offsetsRepository = offsetsRepository;
+        this.documentRepository = documentRepository;
+    }
+
+    /**
+     * A document's span in the workspace-level token numbering.
+     * {@code end} is {@code start - 1} for a document without tokens.
+     */
+    public record TokenRange(int start, int tokenCount) {
+
+        public int end() {
+            return start + tokenCount - 1;
+        }
+    }
+
+    private record CachedIndex(long version, TokenOffsetIndex index) {
+    }
+
+    /**
+     * Create the empty index of a new workspace.
+     */
+    @Transactional
+    public void initialize(@NonNull UUID workspaceId) {
+        if (offsetsRepository.findByWorkspaceId(workspaceId).isEmpty()) {
+            save(new WorkspaceTokenOffsets(), workspaceId, new TokenOffsetIndex());
+        }
+    }
+
+    /**
+     * Add a document after every existing one, with no tokens yet.
+     */
+    @Transactional
+    public void append(@NonNull UUID workspaceId, @NonNull UUID documentId) {
+        update(workspaceId, index -> {
+            if (!index.contains(documentId)) {
+                index.append(documentId, 0);
+            }
+        });
+    }
+
+    /**
+     * Record a document's token count, shifting every later document's offset.
+     * A document missing from the index is appended.
+     */
+    @Transactional
+    public void setTokenCount(@NonNull UUID workspaceId, @NonNull UUID documentId, int tokenCount) {
+        update(workspaceId, index -> {
+            if (index.contains(documentId)) {
+                index.setCount(documentId, tokenCount);
+            } else {
+                index.append(documentId, tokenCount);
+            }
+        });
+    }
+
+    /**
+     * Record the token counts of several documents with a single row write.
+     */
+    @Transactional
+    public void setTokenCounts(@NonNull UUID workspaceId, @NonNull Map<UUID, Integer> tokenCounts) {
+        update(workspaceId, index -> tokenCounts.forEach((documentId, tokenCount) -> {
+            if (index.contains(documentId)) {
+                index.setCount(documentId, tokenCount);
+            } else {
+                index.append(documentId, tokenCount);
+            }
+        }));
+    }
+
+    /**
+     * Drop a document; later documents move down by its token count.
+     */
+    @Transactional
+    public void remove(@NonNull UUID workspaceId, @NonNull UUID documentId) {
+        update(workspaceId, index -> {
+            if (index.contains(documentId)) {
+                index.remove(documentId);
+            }
+        });
+    }
+
+    /**
+     * A document's span in the workspace numbering, if the document is indexed.
+     */
+    public Optional<TokenRange> findTokenRange(@NonNull UUID workspaceId, @NonNull UUID documentId) {
+        TokenOffsetIndex index = read(workspaceId);
+        if (index == null || !index.contains(documentId)) {
+            return Optional.empty();
+        }
+        return Optional.of(new TokenRange(index.offsetOf(documentId), index.countOf(documentId)));
+    }
+
+    /**
+     * Spans of every indexed document of a workspace, in one O(N) pass.
+     */
+    public Map<UUID, TokenRange> getTokenRanges(@NonNull UUID workspaceId) {
+        TokenOffsetIndex index = read(workspaceId);
+        if (index == null) {
+            return Map.of();
+        }
+        List<UUID> documentIds = index.documentIds();
+        Map<UUID, TokenRange> ranges = new HashMap<>(documentIds.size() * 2);
+        int start = 0;
+        for (UUID documentId : documentIds) {
+            int tokenCount = index.countOf(documentId);
+            ranges.put(documentId, new TokenRange(start, tokenCount));
+            start += tokenCount;
+        }
+        return ranges;
+    }
+
+    private TokenOffsetIndex read(UUID workspaceId) {
+        Optional<Long> version = offsetsRepository.findVersionByWorkspaceId(workspaceId);
+        if (version.isEmpty()) {
+            return null;
+        }
+        CachedIndex cached = cache.get(workspaceId);
+        if (cached != null && cached.version() == version.get()) {
+            return cached.index();
+        }
+        return offsetsRepository.findByWorkspaceId(workspaceId)
+                .map(row -> {
+                    TokenOffsetIndex index = TokenOffsetIndex.decode(row.getPayload());
+                    remember(workspaceId, row.getVersion(), index);
+                    return index;
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Lock the workspace row, apply {@code change} to a freshly decoded index
+     * and write it back. The cached copy is never mutated, so readers in other
+     * transactions keep a consistent snapshot until the new version commits.
+     */
+    private void update(UUID workspaceId, Consumer<TokenOffsetIndex> change) {
+        Optional<WorkspaceTokenOffsets> locked = offsetsRepository.findForUpdateByWorkspaceId(workspaceId);
+        WorkspaceTokenOffsets row = locked.orElseGet(WorkspaceTokenOffsets::new);
+        TokenOffsetIndex index = locked.isPresent()
+                ? TokenOffsetIndex.decode(row.getPayload())
+                : bootstrap(workspaceId);
+        change.accept(index);
+        save(row, workspaceId, index);
+    }
+
+    /**
+     * Build the index of a workspace without a row from the document order.
+     * V11 created a row for every workspace and new workspaces get one on
+     * creation, so this only repairs a missing row; counts start at zero and
+     * are filled in as the documents are tokenized again.
+     */
+    private TokenOffsetIndex bootstrap(UUID workspaceId) {
+        TokenOffsetIndex index = new TokenOffsetIndex();
+        for (Document document : documentRepository.findByWorkspaceIdOrderByOrderIndexAsc(workspaceId)) {
+            index.append(document.getId(), 0);
+        }
+        return index;
+    }
+
+    private void save(WorkspaceTokenOffsets row, UUID workspaceId, TokenOffsetIndex index) {
+        row.setWorkspaceId(workspaceId);
+        row.setPayload(index.encode());
+        offsetsRepository.save(row);
+        cache.remove(workspaceId);
+    }
+
+    private void remember(UUID workspaceId, Long version, TokenOffsetIndex index) {
+        // Inside a write transaction the row may carry an uncommitted version.
+        if (version == null || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        if (cache.size() >= MAX_CACHED_WORKSPACES) {
+            cache.clear();
+        }
+        cache.put(workspaceId, new CachedIndex(version, index));
+    }
+}
@@ -4,14 +4,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.genesis.workspace.entity.Document;
 import com.genesis.workspace.entity.ProcessingStatus;
+import com.genesis.workspace.entity.Workspace;
 import com.genesis.workspace.event.DocumentProcessingFailedEvent;
 import com.genesis.workspace.event.DocumentProcessingStartedEvent;
 import com.genesis.workspace.event.DocumentTokenizedEvent;
 import com.genesis.workspace.repository.DocumentRepository;
+import com.genesis.workspace.service.TokenOffsetService;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
@@ -32,6 +35,9 @@ class DocumentProcessingStatusListenerTest {
     @Mock
     private DocumentRepository documentRepository;
 
+    @Mock
+    private TokenOffsetService tokenOffsetService;
+
     @InjectMocks
     private DocumentProcessingStatusListener listener;
 
@@ -63,6 +69,23 @@ class DocumentProcessingStatusListenerTest {
 
         assertThat(doc.getProcessingStatus()).isEqualTo(ProcessingStatus.COMPLETED);
         verify(documentRepository).save(doc);
+        verifyNoInteractions(tokenOffsetService);
+    }
+
+    @Test
+    @DisplayName("tokenized with a token count - records it in the workspace token offsets")
+    void onTokenized_recordsTokenCount() {
+        UUID id = UUID.randomUUID();
+        Workspace workspace = new Workspace();
+        workspace.setId(UUID.randomUUID());
+        Document doc = new Document();
+        doc.setId(id);
+        doc.setWorkspace(workspace);
+        when(documentRepository.findById(id)).thenReturn(Optional.of(doc));
+
+        listener.onTokenized(new DocumentTokenizedEvent(this, id, workspace.getId(), "notes.txt", 42));
+
+        verify(tokenOffsetService).setTokenCount(workspace.getId(), id, 42);
     }
 
     @Test
@@ -5,6 +5,7 @@ import static org.mockito.Mockito.*;
 
 import com.genesis.infra.storage.FileStorageService;
 import com.genesis.infra.storage.StorageProperties;
+import com.genesis.workspace.event.DocumentSourceReplacedEvent;
 import com.genesis.workspace.event.DocumentTokenizedEvent;
 import com.genesis.workspace.service.DocumentSourceReclaimer;
 import java.util.Optional;
@@ -99,4 +100,16 @@ class DocumentSourceRetentionListenerTest {
 
         verifyNoInteractions(fileStorageService);
     }
+
+    @Test
+    @DisplayName("a replaced source is deleted whatever retain-source says")
+    void deletesReplacedSource() {
+        storageProperties.setRetainSource(true);
+        UUID storedFileId = UUID.randomUUID();
+
+        listener.onSourceReplaced(new DocumentSourceReplacedEvent(this, documentId, workspaceId, storedFileId));
+
+        verify(fileStorageService).delete(storedFileId);
+        verifyNoInteractions(reclaimer);
+    }
 }
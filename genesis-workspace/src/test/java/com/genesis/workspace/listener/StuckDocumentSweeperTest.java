@@ -0,0 +1,88 @@
+package com.genesis.workspace.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.genesis.infra.storage.StoredFile;
+import com.genesis.workspace.entity.Document;
+import com.genesis.workspace.entity.ProcessingStatus;
+import com.genesis.workspace.entity.Workspace;
+import com.genesis.workspace.event.DocumentRequeuedEvent;
+import com.genesis.workspace.repository.DocumentRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Unit tests for {@link StuckDocumentSweeper}, which puts documents left in flight
+ * by the previous run back on the tokenization queue at startup.
+ */
+@ExtendWith(MockitoExtension.class)
+class StuckDocumentSweeperTest {
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private StuckDocumentSweeper sweeper;
+
+    private static Document document(ProcessingStatus status, String sourceUrl) {
+        Workspace workspace = new Workspace();
+        workspace.setId(UUID.randomUUID());
+        Document doc = new Document();
+        doc.setId(UUID.randomUUID());
+        doc.setName("big.txt");
+        doc.setWorkspace(workspace);
+        doc.setProcessingStatus(status);
+        if (sourceUrl != null) {
+            StoredFile source = new StoredFile();
+            source.setUrl(sourceUrl);
+            doc.setStoredFile(source);
+        }
+        return doc;
+    }
+
+    @Test
+    @DisplayName("in-flight document with a source - reset to PENDING and re-queued")
+    void requeuesDocumentWithSource() {
+        Document doc = document(ProcessingStatus.PROCESSING, "https://files/big.txt");
+        when(documentRepository.findByProcessingStatusInFetchSource(
+                List.of(ProcessingStatus.PENDING, ProcessingStatus.PROCESSING))).thenReturn(List.of(doc));
+
+        sweeper.requeueStuckDocuments();
+
+        assertThat(doc.getProcessingStatus()).isEqualTo(ProcessingStatus.PENDING);
+        ArgumentCaptor<DocumentRequeuedEvent> event = ArgumentCaptor.forClass(DocumentRequeuedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getDocumentId()).isEqualTo(doc.getId());
+        assertThat(event.getValue().getWorkspaceId()).isEqualTo(doc.getWorkspace().getId());
+        assertThat(event.getValue().getStoredFileUrl()).isEqualTo("https://files/big.txt");
+        assertThat(event.getValue().getFileName()).isEqualTo("big.txt");
+    }
+
+    @Test
+    @DisplayName("in-flight document whose source was reclaimed - marked FAILED, nothing queued")
+    void failsDocumentWithoutSource() {
+        Document doc = document(ProcessingStatus.PROCESSING, null);
+        when(documentRepository.findByProcessingStatusInFetchSource(any())).thenReturn(List.of(doc));
+
+        sweeper.requeueStuckDocuments();
+
+        assertThat(doc.getProcessingStatus()).isEqualTo(ProcessingStatus.FAILED);
+        assertThat(doc.getProcessingError()).isEqualTo(StuckDocumentSweeper.SOURCE_GONE_ERROR);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
@@ -234,24 +234,6 @@ class DocumentRepositoryTest {
         }
     }
 
-    @Nested
-    @DisplayName("Token Ranges")
-    class TokenRanges {
-
-        @Test
-        @DisplayName("documents store token start and end indices")
-        void documentsStoreTokenIndices() {
-            Document doc = createDocument("file1.txt", 0, DocumentStatus.IMPORTED);
-            doc.setTokenStartIndex(0);
-            doc.setTokenEndIndex(50);
-
-            Document saved = documentRepository.save(doc);
-
-            assertThat(saved.getTokenStartIndex()).isEqualTo(0);
-            assertThat(saved.getTokenEndIndex()).isEqualTo(50);
-        }
-    }
-
     private Document createDocument(String name, int orderIndex, DocumentStatus status) {
         Document doc = new Document();
         doc.setName(name);
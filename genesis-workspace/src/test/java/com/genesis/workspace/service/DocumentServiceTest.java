@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -22,11 +23,13 @@ import com.genesis.workspace.entity.MemberRole;
 import com.genesis.workspace.entity.Workspace;
 import com.genesis.workspace.entity.WorkspaceMember;
 import com.genesis.workspace.entity.WorkspaceStatus;
+import com.genesis.workspace.event.DocumentSourceReplacedEvent;
 import com.genesis.workspace.repository.DocumentRepository;
 import com.genesis.workspace.repository.WorkspaceMemberRepository;
 import com.genesis.workspace.repository.WorkspaceRepository;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,8 +40,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
 
 @ExtendWith(MockitoExtension.class)
 class DocumentServiceTest {
@@ -58,6 +63,9 @@ class DocumentServiceTest {
         @Mock
         private ApplicationEventPublisher eventPublisher;
 
+        @Mock
+        private TokenOffsetService tokenOffsetService;
+
         private WorkspaceAccessControl accessControl;
         private DocumentService documentService;
 
@@ -70,7 +78,7 @@ class DocumentServiceTest {
                 accessControl = new WorkspaceAccessControl(workspaceMemberRepository);
                 documentService = new DocumentService(
                                 documentRepository, workspaceRepository, fileStorageService, accessControl,
-                                eventPublisher);
+                                eventPublisher, tokenOffsetService);
 
                 User owner = new User();
                 owner.setId(UUID.randomUUID());
@@ -153,6 +161,9 @@ class DocumentServiceTest {
                         ArgumentCaptor<Document> captor = ArgumentCaptor.forClass(Document.class);
                         verify(documentRepository).save(captor.capture());
                         assertThat(captor.getValue().getOrderIndex()).isEqualTo(3);
+                        // sha256("content")
+                        assertThat(captor.getValue().getContentHash()).isEqualTo(
+                                        "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73");
                 }
 
                 @Test
@@ -202,6 +213,57 @@ class DocumentServiceTest {
                 }
         }
 
+        @Nested
+        @DisplayName("Replace Source")
+        class ReplaceSource {
+
+                @Test
+                @DisplayName("member re-points the document at the new upload; the old source is deleted after commit")
+                void repointsDocumentAndDeletesOldSource() {
+                        MockMultipartFile file = new MockMultipartFile(
+                                        "file", "edited.txt", "text/plain", "content".getBytes());
+                        StoredFile oldSource = new StoredFile();
+                        oldSource.setId(UUID.randomUUID());
+                        testDocument.setStoredFile(oldSource);
+                        StoredFile newSource = new StoredFile();
+                        newSource.setId(UUID.randomUUID());
+                        newSource.setUrl("https://cloudinary.com/edited.txt");
+
+                        stubMember(MemberRole.ANNOTATOR);
+                        when(documentRepository.findById(testDocument.getId())).thenReturn(Optional.of(testDocument));
+                        when(fileStorageService.store(eq(file), any(String.class))).thenReturn(newSource);
+                        when(documentRepository.save(testDocument)).thenReturn(testDocument);
+
+                        DocumentResponse response = documentService.replaceSource(testDocument.getId(), file, callerId);
+
+                        assertThat(response.getStoredFileUrl()).isEqualTo("https://cloudinary.com/edited.txt");
+                        assertThat(testDocument.getFileSize()).isEqualTo(7L);
+                        assertThat(testDocument.getContentHash()).isEqualTo(
+                                        "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73");
+                        verify(fileStorageService, never()).delete(any(UUID.class));
+                        ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+                        verify(eventPublisher, times(2)).publishEvent(events.capture());
+                        assertThat(events.getAllValues()).filteredOn(DocumentSourceReplacedEvent.class::isInstance)
+                                        .singleElement()
+                                        .extracting(event -> ((DocumentSourceReplacedEvent) event).getPreviousStoredFileId())
+                                        .isEqualTo(oldSource.getId());
+                }
+
+                @Test
+                @DisplayName("outsider cannot replace a source - throws 403")
+                void outsiderCannotReplaceSource() {
+                        MockMultipartFile file = new MockMultipartFile(
+                                        "file", "edited.txt", "text/plain", "content".getBytes());
+                        stubOutsider();
+                        when(documentRepository.findById(testDocument.getId())).thenReturn(Optional.of(testDocument));
+
+                        assertThatThrownBy(() -> documentService.replaceSource(testDocument.getId(), file, callerId))
+                                        .isInstanceOf(UnauthorizedException.class);
+
+                        verify(fileStorageService, never()).store(any(MultipartFile.class), any());
+                }
+        }
+
         @Nested
         @DisplayName("Get Documents")
         class GetDocuments {
@@ -227,6 +289,33 @@ class DocumentServiceTest {
                         assertThat(responses.get(2).getName()).isEqualTo("file3.txt");
                 }
 
+                @Test
+                @DisplayName("token indices come from the workspace token offset index")
+                void tokenIndicesFromOffsetIndex() {
+                        Document doc1 = createDocument("file1.txt", 0);
+                        Document doc2 = createDocument("file2.txt", 1);
+                        Document doc3 = createDocument("file3.txt", 2);
+
+                        when(workspaceRepository.existsById(testWorkspace.getId())).thenReturn(true);
+                        when(documentRepository.findByWorkspaceIdOrderByOrderIndexAsc(testWorkspace.getId()))
+                                        .thenReturn(List.of(doc1, doc2, doc3));
+                        when(tokenOffsetService.getTokenRanges(testWorkspace.getId())).thenReturn(Map.of(
+                                        doc1.getId(), new TokenOffsetService.TokenRange(0, 120),
+                                        doc2.getId(), new TokenOffsetService.TokenRange(120, 0)));
+
+                        List<DocumentResponse> responses = documentService
+                                        .getByWorkspaceIdInternal(testWorkspace.getId());
+
+                        assertThat(responses.get(0).getTokenStartIndex()).isEqualTo(0);
+                        assertThat(responses.get(0).getTokenEndIndex()).isEqualTo(119);
+                        // no tokens yet reads as not tokenized
+                        assertThat(responses.get(1).getTokenStartIndex()).isNull();
+                        assertThat(responses.get(1).getTokenEndIndex()).isNull();
+                        // not in the index: no token range
+                        assertThat(responses.get(2).getTokenStartIndex()).isNull();
+                        assertThat(responses.get(2).getTokenEndIndex()).isNull();
+                }
+
                 @Test
                 @DisplayName("outsider cannot list documents - throws 403")
                 void outsiderCannotList() {
@@ -291,6 +380,7 @@ class DocumentServiceTest {
 
                         verify(fileStorageService).delete(storedFile.getId());
                         verify(documentRepository).delete(testDocument);
+                        verify(tokenOffsetService).remove(testWorkspace.getId(), testDocument.getId());
                 }
 
                 @Test
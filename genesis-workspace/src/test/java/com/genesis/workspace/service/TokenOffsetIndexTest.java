@@ -0,0 +1,111 @@
+package com.genesis.workspace.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TokenOffsetIndex}, the Fenwick tree behind the
+ * workspace-level global token numbering.
+ */
+class TokenOffsetIndexTest {
+
+    @Test
+    @DisplayName("offsets are the running sum of the preceding documents' token counts")
+    void offsetsArePrefixSums() {
+        TokenOffsetIndex index = new TokenOffsetIndex();
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        index.append(a, 10);
+        index.append(b, 0);
+        index.append(c, 5);
+
+        assertThat(index.offsetOf(a)).isZero();
+        assertThat(index.offsetOf(b)).isEqualTo(10);
+        assertThat(index.offsetOf(c)).isEqualTo(10);
+        assertThat(index.totalTokens()).isEqualTo(15);
+
+        index.setCount(b, 7);
+
+        assertThat(index.offsetOf(c)).isEqualTo(17);
+        assertThat(index.totalTokens()).isEqualTo(22);
+    }
+
+    @Test
+    @DisplayName("remove shifts only the later offsets")
+    void remove() {
+        TokenOffsetIndex index = new TokenOffsetIndex();
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        index.append(a, 8);
+        index.append(b, 2);
+        index.append(c, 4);
+
+        assertThat(index.remove(a)).isEqualTo(8);
+        assertThat(index.documentIds()).containsExactly(b, c);
+        assertThat(index.offsetOf(b)).isZero();
+        assertThat(index.offsetOf(c)).isEqualTo(2);
+        assertThat(index.contains(a)).isFalse();
+    }
+
+    @Test
+    @DisplayName("random edits agree with a naive running sum and survive encode/decode")
+    void matchesNaiveModel() {
+        Random random = new Random(7);
+        TokenOffsetIndex index = new TokenOffsetIndex();
+        List<UUID> order = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+
+        for (int step = 0; step < 2_000; step++) {
+            int op = order.isEmpty() ? 0 : random.nextInt(3);
+            if (op == 0) {
+                UUID id = UUID.randomUUID();
+                int count = random.nextInt(100);
+                index.append(id, count);
+                order.add(id);
+                counts.add(count);
+            } else if (op == 1) {
+                int at = random.nextInt(order.size());
+                assertThat(index.remove(order.remove(at))).isEqualTo(counts.remove(at));
+            } else {
+                int at = random.nextInt(order.size());
+                int count = random.nextInt(100);
+                index.setCount(order.get(at), count);
+                counts.set(at, count);
+            }
+        }
+
+        TokenOffsetIndex decoded = TokenOffsetIndex.decode(index.encode());
+        assertThat(index.documentIds()).isEqualTo(order);
+        assertThat(decoded.documentIds()).isEqualTo(order);
+        int offset = 0;
+        for (int i = 0; i < order.size(); i++) {
+            assertThat(index.offsetOf(order.get(i))).isEqualTo(offset);
+            assertThat(decoded.offsetOf(order.get(i))).isEqualTo(offset);
+            offset += counts.get(i);
+        }
+        assertThat(decoded.totalTokens()).isEqualTo(offset);
+    }
+
+    @Test
+    @DisplayName("unknown or duplicate documents are rejected")
+    void rejectsUnknownAndDuplicateDocuments() {
+        TokenOffsetIndex index = new TokenOffsetIndex();
+        UUID a = UUID.randomUUID();
+        index.append(a, 3);
+
+        assertThatThrownBy(() -> index.append(a, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.offsetOf(UUID.randomUUID())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.setCount(a, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TokenOffsetIndex.decode(new byte[] {0, 0, 0, 2}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}